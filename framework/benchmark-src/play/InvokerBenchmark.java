@@ -0,0 +1,103 @@
+package play;
+
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import play.Invoker.Invocation;
+import play.Invoker.InvocationContext;
+import play.utils.VirtualThreadScheduledExecutor;
+
+/**
+ * Load test of the invocation executor with blocking actions: each invocation sleeps as it would waiting for a JDBC
+ * or WS call. Compares a pool of platform threads with virtual threads (which need Java 21).
+ */
+public class InvokerBenchmark {
+
+    private static final int POOL_SIZE = 10;
+    private static final int INVOCATIONS = 2000;
+    private static final int BLOCKING_MILLIS = 20;
+
+    public static void main(String[] args) throws Exception {
+        Play.configuration = new Properties();
+        System.out.println(String.format("%d invocations blocking %d ms, pool size %d", INVOCATIONS, BLOCKING_MILLIS, POOL_SIZE));
+        System.out.println(String.format("%-18s %12s %12s", "executor", "time (ms)", "req/s"));
+        run("platform threads", VirtualThreadScheduledExecutor.create("play", POOL_SIZE, false));
+        if (VirtualThreadScheduledExecutor.isSupported()) {
+            run("virtual threads", VirtualThreadScheduledExecutor.create("play", POOL_SIZE, true));
+        } else {
+            System.out.println("Virtual threads need Java 21 or later");
+        }
+    }
+
+    private static void run(String name, ScheduledThreadPoolExecutor executor) throws Exception {
+        ScheduledThreadPoolExecutor previous = Invoker.executor;
+        Invoker.executor = executor;
+        try {
+            CountDownLatch done = new CountDownLatch(INVOCATIONS);
+            AtomicInteger lostState = new AtomicInteger();
+            long start = System.nanoTime();
+            for (int i = 0; i < INVOCATIONS; i++) {
+                Invoker.invoke(new BlockingInvocation(done, lostState));
+            }
+            done.await();
+            long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            System.out.println(String.format("%-18s %12d %12d", name, millis, INVOCATIONS * 1000L / Math.max(1, millis)));
+            if (lostState.get() > 0) {
+                throw new IllegalStateException(lostState.get() + " invocations lost their thread local state");
+            }
+        } finally {
+            executor.shutdown();
+            Invoker.executor = previous;
+        }
+    }
+
+    private static class BlockingInvocation extends Invocation {
+
+        private static final ThreadLocal<BlockingInvocation> current = new ThreadLocal<>();
+
+        private final CountDownLatch done;
+        private final AtomicInteger lostState;
+        private final InvocationContext context = new InvocationContext("Benchmark");
+
+        BlockingInvocation(CountDownLatch done, AtomicInteger lostState) {
+            this.done = done;
+            this.lostState = lostState;
+        }
+
+        @Override
+        public boolean init() {
+            // Do not start an application
+            InvocationContext.current.set(getInvocationContext());
+            return true;
+        }
+
+        @Override
+        public void before() {
+            super.before();
+            current.set(this);
+        }
+
+        @Override
+        public void execute() throws Exception {
+            Thread.sleep(BLOCKING_MILLIS);
+            if (current.get() != this || InvocationContext.current() != context) {
+                lostState.incrementAndGet();
+            }
+        }
+
+        @Override
+        public void _finally() {
+            current.remove();
+            super._finally();
+            done.countDown();
+        }
+
+        @Override
+        public InvocationContext getInvocationContext() {
+            return context;
+        }
+    }
+}
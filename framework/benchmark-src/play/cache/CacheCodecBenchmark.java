@@ -0,0 +1,93 @@
+package play.cache;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import play.PlayBuilder;
+import play.mvc.results.RenderText;
+
+/**
+ * Size and encode/decode latency of cached values with Java serialization and with the compact codec, without and
+ * with registered application classes and compression.
+ */
+public class CacheCodecBenchmark {
+
+    private static final int ITERATIONS = 20_000;
+    private static final int ROUNDS = 3;
+
+    public static void main(String[] args) throws Exception {
+        new PlayBuilder().withConfiguration(new Properties()).build();
+
+        Map<String, CacheCodec> codecs = new LinkedHashMap<>();
+        codecs.put("java", new JavaCacheCodec());
+        codecs.put("compact", new CompactCacheCodec(List.of(), -1));
+        codecs.put("compact+classes", new CompactCacheCodec(List.of(Product.class.getName()), -1));
+        codecs.put("compact+deflate", new CompactCacheCodec(List.of(Product.class.getName()), 1024));
+
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("bean", new Product(1, "Book", new BigDecimal("12.50")));
+        values.put("50 beans", products(50));
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < 20; i++) {
+            map.put("key" + i, i % 2 == 0 ? "value " + i : (Object) (long) i);
+        }
+        values.put("map", map);
+        values.put("result", new RenderText(String.join("", java.util.Collections.nCopies(200, "<li>item</li>"))));
+
+        System.out.println(String.format("%-10s %-16s %8s %12s %12s", "value", "codec", "bytes", "encode ns", "decode ns"));
+        for (int round = 0; round < ROUNDS; round++) {
+            for (Map.Entry<String, Object> value : values.entrySet()) {
+                for (Map.Entry<String, CacheCodec> codec : codecs.entrySet()) {
+                    run(value.getKey(), value.getValue(), codec.getKey(), codec.getValue());
+                }
+            }
+            System.out.println();
+        }
+    }
+
+    private static void run(String valueName, Object value, String codecName, CacheCodec codec) throws Exception {
+        byte[] data = null;
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            data = codec.encode(value);
+        }
+        long encode = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            codec.decode(data);
+        }
+        long decode = System.nanoTime() - start;
+        System.out.println(String.format("%-10s %-16s %8d %12d %12d", valueName, codecName, data.length, encode / ITERATIONS,
+                decode / ITERATIONS));
+    }
+
+    private static List<Product> products(int count) {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            products.add(new Product(i, "Product " + i, new BigDecimal(i + ".99")));
+        }
+        return products;
+    }
+
+    public static class Product implements Serializable {
+
+        long id;
+        String name;
+        BigDecimal price;
+        Date created = new Date(0);
+
+        Product(long id, String name, BigDecimal price) {
+            this.id = id;
+            this.name = name;
+            this.price = price;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package play.data.binding;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import play.PlayBuilder;
+import play.data.validation.ValidationBuilder;
+
+/**
+ * Time to set the 120 properties of a form object through reflection and through the generated accessor, and to bind
+ * them from request parameters.
+ */
+public class BinderBenchmark {
+
+    private static final int ITERATIONS = 50_000;
+    private static final int ROUNDS = 3;
+
+    public static void main(String[] args) throws Exception {
+        new PlayBuilder().withConfiguration(new Properties()).build();
+        ValidationBuilder.build();
+
+        BeanWrapper reflection = new BeanWrapper(Form.class);
+        BeanWrapper generated = BeanWrapper.forClass(Form.class);
+        Object[] values = new Object[reflection.getWrappers().size()];
+        int i = 0;
+        Map<String, String[]> params = new HashMap<>();
+        for (BeanWrapper.Property property : reflection.getWrappers()) {
+            Class<?> type = property.getType();
+            values[i++] = type == String.class ? "value" : type == int.class ? (Object) 12 : (Object) 12L;
+            params.put("form." + property.getName(), new String[] { "12" });
+        }
+        ParamNode paramNode = RootParamNode.convert(params).getChild("form");
+
+        System.out.println(String.format("%-18s %12s", "path", "ns/object"));
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int j = 0; j < ITERATIONS; j++) {
+                set(reflection, values);
+            }
+            System.out.println(String.format("%-18s %12d", "set reflection", (System.nanoTime() - start) / ITERATIONS));
+
+            start = System.nanoTime();
+            for (int j = 0; j < ITERATIONS; j++) {
+                set(generated, values);
+            }
+            System.out.println(String.format("%-18s %12d", "set generated", (System.nanoTime() - start) / ITERATIONS));
+
+            start = System.nanoTime();
+            for (int j = 0; j < ITERATIONS / 10; j++) {
+                Binder.bindBean(paramNode, new Form(), null);
+            }
+            System.out.println(String.format("%-18s %12d", "bindBean", (System.nanoTime() - start) / (ITERATIONS / 10)));
+            System.out.println();
+        }
+    }
+
+    private static void set(BeanWrapper wrapper, Object[] values) {
+        Form form = new Form();
+        int i = 0;
+        for (BeanWrapper.Property property : wrapper.getWrappers()) {
+            property.setValue(form, values[i++]);
+        }
+    }
+
+    public static class Form {
+        public String s0, s1, s2, s3, s4, s5, s6, s7, s8, s9, s10, s11, s12, s13, s14, s15, s16, s17, s18, s19;
+        public String s20, s21, s22, s23, s24, s25, s26, s27, s28, s29, s30, s31, s32, s33, s34, s35, s36, s37, s38, s39;
+        public int i0, i1, i2, i3, i4, i5, i6, i7, i8, i9, i10, i11, i12, i13, i14, i15, i16, i17, i18, i19;
+        public int i20, i21, i22, i23, i24, i25, i26, i27, i28, i29, i30, i31, i32, i33, i34, i35, i36, i37, i38, i39;
+        public long l0, l1, l2, l3, l4, l5, l6, l7, l8, l9, l10, l11, l12, l13, l14, l15, l16, l17, l18, l19;
+        public long l20, l21, l22, l23, l24, l25, l26, l27, l28, l29, l30, l31, l32, l33, l34, l35, l36, l37, l38, l39;
+    }
+}
@@ -0,0 +1,110 @@
+package play.mvc;
+
+import java.io.ByteArrayInputStream;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import play.PlayBuilder;
+import play.data.binding.Binder;
+import play.data.binding.CachedBoundActionMethodArgs;
+import play.data.binding.ParamNode;
+import play.data.binding.RootParamNode;
+import play.data.validation.Validation;
+import play.utils.Java;
+import play.utils.Utils;
+
+/**
+ * Cost of dispatching a request to an action with two parameters in DEV mode: setting the Controller fields, binding
+ * the arguments and invoking the method. Compares the reflective dispatch, as before the action plans, with the
+ * plans.
+ */
+public class ActionInvokerBenchmark {
+
+    private static final int REQUESTS = 1_000_000;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) throws Throwable {
+        new PlayBuilder().build();
+        Http.Request request = Http.Request.createRequest(null, "GET", "/", "", null, new ByteArrayInputStream(new byte[0]), null, null,
+                false, 80, "localhost", false, null, null);
+        request.controllerClass = Products.class;
+        Http.Request.current.set(request);
+        Http.Response.current.set(new Http.Response());
+        Scope.Params.current.set(request.params);
+        Scope.RenderArgs.current.set(new Scope.RenderArgs());
+        Scope.RouteArgs.current.set(new Scope.RouteArgs());
+        Scope.Session.current.set(new Scope.Session());
+        Scope.Flash.current.set(new Scope.Flash());
+
+        Method action = Products.class.getMethod("show", String.class, int.class);
+        String[] names = Java.parameterNames(action);
+        request.params.put(names[0], "books");
+        request.params.put(names[1], "3");
+
+        System.out.println(String.format("%d requests", REQUESTS));
+        System.out.println(String.format("%-18s %12s %12s", "dispatch", "ns/request", "requests/s"));
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < REQUESTS; i++) {
+                CachedBoundActionMethodArgs.init();
+                reflective(action);
+            }
+            print("reflection", System.nanoTime() - start);
+
+            start = System.nanoTime();
+            for (int i = 0; i < REQUESTS; i++) {
+                CachedBoundActionMethodArgs.init();
+                plans(action);
+            }
+            print("action plans", System.nanoTime() - start);
+        }
+    }
+
+    private static void print(String name, long nanos) {
+        System.out.println(String.format("%-18s %12d %12d", name, nanos / REQUESTS, REQUESTS * TimeUnit.SECONDS.toNanos(1) / nanos));
+    }
+
+    private static Object reflective(Method method) throws Exception {
+        Controller.class.getDeclaredField("params").set(null, Scope.Params.current());
+        Controller.class.getDeclaredField("request").set(null, Http.Request.current());
+        Controller.class.getDeclaredField("response").set(null, Http.Response.current());
+        Controller.class.getDeclaredField("session").set(null, Scope.Session.current());
+        Controller.class.getDeclaredField("flash").set(null, Scope.Flash.current());
+        Controller.class.getDeclaredField("renderArgs").set(null, Scope.RenderArgs.current());
+        Controller.class.getDeclaredField("routeArgs").set(null, Scope.RouteArgs.current());
+        Controller.class.getDeclaredField("validation").set(null, Validation.current());
+
+        String[] paramsNames = Java.parameterNames(method);
+        Object[] rArgs = new Object[method.getParameterTypes().length];
+        for (int i = 0; i < method.getParameterTypes().length; i++) {
+            Class<?> type = method.getParameterTypes()[i];
+            Map<String, String[]> params = new HashMap<>();
+            if (type.equals(String.class) || Number.class.isAssignableFrom(type) || type.isPrimitive()) {
+                params.put(paramsNames[i], Scope.Params.current().getAll(paramsNames[i]));
+            } else {
+                params.putAll(Scope.Params.current().all());
+            }
+            Utils.join(method.getParameterAnnotations()[i], " ");
+            RootParamNode root = ParamNode.convert(params);
+            rArgs[i] = Binder.bind(root, paramsNames[i], method.getParameterTypes()[i], method.getGenericParameterTypes()[i],
+                    method.getParameterAnnotations()[i], new Binder.MethodAndParamInfo(null, method, i + 1));
+        }
+        return method.invoke(null, rArgs);
+    }
+
+    private static Object plans(Method method) throws Throwable {
+        ActionInvoker.ControllerFields.set();
+        ActionPlan plan = ActionPlan.of(method);
+        return plan.invoke(null, plan.bind(null));
+    }
+
+    public static class Products extends Controller {
+
+        @Util
+        public static String show(String category, int page) {
+            return category + page;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package play.mvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import play.Play;
+
+/**
+ * Compares the route lookup latency of the route index against a linear scan running each route regex, as the number
+ * of routes grows.
+ */
+public class RouterBenchmark {
+
+    private static final int ITERATIONS = 20000;
+
+    public static void main(String[] args) {
+        Play.configuration = new Properties();
+        System.out.println(String.format("%8s %18s %18s", "routes", "regex scan (ns)", "indexed (ns)"));
+        for (int count : new int[] { 10, 50, 100, 300, 600, 1200 }) {
+            Router.routes.clear();
+            for (int i = 0; i < count / 3; i++) {
+                Router.appendRoute("GET", "/resource" + i + "/{id}", "Resource" + i + ".show", null, null, null, 0);
+                Router.appendRoute("POST", "/resource" + i + "/{id}/edit", "Resource" + i + ".save", null, null, null, 0);
+                Router.appendRoute("GET", "/resource" + i + "/{<[0-9]+>id}/items", "Resource" + i + ".items", null, null, null, 0);
+            }
+            String last = "/resource" + (count / 3 - 1) + "/42";
+            String middle = "/resource" + (count / 6) + "/42/items";
+
+            List<Router.Route> regexRoutes = new ArrayList<>();
+            for (Router.Route route : Router.routes) {
+                Router.Route copy = Router.getRoute(route.method, route.path, route.action, null, null);
+                copy.segments = null;
+                regexRoutes.add(copy);
+            }
+
+            // Warm up both paths before measuring
+            scan(regexRoutes, last, ITERATIONS);
+            lookup(last, ITERATIONS);
+
+            long scan = (scan(regexRoutes, last, ITERATIONS) + scan(regexRoutes, middle, ITERATIONS)) / 2;
+            long indexed = (lookup(last, ITERATIONS) + lookup(middle, ITERATIONS)) / 2;
+            System.out.println(String.format("%8d %18d %18d", count, scan, indexed));
+        }
+    }
+
+    private static long scan(List<Router.Route> routes, String path, int iterations) {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            Map<String, String> found = null;
+            for (Router.Route route : routes) {
+                found = route.matches("GET", path, null, null);
+                if (found != null) {
+                    break;
+                }
+            }
+            if (found == null) {
+                throw new IllegalStateException("No route for " + path);
+            }
+        }
+        return (System.nanoTime() - start) / iterations;
+    }
+
+    private static long lookup(String path, int iterations) {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            if (!Router.route("GET", path).containsKey("action")) {
+                throw new IllegalStateException("No route for " + path);
+            }
+        }
+        return (System.nanoTime() - start) / iterations;
+    }
+}
@@ -0,0 +1,121 @@
+package play.plugins;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import play.Play;
+import play.PlayPlugin;
+import play.mvc.Http;
+import play.mvc.results.Ok;
+import play.mvc.results.Result;
+
+/**
+ * Cost of the plugin hooks of a request doing nothing, with 25 plugins of which a few implement request hooks.
+ * Compares calling every enabled plugin, as before the per-hook tables, with the tables.
+ */
+public class PluginCollectionBenchmark {
+
+    private static final int PLUGINS = 25;
+    private static final int REQUESTS = 2_000_000;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) throws Exception {
+        Play.configuration = new Properties();
+        PluginCollection pc = new PluginCollection();
+        for (int i = 0; i < PLUGINS; i++) {
+            PlayPlugin plugin = i % 8 == 0 ? new InvocationPlugin() : new PlayPlugin() {
+            };
+            plugin.index = i;
+            pc.addPlugin(plugin);
+        }
+
+        Http.Request request = Http.Request.createRequest(null, "GET", "/", "", null, null, null, null, false, 80, "localhost", false, null, null);
+        Http.Response response = new Http.Response();
+        Result result = new Ok();
+        System.out.println(String.format("%d plugins, %d requests", PLUGINS, REQUESTS));
+        System.out.println(String.format("%-18s %12s %12s", "dispatch", "ns/request", "requests/s"));
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < REQUESTS; i++) {
+                allPlugins(pc.getEnabledPlugins(), request, response, result);
+            }
+            print("all plugins", System.nanoTime() - start);
+
+            start = System.nanoTime();
+            for (int i = 0; i < REQUESTS; i++) {
+                hookTables(pc, request, response, result);
+            }
+            print("hook tables", System.nanoTime() - start);
+        }
+    }
+
+    private static void print(String name, long nanos) {
+        System.out.println(String.format("%-18s %12d %12d", name, nanos / REQUESTS, REQUESTS * TimeUnit.SECONDS.toNanos(1) / nanos));
+    }
+
+    private static void allPlugins(List<PlayPlugin> plugins, Http.Request request, Http.Response response, Result result) throws Exception {
+        for (PlayPlugin plugin : plugins) {
+            plugin.routeRequest(request);
+        }
+        for (PlayPlugin plugin : plugins) {
+            if (plugin.rawInvocation(request, response)) {
+                return;
+            }
+        }
+        for (PlayPlugin plugin : plugins) {
+            plugin.beforeInvocation();
+        }
+        for (PlayPlugin plugin : plugins) {
+            plugin.beforeActionInvocation(null);
+        }
+        for (PlayPlugin plugin : plugins) {
+            plugin.onActionInvocationResult(result);
+        }
+        for (PlayPlugin plugin : plugins) {
+            plugin.afterActionInvocation();
+        }
+        for (PlayPlugin plugin : plugins) {
+            plugin.onActionInvocationFinally();
+        }
+        for (PlayPlugin plugin : plugins) {
+            plugin.afterInvocation();
+        }
+        for (PlayPlugin plugin : plugins) {
+            plugin.onInvocationSuccess();
+        }
+        for (PlayPlugin plugin : plugins) {
+            plugin.invocationFinally();
+        }
+    }
+
+    private static void hookTables(PluginCollection pc, Http.Request request, Http.Response response, Result result) throws Exception {
+        pc.routeRequest(request);
+        if (pc.rawInvocation(request, response)) {
+            return;
+        }
+        pc.beforeInvocation();
+        pc.beforeActionInvocation(null);
+        pc.onActionInvocationResult(result);
+        pc.afterActionInvocation();
+        pc.onActionInvocationFinally();
+        pc.afterInvocation();
+        pc.onInvocationSuccess();
+        pc.invocationFinally();
+    }
+
+    private static class InvocationPlugin extends PlayPlugin {
+
+        private int invocations;
+
+        @Override
+        public void beforeInvocation() {
+            invocations++;
+        }
+
+        @Override
+        public void invocationFinally() {
+            invocations--;
+        }
+    }
+}
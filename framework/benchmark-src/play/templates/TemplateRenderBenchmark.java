@@ -0,0 +1,75 @@
+package play.templates;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.io.FileUtils;
+
+import play.Play;
+import play.PlayBuilder;
+import play.vfs.VirtualFile;
+
+/**
+ * Measures the time and the memory allocated to render a template alone, with a layout, and with includes and tags.
+ */
+public class TemplateRenderBenchmark {
+
+    private static final int ITERATIONS = 20000;
+
+    public static void main(String[] args) throws Exception {
+        new PlayBuilder().build();
+        File views = Files.createTempDirectory("views").toFile();
+        try {
+            write(views, "main.html", "<html><title>#{get 'title' /}</title><body>#{doLayout /}</body></html>");
+            write(views, "plain.html", "<h1>${title}</h1>#{list items, as:'item'}<p>${item}</p>#{/list}");
+            write(views, "layout.html", "#{extends 'main.html' /}#{set title:title /}#{list items, as:'item'}<p>${item}</p>#{/list}");
+            write(views, "item.html", "<li>${item}</li>");
+            write(views, "tags/badge.html", "<span>${_arg}</span>");
+            write(views, "included.html", "#{extends 'main.html' /}#{list items, as:'item'}#{include 'item.html' /}#{badge item /}#{/list}");
+            Play.templatesPath.add(0, VirtualFile.open(views));
+
+            Map<String, Object> renderArgs = new HashMap<>();
+            renderArgs.put("title", "Products");
+            List<String> items = Arrays.asList("a", "b", "c", "d", "e", "f", "g", "h", "i", "j");
+            renderArgs.put("items", items);
+
+            System.out.println(String.format("%-18s %12s %12s", "template", "ns/render", "bytes/render"));
+            for (String name : new String[] { "plain.html", "layout.html", "included.html" }) {
+                Template template = TemplateLoader.load(name);
+                // Warm up before measuring
+                render(template, renderArgs, ITERATIONS);
+                long[] measured = render(template, renderArgs, ITERATIONS);
+                System.out.println(String.format("%-18s %12d %12d", name, measured[0], measured[1]));
+            }
+        } finally {
+            Play.templatesPath.remove(0);
+            FileUtils.deleteDirectory(views);
+        }
+    }
+
+    private static void write(File views, String name, String source) throws Exception {
+        FileUtils.writeStringToFile(new File(views, name), source, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return The nanoseconds and the bytes allocated per render
+     */
+    private static long[] render(Template template, Map<String, Object> renderArgs, int iterations) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long allocated = threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            if (template.render(renderArgs).isEmpty()) {
+                throw new IllegalStateException("Nothing rendered");
+            }
+        }
+        long time = (System.nanoTime() - start) / iterations;
+        return new long[] { time, (threads.getThreadAllocatedBytes(Thread.currentThread().getId()) - allocated) / iterations };
+    }
+}
@@ -3,18 +3,20 @@ package play;
 import java.lang.annotation.Annotation;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
-import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.jamonapi.Monitor;
 import com.jamonapi.MonitorFactory;
+import com.ning.http.client.ListenableFuture;
 
 import play.Play.Mode;
 import play.classloading.ApplicationClassloader;
@@ -24,7 +26,7 @@ import play.exceptions.UnexpectedException;
 import play.i18n.Lang;
 import play.libs.F;
 import play.libs.F.Promise;
-import play.utils.PThreadFactory;
+import play.utils.VirtualThreadScheduledExecutor;
 
 /**
  * Run some code in a Play! context
@@ -367,7 +369,8 @@ public class Invoker {
     static {
         int core = Integer.parseInt(Play.configuration.getProperty("play.pool",
                 Play.mode == Mode.DEV ? "1" : ((Runtime.getRuntime().availableProcessors() + 1) + "")));
-        executor = new ScheduledThreadPoolExecutor(core, new PThreadFactory("play"), new ThreadPoolExecutor.AbortPolicy());
+        executor = VirtualThreadScheduledExecutor.create("play", core,
+                Boolean.parseBoolean(Play.configuration.getProperty("play.pool.virtualThreads", "false")));
     }
 
     /**
@@ -407,12 +410,23 @@ public class Invoker {
         }
     }
 
+    /**
+     * @return The number of invocations suspended until a task completes
+     */
+    public static int suspendedInvocations() {
+        return WaitForTasksCompletion.suspended.get();
+    }
+
     /**
      * Utility that track tasks completion in order to resume suspended requests.
+     * <p>
+     * Promises, completion stages and WS futures resume the invocation as soon as they complete. Other futures are
+     * polled by a background thread.
      */
     static class WaitForTasksCompletion extends Thread {
 
         static WaitForTasksCompletion instance;
+        static final AtomicInteger suspended = new AtomicInteger();
         Map<Future<?>, Invocation> queue;
 
         public WaitForTasksCompletion() {
@@ -422,9 +436,14 @@ public class Invoker {
         }
 
         public static <V> void waitFor(Future<V> task, final Invocation invocation) {
+            suspended.incrementAndGet();
             if (task instanceof Promise) {
                 Promise<V> smartFuture = (Promise<V>) task;
-                smartFuture.onRedeem(result -> executor.submit(invocation));
+                smartFuture.onRedeem(result -> resume(invocation));
+            } else if (task instanceof CompletionStage) {
+                ((CompletionStage<?>) task).whenComplete((result, error) -> resume(invocation));
+            } else if (task instanceof ListenableFuture) {
+                ((ListenableFuture<?>) task).addListener(() -> resume(invocation), Runnable::run);
             } else {
                 synchronized (WaitForTasksCompletion.class) {
                     if (instance == null) {
@@ -437,16 +456,20 @@ public class Invoker {
             }
         }
 
+        static void resume(Invocation invocation) {
+            suspended.decrementAndGet();
+            executor.submit(invocation);
+        }
+
         @Override
         public void run() {
             while (true) {
                 try {
-                    if (!queue.isEmpty()) {
-                        for (Future<?> task : new HashSet<>(queue.keySet())) {
-                            if (task.isDone()) {
-                                executor.submit(queue.get(task));
-                                queue.remove(task);
-                            }
+                    for (Iterator<Map.Entry<Future<?>, Invocation>> it = queue.entrySet().iterator(); it.hasNext();) {
+                        Map.Entry<Future<?>, Invocation> entry = it.next();
+                        if (entry.getKey().isDone()) {
+                            it.remove();
+                            resume(entry.getValue());
                         }
                     }
                     Thread.sleep(50);
@@ -7,6 +7,7 @@ import java.util.Map;
 import play.Logger;
 import play.Play;
 import play.exceptions.CacheException;
+import play.libs.F.Promise;
 import play.libs.Time;
 
 /**
@@ -183,6 +184,78 @@ public abstract class Cache {
         return cacheImpl.get(key);
     }
 
+    /**
+     * Set several elements at once.
+     * @param values Element values by key
+     * @param expiration Ex: 10s, 3mn, 8h
+     */
+    public static void setMulti(Map<String, ?> values, String expiration) {
+        for (Object value : values.values()) {
+            checkSerializable(value);
+        }
+        cacheImpl.setMulti(values, Time.parseDuration(expiration));
+    }
+
+    /**
+     * Delete several elements at once.
+     * @param keys The element keys
+     */
+    public static void deleteMulti(String... keys) {
+        cacheImpl.deleteMulti(keys);
+    }
+
+    /**
+     * Retrieve an object without waiting for it.
+     * @param key The element key
+     * @return A promise of the element value or null
+     */
+    public static Promise<Object> getAsync(String key) {
+        return cacheImpl.getAsync(key);
+    }
+
+    /**
+     * Bulk retrieve without waiting for the elements.
+     * @param keys List of keys
+     * @return A promise of the map of keys &amp; values
+     */
+    public static Promise<Map<String, Object>> getAsync(String... keys) {
+        return cacheImpl.getAsync(keys);
+    }
+
+    /**
+     * Set an element without waiting for it to be cached.
+     * @param key Element key
+     * @param value Element value
+     * @param expiration Ex: 10s, 3mn, 8h
+     * @return A promise of whether the element has been cached
+     */
+    public static Promise<Boolean> setAsync(String key, Object value, String expiration) {
+        checkSerializable(value);
+        return cacheImpl.setAsync(key, value, Time.parseDuration(expiration));
+    }
+
+    /**
+     * Set several elements without waiting for them to be cached.
+     * @param values Element values by key
+     * @param expiration Ex: 10s, 3mn, 8h
+     * @return A promise of whether all the elements have been cached
+     */
+    public static Promise<Boolean> setMultiAsync(Map<String, ?> values, String expiration) {
+        for (Object value : values.values()) {
+            checkSerializable(value);
+        }
+        return cacheImpl.setMultiAsync(values, Time.parseDuration(expiration));
+    }
+
+    /**
+     * Delete an element without waiting for it to be removed.
+     * @param key The element key
+     * @return A promise of whether the element has been deleted
+     */
+    public static Promise<Boolean> deleteAsync(String key) {
+        return cacheImpl.deleteAsync(key);
+    }
+
     /**
      * Delete an element from the cache.
      * @param key The element key
@@ -239,6 +312,9 @@ public abstract class Cache {
                 Logger.warn("Fallback to local cache");
                 cacheImpl = EhCacheImpl.newInstance();
             }
+            if (cacheImpl instanceof MemcachedImpl && Play.configuration.getProperty("cache.near", "disabled").equals("enabled")) {
+                cacheImpl = NearCacheImpl.fromConfiguration(cacheImpl);
+            }
         } else {
             cacheImpl = EhCacheImpl.newInstance();
         }
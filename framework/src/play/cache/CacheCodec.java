@@ -0,0 +1,58 @@
+package play.cache;
+
+import java.io.IOException;
+
+import play.Play;
+import play.exceptions.ConfigurationException;
+
+/**
+ * Turns cached values into bytes, for the cache implementations storing them out of the JVM heap, like Memcached.
+ * <p>
+ * The codec is chosen with <code>cache.codec</code> in application.conf:
+ * <ul>
+ * <li><code>java</code>: Java serialization, the default</li>
+ * <li><code>compact</code>: {@link CompactCacheCodec}</li>
+ * <li>the class name of another implementation, with a constructor without arguments</li>
+ * </ul>
+ * Every server sharing a cache must use the same codec.
+ */
+public interface CacheCodec {
+
+    /**
+     * @param value
+     *            The value to cache, not null
+     * @return The encoded value
+     * @throws IOException
+     *             if the value cannot be encoded
+     */
+    byte[] encode(Object value) throws IOException;
+
+    /**
+     * @param data
+     *            The encoded value
+     * @return The value
+     * @throws IOException
+     *             if the data cannot be decoded
+     * @throws ClassNotFoundException
+     *             if a class of the value is not found
+     */
+    Object decode(byte[] data) throws IOException, ClassNotFoundException;
+
+    /**
+     * @return The codec configured in application.conf
+     */
+    static CacheCodec fromConfiguration() {
+        String codec = Play.configuration.getProperty("cache.codec", "java");
+        if ("java".equals(codec)) {
+            return new JavaCacheCodec();
+        }
+        if ("compact".equals(codec)) {
+            return new CompactCacheCodec();
+        }
+        try {
+            return (CacheCodec) Play.classloader.loadClass(codec).getDeclaredConstructor().newInstance();
+        } catch (Exception e) {
+            throw new ConfigurationException("Bad configuration for cache.codec: " + codec + " (" + e + ")");
+        }
+    }
+}
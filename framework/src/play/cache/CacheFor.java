@@ -11,6 +11,8 @@ import java.lang.annotation.Target;
  * <p>If a time is not specified, the results will be cached for 1 hour by default.
  *
  * <p>Example: <code>@CacheFor("1h")</code>
+ *
+ * <p>On a server, one request at a time invokes the action for a cache key, the others wait for its result.
  */
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.METHOD)
@@ -18,4 +20,15 @@ public @interface CacheFor {
     String value() default "1h";
     String id() default "";
     Class<? extends CacheKeyGenerator> generator() default DefaultCacheKeyGenerator.class;
+
+    /**
+     * How long an expired result is still served while one request invokes the action again, Ex: 1mn. None by default.
+     */
+    String stale() default "";
+
+    /**
+     * How early a result may be computed again before it expires, at random and earlier for a result long to
+     * compute: 1 is a good value, higher values refresh earlier. 0 by default, to wait for its expiration.
+     */
+    double earlyRefresh() default 0;
 }
@@ -2,6 +2,8 @@ package play.cache;
 
 import java.util.Map;
 
+import play.libs.F.Promise;
+
 /**
  * A cache implementation.
  * expiration is specified in seconds
@@ -36,4 +38,71 @@ public interface CacheImpl {
     public boolean safeDelete(String key);
 
     public void stop();
+
+    /**
+     * Set several elements. By default, they are set one by one.
+     */
+    public default void setMulti(Map<String, ?> values, int expiration) {
+        for (Map.Entry<String, ?> value : values.entrySet()) {
+            set(value.getKey(), value.getValue(), expiration);
+        }
+    }
+
+    /**
+     * Delete several elements. By default, they are deleted one by one.
+     */
+    public default void deleteMulti(String[] keys) {
+        for (String key : keys) {
+            delete(key);
+        }
+    }
+
+    /**
+     * By default, the element is read before returning the promise.
+     */
+    public default Promise<Object> getAsync(String key) {
+        Promise<Object> promise = new Promise<>();
+        promise.invoke(get(key));
+        return promise;
+    }
+
+    /**
+     * By default, the elements are read before returning the promise.
+     */
+    public default Promise<Map<String, Object>> getAsync(String[] keys) {
+        Promise<Map<String, Object>> promise = new Promise<>();
+        promise.invoke(get(keys));
+        return promise;
+    }
+
+    /**
+     * By default, the element is set before returning the promise.
+     */
+    public default Promise<Boolean> setAsync(String key, Object value, int expiration) {
+        Promise<Boolean> promise = new Promise<>();
+        promise.invoke(safeSet(key, value, expiration));
+        return promise;
+    }
+
+    /**
+     * By default, the elements are set before returning the promise.
+     */
+    public default Promise<Boolean> setMultiAsync(Map<String, ?> values, int expiration) {
+        boolean set = true;
+        for (Map.Entry<String, ?> value : values.entrySet()) {
+            set &= safeSet(value.getKey(), value.getValue(), expiration);
+        }
+        Promise<Boolean> promise = new Promise<>();
+        promise.invoke(set);
+        return promise;
+    }
+
+    /**
+     * By default, the element is deleted before returning the promise.
+     */
+    public default Promise<Boolean> deleteAsync(String key) {
+        Promise<Boolean> promise = new Promise<>();
+        promise.invoke(safeDelete(key));
+        return promise;
+    }
 }
@@ -0,0 +1,324 @@
+package play.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.ObjectStreamField;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import play.Play;
+import play.classloading.ApplicationClassloaderState;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A compact binary codec for cached values.
+ * <p>
+ * Strings, numbers, booleans and byte arrays are written as they are. Other values are written with Java
+ * serialization, without its class descriptors: a class is written as a number when it is registered, and as its name
+ * otherwise, with a fingerprint of its serialVersionUID and serializable fields, and read again from the application
+ * classloader. A value must then be read with the same version of its classes: when the fingerprint of a class differs,
+ * like after a deployment changing it, decoding fails with an InvalidClassException, so the value is not read with
+ * the wrong fields.
+ * <p>
+ * Configured in application.conf:
+ * <ul>
+ * <li><code>cache.codec.classes</code>: application classes to register, comma separated, after the common JDK and
+ * Play classes. Every server must register the same classes in the same order.</li>
+ * <li><code>cache.codec.compressionThreshold</code>: values encoded in more bytes are compressed with deflate; -1
+ * disables compression</li>
+ * </ul>
+ */
+public class CompactCacheCodec implements CacheCodec {
+
+    /**
+     * The classes registered by default, their number is their index: only add classes at the end
+     */
+    static final String[] DEFAULT_CLASSES = { "java.lang.Number", "java.lang.Integer", "java.lang.Long", "java.lang.Short",
+            "java.lang.Byte", "java.lang.Double", "java.lang.Float", "java.lang.Boolean", "java.lang.Character", "java.lang.Enum",
+            "java.math.BigDecimal", "java.math.BigInteger", "java.util.Date", "java.sql.Date", "java.sql.Timestamp",
+            "java.util.ArrayList", "java.util.LinkedList", "java.util.Arrays$ArrayList", "java.util.HashMap",
+            "java.util.LinkedHashMap", "java.util.TreeMap", "java.util.HashSet", "java.util.LinkedHashSet", "java.util.TreeSet",
+            "java.util.Collections$EmptyList", "java.util.Collections$EmptyMap", "java.util.Collections$EmptySet",
+            "java.util.Collections$UnmodifiableCollection", "java.util.Collections$UnmodifiableList",
+            "java.util.Collections$UnmodifiableRandomAccessList", "java.util.Collections$UnmodifiableMap",
+            "java.util.Collections$UnmodifiableSet", "java.lang.Throwable", "java.lang.Exception", "java.lang.RuntimeException",
+            "java.lang.StackTraceElement", "[Ljava.lang.StackTraceElement;", "[Ljava.lang.Object;", "[Ljava.lang.String;", "[B",
+            "[I", "[J", "play.utils.FastRuntimeException", "play.mvc.results.Result", "play.mvc.results.RenderTemplate",
+            "play.mvc.results.RenderText", "play.mvc.results.RenderHtml", "play.mvc.results.RenderJson", "play.mvc.results.RenderXml",
+            "play.mvc.results.Redirect", "play.mvc.results.Status", "play.mvc.results.Ok", "play.mvc.results.NotFound",
+            "play.db.jpa.JPABase", "play.db.jpa.GenericModel", "play.db.jpa.Model" };
+
+    private static final byte RAW = 0;
+    private static final byte DEFLATED = 1;
+
+    private static final byte STRING = 0;
+    private static final byte INTEGER = 1;
+    private static final byte LONG = 2;
+    private static final byte BOOLEAN = 3;
+    private static final byte DOUBLE = 4;
+    private static final byte BYTES = 5;
+    private static final byte OBJECT = 6;
+
+    private static final byte CLASS_NAME = 0;
+    private static final byte CLASS_NUMBER = 1;
+
+    /**
+     * The fingerprints of the classes, computed once per class
+     */
+    private static final ClassValue<Long> fingerprints = new ClassValue<Long>() {
+
+        @Override
+        protected Long computeValue(Class<?> type) {
+            ObjectStreamClass desc = ObjectStreamClass.lookupAny(type);
+            long fingerprint = desc.getSerialVersionUID();
+            for (ObjectStreamField field : desc.getFields()) {
+                fingerprint = 31 * fingerprint + field.getName().hashCode();
+                fingerprint = 31 * fingerprint + (field.isPrimitive() ? field.getTypeCode() : field.getTypeString().hashCode());
+            }
+            return fingerprint;
+        }
+    };
+
+    private final String[] classes;
+    private final Map<String, Integer> classNumbers = new HashMap<>();
+    private final int compressionThreshold;
+    private volatile ResolvedClasses resolved;
+
+    public CompactCacheCodec() {
+        this(configuredClasses(), Integer.parseInt(Play.configuration.getProperty("cache.codec.compressionThreshold", "-1")));
+    }
+
+    /**
+     * @param applicationClasses
+     *            The application classes to register
+     * @param compressionThreshold
+     *            Values encoded in more bytes are compressed, -1 to disable compression
+     */
+    public CompactCacheCodec(List<String> applicationClasses, int compressionThreshold) {
+        List<String> all = new ArrayList<>(List.of(DEFAULT_CLASSES));
+        all.addAll(applicationClasses);
+        this.classes = all.toArray(new String[0]);
+        for (int i = 0; i < classes.length; i++) {
+            classNumbers.put(classes[i], i);
+        }
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    private static List<String> configuredClasses() {
+        List<String> classes = new ArrayList<>();
+        for (String name : Play.configuration.getProperty("cache.codec.classes", "").split(",")) {
+            if (!name.trim().isEmpty()) {
+                classes.add(name.trim());
+            }
+        }
+        return classes;
+    }
+
+    @Override
+    public byte[] encode(Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        bytes.write(RAW);
+        write(new DataOutputStream(bytes), value);
+        if (compressionThreshold < 0 || bytes.size() <= compressionThreshold) {
+            return bytes.toByteArray();
+        }
+
+        byte[] raw = bytes.toByteArray();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(raw.length / 2);
+        compressed.write(DEFLATED);
+        try (OutputStream out = new DeflaterOutputStream(compressed)) {
+            out.write(raw, 1, raw.length - 1);
+        }
+        return compressed.size() < raw.length ? compressed.toByteArray() : raw;
+    }
+
+    private void write(DataOutputStream out, Object value) throws IOException {
+        if (value instanceof String) {
+            byte[] string = ((String) value).getBytes(UTF_8);
+            out.writeByte(STRING);
+            out.writeInt(string.length);
+            out.write(string);
+        } else if (value instanceof Integer) {
+            out.writeByte(INTEGER);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Boolean) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof Double) {
+            out.writeByte(DOUBLE);
+            out.writeDouble((Double) value);
+        } else if (value instanceof byte[]) {
+            byte[] array = (byte[]) value;
+            out.writeByte(BYTES);
+            out.writeInt(array.length);
+            out.write(array);
+        } else {
+            out.writeByte(OBJECT);
+            try (ObjectOutputStream objects = new CompactObjectOutputStream(out)) {
+                objects.writeObject(value);
+            }
+        }
+        out.flush();
+    }
+
+    @Override
+    public Object decode(byte[] data) throws IOException, ClassNotFoundException {
+        if (data.length == 0) {
+            throw new StreamCorruptedException("No data");
+        }
+        InputStream bytes = new ByteArrayInputStream(data, 1, data.length - 1);
+        if (data[0] == DEFLATED) {
+            bytes = new InflaterInputStream(bytes);
+        } else if (data[0] != RAW) {
+            throw new StreamCorruptedException("Unknown format " + data[0]);
+        }
+        return read(new DataInputStream(bytes));
+    }
+
+    private Object read(DataInputStream in) throws IOException, ClassNotFoundException {
+        byte type = in.readByte();
+        switch (type) {
+        case STRING:
+            byte[] string = new byte[in.readInt()];
+            in.readFully(string);
+            return new String(string, UTF_8);
+        case INTEGER:
+            return in.readInt();
+        case LONG:
+            return in.readLong();
+        case BOOLEAN:
+            return in.readBoolean();
+        case DOUBLE:
+            return in.readDouble();
+        case BYTES:
+            byte[] array = new byte[in.readInt()];
+            in.readFully(array);
+            return array;
+        case OBJECT:
+            try (ObjectInputStream objects = new CompactObjectInputStream(in)) {
+                return objects.readObject();
+            }
+        default:
+            throw new StreamCorruptedException("Unknown type " + type);
+        }
+    }
+
+    /**
+     * @return The class, from the classes already resolved with the current application classloader
+     */
+    private Class<?> resolve(String name) throws ClassNotFoundException {
+        ClassLoader classLoader = Play.classloader != null ? Play.classloader : CompactCacheCodec.class.getClassLoader();
+        ApplicationClassloaderState state = Play.classloader != null ? Play.classloader.currentState : null;
+        ResolvedClasses current = resolved;
+        if (current == null || current.classLoader != classLoader || !Objects.equals(current.state, state)) {
+            // The application has been reloaded
+            current = new ResolvedClasses(classLoader, state);
+            resolved = current;
+        }
+        Class<?> resolvedClass = current.byName.get(name);
+        if (resolvedClass == null) {
+            resolvedClass = Class.forName(name, false, classLoader);
+            current.byName.putIfAbsent(name, resolvedClass);
+        }
+        return resolvedClass;
+    }
+
+    private static final class ResolvedClasses {
+
+        final ClassLoader classLoader;
+        final ApplicationClassloaderState state;
+        final ConcurrentHashMap<String, Class<?>> byName = new ConcurrentHashMap<>();
+
+        ResolvedClasses(ClassLoader classLoader, ApplicationClassloaderState state) {
+            this.classLoader = classLoader;
+            this.state = state;
+        }
+    }
+
+    /**
+     * Java serialization writing the class descriptors as numbers or names
+     */
+    private class CompactObjectOutputStream extends ObjectOutputStream {
+
+        CompactObjectOutputStream(OutputStream out) throws IOException {
+            super(out);
+        }
+
+        @Override
+        protected void writeStreamHeader() {
+            // Known by the reader
+        }
+
+        @Override
+        protected void writeClassDescriptor(ObjectStreamClass desc) throws IOException {
+            Integer number = classNumbers.get(desc.getName());
+            if (number != null) {
+                writeByte(CLASS_NUMBER);
+                writeShort(number);
+            } else {
+                writeByte(CLASS_NAME);
+                writeUTF(desc.getName());
+            }
+            writeLong(fingerprints.get(desc.forClass()));
+        }
+    }
+
+    /**
+     * Java serialization reading the class descriptors from the classes of the application
+     */
+    private class CompactObjectInputStream extends ObjectInputStream {
+
+        CompactObjectInputStream(InputStream in) throws IOException {
+            super(in);
+        }
+
+        @Override
+        protected void readStreamHeader() {
+            // Not written
+        }
+
+        @Override
+        protected ObjectStreamClass readClassDescriptor() throws IOException, ClassNotFoundException {
+            String name;
+            if (readByte() == CLASS_NUMBER) {
+                int number = readUnsignedShort();
+                if (number >= classes.length) {
+                    throw new StreamCorruptedException("Unknown class number " + number);
+                }
+                name = classes[number];
+            } else {
+                name = readUTF();
+            }
+            Class<?> localClass = resolve(name);
+            if (readLong() != fingerprints.get(localClass)) {
+                throw new InvalidClassException(name, "Written by another version of the class");
+            }
+            return ObjectStreamClass.lookupAny(localClass);
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws ClassNotFoundException {
+            return resolve(desc.getName());
+        }
+    }
+}
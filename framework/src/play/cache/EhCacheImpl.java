@@ -1,6 +1,9 @@
 package play.cache;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import net.sf.ehcache.CacheManager;
 import net.sf.ehcache.Element;
@@ -85,8 +88,8 @@ public class EhCacheImpl implements CacheImpl {
     @Override
     public Map<String, Object> get(String[] keys) {
         Map<String, Object> result = new HashMap<>(keys.length);
-        for (String key : keys) {
-            result.put(key, get(key));
+        for (Map.Entry<Object, Element> e : cache.getAll(Arrays.asList(keys)).entrySet()) {
+            result.put((String) e.getKey(), e.getValue() == null ? null : e.getValue().getObjectValue());
         }
         return result;
     }
@@ -165,6 +168,22 @@ public class EhCacheImpl implements CacheImpl {
         cache.put(element);
     }
 
+    @Override
+    public void setMulti(Map<String, ?> values, int expiration) {
+        List<Element> elements = new ArrayList<>(values.size());
+        for (Map.Entry<String, ?> value : values.entrySet()) {
+            Element element = new Element(value.getKey(), value.getValue());
+            element.setTimeToLive(expiration);
+            elements.add(element);
+        }
+        cache.putAll(elements);
+    }
+
+    @Override
+    public void deleteMulti(String[] keys) {
+        cache.removeAll(Arrays.asList(keys));
+    }
+
     @Override
     public void stop() {
         cacheManager.shutdown();
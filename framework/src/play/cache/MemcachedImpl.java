@@ -1,17 +1,14 @@
 package play.cache;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
-import java.io.ObjectStreamClass;
 import java.net.InetSocketAddress;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import net.spy.memcached.AddrUtil;
 import net.spy.memcached.ConnectionFactory;
@@ -19,10 +16,13 @@ import net.spy.memcached.ConnectionFactoryBuilder;
 import net.spy.memcached.MemcachedClient;
 import net.spy.memcached.auth.AuthDescriptor;
 import net.spy.memcached.auth.PlainCallbackHandler;
+import net.spy.memcached.internal.BulkFuture;
+import net.spy.memcached.internal.OperationFuture;
 import net.spy.memcached.transcoders.SerializingTranscoder;
 import play.Logger;
 import play.Play;
 import play.exceptions.ConfigurationException;
+import play.libs.F.Promise;
 
 /**
  * Memcached implementation (using http://code.google.com/p/spymemcached/)
@@ -37,6 +37,8 @@ public class MemcachedImpl implements CacheImpl {
 
     SerializingTranscoder tc;
 
+    CacheCodec codec;
+
     public static MemcachedImpl getInstance() throws IOException {
       return getInstance(false);
     }
@@ -55,19 +57,13 @@ public class MemcachedImpl implements CacheImpl {
     }
 
     private MemcachedImpl() throws IOException {
+        codec = CacheCodec.fromConfiguration();
         tc = new SerializingTranscoder() {
 
             @Override
             protected Object deserialize(byte[] data) {
                 try {
-                    return new ObjectInputStream(new ByteArrayInputStream(data)) {
-
-                        @Override
-                        protected Class<?> resolveClass(ObjectStreamClass desc)
-                                throws IOException, ClassNotFoundException {
-                            return Class.forName(desc.getName(), false, Play.classloader);
-                        }
-                    }.readObject();
+                    return codec.decode(data);
                 } catch (Exception e) {
                     Logger.error(e, "Could not deserialize");
                 }
@@ -77,9 +73,7 @@ public class MemcachedImpl implements CacheImpl {
             @Override
             protected byte[] serialize(Object object) {
                 try {
-                    ByteArrayOutputStream bos = new ByteArrayOutputStream();
-                    new ObjectOutputStream(bos).writeObject(object);
-                    return bos.toByteArray();
+                    return codec.encode(object);
                 } catch (IOException e) {
                     Logger.error(e, "Could not serialize");
                 }
@@ -156,9 +150,10 @@ public class MemcachedImpl implements CacheImpl {
 
     @Override
     public Map<String, Object> get(String[] keys) {
-        Future<Map<String, Object>> future = client.asyncGetBulk(tc, keys);
+        BulkFuture<Map<String, Object>> future = client.asyncGetBulk(tc, keys);
         try {
-            return future.get(1, TimeUnit.SECONDS);
+            // The values read from the servers answering in time
+            return future.getSome(1, TimeUnit.SECONDS);
         } catch (Exception e) {
             future.cancel(false);
         }
@@ -233,4 +228,85 @@ public class MemcachedImpl implements CacheImpl {
     public void stop() {
         client.shutdown();
     }
+
+    @Override
+    public Promise<Object> getAsync(String key) {
+        Promise<Object> promise = new Promise<>();
+        client.asyncGet(key, tc).addListener(future -> {
+            Object value = null;
+            try {
+                value = future.get();
+            } catch (Exception e) {
+                Logger.warn("Cannot get %s from memcached: %s", key, e);
+            }
+            promise.invoke(value);
+        });
+        return promise;
+    }
+
+    @Override
+    public Promise<Map<String, Object>> getAsync(String[] keys) {
+        Promise<Map<String, Object>> promise = new Promise<>();
+        client.asyncGetBulk(tc, keys).addListener(future -> {
+            Map<String, Object> values = Collections.emptyMap();
+            try {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> read = (Map<String, Object>) future.get();
+                values = read;
+            } catch (Exception e) {
+                Logger.warn("Cannot get %s keys from memcached: %s", keys.length, e);
+            }
+            promise.invoke(values);
+        });
+        return promise;
+    }
+
+    @Override
+    public Promise<Boolean> setAsync(String key, Object value, int expiration) {
+        return redeem(client.set(key, expiration, value, tc));
+    }
+
+    @Override
+    public Promise<Boolean> setMultiAsync(Map<String, ?> values, int expiration) {
+        Promise<Boolean> promise = new Promise<>();
+        if (values.isEmpty()) {
+            promise.invoke(true);
+            return promise;
+        }
+        AtomicInteger pending = new AtomicInteger(values.size());
+        AtomicBoolean set = new AtomicBoolean(true);
+        for (Map.Entry<String, ?> value : values.entrySet()) {
+            redeem(client.set(value.getKey(), expiration, value.getValue(), tc)).onRedeem(result -> {
+                if (!result.getOrNull()) {
+                    set.set(false);
+                }
+                if (pending.decrementAndGet() == 0) {
+                    promise.invoke(set.get());
+                }
+            });
+        }
+        return promise;
+    }
+
+    @Override
+    public Promise<Boolean> deleteAsync(String key) {
+        return redeem(client.delete(key));
+    }
+
+    /**
+     * @return A promise redeemed with the result of the operation, false if it failed
+     */
+    private static Promise<Boolean> redeem(OperationFuture<Boolean> operation) {
+        Promise<Boolean> promise = new Promise<>();
+        operation.addListener(future -> {
+            boolean done = false;
+            try {
+                done = Boolean.TRUE.equals(future.get());
+            } catch (Exception e) {
+                Logger.warn("Memcached operation on %s failed: %s", future.getKey(), e);
+            }
+            promise.invoke(done);
+        });
+        return promise;
+    }
 }
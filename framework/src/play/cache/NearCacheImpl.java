@@ -0,0 +1,424 @@
+package play.cache;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import play.Play;
+import play.exceptions.ConfigurationException;
+import play.libs.F.Promise;
+import play.libs.Time;
+
+/**
+ * An in-process cache in front of another cache implementation, usually Memcached, so the values read often are not
+ * fetched and decoded on each read. The values are kept as they are: like with EhCache, a value modified after it is
+ * cached or read is modified for the next readers of this server.
+ * <p>
+ * A value, written by this server or read from the other cache, is kept until its expiration but at most for a time
+ * depending on how the other servers change it, configured in application.conf:
+ * <ul>
+ * <li><code>cache.near.invalidation=staleness</code>: the values may be changed by other servers, and are kept at most
+ * <code>cache.near.maxStaleness</code></li>
+ * <li><code>cache.near.invalidation=versioned</code>: the value of a key is never changed, a new value gets a new key
+ * (with a version number for example), and the values are kept at most <code>cache.near.ttl</code></li>
+ * </ul>
+ * The size of the near cache is bounded by <code>cache.near.maxEntries</code>: when it is full, the expired values are
+ * removed, then the tenth of the values read the least recently. Strings and byte arrays larger than
+ * <code>cache.near.maxValueSize</code> bytes are not kept. Counters are never kept.
+ */
+public class NearCacheImpl implements CacheImpl {
+
+    final CacheImpl remote;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final int maxEntries;
+    private final long maxValueSize;
+    private final long maxAgeNanos;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param remote
+     *            The cache behind the near cache
+     * @param maxEntries
+     *            The maximum number of values kept
+     * @param maxValueSize
+     *            The size in bytes above which strings and byte arrays are not kept
+     * @param maxAgeSeconds
+     *            How long a value is kept at most
+     */
+    public NearCacheImpl(CacheImpl remote, int maxEntries, long maxValueSize, int maxAgeSeconds) {
+        this.remote = remote;
+        this.maxEntries = maxEntries;
+        this.maxValueSize = maxValueSize;
+        this.maxAgeNanos = TimeUnit.SECONDS.toNanos(maxAgeSeconds);
+    }
+
+    /**
+     * @param remote
+     *            The cache behind the near cache
+     * @return A near cache configured in application.conf
+     */
+    public static NearCacheImpl fromConfiguration(CacheImpl remote) {
+        String invalidation = Play.configuration.getProperty("cache.near.invalidation", "staleness");
+        int maxAge;
+        if ("staleness".equals(invalidation)) {
+            maxAge = Time.parseDuration(Play.configuration.getProperty("cache.near.maxStaleness", "2s"));
+        } else if ("versioned".equals(invalidation)) {
+            maxAge = Time.parseDuration(Play.configuration.getProperty("cache.near.ttl", "1h"));
+        } else {
+            throw new ConfigurationException("Bad configuration for cache.near.invalidation: " + invalidation);
+        }
+        return new NearCacheImpl(remote, Integer.parseInt(Play.configuration.getProperty("cache.near.maxEntries", "10000")),
+                Long.parseLong(Play.configuration.getProperty("cache.near.maxValueSize", "65536")), maxAge);
+    }
+
+    @Override
+    public void add(String key, Object value, int expiration) {
+        // Whether the value is added is not known
+        entries.remove(key);
+        remote.add(key, value, expiration);
+    }
+
+    @Override
+    public boolean safeAdd(String key, Object value, int expiration) {
+        boolean added = remote.safeAdd(key, value, expiration);
+        if (added) {
+            keep(key, value, expiration);
+        } else {
+            entries.remove(key);
+        }
+        return added;
+    }
+
+    @Override
+    public void set(String key, Object value, int expiration) {
+        remote.set(key, value, expiration);
+        keep(key, value, expiration);
+    }
+
+    @Override
+    public boolean safeSet(String key, Object value, int expiration) {
+        boolean set = remote.safeSet(key, value, expiration);
+        if (set) {
+            keep(key, value, expiration);
+        } else {
+            entries.remove(key);
+        }
+        return set;
+    }
+
+    @Override
+    public void replace(String key, Object value, int expiration) {
+        // Whether the value is replaced is not known
+        entries.remove(key);
+        remote.replace(key, value, expiration);
+    }
+
+    @Override
+    public boolean safeReplace(String key, Object value, int expiration) {
+        boolean replaced = remote.safeReplace(key, value, expiration);
+        if (replaced) {
+            keep(key, value, expiration);
+        } else {
+            entries.remove(key);
+        }
+        return replaced;
+    }
+
+    @Override
+    public Object get(String key) {
+        Object value = local(key);
+        if (value != null) {
+            return value;
+        }
+        value = remote.get(key);
+        if (value != null) {
+            keep(key, value, Integer.MAX_VALUE);
+        }
+        return value;
+    }
+
+    @Override
+    public Map<String, Object> get(String[] keys) {
+        Map<String, Object> result = new HashMap<>(keys.length);
+        String[] missingKeys = missing(keys, result);
+        if (missingKeys.length > 0) {
+            for (Map.Entry<String, Object> entry : remote.get(missingKeys).entrySet()) {
+                if (entry.getValue() != null) {
+                    keep(entry.getKey(), entry.getValue(), Integer.MAX_VALUE);
+                }
+                result.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public long incr(String key, int by) {
+        entries.remove(key);
+        return remote.incr(key, by);
+    }
+
+    @Override
+    public long decr(String key, int by) {
+        entries.remove(key);
+        return remote.decr(key, by);
+    }
+
+    @Override
+    public void clear() {
+        entries.clear();
+        remote.clear();
+    }
+
+    @Override
+    public void delete(String key) {
+        entries.remove(key);
+        remote.delete(key);
+    }
+
+    @Override
+    public boolean safeDelete(String key) {
+        entries.remove(key);
+        return remote.safeDelete(key);
+    }
+
+    @Override
+    public void stop() {
+        entries.clear();
+        remote.stop();
+    }
+
+    @Override
+    public void setMulti(Map<String, ?> values, int expiration) {
+        remote.setMulti(values, expiration);
+        for (Map.Entry<String, ?> value : values.entrySet()) {
+            keep(value.getKey(), value.getValue(), expiration);
+        }
+    }
+
+    @Override
+    public void deleteMulti(String[] keys) {
+        for (String key : keys) {
+            entries.remove(key);
+        }
+        remote.deleteMulti(keys);
+    }
+
+    @Override
+    public Promise<Object> getAsync(String key) {
+        Object value = local(key);
+        if (value != null) {
+            Promise<Object> promise = new Promise<>();
+            promise.invoke(value);
+            return promise;
+        }
+        Promise<Object> promise = remote.getAsync(key);
+        promise.onRedeem(read -> {
+            if (read.getOrNull() != null) {
+                keep(key, read.getOrNull(), Integer.MAX_VALUE);
+            }
+        });
+        return promise;
+    }
+
+    @Override
+    public Promise<Map<String, Object>> getAsync(String[] keys) {
+        Map<String, Object> result = new HashMap<>(keys.length);
+        String[] missingKeys = missing(keys, result);
+        Promise<Map<String, Object>> promise = new Promise<>();
+        if (missingKeys.length == 0) {
+            promise.invoke(result);
+            return promise;
+        }
+        remote.getAsync(missingKeys).onRedeem(read -> {
+            Map<String, Object> values = read.getOrNull();
+            if (values != null) {
+                for (Map.Entry<String, Object> entry : values.entrySet()) {
+                    if (entry.getValue() != null) {
+                        keep(entry.getKey(), entry.getValue(), Integer.MAX_VALUE);
+                    }
+                    result.put(entry.getKey(), entry.getValue());
+                }
+            }
+            promise.invoke(result);
+        });
+        return promise;
+    }
+
+    @Override
+    public Promise<Boolean> setAsync(String key, Object value, int expiration) {
+        entries.remove(key);
+        Promise<Boolean> promise = remote.setAsync(key, value, expiration);
+        promise.onRedeem(set -> {
+            if (Boolean.TRUE.equals(set.getOrNull())) {
+                keep(key, value, expiration);
+            }
+        });
+        return promise;
+    }
+
+    @Override
+    public Promise<Boolean> setMultiAsync(Map<String, ?> values, int expiration) {
+        for (String key : values.keySet()) {
+            entries.remove(key);
+        }
+        Promise<Boolean> promise = remote.setMultiAsync(values, expiration);
+        promise.onRedeem(set -> {
+            if (Boolean.TRUE.equals(set.getOrNull())) {
+                for (Map.Entry<String, ?> value : values.entrySet()) {
+                    keep(value.getKey(), value.getValue(), expiration);
+                }
+            }
+        });
+        return promise;
+    }
+
+    @Override
+    public Promise<Boolean> deleteAsync(String key) {
+        entries.remove(key);
+        return remote.deleteAsync(key);
+    }
+
+    /**
+     * Read the values kept
+     *
+     * @return The keys of the values not kept
+     */
+    private String[] missing(String[] keys, Map<String, Object> result) {
+        int missing = 0;
+        String[] remoteKeys = new String[keys.length];
+        for (String key : keys) {
+            Object value = local(key);
+            if (value != null) {
+                result.put(key, value);
+            } else {
+                remoteKeys[missing++] = key;
+            }
+        }
+        String[] missingKeys = new String[missing];
+        System.arraycopy(remoteKeys, 0, missingKeys, 0, missing);
+        return missingKeys;
+    }
+
+    private Object local(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            long now = System.nanoTime();
+            if (now - entry.expiresAt < 0) {
+                entry.readAt = now;
+                hits.increment();
+                return entry.value;
+            }
+            entries.remove(key, entry);
+        }
+        misses.increment();
+        return null;
+    }
+
+    private void keep(String key, Object value, int expiration) {
+        if (expiration <= 0 || maxEntries <= 0 || size(value) > maxValueSize) {
+            entries.remove(key);
+            return;
+        }
+        if (entries.size() >= maxEntries && !entries.containsKey(key)) {
+            makeRoom();
+        }
+        long now = System.nanoTime();
+        long maxAge = Math.min(maxAgeNanos, TimeUnit.SECONDS.toNanos(expiration));
+        entries.put(key, new Entry(value, now, now + maxAge));
+    }
+
+    /**
+     * Remove the expired values, then the values read the least recently, so that a tenth of the cache is free
+     */
+    private synchronized void makeRoom() {
+        if (entries.size() < maxEntries) {
+            // Done by another thread
+            return;
+        }
+        long now = System.nanoTime();
+        List<Map.Entry<String, Entry>> kept = new ArrayList<>(entries.size());
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            if (now - entry.getValue().expiresAt >= 0) {
+                entries.remove(entry.getKey(), entry.getValue());
+            } else {
+                kept.add(entry);
+            }
+        }
+        int excess = kept.size() - (maxEntries - Math.max(1, maxEntries / 10));
+        if (excess > 0) {
+            kept.sort(Comparator.comparingLong(entry -> entry.getValue().readAt - now));
+            for (int i = 0; i < excess; i++) {
+                if (entries.remove(kept.get(i).getKey(), kept.get(i).getValue())) {
+                    evictions.increment();
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The size in bytes of strings and byte arrays, 0 for other values
+     */
+    private static long size(Object value) {
+        if (value instanceof CharSequence) {
+            return 2L * ((CharSequence) value).length();
+        }
+        if (value instanceof byte[]) {
+            return ((byte[]) value).length;
+        }
+        return 0;
+    }
+
+    /**
+     * @return The number of values kept
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return The number of reads of a value kept
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return The number of reads of a value not kept, read from the other cache
+     */
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return The number of values removed to make room for others
+     */
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    private static final class Entry {
+
+        final Object value;
+        final long expiresAt;
+        /**
+         * When the value was last read, or written
+         */
+        volatile long readAt;
+
+        Entry(Object value, long readAt, long expiresAt) {
+            this.value = value;
+            this.readAt = readAt;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -192,6 +192,10 @@ public class ApplicationClasses {
          * The in JVM loaded package
          */
         public Package javaPackage;
+        /**
+         * Is the enhanced byteCode up to date with the compiled one
+         */
+        volatile boolean enhanced;
         /**
          * Last time than this class was compiled
          */
@@ -227,13 +231,11 @@ public class ApplicationClasses {
             }
             this.javaByteCode = null;
             this.enhancedByteCode = null;
+            this.enhanced = false;
             this.compiled = false;
             this.timestamp = 0L;
         }
 
-        static final ClassPool enhanceChecker_classPool = Enhancer.newClassPool();
-        static final CtClass ctPlayPluginClass = enhanceChecker_classPool.makeClass(PlayPlugin.class.getName());
-
         /**
          * Enhance this class
          * 
@@ -252,8 +254,10 @@ public class ApplicationClasses {
                 // as the other (soon to be) enhanced play-app-classes.
                 boolean shouldEnhance = true;
                 try {
+                    // A pool of this thread, as classes may be enhanced on several threads
+                    ClassPool enhanceChecker_classPool = Enhancer.newClassPool();
                     CtClass ctClass = enhanceChecker_classPool.makeClass(new ByteArrayInputStream(this.enhancedByteCode));
-                    if (ctClass.subclassOf(ctPlayPluginClass)) {
+                    if (ctClass.subclassOf(enhanceChecker_classPool.get(PlayPlugin.class.getName()))) {
                         shouldEnhance = false;
                     }
                 } catch (Exception e) {
@@ -276,6 +280,7 @@ public class ApplicationClasses {
                     Logger.error(e, "Failed to write precompiled class %s to disk", name);
                 }
             }
+            this.enhanced = true;
             return this.enhancedByteCode;
 
         }
@@ -289,6 +294,15 @@ public class ApplicationClasses {
             return compiled && javaClass != null;
         }
 
+        /**
+         * Is the enhanced byteCode up to date with the compiled one ?
+         * 
+         * @return if the class is enhanced
+         */
+        public boolean isEnhanced() {
+            return enhanced;
+        }
+
         public boolean isClass() {
             return isClass(this.name);
         }
@@ -323,6 +337,7 @@ public class ApplicationClasses {
          */
         public void uncompile() {
             this.javaClass = null;
+            this.enhanced = false;
         }
 
         /**
@@ -334,6 +349,7 @@ public class ApplicationClasses {
         public void compiled(byte[] code) {
             javaByteCode = code;
             enhancedByteCode = code;
+            enhanced = false;
             compiled = true;
             this.timestamp = this.javaFile.lastModified();
         }
@@ -26,6 +26,11 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang.StringUtils;
@@ -34,6 +39,7 @@ import play.Logger;
 import play.Play;
 import play.cache.Cache;
 import play.classloading.ApplicationClasses.ApplicationClass;
+import play.classloading.enhancers.Enhancer;
 import play.classloading.hash.ClassStateHashCreator;
 import play.exceptions.RestartNeededException;
 import play.exceptions.UnexpectedException;
@@ -143,7 +149,8 @@ public class ApplicationClassloader extends ClassLoader {
             if (applicationClass.isDefinable()) {
                 return applicationClass.javaClass;
             }
-            byte[] bc = BytecodeCache.getBytecode(name, applicationClass.javaSource);
+            byte[] bc = applicationClass.enhanced ? applicationClass.enhancedByteCode
+                    : BytecodeCache.getBytecode(name, applicationClass.javaSource);
 
             if (Logger.isTraceEnabled()) {
                 Logger.trace("Compiling code for %s", name);
@@ -439,6 +446,8 @@ public class ApplicationClassloader extends ClassLoader {
 
                 }
 
+                enhanceAll(Play.classes.all());
+
                 for (ApplicationClass applicationClass : Play.classes.all()) {
                     Class clazz = loadApplicationClass(applicationClass.name);
                     if (clazz != null) {
@@ -463,6 +472,71 @@ public class ApplicationClassloader extends ClassLoader {
         return allClasses;
     }
 
+    /**
+     * Enhance the compiled classes on play.enhancer.parallelism threads, or read their enhanced bytecode from the
+     * bytecode cache, so that loading them only has to define them. Enhancers only read the other classes, as
+     * compiled until they are enhanced, so the classes can be enhanced in any order. It is opt-in: the enhancers of
+     * the plugins may not be thread-safe.
+     */
+    private void enhanceAll(List<ApplicationClass> applicationClasses) {
+        int parallelism = Integer.parseInt(Play.configuration.getProperty("play.enhancer.parallelism", "1"));
+        List<Callable<Void>> tasks = new ArrayList<>();
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        for (ApplicationClass applicationClass : applicationClasses) {
+            if (!applicationClass.isDefinable() && !applicationClass.enhanced && applicationClass.javaByteCode != null) {
+                tasks.add(() -> {
+                    Thread.currentThread().setContextClassLoader(contextClassLoader);
+                    enhance(applicationClass);
+                    return null;
+                });
+            }
+        }
+        if (parallelism <= 1 || tasks.size() < 2) {
+            // loadApplicationClass enhances them one by one
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        // Each thread with class pools of its own
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism, enhancements -> {
+            Thread thread = new Thread(() -> Enhancer.withOwnClassPool(enhancements), "play-enhancer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            for (Future<Void> task : pool.invokeAll(tasks)) {
+                task.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new UnexpectedException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UnexpectedException(e);
+        } finally {
+            pool.shutdown();
+        }
+        if (Logger.isTraceEnabled()) {
+            Logger.trace("%sms to enhance %s classes on %s threads", System.currentTimeMillis() - start, tasks.size(), parallelism);
+        }
+    }
+
+    private static void enhance(ApplicationClass applicationClass) {
+        byte[] bc = BytecodeCache.getBytecode(applicationClass.name, applicationClass.javaSource);
+        if (bc != null) {
+            applicationClass.enhancedByteCode = bc;
+            applicationClass.enhanced = true;
+        } else {
+            applicationClass.enhance();
+            BytecodeCache.cacheBytecode(applicationClass.enhancedByteCode, applicationClass.name, applicationClass.javaSource);
+        }
+    }
+
     private List<Class> allClasses;
     private Map<String, ApplicationClass> allClassesByNormalizedName;
 
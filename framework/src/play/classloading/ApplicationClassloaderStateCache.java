@@ -0,0 +1,80 @@
+package play.classloading;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import play.Play;
+
+/**
+ * Values computed from the application classes, like the plan of a controller method, kept until the application
+ * classloader gets a new state. They are read without locking; a value computed by two threads at once is computed
+ * twice, and the first one is kept.
+ * <p>
+ * Without an application classloader, the values are computed on each call.
+ *
+ * @param <K>
+ *            The key type, like Method
+ * @param <V>
+ *            The value type
+ */
+public final class ApplicationClassloaderStateCache<K, V> {
+
+    private volatile Values<K, V> values;
+
+    /**
+     * Computes the value of a key
+     *
+     * @param <K>
+     *            The key type
+     * @param <V>
+     *            The value type
+     * @param <E>
+     *            The exception thrown, RuntimeException for none
+     */
+    @FunctionalInterface
+    public interface Loader<K, V, E extends Exception> {
+        V load(K key) throws E;
+    }
+
+    /**
+     * @param key
+     *            The key
+     * @param loader
+     *            Computes the value of the key if it is not cached for the current state
+     * @param <E>
+     *            The exception thrown by the loader
+     * @return The value of the key
+     * @throws E
+     *             if the value cannot be computed
+     */
+    public <E extends Exception> V get(K key, Loader<? super K, ? extends V, E> loader) throws E {
+        ApplicationClassloaderState state = Play.classloader == null ? null : Play.classloader.currentState;
+        if (state == null) {
+            return loader.load(key);
+        }
+        Values<K, V> current = values;
+        if (current == null || !current.state.equals(state)) {
+            // The application has been reloaded
+            current = new Values<>(state);
+            values = current;
+        }
+        V value = current.byKey.get(key);
+        if (value == null) {
+            value = loader.load(key);
+            V previous = current.byKey.putIfAbsent(key, value);
+            if (previous != null) {
+                value = previous;
+            }
+        }
+        return value;
+    }
+
+    private static final class Values<K, V> {
+
+        final ApplicationClassloaderState state;
+        final ConcurrentHashMap<K, V> byKey = new ConcurrentHashMap<>();
+
+        Values(ApplicationClassloaderState state) {
+            this.state = state;
+        }
+    }
+}
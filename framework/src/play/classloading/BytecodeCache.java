@@ -7,7 +7,10 @@ import play.PlayPlugin;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
+import java.net.URISyntaxException;
+import java.security.CodeSource;
 import java.security.MessageDigest;
+import java.util.List;
 import java.util.regex.Pattern;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
@@ -122,13 +125,9 @@ public class BytecodeCache {
      */
     static String hash(String text) {
         try {
-            StringBuilder plugins = new StringBuilder();
-            for(PlayPlugin plugin : Play.pluginCollection.getEnabledPlugins()) {
-                plugins.append(plugin.getClass().getName());
-            }
             MessageDigest messageDigest = MessageDigest.getInstance("MD5");
             messageDigest.reset();
-            messageDigest.update((Play.version + plugins + text).getBytes(UTF_8));
+            messageDigest.update((Play.version + pluginsVersion() + text).getBytes(UTF_8));
             byte[] digest = messageDigest.digest();
             StringBuilder builder = new StringBuilder();
             for (int i = 0; i < digest.length; ++i) {
@@ -144,6 +143,35 @@ public class BytecodeCache {
         }
     }
 
+    /**
+     * The enabled plugins, with the date and size of the jar or directory of their classes. A new version of a plugin
+     * (so of its enhancers) invalidates the bytecode it has enhanced.
+     */
+    static synchronized String pluginsVersion() {
+        List<PlayPlugin> plugins = Play.pluginCollection.getEnabledPlugins();
+        if (plugins != hashedPlugins) {
+            StringBuilder version = new StringBuilder();
+            for (PlayPlugin plugin : plugins) {
+                version.append(plugin.getClass().getName());
+                CodeSource codeSource = plugin.getClass().getProtectionDomain().getCodeSource();
+                if (codeSource != null && codeSource.getLocation() != null && "file".equals(codeSource.getLocation().getProtocol())) {
+                    try {
+                        File location = new File(codeSource.getLocation().toURI());
+                        version.append('@').append(location.lastModified()).append(':').append(location.length());
+                    } catch (URISyntaxException | IllegalArgumentException e) {
+                        // Only the name of the plugin then
+                    }
+                }
+            }
+            hashedPlugins = plugins;
+            pluginsVersion = version.toString();
+        }
+        return pluginsVersion;
+    }
+
+    private static List<PlayPlugin> hashedPlugins;
+    private static String pluginsVersion;
+
     /**
      * Retrieve the real file that will be used as cache.
      */
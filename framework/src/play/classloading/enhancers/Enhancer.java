@@ -26,6 +26,11 @@ import play.classloading.ApplicationClasses.ApplicationClass;
 
 /**
  * Enhancer support
+ * <p>
+ * With <code>play.enhancer.parallelism</code> above 1, the application classes are enhanced on several threads at
+ * once, each class by a single thread. Each enhancing thread then gets its own class pools, the parent pool of the JDK,
+ * framework and library classes included, so the javassist classes are never shared by threads. An enhancer must not
+ * share other mutable state, like static fields or the fields of its plugin, between the classes it enhances.
  */
 public abstract class Enhancer {
 
@@ -35,10 +40,49 @@ public abstract class Enhancer {
         this.classPool = newClassPool();
     }
 
-    public static ClassPool newClassPool() {
+    /**
+     * The JDK, framework and library classes, which do not change while the application runs. They are shared by the
+     * class pools of the enhancers, so they are read once rather than for each enhanced class.
+     */
+    private static final ClassPool sharedClassPool = newSharedClassPool();
+
+    /**
+     * The parent pool of the class pools created by a thread enhancing classes along other threads
+     */
+    private static final ThreadLocal<ClassPool> threadClassPool = new ThreadLocal<>();
+
+    private static ClassPool newSharedClassPool() {
         ClassPool classPool = new ClassPool();
         classPool.appendSystemPath();
         classPool.appendClassPath(new LoaderClassPath(Enhancer.class.getClassLoader()));
+        return classPool;
+    }
+
+    /**
+     * Run the enhancements of a thread enhancing classes along other threads: the class pools it creates meanwhile get
+     * a parent pool of their own, instead of the one shared by the other class pools.
+     *
+     * @param enhancements
+     *            The enhancements to run
+     */
+    public static void withOwnClassPool(Runnable enhancements) {
+        ClassPool previous = threadClassPool.get();
+        threadClassPool.set(newSharedClassPool());
+        try {
+            enhancements.run();
+        } finally {
+            if (previous == null) {
+                threadClassPool.remove();
+            } else {
+                threadClassPool.set(previous);
+            }
+        }
+    }
+
+    public static ClassPool newClassPool() {
+        ClassPool parent = threadClassPool.get();
+        ClassPool classPool = new ClassPool(parent != null ? parent : sharedClassPool);
+        classPool.childFirstLookup = true;
         classPool.appendClassPath(new ApplicationClassesClasspath());
         return classPool;
     }
@@ -84,11 +128,17 @@ public abstract class Enhancer {
             }
             ApplicationClass appClass = Play.classes.getApplicationClass(className);
 
-            if (appClass.enhancedByteCode == null) {
+            // The enhanced bytecode of a class is reassigned by each enhancer, maybe on another thread: read it only
+            // once the class is enhanced, else the compiled one
+            byte[] byteCode = appClass.isEnhanced() ? appClass.enhancedByteCode : appClass.javaByteCode;
+            if (byteCode == null) {
+                byteCode = appClass.enhancedByteCode;
+            }
+            if (byteCode == null) {
                 throw new RuntimeException("Trying to visit uncompiled class while enhancing. Uncompiled class: " + className);
             }
 
-            return new ByteArrayInputStream(appClass.enhancedByteCode);
+            return new ByteArrayInputStream(byteCode);
         }
 
         @Override
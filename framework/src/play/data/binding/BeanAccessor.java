@@ -0,0 +1,162 @@
+package play.data.binding;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.CtNewConstructor;
+import javassist.CtNewMethod;
+import javassist.LoaderClassPath;
+import org.apache.commons.lang.ClassUtils;
+import play.Logger;
+import play.classloading.enhancers.Enhancer;
+
+/**
+ * Sets and gets the properties of a bean without reflection. A subclass is generated for each bean class, in the
+ * package and the classloader of the bean class, so it may access its public and package-private fields and methods.
+ * The private ones are still accessed with reflection.
+ */
+public abstract class BeanAccessor {
+
+    private static final AtomicInteger generated = new AtomicInteger();
+
+    /**
+     * @param bean
+     *            The bean
+     * @param property
+     *            The index of the property
+     * @param value
+     *            The value to set
+     */
+    public abstract void set(Object bean, int property, Object value);
+
+    /**
+     * @param bean
+     *            The bean
+     * @param property
+     *            The index of the property
+     * @return The value of the property
+     */
+    public abstract Object get(Object bean, int property);
+
+    /**
+     * Generate the accessor of the properties of a bean class
+     *
+     * @param beanClass
+     *            The bean class
+     * @param properties
+     *            The properties of the bean class, given the accessor and their index when they can be accessed
+     *            without reflection
+     */
+    static void generate(Class<?> beanClass, Collection<BeanWrapper.Property> properties) {
+        if (!accessible(beanClass, beanClass) || beanClass.isAnonymousClass() || beanClass.isLocalClass()) {
+            return;
+        }
+        List<BeanWrapper.Property> generatedProperties = new ArrayList<>();
+        for (BeanWrapper.Property property : properties) {
+            if (accessible(beanClass, property.getType()) && accessible(beanClass, property.writer())
+                    && (property.reader() == null || accessible(beanClass, property.reader()))) {
+                generatedProperties.add(property);
+            }
+        }
+        if (generatedProperties.isEmpty()) {
+            return;
+        }
+
+        // Several threads may generate the accessor of the same class at the same time, so each one has its own name
+        String name = beanClass.getName() + "$PlayAccessor" + generated.incrementAndGet();
+        StringBuilder set = new StringBuilder("public void set(Object bean, int property, Object value) { switch ($2) {");
+        StringBuilder get = new StringBuilder("public Object get(Object bean, int property) { switch ($2) {");
+        String bean = "((" + sourceName(beanClass) + ") $1)";
+        for (int i = 0; i < generatedProperties.size(); i++) {
+            BeanWrapper.Property property = generatedProperties.get(i);
+            String value = unbox(property.getType(), "$3");
+            if (property.writer() instanceof Field) {
+                set.append(" case ").append(i).append(": ").append(bean).append('.').append(property.writer().getName()).append(" = ").append(value).append("; return;");
+            } else {
+                set.append(" case ").append(i).append(": ").append(bean).append('.').append(property.writer().getName()).append('(').append(value).append("); return;");
+            }
+            if (property.reader() instanceof Field) {
+                get.append(" case ").append(i).append(": return ($w) ").append(bean).append('.').append(property.reader().getName()).append(';');
+            } else if (property.reader() != null) {
+                get.append(" case ").append(i).append(": return ($w) ").append(bean).append('.').append(property.reader().getName()).append("();");
+            }
+        }
+        set.append(" } throw new IllegalArgumentException(\"No property \" + $2); }");
+        get.append(" } throw new IllegalArgumentException(\"No readable property \" + $2); }");
+
+        try {
+            ClassPool classPool = Enhancer.newClassPool();
+            if (beanClass.getClassLoader() != null) {
+                classPool.insertClassPath(new LoaderClassPath(beanClass.getClassLoader()));
+            }
+            CtClass ctClass = classPool.makeClass(name);
+            ctClass.setModifiers(Modifier.PUBLIC | Modifier.FINAL);
+            ctClass.setSuperclass(classPool.get(BeanAccessor.class.getName()));
+            ctClass.addConstructor(CtNewConstructor.defaultConstructor(ctClass));
+            ctClass.addMethod(CtNewMethod.make(set.toString(), ctClass));
+            ctClass.addMethod(CtNewMethod.make(get.toString(), ctClass));
+            byte[] bytecode = ctClass.toBytecode();
+            ctClass.detach();
+
+            Class<?> accessorClass = MethodHandles.privateLookupIn(beanClass, MethodHandles.lookup()).defineClass(bytecode);
+            BeanAccessor accessor = (BeanAccessor) accessorClass.getDeclaredConstructor().newInstance();
+            for (int i = 0; i < generatedProperties.size(); i++) {
+                generatedProperties.get(i).setAccessor(accessor, i);
+            }
+        } catch (Exception | LinkageError e) {
+            // The properties are accessed with reflection
+            Logger.debug(e, "Cannot generate the accessor of %s", beanClass.getName());
+        }
+    }
+
+    /**
+     * @return true if the generated accessor of the bean class can access the member
+     */
+    private static boolean accessible(Class<?> beanClass, Member member) {
+        int modifiers = member.getModifiers();
+        return !Modifier.isPrivate(modifiers) && (Modifier.isPublic(modifiers) || samePackage(beanClass, member.getDeclaringClass()));
+    }
+
+    /**
+     * @return true if the generated accessor of the bean class can access the type
+     */
+    private static boolean accessible(Class<?> beanClass, Class<?> type) {
+        while (type.isArray()) {
+            type = type.getComponentType();
+        }
+        if (type.isPrimitive()) {
+            return true;
+        }
+        for (Class<?> c = type; c != null; c = c.getEnclosingClass()) {
+            int modifiers = c.getModifiers();
+            if (Modifier.isPrivate(modifiers) || (!Modifier.isPublic(modifiers) && !samePackage(beanClass, c))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean samePackage(Class<?> a, Class<?> b) {
+        return a.getClassLoader() == b.getClassLoader() && Objects.equals(a.getPackageName(), b.getPackageName());
+    }
+
+    private static String sourceName(Class<?> type) {
+        return type.isArray() ? sourceName(type.getComponentType()) + "[]" : type.getName();
+    }
+
+    private static String unbox(Class<?> type, String value) {
+        if (type.isPrimitive()) {
+            return "((" + ClassUtils.primitiveToWrapper(type).getName() + ") " + value + ")." + type.getName() + "Value()";
+        }
+        return "(" + sourceName(type) + ") " + value;
+    }
+}
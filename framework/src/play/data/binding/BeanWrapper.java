@@ -16,6 +16,18 @@ public class BeanWrapper {
     static final int notwritableField = Modifier.FINAL | Modifier.NATIVE | Modifier.STATIC;
     static final int notaccessibleMethod = Modifier.NATIVE | Modifier.STATIC;
 
+    /**
+     * The wrappers of the classes bound, with generated accessors, kept as long as their class
+     */
+    private static final ClassValue<BeanWrapper> cache = new ClassValue<BeanWrapper>() {
+        @Override
+        protected BeanWrapper computeValue(Class<?> type) {
+            BeanWrapper wrapper = new BeanWrapper(type);
+            BeanAccessor.generate(type, wrapper.getWrappers());
+            return wrapper;
+        }
+    };
+
     private Class<?> beanClass;
 
     /** 
@@ -45,16 +57,24 @@ public class BeanWrapper {
         }
     }
 
+    /**
+     * @param forClass
+     *            The bean class
+     * @return The wrapper of the class, shared, with properties set and read without reflection when possible
+     */
+    public static BeanWrapper forClass(Class<?> forClass) {
+        return cache.get(forClass);
+    }
+
     public Collection<Property> getWrappers() {
         return wrappers.values();
     }
 
     public void set(String name, Object instance, Object value) {
-        for (Property prop : wrappers.values()) {
-            if (name.equals(prop.name)) {
-                prop.setValue(instance, value);
-                return;
-            }
+        Property prop = wrappers.get(name);
+        if (prop != null) {
+            prop.setValue(instance, value);
+            return;
         }
         String message = String.format("Can't find property with name '%s' on class %s", name, instance.getClass().getName());
         Logger.warn(message);
@@ -136,24 +156,51 @@ public class BeanWrapper {
                 }
                 propertyname = method.getName().substring(3, 4).toLowerCase() + method.getName().substring(4);
             }
-            Property wrapper = new Property(propertyname, method);
+            Property wrapper = new Property(propertyname, method, getter(method, propertyname, isScala));
             wrappers.put(propertyname, wrapper);
         }
     }
 
+    private static Method getter(Method setter, String propertyName, boolean isScala) {
+        Class<?> type = setter.getParameterTypes()[0];
+        String suffix = setter.getName().substring(3);
+        String[] names = isScala ? new String[] { propertyName } : type == boolean.class ? new String[] { "get" + suffix, "is" + suffix } : new String[] { "get" + suffix };
+        for (Class<?> clazz = setter.getDeclaringClass(); clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+            for (String name : names) {
+                try {
+                    Method getter = clazz.getDeclaredMethod(name);
+                    if (getter.getReturnType() == type && (getter.getModifiers() & notaccessibleMethod) == 0) {
+                        return getter;
+                    }
+                } catch (NoSuchMethodException e) {
+                    // Try the next one
+                }
+            }
+        }
+        return null;
+    }
+
     public static class Property {
 
         private Annotation[] annotations;
         private Method setter;
+        private Method getter;
         private Field field;
         private Class<?> type;
         private Type genericType;
         private String name;
         private String[] profiles;
+        BeanAccessor accessor;
+        private int index;
 
         Property(String propertyName, Method setterMethod) {
+            this(propertyName, setterMethod, null);
+        }
+
+        Property(String propertyName, Method setterMethod, Method getterMethod) {
             name = propertyName;
             setter = setterMethod;
+            getter = getterMethod;
             type = setter.getParameterTypes()[0];
             annotations = setter.getAnnotations();
             genericType = setter.getGenericParameterTypes()[0];
@@ -181,9 +228,28 @@ public class BeanWrapper {
             }
         }
 
+        void setAccessor(BeanAccessor accessor, int index) {
+            this.accessor = accessor;
+            this.index = index;
+        }
+
+        Member writer() {
+            return setter != null ? setter : field;
+        }
+
+        Member reader() {
+            return setter != null ? getter : field;
+        }
+
         public void setValue(Object instance, Object value) {
             try {
-                if (setter != null) {
+                if (accessor != null) {
+                    if (Logger.isTraceEnabled()) {
+                        Logger.trace("set %s on %s with value %s", name, instance, value);
+                    }
+
+                    accessor.set(instance, index, value);
+                } else if (setter != null) {
                     if (Logger.isTraceEnabled()) {
                         Logger.trace("invoke setter %s on %s with value %s", setter, instance, value);
                     }
@@ -204,6 +270,24 @@ public class BeanWrapper {
             }
         }
 
+        public Object getValue(Object instance) {
+            if (reader() == null) {
+                throw new UnexpectedException(String.format("Can't read property %s on class %s", name, instance.getClass().getName()));
+            }
+            try {
+                if (accessor != null) {
+                    return accessor.get(instance, index);
+                }
+                if (getter != null) {
+                    return getter.invoke(instance);
+                }
+                return field.get(instance);
+            } catch (Exception ex) {
+                Logger.warn(ex, "ERROR in BeanWrapper when getting property %s", name);
+                throw new UnexpectedException(ex);
+            }
+        }
+
         String getName() {
             return name;
         }
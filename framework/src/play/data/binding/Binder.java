@@ -81,10 +81,8 @@ public abstract class Binder {
         supportedTypes.remove(clazz);
     }
 
-    static Map<Class<?>, BeanWrapper> beanwrappers = new HashMap<>();
-
     static BeanWrapper getBeanWrapper(Class<?> clazz) {
-        return beanwrappers.computeIfAbsent(clazz, BeanWrapper::new);
+        return BeanWrapper.forClass(clazz);
     }
 
     public static class MethodAndParamInfo {
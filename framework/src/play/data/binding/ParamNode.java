@@ -7,6 +7,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.regex.Pattern;
 
 public class ParamNode {
     private final String name;
@@ -22,6 +23,7 @@ public class ParamNode {
     // a[b][c]=12
     // a.b[c]=12
     private static final String keyPartDelimiterRegexpString = "[\\.\\[\\]]+";
+    private static final Pattern keyPartDelimiter = Pattern.compile(keyPartDelimiterRegexpString);
 
     public ParamNode(String name) {
         this.name = name;
@@ -57,13 +59,24 @@ public class ParamNode {
     }
 
     public ParamNode getChild(String name, boolean returnEmptyChildIfNotFound) {
-        ParamNode child = getChild( name.split(keyPartDelimiterRegexpString));
+        // Property names are looked up for each property bound, most have no delimiter
+        ParamNode child = hasKeyPartDelimiter(name) ? getChild(keyPartDelimiter.split(name)) : _children.get(name);
         if (child == null && returnEmptyChildIfNotFound) {
             child = new ParamNode(name);
         }
         return child;
     }
 
+    private static boolean hasKeyPartDelimiter(String name) {
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c == '.' || c == '[' || c == ']') {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public static class RemovedNode {
         public final ParamNode removedFrom;
         public final ParamNode removedNode;
@@ -143,7 +156,7 @@ public class ParamNode {
 
             ParamNode currentParent = root;
 
-            for ( String name : key.split(keyPartDelimiterRegexpString)) {
+            for ( String name : keyPartDelimiter.split(key)) {
                 ParamNode paramNode = currentParent.getChild( name );
                 if (paramNode ==null) {
                     // first time we see this node - create it and add it to parent
@@ -23,6 +23,8 @@ public class ValidCheck extends AbstractAnnotationCheck<Required> {
         if (value == null) {
             return true;
         }
+        // The check is kept by a validator of the pool, and may be called again while validating the value
+        String key = this.key;
         try {
             if (context != null) {
                 if (context instanceof MethodParameterContext) {
@@ -60,7 +62,7 @@ public class ValidCheck extends AbstractAnnotationCheck<Required> {
 
     boolean validateObject(String key, Object value) {
         ValidationPlugin.keys.get().put(value, key);
-        List<ConstraintViolation> violations = new Validator().validate(value);
+        List<ConstraintViolation> violations = ValidationPlugin.validate(value);
         //
         if (violations.isEmpty()) {
             return true;
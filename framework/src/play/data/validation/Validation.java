@@ -3,6 +3,7 @@ package play.data.validation;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
@@ -14,12 +15,15 @@ import java.util.regex.Pattern;
 
 import net.sf.oval.configuration.annotation.AbstractAnnotationCheck;
 import play.Play;
+import play.classloading.ApplicationClassloaderStateCache;
 import play.classloading.enhancers.LocalvariablesNamesEnhancer.LocalVariablesNamesTracer;
 import play.exceptions.UnexpectedException;
 
 public class Validation {
 
     public static final ThreadLocal<Validation> current = new ThreadLocal<>();
+    private static final ApplicationClassloaderStateCache<List<Object>, Map<String, List<Validator>>> validatorsByClass = new ApplicationClassloaderStateCache<>();
+    private static final ApplicationClassloaderStateCache<List<Object>, List<Validator>> validatorsByProperty = new ApplicationClassloaderStateCache<>();
     List<Error> errors = new ArrayList<>();
     boolean keep = false;
 
@@ -200,13 +204,39 @@ public class Validation {
     }
 
     // ~~~~ Integration helper
+
+    /**
+     * @param clazz
+     *            The validated class
+     * @param name
+     *            The name of the validated object
+     * @return The validators of the fields of the class, and of the fields annotated with @Valid, by key. They are
+     *         computed once per class and application classloader state, and must not be modified.
+     */
     public static Map<String, List<Validator>> getValidators(Class<?> clazz, String name) {
-        Map<String, List<Validator>> result = new HashMap<>();
-        searchValidator(clazz, name, result);
-        return result;
+        return validatorsByClass.get(Arrays.asList(clazz, name), key -> {
+            Map<String, List<Validator>> validators = new HashMap<>();
+            searchValidator(clazz, name, validators);
+            return Collections.unmodifiableMap(validators);
+        });
     }
 
+    /**
+     * @param clazz
+     *            The validated class
+     * @param property
+     *            The field, declared by the class or a superclass
+     * @param name
+     *            The name of the validated object
+     * @return The validators of the field. They are computed once per field and application classloader state, and
+     *         must not be modified.
+     */
     public static List<Validator> getValidators(Class<?> clazz, String property, String name) {
+        return validatorsByProperty.get(Arrays.asList(clazz, property, name),
+                key -> Collections.unmodifiableList(searchValidators(clazz, property, name)));
+    }
+
+    private static List<Validator> searchValidators(Class<?> clazz, String property, String name) {
         try {
             List<Validator> validators = new ArrayList<>();
             while (!clazz.equals(Object.class)) {
@@ -4,6 +4,7 @@ import net.sf.oval.ConstraintViolation;
 import net.sf.oval.context.MethodParameterContext;
 import net.sf.oval.guard.Guard;
 import play.PlayPlugin;
+import play.classloading.ApplicationClassloaderStateCache;
 import play.exceptions.ActionNotFoundException;
 import play.exceptions.UnexpectedException;
 import play.mvc.ActionInvoker;
@@ -23,6 +24,9 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -30,6 +34,11 @@ public class ValidationPlugin extends PlayPlugin {
 
     public static final ThreadLocal<Map<Object, String>> keys = new ThreadLocal<>();
 
+    /**
+     * The pools of validators of each type, until the application is reloaded
+     */
+    private static final ApplicationClassloaderStateCache<Class<?>, Pool<?>> pools = new ApplicationClassloaderStateCache<>();
+
     private boolean isAwakingFromAwait() {
         Http.Request request = Http.Request.current();
         if (request == null) {
@@ -61,19 +70,13 @@ public class ValidationPlugin extends PlayPlugin {
 
         try {
             Validation.current.set(restore());
-            boolean verify = false;
-            for (Annotation[] annotations : actionMethod.getParameterAnnotations()) {
-                if (annotations.length > 0) {
-                    verify = true;
-                    break;
-                }
-            }
-            if (!verify) {
+            ActionValidation actionValidation = ActionValidation.of(actionMethod);
+            if (!actionValidation.constrained) {
                 return;
             }
-            List<ConstraintViolation> violations = new Validator().validateAction(actionMethod);
+            List<ConstraintViolation> violations = validateAction(actionMethod);
             ArrayList<Error> errors = new ArrayList<>();
-            String[] paramNames = Java.parameterNames(actionMethod);
+            String[] paramNames = actionValidation.paramNames;
             for (ConstraintViolation violation : violations) {
                 errors.add(new Error(
                         paramNames[((MethodParameterContext) violation
@@ -109,6 +112,137 @@ public class ValidationPlugin extends PlayPlugin {
         Validation.current.remove();
     }
 
+    /**
+     * Validate the parameters of an action with a Guard of the pool
+     *
+     * @param actionMethod
+     *            The action method
+     * @return The violations of the constraints of the parameters
+     * @throws Exception
+     *             if the parameters cannot be read
+     */
+    static List<ConstraintViolation> validateAction(Method actionMethod) throws Exception {
+        Pool<Validator> guards = pool(Validator.class, Validator::new);
+        Validator guard = guards.borrow();
+        try {
+            return guard.validateAction(actionMethod);
+        } finally {
+            guards.release(guard);
+        }
+    }
+
+    /**
+     * Validate an object annotated with @Valid with an OVal Validator of the pool
+     *
+     * @param value
+     *            The validated object
+     * @return The violations of the constraints of the object
+     */
+    static List<ConstraintViolation> validate(Object value) {
+        Pool<net.sf.oval.Validator> ovalValidators = pool(net.sf.oval.Validator.class, net.sf.oval.Validator::new);
+        net.sf.oval.Validator validator = ovalValidators.borrow();
+        try {
+            return validator.validate(value);
+        } finally {
+            ovalValidators.release(validator);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> Pool<T> pool(Class<T> type, Supplier<T> factory) {
+        return (Pool<T>) pools.get(type, t -> new Pool<>(factory));
+    }
+
+    /**
+     * Validators not in use. OVal keeps the checks of each class a validator validates, so they are reused until the
+     * application is reloaded rather than created for each validation, or each thread, which is each request with
+     * virtual threads. A validator is used by one validation at a time, since checks like EqualsCheck or CheckWithCheck
+     * hold the state of the validation in progress.
+     */
+    static final class Pool<T> {
+
+        /**
+         * The validators kept when they are released, about the number of validations at once on a busy server
+         */
+        static final int MAX_IDLE = Math.max(16, 4 * Runtime.getRuntime().availableProcessors());
+
+        private final ConcurrentLinkedQueue<T> idle = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger idleCount = new AtomicInteger();
+        private final Supplier<T> factory;
+
+        Pool(Supplier<T> factory) {
+            this.factory = factory;
+        }
+
+        T borrow() {
+            T validator = idle.poll();
+            if (validator == null) {
+                return factory.get();
+            }
+            idleCount.decrementAndGet();
+            return validator;
+        }
+
+        void release(T validator) {
+            if (idleCount.incrementAndGet() <= MAX_IDLE) {
+                idle.offer(validator);
+            } else {
+                idleCount.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * What the validation of an action needs to know about its method
+     */
+    static final class ActionValidation {
+
+        private static final ApplicationClassloaderStateCache<Method, ActionValidation> byMethod = new ApplicationClassloaderStateCache<>();
+
+        /**
+         * true if a parameter has a constraint annotation
+         */
+        final boolean constrained;
+        final String[] paramNames;
+
+        private ActionValidation(Method actionMethod) throws Exception {
+            this.constrained = hasConstraints(actionMethod);
+            this.paramNames = Java.parameterNames(actionMethod);
+        }
+
+        static ActionValidation of(Method actionMethod) throws Exception {
+            return byMethod.get(actionMethod, ActionValidation::new);
+        }
+
+        private static boolean hasConstraints(Method actionMethod) {
+            for (Annotation[] annotations : actionMethod.getParameterAnnotations()) {
+                for (Annotation annotation : annotations) {
+                    if (isConstraint(annotation.annotationType())) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        /**
+         * OVal constraints are annotated with @Constraint or @Constraints, Bean Validation constraints are read by OVal
+         * too
+         */
+        private static boolean isConstraint(Class<? extends Annotation> annotationType) {
+            String name = annotationType.getName();
+            if (name.startsWith("javax.validation.") || name.startsWith("jakarta.validation.")) {
+                return true;
+            }
+            for (Annotation metaAnnotation : annotationType.getAnnotations()) {
+                if (metaAnnotation.annotationType().getName().startsWith("net.sf.oval.configuration.annotation.")) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
     // ~~~~~~
     static class Validator extends Guard {
 
@@ -2,6 +2,7 @@ package play.db;
 
 import java.lang.reflect.Method;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
@@ -9,7 +10,12 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import javax.sql.DataSource;
 import javax.sql.RowSet;
@@ -19,6 +25,7 @@ import javax.sql.rowset.RowSetProvider;
 import org.hibernate.internal.SessionImpl;
 
 import play.Logger;
+import play.db.helper.JdbcResultFactory;
 import play.db.jpa.JPA;
 import play.exceptions.DatabaseException;
 
@@ -283,6 +290,225 @@ public class DB {
         }
     }
 
+    /**
+     * Execute an SQL query on the default DB and stream its rows, with the fetch size set by db.fetchSize
+     *
+     * @param SQL
+     *            the SQL statement
+     * @param factory
+     *            creates an object of each row
+     * @param params
+     *            the parameters of the statement
+     * @param <T>
+     *            the type of the objects
+     * @return The objects of the rows, to close after use
+     * @see #stream(String, String, int, JdbcResultFactory, Object...)
+     */
+    public static <T> Stream<T> stream(String SQL, JdbcResultFactory<T> factory, Object... params) {
+        return stream(DEFAULT, SQL, factory, params);
+    }
+
+    /**
+     * Execute an SQL query and stream its rows, with the fetch size set by db.fetchSize
+     *
+     * @param name
+     *            the DB name
+     * @param SQL
+     *            the SQL statement
+     * @param factory
+     *            creates an object of each row
+     * @param params
+     *            the parameters of the statement
+     * @param <T>
+     *            the type of the objects
+     * @return The objects of the rows, to close after use
+     * @see #stream(String, String, int, JdbcResultFactory, Object...)
+     */
+    public static <T> Stream<T> stream(String name, String SQL, JdbcResultFactory<T> factory, Object... params) {
+        int fetchSize = Integer.parseInt(new Configuration(name).getProperty("db.fetchSize", "1000"));
+        return stream(name, SQL, fetchSize, factory, params);
+    }
+
+    /**
+     * Execute an SQL query and stream its rows. Unlike {@link #executeQuery(String, String)}, the rows are not copied
+     * in memory: they are read from the database by batches of fetchSize rows while the stream is consumed. The
+     * statement is closed once the last row is read or a row fails, and when the stream is closed. A stream not read
+     * to the end holds the statement open until it is closed, so close it, for instance with a try-with-resources
+     * block:
+     *
+     * <pre>
+     * try (Stream&lt;String&gt; emails = DB.stream("default", "select email from users where active = ?", 500, rs -&gt; rs.getString(1), true)) {
+     *     emails.limit(10).forEach(writer::println);
+     * }
+     * </pre>
+     *
+     * Some drivers need more to stream the rows, e.g. PostgreSQL only uses the fetch size in a transaction, and MySQL
+     * needs a fetch size of Integer.MIN_VALUE.
+     *
+     * @param name
+     *            the DB name
+     * @param SQL
+     *            the SQL statement
+     * @param fetchSize
+     *            the number of rows to fetch at once, 0 for the driver default
+     * @param factory
+     *            creates an object of each row
+     * @param params
+     *            the parameters of the statement
+     * @param <T>
+     *            the type of the objects
+     * @return The objects of the rows, to close after use
+     * @see #forEachRow(String, String, int, JdbcResultFactory, Consumer, Object...)
+     */
+    public static <T> Stream<T> stream(String name, String SQL, int fetchSize, JdbcResultFactory<T> factory, Object... params) {
+        PreparedStatement statement = null;
+        try {
+            statement = getConnection(name).prepareStatement(SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            for (int i = 0; i < params.length; i++) {
+                statement.setObject(i + 1, params[i]);
+            }
+            ResultSetSpliterator<T> rows = new ResultSetSpliterator<>(statement, statement.executeQuery(), factory);
+            return StreamSupport.stream(rows, false).onClose(rows::close);
+        } catch (SQLException ex) {
+            safeCloseStatement(statement);
+            throw new DatabaseException(ex.getMessage(), ex);
+        } catch (RuntimeException ex) {
+            safeCloseStatement(statement);
+            throw ex;
+        }
+    }
+
+    /**
+     * Execute an SQL query on the default DB and pass each of its rows to an action, with the fetch size set by
+     * db.fetchSize
+     *
+     * @param SQL
+     *            the SQL statement
+     * @param factory
+     *            creates an object of each row
+     * @param action
+     *            the action run for each object
+     * @param params
+     *            the parameters of the statement
+     * @param <T>
+     *            the type of the objects
+     * @see #forEachRow(String, String, int, JdbcResultFactory, Consumer, Object...)
+     */
+    public static <T> void forEachRow(String SQL, JdbcResultFactory<T> factory, Consumer<? super T> action, Object... params) {
+        forEachRow(DEFAULT, SQL, factory, action, params);
+    }
+
+    /**
+     * Execute an SQL query and pass each of its rows to an action, with the fetch size set by db.fetchSize
+     *
+     * @param name
+     *            the DB name
+     * @param SQL
+     *            the SQL statement
+     * @param factory
+     *            creates an object of each row
+     * @param action
+     *            the action run for each object
+     * @param params
+     *            the parameters of the statement
+     * @param <T>
+     *            the type of the objects
+     * @see #forEachRow(String, String, int, JdbcResultFactory, Consumer, Object...)
+     */
+    public static <T> void forEachRow(String name, String SQL, JdbcResultFactory<T> factory, Consumer<? super T> action, Object... params) {
+        try (Stream<T> rows = stream(name, SQL, factory, params)) {
+            rows.forEach(action);
+        }
+    }
+
+    /**
+     * Execute an SQL query and pass each of its rows to an action, read like {@link #stream(String, String, int,
+     * JdbcResultFactory, Object...)}. The statement is closed when this method returns, even if the action fails.
+     *
+     * @param name
+     *            the DB name
+     * @param SQL
+     *            the SQL statement
+     * @param fetchSize
+     *            the number of rows to fetch at once, 0 for the driver default
+     * @param factory
+     *            creates an object of each row
+     * @param action
+     *            the action run for each object
+     * @param params
+     *            the parameters of the statement
+     * @param <T>
+     *            the type of the objects
+     */
+    public static <T> void forEachRow(String name, String SQL, int fetchSize, JdbcResultFactory<T> factory, Consumer<? super T> action,
+            Object... params) {
+        try (Stream<T> rows = stream(name, SQL, fetchSize, factory, params)) {
+            rows.forEach(action);
+        }
+    }
+
+    /**
+     * The rows of a result set, read while the stream is consumed. A row may be mapped to null, like a NULL column.
+     * The statement is closed after the last row, or once reading or consuming a row fails.
+     */
+    private static class ResultSetSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+
+        private final Statement statement;
+        private final ResultSet resultSet;
+        private final JdbcResultFactory<T> factory;
+        private boolean closed;
+
+        ResultSetSpliterator(Statement statement, ResultSet resultSet, JdbcResultFactory<T> factory) throws SQLException {
+            super(Long.MAX_VALUE, Spliterator.ORDERED);
+            this.statement = statement;
+            this.resultSet = resultSet;
+            this.factory = factory;
+            factory.init(resultSet);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (closed) {
+                return false;
+            }
+            try {
+                if (!resultSet.next()) {
+                    close();
+                    return false;
+                }
+                action.accept(factory.create(resultSet));
+                return true;
+            } catch (SQLException ex) {
+                closeAfterFailure(ex);
+                throw new DatabaseException(ex.getMessage(), ex);
+            } catch (RuntimeException | Error ex) {
+                closeAfterFailure(ex);
+                throw ex;
+            }
+        }
+
+        void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                safeCloseResultSet(resultSet);
+            } finally {
+                safeCloseStatement(statement);
+            }
+        }
+
+        private void closeAfterFailure(Throwable failure) {
+            try {
+                close();
+            } catch (RuntimeException ex) {
+                failure.addSuppressed(ex);
+            }
+        }
+    }
+
     public static void safeCloseResultSet(ResultSet resultSet) {
         if (resultSet != null) {
             try {
@@ -0,0 +1,177 @@
+package play.db;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * An opaque token holding the sort keys of the last row of a page, to fetch the next page from it (keyset
+ * pagination) instead of skipping the rows of the previous pages.
+ * <p>
+ * The token is a Base64 URL-safe string, so it may be used as a request parameter. Strings, numbers, booleans, UUIDs,
+ * dates and java.time values are supported; a key may not be null.
+ */
+public final class KeysetCursor {
+
+    private KeysetCursor() {
+    }
+
+    /**
+     * @param keys
+     *            The values of the sort keys of the last row read
+     * @return The token
+     */
+    public static String encode(Object... keys) {
+        StringBuilder token = new StringBuilder();
+        for (Object key : keys) {
+            String value;
+            char type;
+            if (key instanceof String) {
+                type = 's';
+                value = (String) key;
+            } else if (key instanceof Long) {
+                type = 'l';
+                value = key.toString();
+            } else if (key instanceof Integer) {
+                type = 'i';
+                value = key.toString();
+            } else if (key instanceof Short) {
+                type = 'h';
+                value = key.toString();
+            } else if (key instanceof Byte) {
+                type = 'y';
+                value = key.toString();
+            } else if (key instanceof Double) {
+                type = 'd';
+                value = key.toString();
+            } else if (key instanceof Float) {
+                type = 'f';
+                value = key.toString();
+            } else if (key instanceof BigDecimal) {
+                type = 'D';
+                value = key.toString();
+            } else if (key instanceof BigInteger) {
+                type = 'I';
+                value = key.toString();
+            } else if (key instanceof Boolean) {
+                type = 'b';
+                value = key.toString();
+            } else if (key instanceof Character) {
+                type = 'c';
+                value = key.toString();
+            } else if (key instanceof UUID) {
+                type = 'u';
+                value = key.toString();
+            } else if (key instanceof Timestamp) {
+                type = 'T';
+                value = ((Timestamp) key).getTime() + "." + ((Timestamp) key).getNanos();
+            } else if (key instanceof Date) {
+                type = 't';
+                value = Long.toString(((Date) key).getTime());
+            } else if (key instanceof LocalDateTime) {
+                type = 'A';
+                value = key.toString();
+            } else if (key instanceof LocalDate) {
+                type = 'a';
+                value = key.toString();
+            } else if (key instanceof LocalTime) {
+                type = 'o';
+                value = key.toString();
+            } else if (key instanceof Instant) {
+                type = 'z';
+                value = key.toString();
+            } else {
+                throw new IllegalArgumentException("Unsupported sort key for a keyset cursor: " + (key == null ? null : key.getClass().getName()));
+            }
+            token.append(type).append(value.length()).append(':').append(value);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param cursor
+     *            A token returned by {@link #encode(Object...)}
+     * @return The values of the sort keys
+     * @throws IllegalArgumentException
+     *             if the token is not valid
+     */
+    public static Object[] decode(String cursor) {
+        String token;
+        try {
+            token = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid keyset cursor", e);
+        }
+        List<Object> keys = new ArrayList<>();
+        int position = 0;
+        try {
+            while (position < token.length()) {
+                char type = token.charAt(position);
+                int colon = token.indexOf(':', position);
+                int length = Integer.parseInt(token.substring(position + 1, colon));
+                String value = token.substring(colon + 1, colon + 1 + length);
+                position = colon + 1 + length;
+                keys.add(decode(type, value));
+            }
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid keyset cursor", e);
+        }
+        return keys.toArray();
+    }
+
+    private static Object decode(char type, String value) {
+        switch (type) {
+        case 's':
+            return value;
+        case 'l':
+            return Long.valueOf(value);
+        case 'i':
+            return Integer.valueOf(value);
+        case 'h':
+            return Short.valueOf(value);
+        case 'y':
+            return Byte.valueOf(value);
+        case 'd':
+            return Double.valueOf(value);
+        case 'f':
+            return Float.valueOf(value);
+        case 'D':
+            return new BigDecimal(value);
+        case 'I':
+            return new BigInteger(value);
+        case 'b':
+            return Boolean.valueOf(value);
+        case 'c':
+            return value.charAt(0);
+        case 'u':
+            return UUID.fromString(value);
+        case 'T':
+            int dot = value.indexOf('.');
+            Timestamp timestamp = new Timestamp(Long.parseLong(value.substring(0, dot)));
+            timestamp.setNanos(Integer.parseInt(value.substring(dot + 1)));
+            return timestamp;
+        case 't':
+            return new Date(Long.parseLong(value));
+        case 'A':
+            return LocalDateTime.parse(value);
+        case 'a':
+            return LocalDate.parse(value);
+        case 'o':
+            return LocalTime.parse(value);
+        case 'z':
+            return Instant.parse(value);
+        default:
+            throw new IllegalArgumentException("Unknown sort key type " + type);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package play.db;
 
 import java.io.InputStream;
 import java.lang.reflect.Field;
+import java.util.Collection;
 import java.util.List;
 import play.Play;
 import play.exceptions.UnexpectedException;
@@ -39,10 +40,37 @@ public interface Model {
         public Object keyValue(Model m);
         public Model findById(Object id);
         public List<Model> fetch(int offset, int length, String orderBy, String orderDirection, List<String> properties, String keywords, String where);
+
+        /**
+         * Fetch the rows following a row (keyset pagination), ordered by orderBy then by the key, so the rows of the
+         * previous pages are not read again like with an offset.
+         *
+         * @param after
+         *            The values of orderBy, unless it is the key, and of the key in the last row read, or null for the
+         *            first page
+         * @throws UnsupportedOperationException
+         *             if the model does not support it
+         */
+        public default List<Model> fetchAfter(Object[] after, int length, String orderBy, String orderDirection, List<String> properties, String keywords, String where) {
+            throw new UnsupportedOperationException("Keyset pagination is not supported by " + getClass().getName());
+        }
         public Long count(List<String> properties, String keywords, String where);
         public void deleteAll();
         public List<Model.Property> listProperties();
 
+        /**
+         * Save many models at once. The factories able to group the writes do so, and may detach the models once
+         * saved; the others save them one at a time.
+         *
+         * @param models
+         *            The models to save
+         */
+        public default void saveAll(Collection<? extends Model> models) {
+            for (Model model : models) {
+                model._save();
+            }
+        }
+
     }
 
     public static class Manager {
@@ -3,9 +3,14 @@ package play.db.helper;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 
+/**
+ * Creates an object of each row of a ResultSet. Factories only reading their columns by index can be lambdas:
+ * <code>rs -&gt; rs.getLong(1)</code>
+ */
 public interface JdbcResultFactory<T> {
 
-    public void init(ResultSet result) throws SQLException;
+    public default void init(ResultSet result) throws SQLException {
+    }
 
     public T create(ResultSet result) throws SQLException;
 
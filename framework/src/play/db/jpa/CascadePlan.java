@@ -0,0 +1,101 @@
+package play.db.jpa;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import javax.persistence.CascadeType;
+import javax.persistence.ManyToMany;
+import javax.persistence.ManyToOne;
+import javax.persistence.OneToMany;
+import javax.persistence.OneToOne;
+
+/**
+ * What {@link JPABase#_save()} cascades to for an entity class: the relations with a PERSIST or ALL cascade, resolved
+ * once per class instead of walking the fields and their annotations for each entity saved.
+ */
+final class CascadePlan {
+
+    private static final ClassValue<CascadePlan> plans = new ClassValue<CascadePlan>() {
+        @Override
+        protected CascadePlan computeValue(Class<?> entityClass) {
+            return new CascadePlan(entityClass);
+        }
+    };
+
+    enum Kind {
+        MAP, COLLECTION, ENTITY
+    }
+
+    static final class Relation {
+
+        final Field field;
+        final Kind kind;
+
+        Relation(Field field, Kind kind) {
+            this.field = field;
+            this.kind = kind;
+        }
+    }
+
+    final String dbName;
+    final Relation[] relations;
+
+    private CascadePlan(Class<?> entityClass) {
+        this.dbName = JPA.getDBName(entityClass);
+        List<Relation> relations = new ArrayList<>();
+        for (Class<?> clazz = entityClass; clazz != null && !clazz.equals(JPABase.class); clazz = clazz.getSuperclass()) {
+            for (Field field : clazz.getDeclaredFields()) {
+                if (!Modifier.isTransient(field.getModifiers()) && cascades(field)) {
+                    field.setAccessible(true);
+                    relations.add(new Relation(field, kind(field.getType())));
+                }
+            }
+        }
+        this.relations = relations.toArray(new Relation[0]);
+    }
+
+    static CascadePlan of(Class<?> entityClass) {
+        return plans.get(entityClass);
+    }
+
+    private static boolean cascades(Field field) {
+        // The last relation annotation found decides
+        boolean cascade = false;
+        if (field.isAnnotationPresent(OneToOne.class)) {
+            cascade = cascadeAll(field.getAnnotation(OneToOne.class).cascade());
+        }
+        if (field.isAnnotationPresent(OneToMany.class)) {
+            cascade = cascadeAll(field.getAnnotation(OneToMany.class).cascade());
+        }
+        if (field.isAnnotationPresent(ManyToOne.class)) {
+            cascade = cascadeAll(field.getAnnotation(ManyToOne.class).cascade());
+        }
+        if (field.isAnnotationPresent(ManyToMany.class)) {
+            cascade = cascadeAll(field.getAnnotation(ManyToMany.class).cascade());
+        }
+        return cascade;
+    }
+
+    private static boolean cascadeAll(CascadeType[] types) {
+        for (CascadeType cascadeType : types) {
+            if (cascadeType == CascadeType.ALL || cascadeType == CascadeType.PERSIST) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Kind kind(Class<?> type) {
+        if (Map.class.isAssignableFrom(type)) {
+            return Kind.MAP;
+        }
+        if (Collection.class.isAssignableFrom(type)) {
+            return Kind.COLLECTION;
+        }
+        return Kind.ENTITY;
+    }
+}
@@ -9,11 +9,17 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.SortedSet;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import javax.persistence.ManyToMany;
 import javax.persistence.ManyToOne;
@@ -21,12 +27,19 @@ import javax.persistence.MappedSuperclass;
 import javax.persistence.NoResultException;
 import javax.persistence.OneToMany;
 import javax.persistence.OneToOne;
+import javax.persistence.Parameter;
+import javax.persistence.PersistenceException;
 import javax.persistence.PostLoad;
 import javax.persistence.PostPersist;
 import javax.persistence.PostUpdate;
 import javax.persistence.Query;
 
 import org.apache.commons.lang.StringUtils;
+import org.hibernate.FlushMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
 
 import play.Play;
 import play.data.binding.BeanWrapper;
@@ -34,6 +47,7 @@ import play.data.binding.Binder;
 import play.data.binding.BindingAnnotations;
 import play.data.binding.ParamNode;
 import play.data.validation.Validation;
+import play.db.KeysetCursor;
 import play.exceptions.UnexpectedException;
 import play.mvc.Scope.Params;
 
@@ -160,7 +174,7 @@ public class GenericModel extends JPABase {
         // returning from this method.
         List<ParamNode.RemovedNode> removedNodesList = new ArrayList<>();
         try {
-            BeanWrapper bw = new BeanWrapper(o.getClass());
+            BeanWrapper bw = BeanWrapper.forClass(o.getClass());
             // Start with relations
             Set<Field> fields = new HashSet<>();
             Class<?> clazz = o.getClass();
@@ -523,17 +537,31 @@ public class GenericModel extends JPABase {
      */
     public static class JPAQuery {
 
+        private static final int DEFAULT_STREAM_BATCH_SIZE = 1000;
+
         public Query query;
         public String sq;
 
+        /**
+         * What the query was created with, to create the keyset queries. The parameters are null when unknown.
+         */
+        private final String dbName;
+        private final Object[] params;
+        private final Map<String, Object> namedParams = new LinkedHashMap<>();
+
         public JPAQuery(String sq, Query query) {
+            this(JPA.DEFAULT, sq, query, null);
+        }
+
+        JPAQuery(String dbName, String sq, Query query, Object[] params) {
             this.query = query;
             this.sq = sq;
+            this.dbName = dbName;
+            this.params = params;
         }
 
         public JPAQuery(Query query) {
-            this.query = query;
-            this.sq = query.toString();
+            this(query.toString(), query);
         }
 
         public <T> T first() {
@@ -567,6 +595,7 @@ public class GenericModel extends JPABase {
                 param = ((Integer) param).longValue();
             }
             query.setParameter(name, param);
+            namedParams.put(name, param);
             return this;
         }
 
@@ -581,6 +610,7 @@ public class GenericModel extends JPABase {
          */
         public JPAQuery setParameter(String name, Object param) {
             query.setParameter(name, param);
+            namedParams.put(name, param);
             return this;
         }
 
@@ -654,6 +684,230 @@ public class GenericModel extends JPABase {
                 throw new JPAQueryException("Error while executing query <strong>" + sq + "</strong>", JPAQueryException.findBestCause(e));
             }
         }
+
+        /**
+         * Retrieve the results following a row in the order of the given keys (keyset pagination). Unlike
+         * {@link #fetch(int, int)}, the database does not read and skip the rows of the previous pages, it reads the
+         * rows from the keys of the last row read, with an index on the keys.
+         * 
+         * @param length
+         *            (page length)
+         * @param keys
+         *            The sort keys, replacing the order of the query: all ascending or all descending, not nullable,
+         *            the last one unique, like "postedAt desc, id desc"
+         * @param lastKeys
+         *            The values of the keys in the last row read, none for the first page
+         * @param <T>
+         *            The entity class
+         * @return a list of entities
+         * @see KeysetCursor#encode(Object...)
+         */
+        public <T> List<T> fetchAfter(int length, String keys, Object... lastKeys) {
+            String keysetQuery = sq;
+            try {
+                Map<Object, Object> bindings = bindings();
+                boolean named = false;
+                int nextPosition = 1;
+                for (Object key : bindings.keySet()) {
+                    if (key instanceof Integer) {
+                        nextPosition = Math.max(nextPosition, (Integer) key + 1);
+                    } else {
+                        named = true;
+                    }
+                }
+                String[] parameters = new String[lastKeys.length];
+                for (int i = 0; i < lastKeys.length; i++) {
+                    parameters[i] = named ? ":keyset" + i : "?" + (nextPosition + i);
+                    bindings.put(named ? "keyset" + i : (Object) (nextPosition + i), lastKeys[i]);
+                }
+                keysetQuery = JPQL.instance.createKeysetQuery(sq, keys, parameters);
+
+                Query q = JPA.em(dbName).createQuery(keysetQuery);
+                for (Map.Entry<Object, Object> binding : bindings.entrySet()) {
+                    if (binding.getKey() instanceof Integer) {
+                        q.setParameter((Integer) binding.getKey(), binding.getValue());
+                    } else {
+                        q.setParameter((String) binding.getKey(), binding.getValue());
+                    }
+                }
+                q.setMaxResults(length);
+                return q.getResultList();
+            } catch (Exception e) {
+                throw new JPAQueryException("Error while executing query <strong>" + keysetQuery + "</strong>", JPAQueryException.findBestCause(e));
+            }
+        }
+
+        /**
+         * Retrieve the results following a row in the order of the given keys (keyset pagination)
+         * 
+         * @param length
+         *            (page length)
+         * @param keys
+         *            The sort keys, replacing the order of the query: all ascending or all descending, not nullable,
+         *            the last one unique, like "postedAt desc, id desc"
+         * @param cursor
+         *            The cursor encoding the keys of the last row read, null for the first page
+         * @param <T>
+         *            The entity class
+         * @return a list of entities
+         * @see KeysetCursor#encode(Object...)
+         */
+        public <T> List<T> fetchAfterCursor(int length, String keys, String cursor) {
+            return fetchAfter(length, keys, cursor == null ? new Object[0] : KeysetCursor.decode(cursor));
+        }
+
+        /**
+         * Stream the results of the query, 1000 at a time
+         * 
+         * @param <T>
+         *            The entity class
+         * @return A stream of entities, to close
+         * @see #stream(int)
+         */
+        public <T> Stream<T> stream() {
+            return stream(DEFAULT_STREAM_BATCH_SIZE);
+        }
+
+        /**
+         * Stream the results of the query without loading them all: they are read from a forward-only cursor, batchSize
+         * at a time, and the entities read are detached from the entity manager after each batch, their changes flushed
+         * before if the transaction is not read only.
+         * <p>
+         * <strong>Only the entities of the rows are detached, the other entities of the entity manager are kept, but all
+         * its changes are flushed after each batch.</strong> The entities of the query loaded before the stream are
+         * detached too, and in a read-only transaction, the changes made to the streamed entities are lost. The entities
+         * they load, like lazy associations, are kept until the end of the transaction.
+         * <p>
+         * The stream holds an open cursor, closed once it has read all the rows or failed. It must otherwise be closed,
+         * like in a try-with-resources block, before the end of the transaction.
+         * 
+         * @param batchSize
+         *            The JDBC fetch size, and the number of rows read between two detachments of their entities
+         * @param <T>
+         *            The entity class
+         * @return A stream of entities, to close
+         */
+        public <T> Stream<T> stream(int batchSize) {
+            if (batchSize < 1) {
+                throw new IllegalArgumentException("The batch size must be positive: " + batchSize);
+            }
+            org.hibernate.query.Query<?> hibernateQuery;
+            ScrollableResults results;
+            try {
+                hibernateQuery = query.unwrap(org.hibernate.query.Query.class);
+                hibernateQuery.setFetchSize(batchSize);
+                results = hibernateQuery.scroll(ScrollMode.FORWARD_ONLY);
+            } catch (Exception e) {
+                throw new JPAQueryException("Error while executing query <strong>" + sq + "</strong>", JPAQueryException.findBestCause(e));
+            }
+            // The session the query was created with, which may not be the one of the current thread
+            ScrollSpliterator<T> rows = new ScrollSpliterator<>(sq, (SharedSessionContractImplementor) hibernateQuery.getProducer(), results,
+                    batchSize);
+            return StreamSupport.stream(rows, false).onClose(rows::close);
+        }
+
+        private static class ScrollSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+
+            private final String sq;
+            private final SharedSessionContractImplementor session;
+            private final ScrollableResults results;
+            private final int batchSize;
+            private final List<Object> batch = new ArrayList<>();
+            private int read;
+            private boolean closed;
+
+            ScrollSpliterator(String sq, SharedSessionContractImplementor session, ScrollableResults results, int batchSize) {
+                super(Long.MAX_VALUE, Spliterator.ORDERED);
+                this.sq = sq;
+                this.session = session;
+                this.results = results;
+                this.batchSize = batchSize;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public boolean tryAdvance(Consumer<? super T> action) {
+                if (closed) {
+                    return false;
+                }
+                try {
+                    if (read > 0 && read % batchSize == 0) {
+                        detachBatch();
+                    }
+                    if (!results.next()) {
+                        close();
+                        return false;
+                    }
+                    read++;
+                    Object[] row = results.get();
+                    for (Object value : row) {
+                        if (value != null && session.getPersistenceContext().getEntry(value) != null) {
+                            batch.add(value);
+                        }
+                    }
+                    action.accept((T) (row.length == 1 ? row[0] : row));
+                    return true;
+                } catch (PersistenceException e) {
+                    closeAfterFailure(e);
+                    throw new JPAQueryException("Error while executing query <strong>" + sq + "</strong>", JPAQueryException.findBestCause(e));
+                } catch (RuntimeException | Error e) {
+                    closeAfterFailure(e);
+                    throw e;
+                }
+            }
+
+            /**
+             * The entities of the batch were consumed, they no longer need to be kept by the session
+             */
+            private void detachBatch() {
+                Session hibernateSession = (Session) session;
+                if (hibernateSession.isJoinedToTransaction() && hibernateSession.getHibernateFlushMode() != FlushMode.MANUAL) {
+                    hibernateSession.flush();
+                }
+                for (Object entity : batch) {
+                    hibernateSession.evict(entity);
+                }
+                batch.clear();
+            }
+
+            void close() {
+                if (!closed) {
+                    closed = true;
+                    batch.clear();
+                    results.close();
+                }
+            }
+
+            private void closeAfterFailure(Throwable failure) {
+                try {
+                    close();
+                } catch (RuntimeException e) {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+
+        /**
+         * @return The parameters of the query, by position or by name
+         */
+        private Map<Object, Object> bindings() {
+            Map<Object, Object> bindings = new LinkedHashMap<>();
+            if (params == null) {
+                for (Parameter<?> parameter : query.getParameters()) {
+                    if (query.isBound(parameter)) {
+                        bindings.put(parameter.getName() != null ? parameter.getName() : parameter.getPosition(), query.getParameterValue(parameter));
+                    }
+                }
+            } else if (params.length == 1 && params[0] instanceof Map) {
+                bindings.putAll((Map<?, ?>) params[0]);
+            } else {
+                for (int i = 0; i < params.length; i++) {
+                    bindings.put(i + 1, params[i]);
+                }
+            }
+            bindings.putAll(namedParams);
+            return bindings;
+        }
     }
 
     // ----- THIS CODE IS DEPRECATED AND WILL BE REMOVED IN NEXT VERSIONs
@@ -1,25 +1,21 @@
 package play.db.jpa;
 
 import java.io.Serializable;
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
-import javax.persistence.CascadeType;
 import javax.persistence.EntityManager;
-import javax.persistence.ManyToMany;
-import javax.persistence.ManyToOne;
 import javax.persistence.MappedSuperclass;
-import javax.persistence.OneToMany;
-import javax.persistence.OneToOne;
 import javax.persistence.PersistenceException;
 
+import org.hibernate.Session;
 import org.hibernate.collection.internal.PersistentMap;
 import org.hibernate.collection.spi.PersistentCollection;
 import org.hibernate.engine.spi.CollectionEntry;
@@ -48,7 +44,7 @@ public class JPABase implements Serializable, play.db.Model {
             em(dbName).persist(this);
             PlayPlugin.postEvent("JPASupport.objectPersisted", this);
         }
-        avoidCascadeSaveLoops.set(new HashSet<JPABase>());
+        avoidCascadeSaveLoops.set(newCascadeSet());
         try {
             saveAndCascade(true);
         } finally {
@@ -63,7 +59,7 @@ public class JPABase implements Serializable, play.db.Model {
                 throw e;
             }
         }
-        avoidCascadeSaveLoops.set(new HashSet<JPABase>());
+        avoidCascadeSaveLoops.set(newCascadeSet());
         try {
             saveAndCascade(false);
         } finally {
@@ -71,12 +67,81 @@ public class JPABase implements Serializable, play.db.Model {
         }
     }
 
+    /**
+     * Save entities like {@link #_save()}, but flush them batchSize at a time, with the JDBC batch size of the session
+     * set to batchSize meanwhile, so the inserts and updates of a batch are sent together. They are detached once
+     * flushed, so the persistence context does not grow with each entity saved.
+     * 
+     * @param dbName
+     *            The DB name of the entities
+     * @param entities
+     *            The entities to save
+     * @param batchSize
+     *            The number of entities flushed at a time
+     */
+    static void saveAll(String dbName, Collection<? extends JPABase> entities, int batchSize) {
+        EntityManager em = em(dbName);
+        Session session = em.unwrap(Session.class);
+        Integer sessionBatchSize = session.getJdbcBatchSize();
+        session.setJdbcBatchSize(batchSize);
+        try {
+            List<JPABase> batch = new ArrayList<>(Math.min(batchSize, entities.size()));
+            for (JPABase entity : entities) {
+                if (!em.contains(entity)) {
+                    em.persist(entity);
+                    PlayPlugin.postEvent("JPASupport.objectPersisted", entity);
+                }
+                batch.add(entity);
+                if (batch.size() == batchSize) {
+                    flushBatch(em, batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                flushBatch(em, batch);
+            }
+        } finally {
+            session.setJdbcBatchSize(sessionBatchSize);
+        }
+    }
+
+    private static void flushBatch(EntityManager em, List<JPABase> batch) {
+        avoidCascadeSaveLoops.set(newCascadeSet());
+        try {
+            for (JPABase entity : batch) {
+                entity.saveAndCascade(true);
+            }
+        } finally {
+            avoidCascadeSaveLoops.get().clear();
+        }
+        try {
+            em.flush();
+        } catch (PersistenceException e) {
+            if (e.getCause() instanceof GenericJDBCException) {
+                throw new PersistenceException(((GenericJDBCException) e.getCause()).getSQL(), e);
+            } else {
+                throw e;
+            }
+        }
+        avoidCascadeSaveLoops.set(newCascadeSet());
+        try {
+            for (JPABase entity : batch) {
+                entity.saveAndCascade(false);
+            }
+        } finally {
+            avoidCascadeSaveLoops.get().clear();
+        }
+        for (JPABase entity : batch) {
+            em.detach(entity);
+        }
+    }
+
     @Override
     public void _delete() {
         String dbName = JPA.getDBName(this.getClass());
 
         try {
-            avoidCascadeSaveLoops.set(new HashSet<JPABase>());
+            avoidCascadeSaveLoops.set(newCascadeSet());
             try {
                 saveAndCascade(true);
             } finally {
@@ -92,7 +157,7 @@ public class JPABase implements Serializable, play.db.Model {
                     throw e;
                 }
             }
-            avoidCascadeSaveLoops.set(new HashSet<JPABase>());
+            avoidCascadeSaveLoops.set(newCascadeSet());
             try {
                 saveAndCascade(false);
             } finally {
@@ -115,6 +180,14 @@ public class JPABase implements Serializable, play.db.Model {
     public transient boolean willBeSaved = false;
     static final transient ThreadLocal<Set<JPABase>> avoidCascadeSaveLoops = new ThreadLocal<>();
 
+    /**
+     * @return A set of the entities already cascaded to, by identity: equals() would read the key of each entity, and
+     *         the entities not saved yet have no key
+     */
+    private static Set<JPABase> newCascadeSet() {
+        return Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+
     private void saveAndCascade(boolean willBeSaved) {
         this.willBeSaved = willBeSaved;
         if (avoidCascadeSaveLoops.get().contains(this)) {
@@ -126,71 +199,38 @@ public class JPABase implements Serializable, play.db.Model {
             }
         }
         // Cascade save
+        CascadePlan plan = CascadePlan.of(this.getClass());
         try {
-            Set<Field> fields = new HashSet<>();
-            Class clazz = this.getClass();
-            while (!clazz.equals(JPABase.class)) {
-                Collections.addAll(fields, clazz.getDeclaredFields());
-                clazz = clazz.getSuperclass();
-            }
-            for (Field field : fields) {
-                field.setAccessible(true);
-                if (Modifier.isTransient(field.getModifiers())) {
+            for (CascadePlan.Relation relation : plan.relations) {
+                Object value = relation.field.get(this);
+                if (value == null) {
                     continue;
                 }
-                boolean doCascade = false;
-                if (field.isAnnotationPresent(OneToOne.class)) {
-                    doCascade = cascadeAll(field.getAnnotation(OneToOne.class).cascade());
-                }
-                if (field.isAnnotationPresent(OneToMany.class)) {
-                    doCascade = cascadeAll(field.getAnnotation(OneToMany.class).cascade());
-                }
-                if (field.isAnnotationPresent(ManyToOne.class)) {
-                    doCascade = cascadeAll(field.getAnnotation(ManyToOne.class).cascade());
-                }
-                if (field.isAnnotationPresent(ManyToMany.class)) {
-                    doCascade = cascadeAll(field.getAnnotation(ManyToMany.class).cascade());
-                }
-                if (doCascade) {
-                    Object value = field.get(this);
-                    if (value != null) {
-                        if (value instanceof PersistentMap) {
-                            if (((PersistentMap) value).wasInitialized()) {
-
-                                cascadeOrphans(this, (PersistentCollection) value, willBeSaved);
-
-                                for (Object o : ((Map) value).values()) {
-                                    saveAndCascadeIfJPABase(o, willBeSaved);
-                                }
-                            }
-                        } else if (value instanceof PersistentCollection) {
-                            PersistentCollection col = (PersistentCollection) value;
-                            if (((PersistentCollection) value).wasInitialized()) {
-
-                                cascadeOrphans(this, (PersistentCollection) value, willBeSaved);
-
-                                for (Object o : (Collection) value) {
-                                    saveAndCascadeIfJPABase(o, willBeSaved);
-                                }
-                            } else {
-                                cascadeOrphans(this, col, willBeSaved);
-
-                                for (Object o : (Collection) value) {
-                                    saveAndCascadeIfJPABase(o, willBeSaved);
-                                }
-                            }
-                        } else if (value instanceof Collection) {
-                            for (Object o : (Collection) value) {
-                                saveAndCascadeIfJPABase(o, willBeSaved);
-                            }
-                        } else if (value instanceof HibernateProxy && value instanceof JPABase) {
-                            if (!((HibernateProxy) value).getHibernateLazyInitializer().isUninitialized()) {
-                                ((JPABase) ((HibernateProxy) value).getHibernateLazyInitializer().getImplementation())
-                                        .saveAndCascade(willBeSaved);
-                            }
-                        } else if (value instanceof JPABase) {
-                            ((JPABase) value).saveAndCascade(willBeSaved);
+                switch (relation.kind) {
+                case MAP:
+                    if (value instanceof PersistentMap && ((PersistentMap) value).wasInitialized()) {
+                        cascadeOrphans(plan.dbName, (PersistentCollection) value, willBeSaved);
+                        for (Object o : ((Map) value).values()) {
+                            saveAndCascadeIfJPABase(o, willBeSaved);
+                        }
+                    }
+                    break;
+                case COLLECTION:
+                    if (value instanceof PersistentCollection) {
+                        cascadeOrphans(plan.dbName, (PersistentCollection) value, willBeSaved);
+                    }
+                    for (Object o : (Collection) value) {
+                        saveAndCascadeIfJPABase(o, willBeSaved);
+                    }
+                    break;
+                default:
+                    if (value instanceof HibernateProxy && value instanceof JPABase) {
+                        if (!((HibernateProxy) value).getHibernateLazyInitializer().isUninitialized()) {
+                            ((JPABase) ((HibernateProxy) value).getHibernateLazyInitializer().getImplementation())
+                                    .saveAndCascade(willBeSaved);
                         }
+                    } else if (value instanceof JPABase) {
+                        ((JPABase) value).saveAndCascade(willBeSaved);
                     }
                 }
             }
@@ -199,9 +239,7 @@ public class JPABase implements Serializable, play.db.Model {
         }
     }
 
-    private void cascadeOrphans(JPABase base, PersistentCollection persistentCollection, boolean willBeSaved) {
-        String dbName = JPA.getDBName(this.getClass());
-
+    private void cascadeOrphans(String dbName, PersistentCollection persistentCollection, boolean willBeSaved) {
         SessionImpl session = ((SessionImpl) JPA.em(dbName).getDelegate());
         PersistenceContext pc = session.getPersistenceContext();
         CollectionEntry ce = pc.getCollectionEntry(persistentCollection);
@@ -211,7 +249,7 @@ public class JPABase implements Serializable, play.db.Model {
             if (cp != null) {
                 Type ct = cp.getElementType();
                 if (ct instanceof EntityType) {
-                    EntityEntry entry = pc.getEntry(base);
+                    EntityEntry entry = pc.getEntry(this);
                     String entityName = entry.getEntityName();
                     entityName = ((EntityType) ct).getAssociatedEntityName(session.getFactory());
                     if (ce.getSnapshot() != null) {
@@ -231,15 +269,6 @@ public class JPABase implements Serializable, play.db.Model {
         }
     }
 
-    private static boolean cascadeAll(CascadeType[] types) {
-        for (CascadeType cascadeType : types) {
-            if (cascadeType == CascadeType.ALL || cascadeType == CascadeType.PERSIST) {
-                return true;
-            }
-        }
-        return false;
-    }
-
     /**
      * Retrieve the current entityManager
      * 
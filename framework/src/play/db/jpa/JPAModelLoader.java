@@ -14,6 +14,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import javax.persistence.Basic;
+import javax.persistence.Column;
 import javax.persistence.Embeddable;
 import javax.persistence.EmbeddedId;
 import javax.persistence.Entity;
@@ -29,6 +31,7 @@ import javax.persistence.Query;
 import javax.persistence.Transient;
 
 import org.apache.commons.beanutils.PropertyUtils;
+import org.hibernate.cfg.AvailableSettings;
 
 import play.data.binding.NoBinding;
 import play.db.Model;
@@ -85,16 +88,7 @@ public class JPAModelLoader implements Model.Factory {
     @Override
     public List<Model> fetch(int offset, int size, String orderBy, String order, List<String> searchFields,
             String keywords, String where) {
-        StringBuilder q = new StringBuilder("from ").append(this.clazz.getName());
-        if (keywords != null && !keywords.isEmpty()) {
-            String searchQuery = this.getSearchQuery(searchFields);
-            if (!searchQuery.equals("")) {
-                q.append(" where (").append(searchQuery).append(")");
-            }
-            q.append((where != null ? " and " + where : ""));
-        } else {
-            q.append((where != null ? " where " + where : ""));
-        }
+        StringBuilder q = new StringBuilder(fetchQuery(searchFields, keywords, where));
         if (orderBy == null && order == null) {
             orderBy = "id";
             order = "ASC";
@@ -105,6 +99,12 @@ public class JPAModelLoader implements Model.Factory {
             order = "ASC";
         }
         q.append( " order by ").append(orderBy).append(" ").append(order);
+        // The rows with the same value of orderBy are sorted by key, like in fetchAfter
+        for (Field keyField : keyFields()) {
+            if (keyField.isAnnotationPresent(Id.class) && !keyField.getName().equals(orderBy)) {
+                q.append(", ").append(keyField.getName()).append(" ").append(order);
+            }
+        }
         String jpql = q.toString();
         Query query = JPA.em(this.dbName).createQuery(jpql);
         if (keywords != null && !keywords.equals("") && jpql.indexOf("?1") != -1) {
@@ -115,6 +115,108 @@ public class JPAModelLoader implements Model.Factory {
         return query.getResultList();
     }
 
+    /**
+     * Retrieve the results following a row, ordered by orderBy then by the key, like {@link #fetch}. The rows with a
+     * NULL value of orderBy could not be compared with the last row read, so orderBy must be a non-nullable column.
+     * 
+     * @param after
+     *            The values of orderBy, unless it is the key, and of the key in the last row read, or null for the
+     *            first page
+     * @param size
+     *            maximum number of results to retrieve
+     * @param orderBy
+     *            Order by field
+     * @param order
+     *            Sorting order
+     * @param searchFields
+     *            (page length)
+     * @param keywords
+     *            (page length)
+     * @param where
+     *            (page length)
+     * @return a list of results
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public List<Model> fetchAfter(Object[] after, int size, String orderBy, String order, List<String> searchFields,
+            String keywords, String where) {
+        Field[] keyFields = keyFields();
+        if (keyFields.length != 1) {
+            throw new UnsupportedOperationException("Keyset pagination needs a single key, " + clazz.getName() + " has " + keyFields.length);
+        }
+        String key = keyFields[0].getName();
+        if (orderBy != null && !orderBy.equals(key) && !isNonNullable(orderBy)) {
+            throw new UnsupportedOperationException("Keyset pagination needs a non-nullable sort column, " + clazz.getName() + "." + orderBy + " may be null");
+        }
+        if (order == null || (!order.equals("ASC") && !order.equals("DESC"))) {
+            order = "ASC";
+        }
+        String keys = orderBy == null || orderBy.equals(key) ? key + " " + order : orderBy + " " + order + ", " + key + " " + order;
+
+        String q = fetchQuery(searchFields, keywords, where);
+        boolean search = keywords != null && !keywords.equals("") && q.indexOf("?1") != -1;
+        String[] parameters = new String[after == null ? 0 : after.length];
+        for (int i = 0; i < parameters.length; i++) {
+            parameters[i] = "?" + (search ? i + 2 : i + 1);
+        }
+        Query query = JPA.em(this.dbName).createQuery(JPQL.instance.createKeysetQuery(q, keys, parameters));
+        if (search) {
+            query.setParameter(1, "%" + keywords.toLowerCase() + "%");
+        }
+        for (int i = 0; i < parameters.length; i++) {
+            query.setParameter(search ? i + 2 : i + 1, after[i]);
+        }
+        query.setMaxResults(size);
+        return query.getResultList();
+    }
+
+    /**
+     * @return true if the column of the property may not be NULL
+     */
+    private boolean isNonNullable(String property) {
+        for (Class<?> c = clazz; !c.equals(Object.class); c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (field.getName().equals(property)) {
+                    return field.getType().isPrimitive() || field.isAnnotationPresent(Id.class)
+                            || (field.isAnnotationPresent(Column.class) && !field.getAnnotation(Column.class).nullable())
+                            || (field.isAnnotationPresent(Basic.class) && !field.getAnnotation(Basic.class).optional());
+                }
+            }
+        }
+        return false;
+    }
+
+    private String fetchQuery(List<String> searchFields, String keywords, String where) {
+        StringBuilder q = new StringBuilder("from ").append(this.clazz.getName());
+        if (keywords != null && !keywords.isEmpty()) {
+            String searchQuery = this.getSearchQuery(searchFields);
+            if (!searchQuery.equals("")) {
+                q.append(" where (").append(searchQuery).append(")");
+            }
+            q.append((where != null ? " and " + where : ""));
+        } else {
+            q.append((where != null ? " where " + where : ""));
+        }
+        return q.toString();
+    }
+
+    /**
+     * Save the entities batch by batch, with the JDBC batch size of the persistence unit, and detach them once saved.
+     * 
+     * @param models
+     *            The entities to save
+     */
+    @Override
+    public void saveAll(Collection<? extends Model> models) {
+        List<JPABase> entities = new ArrayList<>(models.size());
+        for (Model model : models) {
+            entities.add((JPABase) model);
+        }
+        Object batchSize = JPA.em(dbName).getEntityManagerFactory().getProperties().get(AvailableSettings.STATEMENT_BATCH_SIZE);
+        int size = batchSize == null ? 0 : Integer.parseInt(batchSize.toString().trim());
+        JPABase.saveAll(dbName, entities, size > 0 ? size : JPAPlugin.DEFAULT_BATCH_SIZE);
+    }
+
     @Override
     public Long count(List<String> searchFields, String keywords, String where) {
         String q = "select count(*) from " + this.clazz.getName() + " e";
@@ -41,6 +41,12 @@ import static java.util.Collections.singletonList;
 
 public class JPAPlugin extends PlayPlugin {
     public static boolean autoTxs = true;
+
+    /**
+     * The number of entities flushed at a time by Model.Factory.saveAll, unless jpa.batchSize or
+     * hibernate.jdbc.batch_size is set
+     */
+    static final int DEFAULT_BATCH_SIZE = 50;
   
     @Override
     public Object bind(RootParamNode rootParamNode, String name, Class clazz, java.lang.reflect.Type type, Annotation[] annotations) {
@@ -220,6 +226,19 @@ public class JPAPlugin extends PlayPlugin {
             properties.setProperty("hibernate.hbm2ddl.auto", dbConfig.getProperty("jpa.ddl", "update"));
         }
 
+        // Opt-in: JDBC batching changes the order of the statements of every flush, and how their errors are reported.
+        // JPABase.saveAll batches its own flushes anyway.
+        String batchSize = dbConfig.getProperty("jpa.batchSize");
+        if (batchSize != null && !properties.containsKey(AvailableSettings.STATEMENT_BATCH_SIZE)) {
+            properties.setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, batchSize);
+            if (!properties.containsKey(AvailableSettings.ORDER_INSERTS)) {
+                properties.setProperty(AvailableSettings.ORDER_INSERTS, "true");
+            }
+            if (!properties.containsKey(AvailableSettings.ORDER_UPDATES)) {
+                properties.setProperty(AvailableSettings.ORDER_UPDATES, "true");
+            }
+        }
+
         properties.put("hibernate.connection.datasource", DB.getDataSource(dbName));
         return properties;
     }
@@ -73,10 +73,9 @@ public class JPQL {
 
 
     public JPAQuery find(String dbName, String entity, String query, Object[] params) {
-        Query q = em(dbName).createQuery(
-                createFindByQuery(dbName, entity, entity, query, params));
-        return new JPAQuery(
-                createFindByQuery(dbName, entity, entity, query, params), bindParameters(q, params));
+        String sq = createFindByQuery(dbName, entity, entity, query, params);
+        Query q = em(dbName).createQuery(sq);
+        return new JPAQuery(dbName, sq, bindParameters(q, params), params);
     }
 
     public JPAQuery find(String entity) {
@@ -84,10 +83,9 @@ public class JPQL {
     }
 
     public JPAQuery find(String dbName, String entity) {
-        Query q = em(dbName).createQuery(
-                createFindByQuery(dbName, entity, entity, null));
-        return new JPAQuery(
-                createFindByQuery(dbName, entity, entity, null), bindParameters(q));
+        String sq = createFindByQuery(dbName, entity, entity, null);
+        Query q = em(dbName).createQuery(sq);
+        return new JPAQuery(dbName, sq, bindParameters(q), new Object[0]);
     }
 
     public JPAQuery all(String entity) {
@@ -95,10 +93,9 @@ public class JPQL {
     }
 
     public JPAQuery all(String dbName, String entity) {
-        Query q = em(dbName).createQuery(
-                createFindByQuery(dbName, entity, entity, null));
-        return new JPAQuery(
-                createFindByQuery(dbName, entity, entity, null), bindParameters(q));
+        String sq = createFindByQuery(dbName, entity, entity, null);
+        Query q = em(dbName).createQuery(sq);
+        return new JPAQuery(dbName, sq, bindParameters(q), new Object[0]);
     }
 
     public int delete(String dbName, String entity, String query, Object[] params) {
@@ -217,6 +214,80 @@ public class JPQL {
         return "select count(*) from " + entityName + " e where " + query;
     }
 
+    /**
+     * Restrict a query to the rows following a row in the order of the given keys (keyset pagination). The order of
+     * the query is replaced by the order of the keys.
+     *
+     * @param query
+     *            The query, like "from Post where author = ?1 order by postedAt"
+     * @param keys
+     *            The sort keys, all ascending or all descending, not nullable, the last one unique, like "postedAt
+     *            desc, id desc"
+     * @param parameters
+     *            The parameters holding the keys of the last row read, like "?2", "?3", or none for the first page
+     * @return The query
+     */
+    public String createKeysetQuery(String query, String keys, String... parameters) {
+        String lowerCase = query.toLowerCase();
+        int orderBy = lowerCase.lastIndexOf(" order by ");
+        if (orderBy >= 0) {
+            query = query.substring(0, orderBy);
+            lowerCase = lowerCase.substring(0, orderBy);
+        }
+        StringBuilder jpql = new StringBuilder();
+        if (parameters.length == 0) {
+            jpql.append(query);
+        } else {
+            int where = lowerCase.indexOf(" where ");
+            if (where >= 0) {
+                jpql.append(query, 0, where).append(" where (").append(query.substring(where + 7)).append(") and ");
+            } else {
+                jpql.append(query).append(" where ");
+            }
+            jpql.append(createKeysetCondition(keys, parameters));
+        }
+        return jpql.append(" order by ").append(keys).toString();
+    }
+
+    /**
+     * @param keys
+     *            The sort keys, all ascending or all descending, not nullable, the last one unique, like "postedAt
+     *            desc, id desc"
+     * @param parameters
+     *            The parameters holding the keys of the last row read, like "?2", "?3"
+     * @return The condition selecting the rows following the last row read in the order of the keys. With several
+     *         keys, it starts with a range on the first key, so the database can read them from an index on the keys.
+     */
+    public String createKeysetCondition(String keys, String... parameters) {
+        String[] names = keys.trim().split("\\s*,\\s*");
+        if (names.length != parameters.length) {
+            throw new IllegalArgumentException("The keyset " + keys + " has " + names.length + " keys, " + parameters.length + " values were given");
+        }
+        Boolean descending = null;
+        for (int i = 0; i < names.length; i++) {
+            String[] parts = names[i].split("\\s+");
+            boolean desc = parts.length == 2 && parts[1].equalsIgnoreCase("desc");
+            if (parts.length > 2 || (parts.length == 2 && !desc && !parts[1].equalsIgnoreCase("asc"))) {
+                throw new IllegalArgumentException("Invalid sort key " + names[i]);
+            }
+            if (descending != null && descending != desc) {
+                throw new IllegalArgumentException("The keys of the keyset " + keys + " must all be ascending or all descending");
+            }
+            descending = desc;
+            names[i] = parts[0];
+        }
+        String after = descending ? " < " : " > ";
+        int last = names.length - 1;
+        StringBuilder condition = new StringBuilder(names[last]).append(after).append(parameters[last]);
+        for (int i = last - 1; i >= 0; i--) {
+            condition.insert(0, names[i] + after + parameters[i] + " or (" + names[i] + " = " + parameters[i] + " and (").append("))");
+        }
+        if (names.length > 1) {
+            condition.insert(0, names[0] + (descending ? " <= " : " >= ") + parameters[0] + " and (").append(")");
+        }
+        return condition.toString();
+    }
+
     @SuppressWarnings("unchecked")
     public Query bindParameters(Query q, Object... params) {
         if (params == null) {
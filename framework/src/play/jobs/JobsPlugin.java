@@ -11,7 +11,7 @@ import play.libs.Expression;
 import play.libs.Time;
 import play.mvc.Http.Request;
 import play.utils.Java;
-import play.utils.PThreadFactory;
+import play.utils.VirtualThreadScheduledExecutor;
 
 import java.io.PrintWriter;
 import java.io.StringWriter;
@@ -181,7 +181,8 @@ public class JobsPlugin extends PlayPlugin {
     @Override
     public void onApplicationStart() {
         int core = Integer.parseInt(Play.configuration.getProperty("play.jobs.pool", "10"));
-        executor = new ScheduledThreadPoolExecutor(core, new PThreadFactory("jobs"), new ThreadPoolExecutor.AbortPolicy());
+        executor = VirtualThreadScheduledExecutor.create("jobs", core,
+                Boolean.parseBoolean(Play.configuration.getProperty("play.jobs.pool.virtualThreads", "false")));
         scheduledJobs.clear();
     }
 
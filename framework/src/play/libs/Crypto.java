@@ -1,7 +1,11 @@
 package play.libs;
 
+import java.security.GeneralSecurityException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.crypto.Cipher;
 import javax.crypto.Mac;
@@ -43,6 +47,22 @@ public class Crypto {
 
     static final char[] HEX_CHARS = { '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f' };
 
+    /**
+     * Mac and Cipher instances are costly to get and to initialize, and not thread-safe: they are borrowed for one
+     * operation from a small pool shared by all threads, virtual ones included, and kept initialized with the last key
+     * they used.
+     */
+    private static final ConcurrentLinkedQueue<Engine> engines = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The engines kept when they are returned, beyond what the operations at once need on a busy server
+     */
+    static final int MAX_IDLE_ENGINES = Math.max(8, 2 * Runtime.getRuntime().availableProcessors());
+
+    private static final AtomicInteger idleEngines = new AtomicInteger();
+
+    private static volatile SecretKey secretKey;
+
     /**
      * Sign a message using the application secret key (HMAC-SHA1)
      * 
@@ -51,7 +71,7 @@ public class Crypto {
      * @return The signed message
      */
     public static String sign(String message) {
-        return sign(message, Play.secretKey.getBytes());
+        return sign(message, secretKeyBytes());
     }
 
     /**
@@ -70,11 +90,13 @@ public class Crypto {
         }
 
         try {
-            Mac mac = Mac.getInstance("HmacSHA1");
-            SecretKeySpec signingKey = new SecretKeySpec(key, "HmacSHA1");
-            mac.init(signingKey);
-            byte[] messageBytes = message.getBytes(UTF_8);
-            byte[] result = mac.doFinal(messageBytes);
+            byte[] result;
+            Engine engine = borrowEngine();
+            try {
+                result = engine.hmac(key, message.getBytes(UTF_8));
+            } finally {
+                returnEngine(engine);
+            }
             int len = result.length;
             char[] hexChars = new char[len * 2];
 
@@ -90,6 +112,45 @@ public class Crypto {
 
     }
 
+    /**
+     * Verify the signature of a message using the application secret key (HMAC-SHA1)
+     * 
+     * @param message
+     *            The signed message
+     * @param signature
+     *            The signature to verify (in hexadecimal)
+     * @return true if the signature is the one of the message
+     */
+    public static boolean verify(String message, String signature) {
+        return verify(message, signature, secretKeyBytes());
+    }
+
+    /**
+     * Verify the signature of a message with a key, in a time that does not depend on how much of the signature is
+     * right, to prevent timing attacks
+     * 
+     * @param message
+     *            The signed message
+     * @param signature
+     *            The signature to verify (in hexadecimal)
+     * @param key
+     *            The key to use
+     * @return true if the signature is the one of the message
+     */
+    public static boolean verify(String message, String signature, byte[] key) {
+        return MessageDigest.isEqual(sign(message, key).getBytes(UTF_8), signature.getBytes(UTF_8));
+    }
+
+    private static byte[] secretKeyBytes() {
+        SecretKey key = secretKey;
+        if (key == null || key.secret != Play.secretKey) {
+            // The application secret has changed
+            key = new SecretKey(Play.secretKey);
+            secretKey = key;
+        }
+        return key.bytes;
+    }
+
     /**
      * Create a password hash using the default hashing algorithm
      * 
@@ -142,11 +203,12 @@ public class Crypto {
      */
     public static String encryptAES(String value, String privateKey) {
         try {
-            byte[] raw = privateKey.getBytes();
-            SecretKeySpec skeySpec = new SecretKeySpec(raw, "AES");
-            Cipher cipher = Cipher.getInstance("AES");
-            cipher.init(Cipher.ENCRYPT_MODE, skeySpec);
-            return Codec.byteToHexString(cipher.doFinal(value.getBytes()));
+            Engine engine = borrowEngine();
+            try {
+                return Codec.byteToHexString(engine.aes(Cipher.ENCRYPT_MODE, privateKey.getBytes(), value.getBytes()));
+            } finally {
+                returnEngine(engine);
+            }
         } catch (Exception ex) {
             throw new UnexpectedException(ex);
         }
@@ -174,14 +236,90 @@ public class Crypto {
      */
     public static String decryptAES(String value, String privateKey) {
         try {
-            byte[] raw = privateKey.getBytes();
-            SecretKeySpec skeySpec = new SecretKeySpec(raw, "AES");
-            Cipher cipher = Cipher.getInstance("AES");
-            cipher.init(Cipher.DECRYPT_MODE, skeySpec);
-            return new String(cipher.doFinal(Codec.hexStringToByte(value)));
+            Engine engine = borrowEngine();
+            try {
+                return new String(engine.aes(Cipher.DECRYPT_MODE, privateKey.getBytes(), Codec.hexStringToByte(value)));
+            } finally {
+                returnEngine(engine);
+            }
         } catch (Exception ex) {
             throw new UnexpectedException(ex);
         }
     }
 
+    private static final class SecretKey {
+
+        final String secret;
+        final byte[] bytes;
+
+        SecretKey(String secret) {
+            this.secret = secret;
+            this.bytes = secret.getBytes();
+        }
+    }
+
+    /**
+     * The Mac and Cipher of a thread. doFinal resets them to their initial state, so they are only initialized again
+     * when the key or the mode changes, or after a failure.
+     */
+    static Engine borrowEngine() {
+        Engine engine = engines.poll();
+        if (engine == null) {
+            return new Engine();
+        }
+        idleEngines.decrementAndGet();
+        return engine;
+    }
+
+    static void returnEngine(Engine engine) {
+        if (idleEngines.incrementAndGet() <= MAX_IDLE_ENGINES) {
+            engines.offer(engine);
+        } else {
+            idleEngines.decrementAndGet();
+        }
+    }
+
+    static final class Engine {
+
+        private Mac mac;
+        private byte[] macKey;
+        private Cipher cipher;
+        private byte[] cipherKey;
+        private int cipherMode;
+
+        byte[] hmac(byte[] key, byte[] input) throws GeneralSecurityException {
+            if (mac == null) {
+                mac = Mac.getInstance("HmacSHA1");
+            }
+            try {
+                if (!Arrays.equals(key, macKey)) {
+                    macKey = null;
+                    mac.init(new SecretKeySpec(key, "HmacSHA1"));
+                    macKey = key.clone();
+                }
+                return mac.doFinal(input);
+            } catch (RuntimeException e) {
+                macKey = null;
+                throw e;
+            }
+        }
+
+        byte[] aes(int mode, byte[] key, byte[] input) throws GeneralSecurityException {
+            if (cipher == null) {
+                cipher = Cipher.getInstance("AES");
+            }
+            try {
+                if (mode != cipherMode || !Arrays.equals(key, cipherKey)) {
+                    cipherKey = null;
+                    cipher.init(mode, new SecretKeySpec(key, "AES"));
+                    cipherMode = mode;
+                    cipherKey = key.clone();
+                }
+                return cipher.doFinal(input);
+            } catch (GeneralSecurityException | RuntimeException e) {
+                cipherKey = null;
+                throw e;
+            }
+        }
+    }
 }
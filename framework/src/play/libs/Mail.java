@@ -3,10 +3,10 @@ package play.libs;
 import java.util.Date;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
 
 import javax.mail.Authenticator;
 import javax.mail.PasswordAuthentication;
@@ -193,53 +193,21 @@ public class Mail {
      */
     public static Future<Boolean> sendMessage(final Email msg) {
         if (asynchronousSend) {
-            return executor.submit(() -> {
-                try {
-                    msg.setSentDate(new Date());
-                    msg.send();
-                    return true;
-                } catch (Throwable e) {
-                    MailException me = new MailException("Error while sending email", e);
-                    Logger.error(me, "The email has not been sent");
-                    return false;
-                }
-            });
-        } else {
-            final StringBuilder result = new StringBuilder();
-            try {
-                msg.setSentDate(new Date());
-                msg.send();
-            } catch (Throwable e) {
-                MailException me = new MailException("Error while sending email", e);
-                Logger.error(me, "The email has not been sent");
-                result.append("oops");
-            }
-            return new Future<Boolean>() {
-                @Override
-                public boolean cancel(boolean mayInterruptIfRunning) {
-                    return false;
-                }
-
-                @Override
-                public boolean isCancelled() {
-                    return false;
-                }
-
-                @Override
-                public boolean isDone() {
-                    return true;
-                }
-
-                @Override
-                public Boolean get() {
-                    return result.length() == 0;
-                }
+            // A completable future resumes a request awaiting it as soon as the email is sent
+            return CompletableFuture.supplyAsync(() -> sendNow(msg), executor);
+        }
+        return CompletableFuture.completedFuture(sendNow(msg));
+    }
 
-                @Override
-                public Boolean get(long timeout, TimeUnit unit) {
-                    return result.length() == 0;
-                }
-            };
+    private static boolean sendNow(Email msg) {
+        try {
+            msg.setSentDate(new Date());
+            msg.send();
+            return true;
+        } catch (Throwable e) {
+            MailException me = new MailException("Error while sending email", e);
+            Logger.error(me, "The email has not been sent");
+            return false;
         }
     }
 
@@ -0,0 +1,200 @@
+package play.mvc;
+
+import play.Invoker.Suspend;
+import play.Play;
+import play.cache.Cache;
+import play.cache.CacheFor;
+import play.libs.Time;
+import play.mvc.results.Result;
+
+import java.io.Serializable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cached result of a @CacheFor action. On this server, one request at a time computes the result of a key: the
+ * others are suspended until it is computed, at most <code>cache.cacheFor.maxWait</code>, instead of invoking the
+ * action too. The request computing the result keeps its key while it is suspended itself, at most as long. With
+ * {@link CacheFor#stale()}, an expired result is still served while one request computes it again, and with
+ * {@link CacheFor#earlyRefresh()}, a result may be computed again a little before it expires.
+ */
+final class ActionCache {
+
+    /**
+     * The request argument keeping the computation of a suspended request
+     */
+    static final String COMPUTING = "__cacheForComputing";
+
+    /**
+     * The request argument keeping the computation a suspended request waits for
+     */
+    static final String WAITING = "__cacheForWaiting";
+
+    private static final ConcurrentHashMap<String, CompletableFuture<Result>> computations = new ConcurrentHashMap<>();
+
+    private final String key;
+    private final CacheFor cacheFor;
+    private final Http.Request request;
+    private CompletableFuture<Result> computation;
+    private long startedAt;
+    private boolean suspended;
+
+    ActionCache(String key, CacheFor cacheFor, Http.Request request) {
+        this.key = key;
+        this.cacheFor = cacheFor;
+        this.request = request;
+    }
+
+    /**
+     * @return The cached result, or null if this request must invoke the action
+     * @throws Suspend
+     *             if another request computes the result
+     */
+    Result get() {
+        ActionCache suspended = (ActionCache) request.args.remove(COMPUTING);
+        if (suspended != null) {
+            // Resume the action, still computing the result if the key has not been released
+            if (computations.get(key) == suspended.computation) {
+                computation = suspended.computation;
+                startedAt = suspended.startedAt;
+            }
+            return null;
+        }
+        @SuppressWarnings("unchecked")
+        CompletableFuture<Result> waited = (CompletableFuture<Result>) request.args.remove(WAITING);
+        if (waited != null) {
+            Result result = waited.getNow(null);
+            if (result != null) {
+                return result;
+            }
+            // No result in time: invoke the action, computing the result for the others if no request does
+            result = cachedResult();
+            if (result == null) {
+                compute();
+            }
+            return result;
+        }
+
+        Object cached = Cache.get(key);
+        if (cached instanceof Result) {
+            return (Result) cached;
+        }
+        if (cached instanceof CachedResult) {
+            CachedResult cachedResult = (CachedResult) cached;
+            if (!cachedResult.refresh(cacheFor.earlyRefresh())) {
+                return cachedResult.result;
+            }
+            // Computed again by one request, served to the others
+            return compute() == null ? null : cachedResult.result;
+        }
+
+        CompletableFuture<Result> other = compute();
+        if (other == null) {
+            // Cached while this request was waiting for its turn
+            return cachedResult();
+        }
+        // Resumed once the other request has computed the result, without holding a thread meanwhile
+        CompletableFuture<Result> waiting = other.copy().completeOnTimeout(null, maxWait(), TimeUnit.SECONDS);
+        request.isNew = false;
+        request.args.put(WAITING, waiting);
+        throw new Suspend(waiting);
+    }
+
+    private Result cachedResult() {
+        Object cached = Cache.get(key);
+        return cached instanceof CachedResult ? ((CachedResult) cached).result : (Result) cached;
+    }
+
+    private static int maxWait() {
+        return Time.parseDuration(Play.configuration.getProperty("cache.cacheFor.maxWait", "10s"));
+    }
+
+    /**
+     * @return null if this request computes the result, the computation of another request otherwise
+     */
+    private CompletableFuture<Result> compute() {
+        CompletableFuture<Result> created = new CompletableFuture<>();
+        CompletableFuture<Result> other = computations.putIfAbsent(key, created);
+        if (other == null) {
+            computation = created;
+            startedAt = System.nanoTime();
+        }
+        return other;
+    }
+
+    /**
+     * Cache the result of the action, and give it to the requests waiting for it.
+     */
+    void set(Result result) {
+        int expiration = Time.parseDuration(cacheFor.value());
+        if (cacheFor.stale().isEmpty() && cacheFor.earlyRefresh() <= 0) {
+            Cache.set(key, result, cacheFor.value());
+        } else {
+            long computedIn = startedAt == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+            CachedResult cachedResult = new CachedResult(result, System.currentTimeMillis() + expiration * 1000L, computedIn);
+            int stale = cacheFor.stale().isEmpty() ? 0 : Time.parseDuration(cacheFor.stale());
+            Cache.set(key, cachedResult, (expiration + stale) + "s");
+        }
+        if (computation != null) {
+            computation.complete(result);
+        }
+    }
+
+    /**
+     * Keep computing the result once the suspended action is resumed. The key is released if the request is not
+     * resumed within <code>cache.cacheFor.maxWait</code>, so that a request never resumed cannot hold it.
+     */
+    void suspend() {
+        if (computation != null) {
+            CompletableFuture<Result> kept = computation;
+            CompletableFuture.delayedExecutor(maxWait(), TimeUnit.SECONDS).execute(() -> computations.remove(key, kept));
+            request.args.put(COMPUTING, this);
+            suspended = true;
+        }
+    }
+
+    /**
+     * Let the other requests compute the result, if the action has not given one.
+     */
+    void done() {
+        if (computation != null && !suspended) {
+            computations.remove(key, computation);
+            computation.complete(null);
+            computation = null;
+        }
+    }
+
+    /**
+     * A result cached with its expiration, served after it while it is computed again
+     */
+    static final class CachedResult implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        final Result result;
+        final long expiresAt;
+        final long computedIn;
+
+        CachedResult(Result result, long expiresAt, long computedIn) {
+            this.result = result;
+            this.expiresAt = expiresAt;
+            this.computedIn = computedIn;
+        }
+
+        /**
+         * @param earlyRefresh
+         *            How early a result may be computed again, 0 to wait for its expiration
+         * @return true if the result must be computed again: once expired, or at random before, earlier for a result
+         *         long to compute
+         */
+        boolean refresh(double earlyRefresh) {
+            long now = System.currentTimeMillis();
+            if (earlyRefresh > 0 && computedIn > 0) {
+                now -= (long) (computedIn * earlyRefresh * Math.log(1 - ThreadLocalRandom.current().nextDouble()));
+            }
+            return now >= expiresAt;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package play.mvc;
+
+import play.classloading.ApplicationClassloaderStateCache;
+import play.utils.Java;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The @Before, @After, @Finally and @Catch methods of a controller, sorted by priority, with their only/unless
+ * actions resolved, so they are not looked up on each request.
+ */
+final class ActionInterceptors {
+
+    private static final ApplicationClassloaderStateCache<Class<?>, ActionInterceptors> byController = new ApplicationClassloaderStateCache<>();
+
+    final Interceptor[] befores;
+    final Interceptor[] afters;
+    final Interceptor[] finallies;
+    final Catcher[] catches;
+
+    private ActionInterceptors(Class<?> controllerClass) {
+        befores = interceptors(controllerClass, Before.class);
+        afters = interceptors(controllerClass, After.class);
+        finallies = interceptors(controllerClass, Finally.class);
+        catches = Java.findAllAnnotatedMethods(controllerClass, Catch.class).stream().map(Catcher::new).toArray(Catcher[]::new);
+    }
+
+    /**
+     * @param controllerClass
+     *            The controller class
+     * @return The interceptors of the controller
+     */
+    static ActionInterceptors of(Class<?> controllerClass) {
+        return byController.get(controllerClass, ActionInterceptors::new);
+    }
+
+    private static Interceptor[] interceptors(Class<?> controllerClass, Class<? extends Annotation> annotationType) {
+        List<Method> methods = Java.findAllAnnotatedMethods(controllerClass, annotationType);
+        Interceptor[] interceptors = new Interceptor[methods.size()];
+        for (int i = 0; i < interceptors.length; i++) {
+            interceptors[i] = new Interceptor(methods.get(i), annotationType);
+        }
+        return interceptors;
+    }
+
+    /**
+     * A @Before, @After or @Finally method
+     */
+    static final class Interceptor {
+
+        final Method method;
+        final boolean throwableParameter;
+        private final Set<String> only;
+        private final Set<String> unless;
+
+        private Interceptor(Method method, Class<? extends Annotation> annotationType) {
+            this.method = method;
+            this.method.setAccessible(true);
+            Class<?>[] parameterTypes = method.getParameterTypes();
+            this.throwableParameter = parameterTypes.length == 1 && parameterTypes[0] == Throwable.class;
+
+            // Only the @Before actions of inner classes are named without $
+            if (annotationType == Before.class) {
+                Before before = method.getAnnotation(Before.class);
+                this.only = actions(method, before.only(), true);
+                this.unless = actions(method, before.unless(), true);
+            } else if (annotationType == After.class) {
+                After after = method.getAnnotation(After.class);
+                this.only = actions(method, after.only(), false);
+                this.unless = actions(method, after.unless(), false);
+            } else {
+                Finally aFinally = method.getAnnotation(Finally.class);
+                this.only = actions(method, aFinally.only(), false);
+                this.unless = actions(method, aFinally.unless(), false);
+            }
+        }
+
+        private static Set<String> actions(Method method, String[] actions, boolean ignoreInnerClasses) {
+            Set<String> resolved = new HashSet<>();
+            for (String action : actions) {
+                if (!action.contains(".")) {
+                    // An action of the controller declaring the interceptor
+                    String controller = method.getDeclaringClass().getName().substring(12);
+                    action = (ignoreInnerClasses ? controller.replace("$", "") : controller) + "." + action;
+                }
+                resolved.add(action);
+            }
+            return resolved;
+        }
+
+        boolean appliesTo(String action) {
+            if (!only.isEmpty() && !only.contains(action)) {
+                return false;
+            }
+            return !unless.contains(action);
+        }
+    }
+
+    /**
+     * A @Catch method
+     */
+    static final class Catcher {
+
+        final Method method;
+        private final Class<?>[] exceptions;
+
+        private Catcher(Method method) {
+            this.method = method;
+            this.method.setAccessible(true);
+            Class<?>[] exceptions = method.getAnnotation(Catch.class).value();
+            this.exceptions = exceptions.length == 0 ? new Class<?>[] { Exception.class } : exceptions;
+        }
+
+        boolean catches(Throwable throwable) {
+            for (Class<?> exception : exceptions) {
+                if (exception.isInstance(throwable)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
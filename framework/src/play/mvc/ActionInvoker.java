@@ -7,7 +7,6 @@ import org.apache.commons.javaflow.bytecode.StackRecorder;
 import play.Invoker.Suspend;
 import play.Logger;
 import play.Play;
-import play.cache.Cache;
 import play.cache.CacheFor;
 import play.classloading.enhancers.ControllersEnhancer;
 import play.classloading.enhancers.ControllersEnhancer.ControllerInstrumentation;
@@ -33,6 +32,8 @@ import play.utils.Utils;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.InputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
@@ -123,14 +124,7 @@ public class ActionInvoker {
 
             // 2. Easy debugging ...
             if (Play.mode == Play.Mode.DEV) {
-                Controller.class.getDeclaredField("params").set(null, Scope.Params.current());
-                Controller.class.getDeclaredField("request").set(null, Http.Request.current());
-                Controller.class.getDeclaredField("response").set(null, Http.Response.current());
-                Controller.class.getDeclaredField("session").set(null, Scope.Session.current());
-                Controller.class.getDeclaredField("flash").set(null, Scope.Flash.current());
-                Controller.class.getDeclaredField("renderArgs").set(null, Scope.RenderArgs.current());
-                Controller.class.getDeclaredField("routeArgs").set(null, Scope.RouteArgs.current());
-                Controller.class.getDeclaredField("validation").set(null, Validation.current());
+                ControllerFields.set();
             }
 
             ControllerInstrumentation.stopActionCall();
@@ -139,7 +133,7 @@ public class ActionInvoker {
             // Monitoring
             monitor = MonitorFactory.start(request.action + "()");
 
-            String cacheKey = null;
+            ActionCache actionCache = null;
             Result actionResult = null;
 
             // 3. Invoke the action
@@ -151,14 +145,15 @@ public class ActionInvoker {
 
                 // Check the cache (only for GET or HEAD)
                 if ((request.method.equals("GET") || request.method.equals("HEAD")) && actionMethod.isAnnotationPresent(CacheFor.class)) {
-                    CacheFor cacheFor = actionMethod.getAnnotation(CacheFor.class);;
-                    cacheKey = cacheFor.id();
+                    CacheFor cacheFor = actionMethod.getAnnotation(CacheFor.class);
+                    String cacheKey = cacheFor.id();
                     if ("".equals(cacheKey)) {
                         // Generate a cache key for this request
                         cacheKey = cacheFor.generator().newInstance().generate(request);
                     }
                     if(cacheKey != null && !"".equals(cacheKey)) {
-                    	actionResult = (Result) Cache.get(cacheKey);
+                        actionCache = new ActionCache(cacheKey, cacheFor, request);
+                        actionResult = actionCache.get();
                     }
                 }
 
@@ -169,12 +164,22 @@ public class ActionInvoker {
             } catch (Result result) {
                 actionResult = result;
                 // Cache it if needed
-                if (cacheKey != null && !"".equals(cacheKey)) {
-                    Cache.set(cacheKey, actionResult, actionMethod.getAnnotation(CacheFor.class).value());
+                if (actionCache != null) {
+                    actionCache.set(actionResult);
                 }
+            } catch (Suspend e) {
+                // Still computing the result once resumed
+                if (actionCache != null) {
+                    actionCache.suspend();
+                }
+                throw e;
             } catch (JavaExecutionException e) {
                 invokeControllerCatchMethods(e.getCause());
                 throw e;
+            } finally {
+                if (actionCache != null) {
+                    actionCache.done();
+                }
             }
 
             // @After
@@ -226,24 +231,16 @@ public class ActionInvoker {
     private static void invokeControllerCatchMethods(Throwable throwable) throws Exception {
         // @Catch
         Object[] args = new Object[] {throwable};
-        List<Method> catches = Java.findAllAnnotatedMethods(getControllerClass(), Catch.class);
+        ActionInterceptors.Catcher[] catches = ActionInterceptors.of(getControllerClass()).catches;
         ControllerInstrumentation.stopActionCall();
-        for (Method mCatch : catches) {
-            Class[] exceptions = mCatch.getAnnotation(Catch.class).value();
-            if (exceptions.length == 0) {
-                exceptions = new Class[]{Exception.class};
-            }
-            for (Class exception : exceptions) {
-                if (exception.isInstance(args[0])) {
-                    mCatch.setAccessible(true);
-                    inferResult(invokeControllerMethod(mCatch, args));
-                    break;
-                }
+        for (ActionInterceptors.Catcher mCatch : catches) {
+            if (mCatch.catches(throwable)) {
+                inferResult(invokeControllerMethod(mCatch.method, args));
             }
         }
     }
 
-    private static boolean isActionMethod(Method method) {
+    static boolean isActionMethod(Method method) {
         return !method.isAnnotationPresent(Before.class) &&
                 !method.isAnnotationPresent(After.class) &&
                 !method.isAnnotationPresent(Finally.class) &&
@@ -276,69 +273,21 @@ public class ActionInvoker {
     }
 
     private static void handleBefores(Http.Request request) throws Exception {
-        List<Method> befores = Java.findAllAnnotatedMethods(getControllerClass(), Before.class);
+        ActionInterceptors.Interceptor[] befores = ActionInterceptors.of(getControllerClass()).befores;
         ControllerInstrumentation.stopActionCall();
-        for (Method before : befores) {
-            String[] unless = before.getAnnotation(Before.class).unless();
-            String[] only = before.getAnnotation(Before.class).only();
-            boolean skip = false;
-            for (String un : only) {
-                if (!un.contains(".")) {
-                    un = before.getDeclaringClass().getName().substring(12).replace("$", "") + "." + un;
-                }
-                if (un.equals(request.action)) {
-                    skip = false;
-                    break;
-                } else {
-                    skip = true;
-                }
-            }
-            for (String un : unless) {
-                if (!un.contains(".")) {
-                    un = before.getDeclaringClass().getName().substring(12).replace("$", "") + "." + un;
-                }
-                if (un.equals(request.action)) {
-                    skip = true;
-                    break;
-                }
-            }
-            if (!skip) {
-                before.setAccessible(true);
-                inferResult(invokeControllerMethod(before));
+        for (ActionInterceptors.Interceptor before : befores) {
+            if (before.appliesTo(request.action)) {
+                inferResult(invokeControllerMethod(before.method));
             }
         }
     }
 
     private static void handleAfters(Http.Request request) throws Exception {
-        List<Method> afters = Java.findAllAnnotatedMethods(getControllerClass(), After.class);
+        ActionInterceptors.Interceptor[] afters = ActionInterceptors.of(getControllerClass()).afters;
         ControllerInstrumentation.stopActionCall();
-        for (Method after : afters) {
-            String[] unless = after.getAnnotation(After.class).unless();
-            String[] only = after.getAnnotation(After.class).only();
-            boolean skip = false;
-            for (String un : only) {
-                if (!un.contains(".")) {
-                    un = after.getDeclaringClass().getName().substring(12) + "." + un;
-                }
-                if (un.equals(request.action)) {
-                    skip = false;
-                    break;
-                } else {
-                    skip = true;
-                }
-            }
-            for (String un : unless) {
-                if (!un.contains(".")) {
-                    un = after.getDeclaringClass().getName().substring(12) + "." + un;
-                }
-                if (un.equals(request.action)) {
-                    skip = true;
-                    break;
-                }
-            }
-            if (!skip) {
-                after.setAccessible(true);
-                inferResult(invokeControllerMethod(after));
+        for (ActionInterceptors.Interceptor after : afters) {
+            if (after.appliesTo(request.action)) {
+                inferResult(invokeControllerMethod(after.method));
             }
         }
     }
@@ -362,45 +311,18 @@ public class ActionInvoker {
         }
 
         try {
-            List<Method> allFinally = Java.findAllAnnotatedMethods(Request.current().controllerClass, Finally.class);
+            ActionInterceptors.Interceptor[] allFinally = ActionInterceptors.of(Request.current().controllerClass).finallies;
             ControllerInstrumentation.stopActionCall();
-            for (Method aFinally : allFinally) {
-                String[] unless = aFinally.getAnnotation(Finally.class).unless();
-                String[] only = aFinally.getAnnotation(Finally.class).only();
-                boolean skip = false;
-                for (String un : only) {
-                    if (!un.contains(".")) {
-                        un = aFinally.getDeclaringClass().getName().substring(12) + "." + un;
-                    }
-                    if (un.equals(request.action)) {
-                        skip = false;
-                        break;
-                    } else {
-                        skip = true;
-                    }
-                }
-                for (String un : unless) {
-                    if (!un.contains(".")) {
-                        un = aFinally.getDeclaringClass().getName().substring(12) + "." + un;
-                    }
-                    if (un.equals(request.action)) {
-                        skip = true;
-                        break;
-                    }
-                }
-                if (!skip) {
-                    aFinally.setAccessible(true);
-
-                    // check if method accepts Throwable as only parameter
-                    Class[] parameterTypes = aFinally.getParameterTypes();
-                    if (parameterTypes.length == 1 && parameterTypes[0] == Throwable.class) {
+            for (ActionInterceptors.Interceptor aFinally : allFinally) {
+                if (aFinally.appliesTo(request.action)) {
+                    if (aFinally.throwableParameter) {
                         // invoking @Finally method with caughtException as
                         // parameter
-                        invokeControllerMethod(aFinally, new Object[] { caughtException });
+                        invokeControllerMethod(aFinally.method, new Object[] { caughtException });
                     } else {
                         // invoke @Finally-method the regular way without
                         // caughtException
-                        invokeControllerMethod(aFinally, null);
+                        invokeControllerMethod(aFinally.method, null);
                     }
                 }
             }
@@ -445,22 +367,20 @@ public class ActionInvoker {
     }
 
     public static Object invokeControllerMethod(Method method, Object[] forceArgs) throws Exception {
-        boolean isStatic = Modifier.isStatic(method.getModifiers());
-        String declaringClassName = method.getDeclaringClass().getName();
-        boolean isProbablyScala = declaringClassName.contains("$");
+        ActionPlan plan = ActionPlan.of(method);
 
         Http.Request request = Http.Request.current();
 
-        if (!isStatic && request.controllerInstance == null) {
+        if (!plan.isStatic && request.controllerInstance == null) {
             request.controllerInstance = Injector.getBeanOfType(request.controllerClass);
         }
 
         Object[] args = forceArgs != null ? forceArgs : getActionMethodArgs(method, request.controllerInstance);
 
-        if (isProbablyScala) {
+        if (plan.isProbablyScala) {
             try {
                 Object scalaInstance = request.controllerClass.getDeclaredField("MODULE$").get(null);
-                if (declaringClassName.endsWith("$class")) {
+                if (method.getDeclaringClass().getName().endsWith("$class")) {
                     args[0] = scalaInstance; // Scala trait method
                 } else {
                     request.controllerInstance = (PlayController) scalaInstance; // Scala object method
@@ -470,22 +390,28 @@ public class ActionInvoker {
             }
         }
 
-        Object methodClassInstance = isStatic ? null :
+        Object methodClassInstance = plan.isStatic ? null :
             (method.getDeclaringClass().isAssignableFrom(request.controllerClass)) ? request.controllerInstance :
                 Injector.getBeanOfType(method.getDeclaringClass());
 
-        return invoke(method, methodClassInstance, args);
+        return invoke(plan, methodClassInstance, args);
     }
 
     static Object invoke(Method method, Object instance, Object ... realArgs) throws Exception {
+        return invoke(ActionPlan.of(method), instance, realArgs);
+    }
+
+    private static Object invoke(ActionPlan plan, Object instance, Object[] realArgs) throws Exception {
         try {
-            if (isActionMethod(method)) {
-                return invokeWithContinuation(method, instance, realArgs);
+            if (plan.isAction) {
+                return invokeWithContinuation(plan, instance, realArgs);
             } else {
-                return method.invoke(instance, realArgs);
+                return plan.invoke(instance, realArgs);
             }
-        } catch (InvocationTargetException ex) {
-            Throwable originalThrowable = ex.getTargetException();
+        } catch (Result | PlayException e) {
+            throw e;
+        } catch (Throwable e) {
+            Throwable originalThrowable = e instanceof InvocationTargetException ? ((InvocationTargetException) e).getTargetException() : e;
 
             if (originalThrowable instanceof Result || originalThrowable instanceof PlayException)
                 throw (Exception) originalThrowable;
@@ -508,7 +434,7 @@ public class ActionInvoker {
     public static final String CONTINUATIONS_STORE_VALIDATIONS = "__CONTINUATIONS_STORE_VALIDATIONS";
     static final String CONTINUATIONS_STORE_VALIDATIONPLUGIN_KEYS = "__CONTINUATIONS_STORE_VALIDATIONPLUGIN_KEYS";
 
-    static Object invokeWithContinuation(Method method, Object instance, Object[] realArgs) throws Exception {
+    static Object invokeWithContinuation(ActionPlan plan, Object instance, Object[] realArgs) throws Throwable {
         // Callback case
         if (Request.current().args.containsKey(A)) {
 
@@ -517,6 +443,7 @@ public class ActionInvoker {
             Future f = (Future) Request.current().args.get(F);
             Scope.RenderArgs renderArgs = (Scope.RenderArgs) Request.current().args.remove(ActionInvoker.CONTINUATIONS_STORE_RENDER_ARGS);
             Scope.RenderArgs.current.set(renderArgs);
+            Method method;
             if (f == null) {
                 method = instance.getClass().getDeclaredMethod("invoke");
                 method.setAccessible(true);
@@ -543,11 +470,11 @@ public class ActionInvoker {
             pStackRecorder.isRestoring = !pStackRecorder.isEmpty();
 
             // Execute code
-            result = method.invoke(instance, realArgs);
+            result = plan.invoke(instance, realArgs);
 
             if (pStackRecorder.isCapturing) {
                 if (pStackRecorder.isEmpty()) {
-                    throw new IllegalStateException("stack corruption. Is " + method + " instrumented for javaflow?");
+                    throw new IllegalStateException("stack corruption. Is " + plan.method + " instrumented for javaflow?");
                 }
                 Object trigger = pStackRecorder.value;
                 Continuation nextContinuation = new Continuation(pStackRecorder);
@@ -609,11 +536,6 @@ public class ActionInvoker {
     }
 
     public static Object[] getActionMethodArgs(Method method, Object o) throws Exception {
-        String[] paramsNames = Java.parameterNames(method);
-        if (paramsNames == null && method.getParameterTypes().length > 0) {
-            throw new UnexpectedException("Parameter names not found for method " + method);
-        }
-
         // Check if we have already performed the bind operation
         Object[] rArgs = CachedBoundActionMethodArgs.current().retrieveActionMethodArgs(method);
         if (rArgs != null) {
@@ -622,25 +544,7 @@ public class ActionInvoker {
             return rArgs;
         }
 
-        rArgs = new Object[method.getParameterTypes().length];
-        for (int i = 0; i < method.getParameterTypes().length; i++) {
-
-            Class<?> type = method.getParameterTypes()[i];
-            Map<String, String[]> params = new HashMap<>();
-
-            // In case of simple params, we don't want to parse the body.
-            if (type.equals(String.class) || Number.class.isAssignableFrom(type) || type.isPrimitive()) {
-                params.put(paramsNames[i], Scope.Params.current().getAll(paramsNames[i]));
-            } else {
-                params.putAll(Scope.Params.current().all());
-            }
-            Logger.trace("getActionMethodArgs name [" + paramsNames[i] + "] annotation ["
-                    + Utils.join(method.getParameterAnnotations()[i], " ") + "]");
-
-            RootParamNode root = ParamNode.convert(params);
-            rArgs[i] = Binder.bind(root, paramsNames[i], method.getParameterTypes()[i], method.getGenericParameterTypes()[i],
-                    method.getParameterAnnotations()[i], new Binder.MethodAndParamInfo(o, method, i + 1));
-        }
+        rArgs = ActionPlan.of(method).bind(o);
 
         CachedBoundActionMethodArgs.current().storeActionMethodArgs(method, rArgs);
         return rArgs;
@@ -649,4 +553,38 @@ public class ActionInvoker {
     private static Class<? extends PlayController> getControllerClass() {
         return Http.Request.current().controllerClass;
     }
+
+    /**
+     * Setters of the Controller fields given for easy debugging in DEV mode
+     */
+    static final class ControllerFields {
+
+        private static final MethodHandle params = setter("params", Scope.Params.class);
+        private static final MethodHandle request = setter("request", Http.Request.class);
+        private static final MethodHandle response = setter("response", Http.Response.class);
+        private static final MethodHandle session = setter("session", Scope.Session.class);
+        private static final MethodHandle flash = setter("flash", Scope.Flash.class);
+        private static final MethodHandle renderArgs = setter("renderArgs", Scope.RenderArgs.class);
+        private static final MethodHandle routeArgs = setter("routeArgs", Scope.RouteArgs.class);
+        private static final MethodHandle validation = setter("validation", Validation.class);
+
+        private static MethodHandle setter(String name, Class<?> type) {
+            try {
+                return MethodHandles.lookup().findStaticSetter(Controller.class, name, type);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        static void set() throws Throwable {
+            params.invokeExact(Scope.Params.current());
+            request.invokeExact(Http.Request.current());
+            response.invokeExact(Http.Response.current());
+            session.invokeExact(Scope.Session.current());
+            flash.invokeExact(Scope.Flash.current());
+            renderArgs.invokeExact(Scope.RenderArgs.current());
+            routeArgs.invokeExact(Scope.RouteArgs.current());
+            validation.invokeExact(Validation.current());
+        }
+    }
 }
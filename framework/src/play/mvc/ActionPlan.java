@@ -0,0 +1,155 @@
+package play.mvc;
+
+import play.Logger;
+import play.classloading.ApplicationClassloaderStateCache;
+import play.data.binding.Binder;
+import play.data.binding.ParamNode;
+import play.data.binding.RootParamNode;
+import play.exceptions.UnexpectedException;
+import play.utils.Java;
+import play.utils.Utils;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * How a controller method is invoked: a method handle taking the instance and the arguments, and the parameters to
+ * bind, with their names, types and annotations resolved. It is kept with the method until the application is
+ * reloaded.
+ */
+final class ActionPlan {
+
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+    private static final Object[] NO_ARGS = new Object[0];
+
+    private static final ApplicationClassloaderStateCache<Method, ActionPlan> byMethod = new ApplicationClassloaderStateCache<>();
+
+    final Method method;
+    final boolean isStatic;
+    final boolean isAction;
+    final boolean isProbablyScala;
+    final Parameter[] parameters;
+    private final MethodHandle invoker;
+
+    private ActionPlan(Method method) {
+        this.method = method;
+        this.isStatic = Modifier.isStatic(method.getModifiers());
+        this.isAction = ActionInvoker.isActionMethod(method);
+        this.isProbablyScala = method.getDeclaringClass().getName().contains("$");
+
+        Class<?>[] types = method.getParameterTypes();
+        String[] names = parameterNames(method);
+        Type[] genericTypes = method.getGenericParameterTypes();
+        Annotation[][] annotations = method.getParameterAnnotations();
+        this.parameters = new Parameter[types.length];
+        for (int i = 0; i < types.length; i++) {
+            parameters[i] = new Parameter(names[i], types[i], genericTypes[i], annotations[i]);
+        }
+
+        try {
+            method.setAccessible(true);
+            MethodHandle handle = MethodHandles.lookup().unreflect(method).asFixedArity();
+            if (isStatic) {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+            this.invoker = handle.asSpreader(Object[].class, types.length).asType(INVOKER_TYPE);
+        } catch (IllegalAccessException e) {
+            throw new UnexpectedException("Cannot access method " + method, e);
+        }
+    }
+
+    private static String[] parameterNames(Method method) {
+        String[] names;
+        try {
+            names = Java.parameterNames(method);
+        } catch (Exception e) {
+            throw new UnexpectedException("Parameter names not found for method " + method, e);
+        }
+        if (names == null && method.getParameterCount() > 0) {
+            throw new UnexpectedException("Parameter names not found for method " + method);
+        }
+        return names;
+    }
+
+    /**
+     * @param method
+     *            The controller method
+     * @return The plan of the method
+     */
+    static ActionPlan of(Method method) {
+        return byMethod.get(method, ActionPlan::new);
+    }
+
+    /**
+     * Invoke the method. Unlike Method.invoke, what the method throws is not wrapped.
+     *
+     * @param instance
+     *            The controller instance, ignored for a static method
+     * @param args
+     *            The arguments
+     * @return What the method returns
+     */
+    Object invoke(Object instance, Object[] args) throws Throwable {
+        Object[] arguments = args == null ? NO_ARGS : args;
+        return (Object) invoker.invokeExact(instance, arguments);
+    }
+
+    /**
+     * Bind the arguments of the method from the current request parameters.
+     *
+     * @param instance
+     *            The controller instance, used for the Scala default values
+     * @return The arguments
+     */
+    Object[] bind(Object instance) {
+        Object[] args = new Object[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            Parameter parameter = parameters[i];
+            Map<String, String[]> params = new HashMap<>();
+
+            // In case of simple params, we don't want to parse the body.
+            if (parameter.simple) {
+                params.put(parameter.name, Scope.Params.current().getAll(parameter.name));
+            } else {
+                params.putAll(Scope.Params.current().all());
+            }
+            if (Logger.isTraceEnabled()) {
+                Logger.trace("getActionMethodArgs name [" + parameter.name + "] annotation [" + Utils.join(parameter.annotations, " ")
+                        + "]");
+            }
+
+            RootParamNode root = ParamNode.convert(params);
+            args[i] = Binder.bind(root, parameter.name, parameter.type, parameter.genericType, parameter.annotations,
+                    new Binder.MethodAndParamInfo(instance, method, i + 1));
+        }
+        return args;
+    }
+
+    /**
+     * A parameter of the method
+     */
+    static final class Parameter {
+
+        final String name;
+        final Class<?> type;
+        final Type genericType;
+        final Annotation[] annotations;
+        final boolean simple;
+
+        private Parameter(String name, Class<?> type, Type genericType, Annotation[] annotations) {
+            this.name = name;
+            this.type = type;
+            this.genericType = genericType;
+            this.annotations = annotations;
+            this.simple = type.equals(String.class) || Number.class.isAssignableFrom(type) || type.isPrimitive();
+        }
+    }
+}
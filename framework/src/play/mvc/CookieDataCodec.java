@@ -42,13 +42,30 @@ public class CookieDataCodec {
             return;
         }
 
-        String[] keyValues = data.split("&");
-        for (String keyValue : keyValues) {
-            String[] split = keyValue.split("=", 2);
-            if (split.length == 2) {
-                map.put(URLDecoder.decode(split[0], StandardCharsets.UTF_8), URLDecoder.decode(split[1], StandardCharsets.UTF_8));
+        // key=value pairs separated by &, read in a single pass
+        int start = 0;
+        int length = data.length();
+        while (start < length) {
+            int end = data.indexOf('&', start);
+            if (end < 0) {
+                end = length;
+            }
+            int equals = data.indexOf('=', start);
+            if (equals >= 0 && equals < end) {
+                map.put(urlDecode(data, start, equals), urlDecode(data, equals + 1, end));
+            }
+            start = end + 1;
+        }
+    }
+
+    private static String urlDecode(String data, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = data.charAt(i);
+            if (c == '%' || c == '+') {
+                return URLDecoder.decode(data.substring(start, end), StandardCharsets.UTF_8);
             }
         }
+        return data.substring(start, end);
     }
 
     /**
@@ -59,18 +76,34 @@ public class CookieDataCodec {
      *             if the encoding is not supported
      */
     public static String encode(Map<String, String> map) throws UnsupportedEncodingException {
-        StringBuilder data = new StringBuilder();
-        String separator = "";
+        StringBuilder data = new StringBuilder(64);
         for (Map.Entry<String, String> entry : map.entrySet()) {
             if (entry.getValue() != null) {
-                data.append(separator).append(URLEncoder.encode(entry.getKey(), StandardCharsets.UTF_8)).append("=")
-                        .append(URLEncoder.encode(entry.getValue(), StandardCharsets.UTF_8));
-                separator = "&";
+                if (data.length() > 0) {
+                    data.append('&');
+                }
+                urlEncode(data, entry.getKey());
+                data.append('=');
+                urlEncode(data, entry.getValue());
             }
         }
         return data.toString();
     }
 
+    private static void urlEncode(StringBuilder data, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            // The characters URLEncoder leaves as they are
+            boolean unreserved = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '.' || c == '-'
+                    || c == '*' || c == '_';
+            if (!unreserved) {
+                data.append(URLEncoder.encode(value, StandardCharsets.UTF_8));
+                return;
+            }
+        }
+        data.append(value);
+    }
+
     /**
      * Constant time for same length String comparison, to prevent timing attacks
      * 
@@ -27,7 +27,7 @@ public class CookieSessionStore implements SessionStore {
                 if (firstDashIndex > -1) {
                     String sign = value.substring(0, firstDashIndex);
                     String data = value.substring(firstDashIndex + 1);
-                    if (CookieDataCodec.safeEquals(sign, Crypto.sign(data, Play.secretKey.getBytes()))) {
+                    if (Crypto.verify(data, sign)) {
                         CookieDataCodec.decode(session.data, data);
                     }
                 }
@@ -81,7 +81,7 @@ public class CookieSessionStore implements SessionStore {
         }
         try {
             String sessionData = CookieDataCodec.encode(session.data);
-            String sign = Crypto.sign(sessionData, Play.secretKey.getBytes());
+            String sign = Crypto.sign(sessionData);
             if (COOKIE_EXPIRE == null) {
                 Http.Response.current().setCookie(COOKIE_PREFIX + "_SESSION", sign + "-" + sessionData, null, "/", null, COOKIE_SECURE,
                         SESSION_HTTPONLY);
@@ -3,6 +3,7 @@ package play.mvc;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Serializable;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
@@ -880,6 +881,29 @@ public class Http {
         public void onWriteChunk(F.Action<Object> handler) {
             writeChunkHandlers.add(handler);
         }
+
+        /**
+         * @return An output stream sending each write as a chunk (see {@link #writeChunk(Object)}), or {@link #out}
+         *         if the HTTP server doesn't support chunked response streams
+         */
+        public OutputStream chunkedOut() {
+            if (writeChunkHandlers.isEmpty()) {
+                return out;
+            }
+            return new OutputStream() {
+                @Override
+                public void write(int b) {
+                    writeChunk(new byte[] { (byte) b });
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) {
+                    if (len > 0) {
+                        writeChunk(Arrays.copyOfRange(b, off, off + len));
+                    }
+                }
+            };
+        }
     }
 
     /**
@@ -0,0 +1,177 @@
+package play.mvc;
+
+import play.mvc.Router.Route;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Segment trie over the literal path prefix of each route. It only narrows down the routes that can possibly match a
+ * path: the candidates are always returned in their declaration order, so the first matching route still wins.
+ */
+final class RouteIndex {
+
+    /**
+     * The list and version this index was built from, used to detect when it must be rebuilt.
+     */
+    final List<Route> source;
+    final long version;
+
+    private final Route[] routes;
+    private final Node root = new Node();
+
+    RouteIndex(List<Route> source, long version) {
+        this.source = source;
+        this.version = version;
+        this.routes = source.toArray(new Route[0]);
+        for (int i = 0; i < routes.length; i++) {
+            Node node = root;
+            for (String segment : literalSegments(routes[i])) {
+                node = node.child(segment, true);
+            }
+            node.add(i);
+        }
+        root.freeze(routes);
+    }
+
+    /**
+     * @param path
+     *            The (normalized) request path
+     * @return The routes whose literal prefix is a prefix of the path, in declaration order
+     */
+    List<Route> candidates(String path) {
+        Node node = root;
+        List<Node> nodes = null;
+        if (path.startsWith("/")) {
+            int start = 1;
+            while (start <= path.length()) {
+                int end = path.indexOf('/', start);
+                if (end < 0) {
+                    end = path.length();
+                }
+                node = node.child(path.substring(start, end), false);
+                if (node == null) {
+                    break;
+                }
+                if (node.ids.length > 0) {
+                    if (nodes == null) {
+                        nodes = new ArrayList<>(4);
+                        if (root.ids.length > 0) {
+                            nodes.add(root);
+                        }
+                    }
+                    nodes.add(node);
+                }
+                start = end + 1;
+            }
+        }
+        if (nodes == null) {
+            return root.routes;
+        }
+        if (nodes.size() == 1) {
+            return nodes.get(0).routes;
+        }
+        int size = 0;
+        for (Node n : nodes) {
+            size += n.ids.length;
+        }
+        int[] ids = new int[size];
+        int pos = 0;
+        for (Node n : nodes) {
+            System.arraycopy(n.ids, 0, ids, pos, n.ids.length);
+            pos += n.ids.length;
+        }
+        Arrays.sort(ids);
+        List<Route> result = new ArrayList<>(size);
+        for (int id : ids) {
+            result.add(routes[id]);
+        }
+        return result;
+    }
+
+    /**
+     * The path segments a request must start with to possibly match the route. Compiled routes give them directly,
+     * otherwise the path is read up to its first regex meta character and cut back to the last complete segment.
+     */
+    static List<String> literalSegments(Route route) {
+        if (route.segments != null) {
+            List<String> literals = new ArrayList<>(route.segments.length);
+            for (String segment : route.segments) {
+                if (segment == null) {
+                    break;
+                }
+                literals.add(segment);
+            }
+            return literals;
+        }
+        String path = route.path;
+        if (path == null || !path.startsWith("/")) {
+            return Collections.emptyList();
+        }
+        int end = 0;
+        while (end < path.length() && Route.REGEX_META_CHARS.indexOf(path.charAt(end)) < 0) {
+            end++;
+        }
+        if (end < path.length() && end > 0) {
+            char c = path.charAt(end);
+            // A quantifier applies to the previous character, which is then not required
+            if (c == '?' || c == '*' || c == '+' || (c == '{' && end + 1 < path.length() && Character.isDigit(path.charAt(end + 1)))) {
+                end--;
+            }
+        }
+        String prefix = path.substring(0, end);
+        int lastSlash = prefix.lastIndexOf('/');
+        if (lastSlash <= 0) {
+            return Collections.emptyList();
+        }
+        return Arrays.asList(prefix.substring(1, lastSlash).split("/", -1));
+    }
+
+    private static final class Node {
+
+        private static final int[] NO_IDS = new int[0];
+
+        Map<String, Node> children;
+        List<Integer> pending = new ArrayList<>(2);
+        int[] ids = NO_IDS;
+        List<Route> routes = Collections.emptyList();
+
+        Node child(String segment, boolean create) {
+            Node child = children == null ? null : children.get(segment);
+            if (child == null && create) {
+                if (children == null) {
+                    children = new HashMap<>(4);
+                }
+                child = new Node();
+                children.put(segment, child);
+            }
+            return child;
+        }
+
+        void add(int id) {
+            pending.add(id);
+        }
+
+        void freeze(Route[] all) {
+            if (!pending.isEmpty()) {
+                ids = new int[pending.size()];
+                List<Route> nodeRoutes = new ArrayList<>(ids.length);
+                for (int i = 0; i < ids.length; i++) {
+                    ids[i] = pending.get(i);
+                    nodeRoutes.add(all[ids[i]]);
+                }
+                routes = Collections.unmodifiableList(nodeRoutes);
+            }
+            pending = null;
+            if (children != null) {
+                for (Node child : children.values()) {
+                    child.freeze(all);
+                }
+            }
+        }
+    }
+}
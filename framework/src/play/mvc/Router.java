@@ -22,6 +22,8 @@ import java.net.URLEncoder;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
 /**
  * The router matches HTTP requests to action invocations
@@ -50,6 +52,7 @@ public class Router {
         routes.clear();
         actionRoutesCache.clear();
         parse(Play.routes, prefix);
+        routeIndex();
         lastLoading = System.currentTimeMillis();
         // Plugins
         Play.pluginCollection.onRoutesLoaded();
@@ -341,10 +344,46 @@ public class Router {
     /**
      * All the loaded routes.
      */
-    public static List<Route> routes = new CopyOnWriteArrayList<>();
+    public static List<Route> routes = new RouteList();
+
+    private static volatile RouteIndex routeIndex;
+
+    /**
+     * Get the index of the current routes, rebuilding it if the routes changed since it was built.
+     *
+     * @return The index, or null if {@link #routes} was replaced by a list that cannot be tracked
+     */
+    static RouteIndex routeIndex() {
+        List<Route> current = routes;
+        if (!(current instanceof RouteList)) {
+            return null;
+        }
+        // Read the version before the index copies the list, so a concurrent change triggers another rebuild
+        long version = ((RouteList) current).version;
+        RouteIndex index = routeIndex;
+        if (index == null || index.source != current || index.version != version) {
+            index = new RouteIndex(current, version);
+            routeIndex = index;
+        }
+        return index;
+    }
+
+    /**
+     * The routes that may match the given path, in declaration order.
+     */
+    static List<Route> candidateRoutes(String path) {
+        RouteIndex index = routeIndex();
+        if (index == null) {
+            return routes;
+        }
+        if (path.equals(Play.ctxPath)) {
+            path = path + "/";
+        }
+        return index.candidates(path);
+    }
 
     public static void routeOnlyStatic(Http.Request request) {
-        for (Route route : routes) {
+        for (Route route : candidateRoutes(request.path)) {
             try {
                 if (route.matches(request.method, request.path, request.format, request.domain) != null) {
                     break;
@@ -371,7 +410,7 @@ public class Router {
                 request.method = matcher.group("method");
             }
         }
-        for (Route route : routes) {
+        for (Route route : candidateRoutes(request.path)) {
             Map<String, String> args = route.matches(request.method, request.path, request.format, request.domain);
             if (args != null) {
                 request.routeArgs = args;
@@ -412,7 +451,7 @@ public class Router {
     }
 
     public static Map<String, String> route(String method, String path, String headers, String host) {
-        for (Route route : routes) {
+        for (Route route : candidateRoutes(path)) {
             Map<String, String> args = route.matches(method, path, headers, host);
             if (args != null) {
                 args.put("action", route.action);
@@ -530,16 +569,21 @@ public class Router {
         Http.Request request = Http.Request.current();
         String requestFormat = request == null || request.format == null ? "" : request.format;
 
-        List<ActionRoute> matchingRoutes = getActionRoutes(action);
-        for (ActionRoute actionRoute : matchingRoutes) {
-            Route route = actionRoute.route;
-            args.putAll(actionRoute.args);
+        ActionRoutes actionRoutes = getActionRoutes(action);
+        int next = 0;
+        for (int candidate : actionRoutes.candidates(args)) {
+            // Routes skipped by the index still contribute their action args, as they always did
+            for (; next <= candidate; next++) {
+                args.putAll(actionRoutes.routes[next].args);
+            }
+            Route route = actionRoutes.routes[candidate].route;
+            UrlTemplate pathTemplate = route.pathTemplate();
+            Set<String> inPathArgs = pathTemplate.argNames;
 
-            List<String> inPathArgs = new ArrayList<>(16);
             boolean allRequiredArgsAreHere = true;
             // les noms de parametres matchent ils ?
-            for (Route.Arg arg : route.args) {
-                inPathArgs.add(arg.name);
+            for (int i = 0; i < route.args.size(); i++) {
+                Route.Arg arg = route.args.get(i);
                 Object value = args.get(arg.name);
                 if (value == null) {
                     // This is a hack for reverting on hostname that are
@@ -551,6 +595,11 @@ public class Router {
                     if (host.equals(arg.name) || host.matches(arg.name)) {
                         args.remove(arg.name);
                         route.host = request == null ? "" : request.domain;
+                        // Only the arguments checked so far are put in the path
+                        inPathArgs = new HashSet<>();
+                        for (Route.Arg checked : route.args.subList(0, i + 1)) {
+                            inPathArgs.add(checked.name);
+                        }
                         break;
                     } else {
                         allRequiredArgsAreHere = false;
@@ -569,27 +618,25 @@ public class Router {
                 }
             }
             // les parametres codes en dur dans la route matchent-ils ?
-            for (String staticKey : route.staticArgs.keySet()) {
+            for (Map.Entry<String, String> staticArg : route.staticArgs.entrySet()) {
+                String staticKey = staticArg.getKey();
                 if (staticKey.equals("format")) {
-                    if (!requestFormat.equals(route.staticArgs.get("format"))) {
+                    if (!requestFormat.equals(staticArg.getValue())) {
                         allRequiredArgsAreHere = false;
                         break;
                     }
                     continue; // format is a special key
                 }
-                if (!args.containsKey(staticKey) || (args.get(staticKey) == null)
-                        || !args.get(staticKey).toString().equals(route.staticArgs.get(staticKey))) {
+                Object value = args.get(staticKey);
+                if (value == null || !value.toString().equals(staticArg.getValue())) {
                     allRequiredArgsAreHere = false;
                     break;
                 }
             }
             if (allRequiredArgsAreHere) {
                 StringBuilder queryString = new StringBuilder();
-                String path = route.path;
-                String host = route.host;
-                if (path.endsWith("/?")) {
-                    path = path.substring(0, path.length() - 2);
-                }
+                Map<String, String> pathValues = new HashMap<>(8);
+                Map<String, String> hostValues = null;
                 for (Map.Entry<String, Object> entry : args.entrySet()) {
                     String key = entry.getKey();
                     Object value = entry.getValue();
@@ -597,22 +644,20 @@ public class Router {
                         if (List.class.isAssignableFrom(value.getClass())) {
                             @SuppressWarnings("unchecked")
                             List<Object> vals = (List<Object>) value;
-                            path = path.replaceAll("\\{(<[^>]+>)?" + key + "\\}", vals.get(0).toString()).replace("$", "\\$");
+                            pathValues.put(key, vals.get(0).toString());
                         } else {
+                            String encoded;
                             try {
-                                path = path.replaceAll("\\{(<[^>]+>)?" + key + "\\}", URLEncoder.encode(value.toString(), encoding)
-                                        .replace("$", "\\$").replace("%3A", ":").replace("%40", "@").replace("+", "%20"));
+                                encoded = URLEncoder.encode(value.toString(), encoding).replace("%3A", ":").replace("%40", "@").replace("+",
+                                        "%20");
                             } catch (UnsupportedEncodingException e) {
-                                path = path.replaceAll("\\{(<[^>]+>)?" + key + "\\}",
-                                        value.toString().replace("$", "\\$").replace("%3A", ":").replace("%40", "@").replace("+", "%20"));
+                                encoded = value.toString().replace("%3A", ":").replace("%40", "@").replace("+", "%20");
                             }
-                            try {
-                                host = host.replaceAll("\\{(<[^>]+>)?" + key + "\\}", URLEncoder.encode(value.toString(), encoding)
-                                        .replace("$", "\\$").replace("%3A", ":").replace("%40", "@").replace("+", "%20"));
-                            } catch (UnsupportedEncodingException e) {
-                                host = host.replaceAll("\\{(<[^>]+>)?" + key + "\\}",
-                                        value.toString().replace("$", "\\$").replace("%3A", ":").replace("%40", "@").replace("+", "%20"));
+                            pathValues.put(key, encoded);
+                            if (hostValues == null) {
+                                hostValues = new HashMap<>(4);
                             }
+                            hostValues.put(key, encoded);
                         }
                     } else if (route.staticArgs.containsKey(key)) {
                         // Do nothing -> The key is static
@@ -658,12 +703,13 @@ public class Router {
                         }
                     }
                 }
-                String qs = queryString.toString();
-                if (qs.endsWith("&")) {
-                    qs = qs.substring(0, qs.length() - 1);
+                if (queryString.length() > 0 && queryString.charAt(queryString.length() - 1) == '&') {
+                    queryString.setLength(queryString.length() - 1);
                 }
+                String path = pathTemplate.build(pathValues);
+                String host = hostValues == null ? route.host : route.hostTemplate().build(hostValues);
                 ActionDefinition actionDefinition = new ActionDefinition();
-                actionDefinition.url = qs.length() == 0 ? path : path + "?" + qs;
+                actionDefinition.url = queryString.length() == 0 ? path : path + "?" + queryString;
                 actionDefinition.method = route.method == null || route.method.equals("*") ? "GET" : route.method.toUpperCase();
                 actionDefinition.star = "*".equals(route.method);
                 actionDefinition.action = action;
@@ -675,16 +721,27 @@ public class Router {
                 return actionDefinition;
             }
         }
+        // Candidates skipped at the end of the list still leave their action args behind
+        for (; next < actionRoutes.routes.length; next++) {
+            args.putAll(actionRoutes.routes[next].args);
+        }
 
         throw new NoRouteFoundException(action, args);
     }
 
-    private static final Map<String, List<ActionRoute>> actionRoutesCache = new ConcurrentHashMap<>();
+    private static final Map<String, ActionRoutes> actionRoutesCache = new ConcurrentHashMap<>();
+    private static volatile long actionRoutesVersion = -1;
 
-    private static List<ActionRoute> getActionRoutes(String action) {
-        List<ActionRoute> matchingRoutes = actionRoutesCache.get(action);
+    private static ActionRoutes getActionRoutes(String action) {
+        List<Route> current = routes;
+        if (current instanceof RouteList && ((RouteList) current).version != actionRoutesVersion) {
+            // The routes changed since the cache was filled
+            actionRoutesVersion = ((RouteList) current).version;
+            actionRoutesCache.clear();
+        }
+        ActionRoutes matchingRoutes = actionRoutesCache.get(action);
         if (matchingRoutes == null) {
-            matchingRoutes = findActionRoutes(action);
+            matchingRoutes = new ActionRoutes(findActionRoutes(action));
             actionRoutesCache.put(action, matchingRoutes);
         }
         return matchingRoutes;
@@ -718,6 +775,265 @@ public class Router {
         private Map<String, String> args = new HashMap<>(2);
     }
 
+    /**
+     * The routes of an action, indexed by the set of argument names a reverse call provides: a route is only tried
+     * when all the arguments it requires are there.
+     */
+    private static final class ActionRoutes {
+
+        private static final int[] NONE = new int[0];
+
+        private final ActionRoute[] routes;
+        /**
+         * The argument names the routes require, one bit each.
+         */
+        private final String[] names;
+        private final long[] required;
+        /**
+         * Names given by the action args of the routes themselves, always considered present.
+         */
+        private final long provided;
+        private final Map<Long, int[]> candidatesByNames = new ConcurrentHashMap<>();
+
+        ActionRoutes(List<ActionRoute> actionRoutes) {
+            this.routes = actionRoutes.toArray(new ActionRoute[0]);
+            this.required = new long[routes.length];
+            List<String> allNames = new ArrayList<>();
+            for (int i = 0; i < routes.length; i++) {
+                Route route = routes[i].route;
+                // A route with a host may drop a missing host argument, see reverse
+                if (!StringUtils.isEmpty(route.host)) {
+                    continue;
+                }
+                Set<String> routeNames = new HashSet<>();
+                for (Route.Arg arg : route.args) {
+                    routeNames.add(arg.name);
+                }
+                routeNames.addAll(route.staticArgs.keySet());
+                routeNames.remove("format");
+                for (String name : routeNames) {
+                    int bit = allNames.indexOf(name);
+                    if (bit < 0) {
+                        bit = allNames.size();
+                        allNames.add(name);
+                    }
+                    if (bit < 64) {
+                        required[i] |= 1L << bit;
+                    }
+                }
+            }
+            this.names = allNames.subList(0, Math.min(allNames.size(), 64)).toArray(new String[0]);
+            long fromActions = 0;
+            for (ActionRoute actionRoute : routes) {
+                for (int bit = 0; bit < names.length; bit++) {
+                    if (actionRoute.args.get(names[bit]) != null) {
+                        fromActions |= 1L << bit;
+                    }
+                }
+            }
+            this.provided = fromActions;
+        }
+
+        /**
+         * @return The indexes of the routes that can be reversed with these arguments, in declaration order
+         */
+        int[] candidates(Map<String, Object> args) {
+            long present = provided;
+            for (int bit = 0; bit < names.length; bit++) {
+                if (args.get(names[bit]) != null) {
+                    present |= 1L << bit;
+                }
+            }
+            int[] candidates = candidatesByNames.get(present);
+            if (candidates == null) {
+                int count = 0;
+                int[] ids = new int[routes.length];
+                for (int i = 0; i < routes.length; i++) {
+                    if ((required[i] & present) == required[i]) {
+                        ids[count++] = i;
+                    }
+                }
+                candidates = count == 0 ? NONE : Arrays.copyOf(ids, count);
+                candidatesByNames.put(present, candidates);
+            }
+            return candidates;
+        }
+    }
+
+    /**
+     * A route path or host split into literal text and argument slots, so reversing a route only has to concatenate
+     * the encoded argument values.
+     */
+    static final class UrlTemplate {
+
+        static java.util.regex.Pattern slotPattern = java.util.regex.Pattern.compile("\\{(<[^>]+>)?([a-zA-Z_0-9]+)\\}");
+
+        /**
+         * The path or host this template was compiled from.
+         */
+        final String origin;
+        final Set<String> argNames;
+        /**
+         * Literal text at even indexes, argument names at odd indexes.
+         */
+        private final String[] parts;
+        /**
+         * The original placeholder of each argument slot, kept when the argument has no value.
+         */
+        private final String[] placeholders;
+        private final int literalLength;
+
+        UrlTemplate(String origin, String source, Set<String> argNames) {
+            this.origin = origin;
+            this.argNames = argNames;
+            List<String> split = new ArrayList<>();
+            List<String> slots = new ArrayList<>();
+            StringBuilder literal = new StringBuilder();
+            int length = 0;
+            java.util.regex.Matcher matcher = slotPattern.matcher(source);
+            int last = 0;
+            while (matcher.find()) {
+                literal.append(source, last, matcher.start());
+                if (argNames.contains(matcher.group(2))) {
+                    split.add(literal.toString());
+                    split.add(matcher.group(2));
+                    slots.add(null);
+                    slots.add(matcher.group());
+                    length += literal.length();
+                    literal.setLength(0);
+                } else {
+                    literal.append(matcher.group());
+                }
+                last = matcher.end();
+            }
+            literal.append(source, last, source.length());
+            split.add(literal.toString());
+            this.parts = split.toArray(new String[0]);
+            this.placeholders = slots.toArray(new String[0]);
+            this.literalLength = length + literal.length();
+        }
+
+        /**
+         * @param values
+         *            The encoded value of each argument. An argument without value keeps its placeholder.
+         */
+        String build(Map<String, String> values) {
+            if (parts.length == 1) {
+                return parts[0];
+            }
+            StringBuilder url = new StringBuilder(literalLength + 16 * (parts.length / 2));
+            for (int i = 0; i < parts.length; i++) {
+                if (i % 2 == 0) {
+                    url.append(parts[i]);
+                } else {
+                    String value = values.get(parts[i]);
+                    url.append(value != null ? value : placeholders[i]);
+                }
+            }
+            return url.toString();
+        }
+    }
+
+    /**
+     * The routes list, counting its modifications so that the route index knows when to rebuild.
+     */
+    static final class RouteList extends CopyOnWriteArrayList<Route> {
+
+        private static final long serialVersionUID = 1L;
+
+        volatile long version;
+
+        private <T> T changed(T result) {
+            version++;
+            return result;
+        }
+
+        @Override
+        public boolean add(Route route) {
+            return changed(super.add(route));
+        }
+
+        @Override
+        public void add(int index, Route route) {
+            super.add(index, route);
+            changed(null);
+        }
+
+        @Override
+        public boolean addAll(Collection<? extends Route> c) {
+            return changed(super.addAll(c));
+        }
+
+        @Override
+        public boolean addAll(int index, Collection<? extends Route> c) {
+            return changed(super.addAll(index, c));
+        }
+
+        @Override
+        public boolean addIfAbsent(Route route) {
+            return changed(super.addIfAbsent(route));
+        }
+
+        @Override
+        public int addAllAbsent(Collection<? extends Route> c) {
+            return changed(super.addAllAbsent(c));
+        }
+
+        @Override
+        public Route set(int index, Route route) {
+            return changed(super.set(index, route));
+        }
+
+        @Override
+        public Route remove(int index) {
+            return changed(super.remove(index));
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            return changed(super.remove(o));
+        }
+
+        @Override
+        public boolean removeAll(Collection<?> c) {
+            return changed(super.removeAll(c));
+        }
+
+        @Override
+        public boolean retainAll(Collection<?> c) {
+            return changed(super.retainAll(c));
+        }
+
+        @Override
+        public boolean removeIf(Predicate<? super Route> filter) {
+            return changed(super.removeIf(filter));
+        }
+
+        @Override
+        public void replaceAll(UnaryOperator<Route> operator) {
+            super.replaceAll(operator);
+            changed(null);
+        }
+
+        @Override
+        public void sort(Comparator<? super Route> c) {
+            super.sort(c);
+            changed(null);
+        }
+
+        @Override
+        public void clear() {
+            super.clear();
+            changed(null);
+        }
+
+        @Override
+        public List<Route> subList(int fromIndex, int toIndex) {
+            // Changes through a sub list would not be seen by the index
+            return Collections.unmodifiableList(super.subList(fromIndex, toIndex));
+        }
+    }
+
     public static class ActionDefinition {
 
         /**
@@ -828,6 +1144,19 @@ public class Router {
         Arg hostArg = null;
         public int routesFileLine;
         public String routesFile;
+        /**
+         * The path split on '/', when it is only made of plain text and whole-segment <code>{name}</code> arguments:
+         * literal segments are kept as is and arguments are null slots named in {@link #segmentArgs}. Such a path is
+         * matched without its regex. Null for any other path.
+         */
+        String[] segments;
+        String[] segmentArgs;
+        boolean optionalTrailingSlash;
+        boolean anyHost;
+        private volatile UrlTemplate pathTemplate;
+        private volatile UrlTemplate hostTemplate;
+        static final String REGEX_META_CHARS = "\\.[]{}()*+?^$|";
+        static Pattern simpleArgPattern = new Pattern("^\\{[a-zA-Z_][a-zA-Z_0-9]*\\}$");
         static Pattern customRegexPattern = new Pattern("\\{([a-zA-Z_][a-zA-Z_0-9]*)\\}");
         static Pattern argsPattern = new Pattern("\\{<([^>]+)>([a-zA-Z_0-9]+)\\}");
         static Pattern paramPattern = new Pattern("([a-zA-Z_0-9]+):'(.*)'");
@@ -835,6 +1164,12 @@ public class Router {
         public void compute() {
             this.host = "";
             this.hostPattern = new Pattern(".*");
+            this.anyHost = true;
+            this.pathTemplate = null;
+            this.hostTemplate = null;
+            this.segments = null;
+            this.segmentArgs = null;
+            this.optionalTrailingSlash = false;
             if (action.startsWith("staticDir:") || action.startsWith("staticFile:")) {
                 // Is there is a host argument, append it.
                 if (!path.startsWith("/")) {
@@ -842,6 +1177,7 @@ public class Router {
                     int slashIndex = p.indexOf('/');
                     this.path = p.substring(slashIndex);
                     this.host = p.substring(0, slashIndex);
+                    this.anyHost = false;
                     if (this.host.contains("{")) {
                         Logger.warn("Static route cannot have a dynamic host name");
                         return;
@@ -882,6 +1218,7 @@ public class Router {
 
                     Matcher m = new Pattern(pattern).matcher(host);
                     this.hostPattern = new Pattern(pattern);
+                    this.anyHost = false;
 
                     if (m.matches()) {
                         if (this.host.contains("{")) {
@@ -934,7 +1271,103 @@ public class Router {
                     }
                 }
                 actionPattern = new Pattern(patternString, REFlags.IGNORE_CASE);
+                computeSegments();
+            }
+        }
+
+        private void computeSegments() {
+            String base = path;
+            boolean optional = false;
+            if (base.endsWith("/?")) {
+                base = base.substring(0, base.length() - 2);
+                optional = true;
+            }
+            if (!base.startsWith("/")) {
+                return;
+            }
+            String[] parts = base.substring(1).split("/", -1);
+            String[] names = new String[parts.length];
+            Set<String> pathArgs = new HashSet<>();
+            for (int i = 0; i < parts.length; i++) {
+                String part = parts[i];
+                if (simpleArgPattern.matches(part)) {
+                    names[i] = part.substring(1, part.length() - 1);
+                    parts[i] = null;
+                    if (!pathArgs.add(names[i])) {
+                        return;
+                    }
+                } else if (StringUtils.containsAny(part, REGEX_META_CHARS)) {
+                    return;
+                }
             }
+            this.segments = parts;
+            this.segmentArgs = names;
+            this.optionalTrailingSlash = optional;
+        }
+
+        /**
+         * Match the path against the compiled {@link #segments}.
+         *
+         * @return The argument values by segment index, or null if the path does not match
+         */
+        private String[] matchSegments(String path) {
+            if (!path.startsWith("/")) {
+                return null;
+            }
+            String[] values = new String[segments.length];
+            int start = 1;
+            for (int i = 0; i < segments.length; i++) {
+                if (start > path.length()) {
+                    return null;
+                }
+                int end = path.indexOf('/', start);
+                if (end < 0) {
+                    end = path.length();
+                }
+                String segment = segments[i];
+                if (segment == null) {
+                    if (end == start) {
+                        return null;
+                    }
+                    values[i] = path.substring(start, end);
+                } else if (end - start != segment.length() || !path.startsWith(segment, start)) {
+                    return null;
+                }
+                start = end + 1;
+            }
+            if (start == path.length() + 1 || (optionalTrailingSlash && start == path.length())) {
+                return values;
+            }
+            return null;
+        }
+
+        UrlTemplate pathTemplate() {
+            UrlTemplate template = pathTemplate;
+            // path is public, recompile if it was replaced
+            if (template == null || template.origin != path) {
+                String source = path.endsWith("/?") ? path.substring(0, path.length() - 2) : path;
+                template = new UrlTemplate(path, source, argNames());
+                pathTemplate = template;
+            }
+            return template;
+        }
+
+        UrlTemplate hostTemplate() {
+            UrlTemplate template = hostTemplate;
+            // host is changed by reverse for regex host names
+            if (template == null || template.origin != host) {
+                template = new UrlTemplate(host, host, argNames());
+                hostTemplate = template;
+            }
+            return template;
+        }
+
+        private Set<String> argNames() {
+            Set<String> names = new HashSet<>();
+            for (Arg arg : args) {
+                names.add(arg.name);
+            }
+            return names;
         }
 
         public void addParams(String params) {
@@ -1007,16 +1440,25 @@ public class Router {
             if (method == null || this.method.equals("*") || method.equalsIgnoreCase(this.method)
                     || (method.equalsIgnoreCase("head") && ("get").equalsIgnoreCase(this.method))) {
 
-                Matcher matcher = pattern.matcher(path);
+                Matcher matcher = null;
+                String[] values = null;
+                boolean pathMatches;
+                if (segments != null) {
+                    values = matchSegments(path);
+                    pathMatches = values != null;
+                } else {
+                    matcher = pattern.matcher(path);
+                    pathMatches = matcher.matches();
+                }
 
-                boolean hostMatches = (domain == null);
-                if (domain != null) {
+                boolean hostMatches = (domain == null || anyHost);
+                if (!hostMatches) {
 
                     Matcher hostMatcher = hostPattern.matcher(domain);
                     hostMatches = hostMatcher.matches();
                 }
                 // Extract the host variable
-                if (matcher.matches() && contains(accept) && hostMatches) {
+                if (pathMatches && contains(accept) && hostMatches) {
                     // 404
                     if (action.equals("404")) {
                         throw new NotFound(method, path);
@@ -1040,13 +1482,21 @@ public class Router {
                         throw new NotFound(resource);
                     } else {
                         Map<String, String> localArgs = new HashMap<>();
-                        for (Arg arg : args) {
-                            // FIXME: Careful with the arguments that are not
-                            // matching as they are part of the hostname
-                            // Defaultvalue indicates it is a one of these urls.
-                            // This is a trick and should be changed.
-                            if (arg.defaultValue == null) {
-                                localArgs.put(arg.name, Utils.urlDecodePath(matcher.group(arg.name)));
+                        if (values != null) {
+                            for (int i = 0; i < values.length; i++) {
+                                if (segmentArgs[i] != null) {
+                                    localArgs.put(segmentArgs[i], Utils.urlDecodePath(values[i]));
+                                }
+                            }
+                        } else {
+                            for (Arg arg : args) {
+                                // FIXME: Careful with the arguments that are not
+                                // matching as they are part of the hostname
+                                // Defaultvalue indicates it is a one of these urls.
+                                // This is a trick and should be changed.
+                                if (arg.defaultValue == null) {
+                                    localArgs.put(arg.name, Utils.urlDecodePath(matcher.group(arg.name)));
+                                }
                             }
                         }
                         if (hostArg != null && domain != null) {
@@ -1,11 +1,15 @@
 package play.mvc.results;
 
+import play.Play;
+import play.cache.CacheFor;
 import play.exceptions.UnexpectedException;
 import play.libs.MimeTypes;
 import play.mvc.Http.Request;
 import play.mvc.Http.Response;
 import play.templates.Template;
 
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.util.Map;
 
 /**
@@ -16,25 +20,66 @@ public class RenderTemplate extends Result {
     private final String name;
     private final String content;
     private final Map<String, Object> arguments;
-    private final long renderTime;
+    private final Template template;
+    private long renderTime;
 
+    /**
+     * Render the template now, or stream it to the response when <code>play.templates.streaming</code> is enabled and
+     * the action is not cached with {@link CacheFor}.
+     */
     public RenderTemplate(Template template, Map<String, Object> arguments) {
+        this(template, arguments, isStreamingEnabled());
+    }
+
+    /**
+     * @param streamed
+     *            true to render the template to the response when the result is applied, sending the output as it is
+     *            rendered instead of keeping the whole page in memory
+     */
+    public RenderTemplate(Template template, Map<String, Object> arguments, boolean streamed) {
         if (arguments.containsKey("out")) {
             throw new RuntimeException("Arguments should not contain out");
         }
         this.name = template.name;
         this.arguments = arguments;
-        long start = System.currentTimeMillis();
-        this.content = template.render(arguments);
-        this.renderTime = System.currentTimeMillis() - start;
+        if (streamed) {
+            this.template = template;
+            this.content = null;
+        } else {
+            this.template = null;
+            long start = System.currentTimeMillis();
+            this.content = template.render(arguments);
+            this.renderTime = System.currentTimeMillis() - start;
+        }
+    }
+
+    private static boolean isStreamingEnabled() {
+        if (!Boolean.parseBoolean(Play.configuration.getProperty("play.templates.streaming", "false"))) {
+            return false;
+        }
+        // A cached result must hold its content
+        Request request = Request.current();
+        return request == null || request.invokedMethod == null || !request.invokedMethod.isAnnotationPresent(CacheFor.class);
     }
 
     @Override
     public void apply(Request request, Response response) {
         try {
             String contentType = MimeTypes.getContentType(name, "text/plain");
+            if (template != null) {
+                // The headers are sent with the first chunk
+                setContentTypeIfNotSet(response, contentType);
+                long start = System.currentTimeMillis();
+                Writer writer = new OutputStreamWriter(response.chunkedOut(), getEncoding());
+                template.render(arguments, writer);
+                writer.flush();
+                renderTime = System.currentTimeMillis() - start;
+                return;
+            }
             response.out.write(content.getBytes(getEncoding()));
             setContentTypeIfNotSet(response, contentType);
+        } catch (RuntimeException e) {
+            throw e;
         } catch (Exception e) {
             throw new UnexpectedException(e);
         }
@@ -44,6 +89,9 @@ public class RenderTemplate extends Result {
         return name;
     }
 
+    /**
+     * @return The rendered content, or null when the template is streamed to the response
+     */
     public String getContent() {
         return content;
     }
@@ -52,6 +100,10 @@ public class RenderTemplate extends Result {
         return arguments;
     }
 
+    public boolean isStreamed() {
+        return template != null;
+    }
+
     public long getRenderTime() {
         return renderTime;
     }
@@ -12,6 +12,8 @@ import play.Logger;
 import play.Play;
 import play.Play.Mode;
 import play.PlayPlugin;
+import play.cache.Cache;
+import play.cache.NearCacheImpl;
 import play.mvc.Http.Header;
 import play.mvc.Http.Request;
 import play.mvc.Http.Response;
@@ -164,7 +166,18 @@ public class PlayStatusPlugin extends PlayPlugin {
         out.println("Active count: " + Invoker.executor.getActiveCount());
         out.println("Scheduled task count: " + Invoker.executor.getTaskCount());
         out.println("Queue size: " + Invoker.executor.getQueue().size());
+        out.println("Suspended invocations: " + Invoker.suspendedInvocations());
         out.println();
+        if (Cache.cacheImpl instanceof NearCacheImpl) {
+            NearCacheImpl nearCache = (NearCacheImpl) Cache.cacheImpl;
+            out.println("Near cache:");
+            out.println("~~~~~~~~~~~");
+            out.println("Size: " + nearCache.size());
+            out.println("Hits: " + nearCache.hits());
+            out.println("Misses: " + nearCache.misses());
+            out.println("Evictions: " + nearCache.evictions());
+            out.println();
+        }
         try {
             out.println("Monitors:");
             out.println("~~~~~~~~");
@@ -219,9 +232,20 @@ public class PlayStatusPlugin extends PlayPlugin {
             pool.addProperty("active", Invoker.executor.getActiveCount());
             pool.addProperty("scheduled", Invoker.executor.getTaskCount());
             pool.addProperty("queue", Invoker.executor.getQueue().size());
+            pool.addProperty("suspended", Invoker.suspendedInvocations());
             status.add("pool", pool);
         }
 
+        if (Cache.cacheImpl instanceof NearCacheImpl) {
+            NearCacheImpl nearCache = (NearCacheImpl) Cache.cacheImpl;
+            JsonObject cache = new JsonObject();
+            cache.addProperty("size", nearCache.size());
+            cache.addProperty("hits", nearCache.hits());
+            cache.addProperty("misses", nearCache.misses());
+            cache.addProperty("evictions", nearCache.evictions());
+            status.add("nearCache", cache);
+        }
+
         {
             JsonArray monitors = new JsonArray();
             try {
@@ -86,6 +86,12 @@ public class PluginCollection {
      */
     protected List<PlayPlugin> enabledPluginsWithFilters_readOnlyCopy = createReadonlyCopy(enabledPluginsWithFilters);
 
+    /**
+     * For the hooks called on each request, the enabled plugins overriding them - updated with Play.plugins. Most
+     * plugins implement few hooks, so this saves calling the empty default of the others.
+     */
+    private volatile Hooks hooks = new Hooks(enabledPlugins_readOnlyCopy);
+
     /**
      * Using readonly list to crash if someone tries to modify the copy.
      * 
@@ -425,6 +431,7 @@ public class PluginCollection {
     @SuppressWarnings({ "deprecation" })
     public void updatePlayPluginsList() {
         Play.plugins = Collections.unmodifiableList(getEnabledPlugins());
+        hooks = new Hooks(getEnabledPlugins());
     }
 
     /**
@@ -541,31 +548,31 @@ public class PluginCollection {
     }
 
     public void invocationFinally() {
-        for (PlayPlugin plugin : getEnabledPlugins()) {
+        for (PlayPlugin plugin : hooks.invocationFinally) {
             plugin.invocationFinally();
         }
     }
 
     public void beforeInvocation() {
-        for (PlayPlugin plugin : getEnabledPlugins()) {
+        for (PlayPlugin plugin : hooks.beforeInvocation) {
             plugin.beforeInvocation();
         }
     }
 
     public void afterInvocation() {
-        for (PlayPlugin plugin : getEnabledPlugins()) {
+        for (PlayPlugin plugin : hooks.afterInvocation) {
             plugin.afterInvocation();
         }
     }
 
     public void onInvocationSuccess() {
-        for (PlayPlugin plugin : getEnabledPlugins()) {
+        for (PlayPlugin plugin : hooks.onInvocationSuccess) {
             plugin.onInvocationSuccess();
         }
     }
 
     public void onInvocationException(Throwable e) {
-        for (PlayPlugin plugin : getEnabledPlugins()) {
+        for (PlayPlugin plugin : hooks.onInvocationException) {
             try {
                 plugin.onInvocationException(e);
             } catch (Throwable ex) {
@@ -575,13 +582,13 @@ public class PluginCollection {
     }
 
     public void beforeDetectingChanges() {
-        for (PlayPlugin plugin : getEnabledPlugins()) {
+        for (PlayPlugin plugin : hooks.beforeDetectingChanges) {
             plugin.beforeDetectingChanges();
         }
     }
 
     public void detectChange() {
-        for (PlayPlugin plugin : getEnabledPlugins()) {
+        for (PlayPlugin plugin : hooks.detectChange) {
             plugin.detectChange();
         }
     }
@@ -662,7 +669,7 @@ public class PluginCollection {
     }
 
     public Object bind(RootParamNode rootParamNode, String name, Class<?> clazz, Type type, Annotation[] annotations) {
-        for (PlayPlugin plugin : getEnabledPlugins()) {
+        for (PlayPlugin plugin : hooks.bind) {
             Object result = plugin.bind(rootParamNode, name, clazz, type, annotations);
             if (result != null) {
                 return result;
@@ -672,7 +679,7 @@ public class PluginCollection {
     }
 
     public Object bindBean(RootParamNode rootParamNode, String name, Object bean) {
-        for (PlayPlugin plugin : getEnabledPlugins()) {
+        for (PlayPlugin plugin : hooks.bindBean) {
             Object result = plugin.bindBean(rootParamNode, name, bean);
             if (result != null) {
                 return result;
@@ -682,7 +689,7 @@ public class PluginCollection {
     }
 
     public Map<String, Object> unBind(Object src, String name) {
-        for (PlayPlugin plugin : getEnabledPlugins()) {
+        for (PlayPlugin plugin : hooks.unBind) {
             Map<String, Object> r = plugin.unBind(src, name);
             if (r != null) {
                 return r;
@@ -692,7 +699,7 @@ public class PluginCollection {
     }
 
     public Object willBeValidated(Object value) {
-        for (PlayPlugin plugin : getEnabledPlugins()) {
+        for (PlayPlugin plugin : hooks.willBeValidated) {
             Object newValue = plugin.willBeValidated(value);
             if (newValue != null) {
                 return newValue;
@@ -702,7 +709,7 @@ public class PluginCollection {
     }
 
     public Model.Factory modelFactory(Class<? extends Model> modelClass) {
-        for (PlayPlugin plugin : getEnabledPlugins()) {
+        for (PlayPlugin plugin : hooks.modelFactory) {
             Model.Factory factory = plugin.modelFactory(modelClass);
             if (factory != null) {
                 return factory;
@@ -712,7 +719,7 @@ public class PluginCollection {
     }
 
     public String getMessage(String locale, Object key, Object... args) {
-        for (PlayPlugin plugin : getEnabledPlugins()) {
+        for (PlayPlugin plugin : hooks.getMessage) {
             String message = plugin.getMessage(locale, key, args);
             if (message != null) {
                 return message;
@@ -722,37 +729,37 @@ public class PluginCollection {
     }
 
     public void beforeActionInvocation(Method actionMethod) {
-        for (PlayPlugin plugin : getEnabledPlugins()) {
+        for (PlayPlugin plugin : hooks.beforeActionInvocation) {
             plugin.beforeActionInvocation(actionMethod);
         }
     }
 
     public void onActionInvocationResult(Result result) {
-        for (PlayPlugin plugin : getEnabledPlugins()) {
+        for (PlayPlugin plugin : hooks.onActionInvocationResult) {
             plugin.onActionInvocationResult(result);
         }
     }
 
     public void afterActionInvocation() {
-        for (PlayPlugin plugin : getEnabledPlugins()) {
+        for (PlayPlugin plugin : hooks.afterActionInvocation) {
             plugin.afterActionInvocation();
         }
     }
 
     public void onActionInvocationFinally() {
-        for (PlayPlugin plugin : getEnabledPlugins()) {
+        for (PlayPlugin plugin : hooks.onActionInvocationFinally) {
             plugin.onActionInvocationFinally();
         }
     }
 
     public void routeRequest(Http.Request request) {
-        for (PlayPlugin plugin : getEnabledPlugins()) {
+        for (PlayPlugin plugin : hooks.routeRequest) {
             plugin.routeRequest(request);
         }
     }
 
     public void onRequestRouting(Router.Route route) {
-        for (PlayPlugin plugin : getEnabledPlugins()) {
+        for (PlayPlugin plugin : hooks.onRequestRouting) {
             plugin.onRequestRouting(route);
         }
     }
@@ -764,7 +771,7 @@ public class PluginCollection {
     }
 
     public boolean rawInvocation(Http.Request request, Http.Response response) throws Exception {
-        for (PlayPlugin plugin : getEnabledPlugins()) {
+        for (PlayPlugin plugin : hooks.rawInvocation) {
             if (plugin.rawInvocation(request, response)) {
                 return true;
             }
@@ -773,7 +780,7 @@ public class PluginCollection {
     }
 
     public boolean serveStatic(VirtualFile file, Http.Request request, Http.Response response) {
-        for (PlayPlugin plugin : getEnabledPlugins()) {
+        for (PlayPlugin plugin : hooks.serveStatic) {
             if (plugin.serveStatic(file, request, response)) {
                 return true;
             }
@@ -800,7 +807,7 @@ public class PluginCollection {
     }
 
     public Template loadTemplate(VirtualFile file) {
-        for (PlayPlugin plugin : getEnabledPlugins()) {
+        for (PlayPlugin plugin : hooks.loadTemplate) {
             Template pluginProvided = plugin.loadTemplate(file);
             if (pluginProvided != null) {
                 return pluginProvided;
@@ -848,4 +855,78 @@ public class PluginCollection {
 
         return allPluginTests;
     }
+
+    /**
+     * The enabled plugins of each request hook, in plugin order.
+     */
+    private static final class Hooks {
+
+        final PlayPlugin[] beforeInvocation;
+        final PlayPlugin[] afterInvocation;
+        final PlayPlugin[] onInvocationSuccess;
+        final PlayPlugin[] onInvocationException;
+        final PlayPlugin[] invocationFinally;
+        final PlayPlugin[] beforeDetectingChanges;
+        final PlayPlugin[] detectChange;
+        final PlayPlugin[] beforeActionInvocation;
+        final PlayPlugin[] onActionInvocationResult;
+        final PlayPlugin[] afterActionInvocation;
+        final PlayPlugin[] onActionInvocationFinally;
+        final PlayPlugin[] routeRequest;
+        final PlayPlugin[] onRequestRouting;
+        final PlayPlugin[] rawInvocation;
+        final PlayPlugin[] serveStatic;
+        final PlayPlugin[] bind;
+        final PlayPlugin[] bindBean;
+        final PlayPlugin[] unBind;
+        final PlayPlugin[] willBeValidated;
+        final PlayPlugin[] modelFactory;
+        final PlayPlugin[] getMessage;
+        final PlayPlugin[] loadTemplate;
+
+        Hooks(List<PlayPlugin> plugins) {
+            beforeInvocation = overriding(plugins, "beforeInvocation");
+            afterInvocation = overriding(plugins, "afterInvocation");
+            onInvocationSuccess = overriding(plugins, "onInvocationSuccess");
+            onInvocationException = overriding(plugins, "onInvocationException", Throwable.class);
+            invocationFinally = overriding(plugins, "invocationFinally");
+            beforeDetectingChanges = overriding(plugins, "beforeDetectingChanges");
+            detectChange = overriding(plugins, "detectChange");
+            beforeActionInvocation = overriding(plugins, "beforeActionInvocation", Method.class);
+            onActionInvocationResult = overriding(plugins, "onActionInvocationResult", Result.class);
+            afterActionInvocation = overriding(plugins, "afterActionInvocation");
+            onActionInvocationFinally = overriding(plugins, "onActionInvocationFinally");
+            routeRequest = overriding(plugins, "routeRequest", Http.Request.class);
+            onRequestRouting = overriding(plugins, "onRequestRouting", Router.Route.class);
+            rawInvocation = overriding(plugins, "rawInvocation", Http.Request.class, Http.Response.class);
+            serveStatic = overriding(plugins, "serveStatic", VirtualFile.class, Http.Request.class, Http.Response.class);
+            // The default implementations of bind and bindBean call the deprecated bind methods
+            bind = plugins.stream()
+                    .filter(plugin -> overrides(plugin, "bind", RootParamNode.class, String.class, Class.class, Type.class, Annotation[].class)
+                            || overrides(plugin, "bind", String.class, Class.class, Type.class, Annotation[].class, Map.class))
+                    .toArray(PlayPlugin[]::new);
+            bindBean = plugins.stream()
+                    .filter(plugin -> overrides(plugin, "bindBean", RootParamNode.class, String.class, Object.class)
+                            || overrides(plugin, "bind", String.class, Object.class, Map.class))
+                    .toArray(PlayPlugin[]::new);
+            unBind = overriding(plugins, "unBind", Object.class, String.class);
+            willBeValidated = overriding(plugins, "willBeValidated", Object.class);
+            modelFactory = overriding(plugins, "modelFactory", Class.class);
+            getMessage = overriding(plugins, "getMessage", String.class, Object.class, Object[].class);
+            loadTemplate = overriding(plugins, "loadTemplate", VirtualFile.class);
+        }
+
+        private static PlayPlugin[] overriding(List<PlayPlugin> plugins, String name, Class<?>... parameterTypes) {
+            return plugins.stream().filter(plugin -> overrides(plugin, name, parameterTypes)).toArray(PlayPlugin[]::new);
+        }
+
+        private static boolean overrides(PlayPlugin plugin, String name, Class<?>... parameterTypes) {
+            try {
+                return plugin.getClass().getMethod(name, parameterTypes).getDeclaringClass() != PlayPlugin.class;
+            } catch (NoSuchMethodException e) {
+                // Cannot tell, so call it
+                return true;
+            }
+        }
+    }
 }
@@ -1,14 +1,18 @@
 package play.server;
 
+import org.jboss.netty.buffer.ChannelBuffer;
 import org.jboss.netty.channel.Channel;
 import org.jboss.netty.channel.ChannelFuture;
 import org.jboss.netty.channel.ChannelFutureListener;
 import org.jboss.netty.channel.ChannelHandlerContext;
+import org.jboss.netty.channel.DefaultFileRegion;
 import org.jboss.netty.handler.codec.http.*;
+import org.jboss.netty.handler.ssl.SslHandler;
 import org.jboss.netty.handler.stream.ChunkedFile;
 import org.jboss.netty.handler.stream.ChunkedInput;
 
 import play.Logger;
+import play.Play;
 import play.exceptions.UnexpectedException;
 import play.libs.MimeTypes;
 import play.mvc.Http.Request;
@@ -18,9 +22,11 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.file.NoSuchFileException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.Properties;
 
 import static org.apache.commons.io.IOUtils.closeQuietly;
 import static org.jboss.netty.buffer.ChannelBuffers.wrappedBuffer;
@@ -28,67 +34,195 @@ import static org.jboss.netty.handler.codec.http.HttpHeaders.Names.CONTENT_TYPE;
 
 public class FileService  {
 
+    static boolean sendfile;
+
+    /**
+     * The application configuration http.sendfile was read from
+     */
+    private static volatile Properties configuration;
+
+    /**
+     * Read http.sendfile from the application configuration.
+     */
+    static synchronized void configure() {
+        Properties read = Play.configuration;
+        sendfile = Boolean.parseBoolean(read.getProperty("http.sendfile", "true"));
+        configuration = read;
+    }
+
     public static void serve(File localFile, HttpRequest nettyRequest, HttpResponse nettyResponse, ChannelHandlerContext ctx, Request request, Response response, Channel channel) throws FileNotFoundException {
         RandomAccessFile raf = new RandomAccessFile(localFile, "r");
         try {
             long fileLength = raf.length();
-            
-            boolean isKeepAlive = HttpHeaders.isKeepAlive(nettyRequest) && nettyRequest.getProtocolVersion().equals(HttpVersion.HTTP_1_1);
-            
-            if(Logger.isTraceEnabled()) {
-                Logger.trace("keep alive %s", String.valueOf(isKeepAlive));
-                Logger.trace("content type %s", (response.contentType != null ? response.contentType : MimeTypes.getContentType(localFile.getName(), "text/plain")));
+            setContentType(localFile, nettyResponse, response);
+
+            // Serve the compressed variant of the file, except for byte ranges which are about the file itself
+            String encoding = ByteRangeInput.accepts(nettyRequest) ? null : HttpCompression.encodingFor(nettyRequest, nettyResponse, fileLength);
+            serve(localFile, raf, fileLength, encoding, nettyRequest, nettyResponse, ctx, channel);
+        } catch (Throwable exx) {
+            failed(exx, raf, ctx);
+        }
+    }
+
+    /**
+     * Serve the file of a static route, from the in-memory asset store when it is small enough.
+     */
+    static void serveAsset(StaticPathsCache.Entry asset, HttpRequest nettyRequest, HttpResponse nettyResponse, ChannelHandlerContext ctx, Request request, Response response, Channel channel) throws FileNotFoundException {
+        if (!StaticAssetStore.accepts(asset.length) || ByteRangeInput.accepts(nettyRequest)) {
+            serve(asset.realFile, nettyRequest, nettyResponse, ctx, request, response, channel);
+            return;
+        }
+        setContentType(asset.realFile, nettyResponse, response);
+        String encoding = HttpCompression.encodingFor(nettyRequest, nettyResponse, asset.length);
+        ChannelBuffer content;
+        try {
+            content = StaticAssetStore.get(asset.realFile, asset.lastModified, encoding);
+        } catch (FileNotFoundException | NoSuchFileException e) {
+            throw new FileNotFoundException(asset.realFile.getPath());
+        } catch (IOException e) {
+            Logger.warn(e, "Cannot keep %s in memory", asset.realFile);
+            content = null;
+        }
+        if (content == null) {
+            // From the file, or its compressed variant cached in tmp/
+            RandomAccessFile raf = new RandomAccessFile(asset.realFile, "r");
+            try {
+                serve(asset.realFile, raf, raf.length(), encoding, nettyRequest, nettyResponse, ctx, channel);
+            } catch (Throwable exx) {
+                failed(exx, raf, ctx);
             }
-            
-            if (!nettyResponse.getStatus().equals(HttpResponseStatus.NOT_MODIFIED)) {
-                // Add 'Content-Length' header only for a keep-alive connection.
-                if(Logger.isTraceEnabled()){
-                    Logger.trace("file length " + fileLength);
-                }
-                nettyResponse.headers().set(HttpHeaders.Names.CONTENT_LENGTH, String.valueOf(fileLength));
+            return;
+        }
+
+        boolean isKeepAlive = HttpHeaders.isKeepAlive(nettyRequest) && nettyRequest.getProtocolVersion().equals(HttpVersion.HTTP_1_1);
+        if (!nettyResponse.getStatus().equals(HttpResponseStatus.NOT_MODIFIED)) {
+            nettyResponse.headers().set(HttpHeaders.Names.CONTENT_LENGTH, String.valueOf(content.readableBytes()));
+        }
+        nettyResponse.headers().set(HttpHeaders.Names.ACCEPT_RANGES, HttpHeaders.Values.BYTES);
+        if (!nettyRequest.getMethod().equals(HttpMethod.HEAD)) {
+            nettyResponse.setContent(content);
+        }
+        if (channel.isOpen()) {
+            ChannelFuture writeFuture = channel.write(nettyResponse);
+            if (!isKeepAlive) {
+                writeFuture.addListener(ChannelFutureListener.CLOSE);
             }
+        } else {
+            Logger.debug("Try to write on a closed channel[keepAlive:%s]: Remote host may have closed the connection", String.valueOf(isKeepAlive));
+        }
+    }
+
+    private static void setContentType(File localFile, HttpResponse nettyResponse, Response response) {
+        if(Logger.isTraceEnabled()) {
+            Logger.trace("content type %s", (response.contentType != null ? response.contentType : MimeTypes.getContentType(localFile.getName(), "text/plain")));
+        }
+
+        if (response.contentType != null) {
+            nettyResponse.headers().set(CONTENT_TYPE, response.contentType);
+        } else {
+            nettyResponse.headers().set(CONTENT_TYPE, (MimeTypes.getContentType(localFile.getName(), "text/plain")));
+        }
+    }
+
+    private static void serve(File localFile, RandomAccessFile raf, long fileLength, String encoding, HttpRequest nettyRequest, HttpResponse nettyResponse, ChannelHandlerContext ctx, Channel channel) throws IOException {
+        boolean isKeepAlive = HttpHeaders.isKeepAlive(nettyRequest) && nettyRequest.getProtocolVersion().equals(HttpVersion.HTTP_1_1);
 
-            if (response.contentType != null) {
-                nettyResponse.headers().set(CONTENT_TYPE, response.contentType);
+        if(Logger.isTraceEnabled()) {
+            Logger.trace("keep alive %s", String.valueOf(isKeepAlive));
+        }
+
+        byte[] compressedContent = null;
+        if (encoding != null) {
+            String etag = nettyResponse.headers().get(HttpHeaders.Names.ETAG);
+            Object compressed = HttpCompression.compressedFile(localFile,
+                    etag != null ? etag : PlayHandler.computeEtag(localFile, localFile.lastModified()), encoding);
+            if (compressed instanceof File) {
+                raf.close();
+                raf = new RandomAccessFile((File) compressed, "r");
+                fileLength = raf.length();
             } else {
-                nettyResponse.headers().set(CONTENT_TYPE, (MimeTypes.getContentType(localFile.getName(), "text/plain")));
+                compressedContent = (byte[]) compressed;
+                fileLength = compressedContent.length;
+            }
+        }
+
+        if (!nettyResponse.getStatus().equals(HttpResponseStatus.NOT_MODIFIED)) {
+            // Add 'Content-Length' header only for a keep-alive connection.
+            if(Logger.isTraceEnabled()){
+                Logger.trace("file length " + fileLength);
             }
+            nettyResponse.headers().set(HttpHeaders.Names.CONTENT_LENGTH, String.valueOf(fileLength));
+        }
 
-            nettyResponse.headers().set(HttpHeaders.Names.ACCEPT_RANGES, HttpHeaders.Values.BYTES);
+        nettyResponse.headers().set(HttpHeaders.Names.ACCEPT_RANGES, HttpHeaders.Values.BYTES);
 
-            // Write the initial line and the header.
-            ChannelFuture writeFuture = null;
+        // Write the initial line and the header.
+        ChannelFuture writeFuture = null;
 
-            // Write the content.
+        // Write the content.
+        if (compressedContent != null) {
+            raf.close();
             if (!nettyRequest.getMethod().equals(HttpMethod.HEAD)) {
-                ChunkedInput chunkedInput = getChunckedInput(raf, MimeTypes.getContentType(localFile.getName(), "text/plain"), channel, nettyRequest, nettyResponse);
-                if (channel.isOpen()) {
+                nettyResponse.setContent(wrappedBuffer(compressedContent));
+            }
+            if (channel.isOpen()) {
+                writeFuture = channel.write(nettyResponse);
+            } else {
+                Logger.debug("Try to write on a closed channel[keepAlive:%s]: Remote host may have closed the connection", String.valueOf(isKeepAlive));
+            }
+        } else if (!nettyRequest.getMethod().equals(HttpMethod.HEAD)) {
+            if (channel.isOpen()) {
+                if (!ByteRangeInput.accepts(nettyRequest) && useSendfile(channel)) {
+                    // Zero-copy transfer from the file to the socket
+                    final RandomAccessFile file = raf;
+                    channel.write(nettyResponse);
+                    writeFuture = channel.write(new DefaultFileRegion(raf.getChannel(), 0, fileLength, true));
+                    writeFuture.addListener(future -> closeQuietly(file));
+                } else {
+                    ChunkedInput chunkedInput = getChunckedInput(raf, MimeTypes.getContentType(localFile.getName(), "text/plain"), channel, nettyRequest, nettyResponse);
                     channel.write(nettyResponse);
                     writeFuture = channel.write(chunkedInput);
-                }else{
-                    Logger.debug("Try to write on a closed channel[keepAlive:%s]: Remote host may have closed the connection", String.valueOf(isKeepAlive)); 
-                }
-            } else {
-                if (channel.isOpen()) {
-                    writeFuture = channel.write(nettyResponse);
-                }else{
-                    Logger.debug("Try to write on a closed channel[keepAlive:%s]: Remote host may have closed the connection", String.valueOf(isKeepAlive)); 
                 }
+            }else{
                 raf.close();
+                Logger.debug("Try to write on a closed channel[keepAlive:%s]: Remote host may have closed the connection", String.valueOf(isKeepAlive)); 
             }
-
-            if (writeFuture != null && !isKeepAlive) {
-                writeFuture.addListener(ChannelFutureListener.CLOSE);
+        } else {
+            if (channel.isOpen()) {
+                writeFuture = channel.write(nettyResponse);
+            }else{
+                Logger.debug("Try to write on a closed channel[keepAlive:%s]: Remote host may have closed the connection", String.valueOf(isKeepAlive)); 
             }
-        } catch (Throwable exx) {
-            exx.printStackTrace();
-            closeQuietly(raf);
-            try {
-                if (ctx.getChannel().isOpen()) {
-                    ctx.getChannel().close();
+            raf.close();
+        }
+
+        if (writeFuture != null && !isKeepAlive) {
+            writeFuture.addListener(ChannelFutureListener.CLOSE);
+        }
+    }
+
+    /**
+     * sendfile can only be used when the bytes are written as they are, not through SSL.
+     */
+    private static boolean useSendfile(Channel channel) {
+        if (configuration != Play.configuration) {
+            synchronized (FileService.class) {
+                if (configuration != Play.configuration) {
+                    configure();
                 }
-            } catch (Throwable ex) { /* Left empty */ }
+            }
         }
+        return sendfile && channel.getPipeline().get(SslHandler.class) == null;
+    }
+
+    private static void failed(Throwable exx, RandomAccessFile raf, ChannelHandlerContext ctx) {
+        exx.printStackTrace();
+        closeQuietly(raf);
+        try {
+            if (ctx.getChannel().isOpen()) {
+                ctx.getChannel().close();
+            }
+        } catch (Throwable ex) { /* Left empty */ }
     }
     
     public static ChunkedInput getChunckedInput(RandomAccessFile raf, String contentType, Channel channel, HttpRequest nettyRequest, HttpResponse nettyResponse) throws IOException {
@@ -0,0 +1,401 @@
+package play.server;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.jboss.netty.handler.codec.http.HttpRequest;
+import org.jboss.netty.handler.codec.http.HttpResponse;
+import org.jboss.netty.handler.codec.http.HttpResponseStatus;
+import play.Logger;
+import play.Play;
+import play.utils.HTTP;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.jboss.netty.handler.codec.http.HttpHeaders.Names.*;
+
+/**
+ * Response compression (gzip or deflate) negotiated from the <code>Accept-Encoding</code> request header, for buffered
+ * responses, chunked responses and static files.
+ * <p>
+ * It is disabled by default and configured in application.conf:
+ * <ul>
+ * <li><code>http.compression.enabled</code>: <code>true</code> to compress responses</li>
+ * <li><code>http.compression.mimeTypes</code>: the compressed content types, <code>text/*</code> style wildcards
+ * allowed</li>
+ * <li><code>http.compression.minSize</code>: responses smaller than this many bytes are sent as is</li>
+ * <li><code>http.compression.level</code>: the deflate compression level, from 1 (fastest) to 9 (smallest)</li>
+ * <li><code>http.compression.memoryCache</code>: maximum bytes of compressed static files kept in memory when there is
+ * no tmp directory</li>
+ * </ul>
+ * The settings are read again when the application configuration is, on a restart in DEV mode. A compressed response
+ * gets its own ETag, the ETag of the content with the content coding appended. Compressed static files are cached in
+ * <code>tmp/compressed</code>, keyed by their ETag.
+ */
+public class HttpCompression {
+
+    public static final String GZIP = "gzip";
+    public static final String DEFLATE = "deflate";
+
+    static final String DEFAULT_MIME_TYPES = "text/*,application/javascript,application/x-javascript,application/json,application/xml,application/xhtml+xml,application/rss+xml,application/atom+xml,image/svg+xml";
+
+    static boolean enabled;
+    static List<String> mimeTypes;
+    static int minSize;
+    static int level;
+    static long memoryCacheSize;
+
+    /**
+     * The application configuration the settings were read from
+     */
+    private static volatile Properties configuration;
+
+    private static final Map<String, byte[]> memoryCache = new LinkedHashMap<String, byte[]>(16, 0.75f, true) {
+        private long size;
+
+        @Override
+        public byte[] put(String key, byte[] value) {
+            size += value.length;
+            byte[] previous = super.put(key, value);
+            if (previous != null) {
+                size -= previous.length;
+            }
+            return previous;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+            if (size > memoryCacheSize) {
+                size -= eldest.getValue().length;
+                return true;
+            }
+            return false;
+        }
+    };
+
+    /**
+     * Read the compression settings from the application configuration.
+     */
+    public static synchronized void configure() {
+        Properties read = Play.configuration;
+        enabled = Boolean.parseBoolean(Play.configuration.getProperty("http.compression.enabled", "false"));
+        mimeTypes = new ArrayList<>();
+        for (String mimeType : Play.configuration.getProperty("http.compression.mimeTypes", DEFAULT_MIME_TYPES).split(",")) {
+            if (!mimeType.trim().isEmpty()) {
+                mimeTypes.add(mimeType.trim().toLowerCase());
+            }
+        }
+        minSize = Integer.parseInt(Play.configuration.getProperty("http.compression.minSize", "1024"));
+        level = Integer.parseInt(Play.configuration.getProperty("http.compression.level", "6"));
+        memoryCacheSize = Long.parseLong(Play.configuration.getProperty("http.compression.memoryCache", "10485760"));
+        synchronized (memoryCache) {
+            memoryCache.clear();
+        }
+        configuration = read;
+    }
+
+    /**
+     * Read the settings again if the application configuration was read again since
+     */
+    private static void checkConfiguration() {
+        if (configuration != Play.configuration) {
+            synchronized (HttpCompression.class) {
+                if (configuration != Play.configuration) {
+                    configure();
+                }
+            }
+        }
+    }
+
+    /**
+     * @return true if responses may be compressed
+     */
+    public static boolean isEnabled() {
+        checkConfiguration();
+        return enabled;
+    }
+
+    /**
+     * @param contentType
+     *            A content type, with or without parameters
+     * @return true if this content type is worth compressing
+     */
+    public static boolean isCompressible(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        checkConfiguration();
+        int semicolon = contentType.indexOf(';');
+        String mimeType = (semicolon < 0 ? contentType : contentType.substring(0, semicolon)).trim().toLowerCase();
+        for (String allowed : mimeTypes) {
+            if (allowed.endsWith("/*") ? mimeType.startsWith(allowed.substring(0, allowed.length() - 1)) : mimeType.equals(allowed)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Add <code>Accept-Encoding</code> to the <code>Vary</code> header of a response.
+     *
+     * @param vary
+     *            The header value, may be null
+     * @return The header value listing Accept-Encoding once, or * if it was *
+     */
+    public static String varyOnAcceptEncoding(String vary) {
+        if (vary == null || vary.trim().isEmpty()) {
+            return ACCEPT_ENCODING;
+        }
+        for (String header : vary.split(",")) {
+            String name = header.trim();
+            if (name.equals("*") || name.equalsIgnoreCase(ACCEPT_ENCODING)) {
+                return vary;
+            }
+        }
+        return vary + ", " + ACCEPT_ENCODING;
+    }
+
+    /**
+     * Choose the content coding from the <code>Accept-Encoding</code> header, preferring gzip over deflate.
+     *
+     * @param acceptEncoding
+     *            The header value, may be null
+     * @return gzip, deflate or null if the client accepts neither
+     */
+    public static String negotiate(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return null;
+        }
+        float gzip = -1;
+        float deflate = -1;
+        float any = -1;
+        for (String part : acceptEncoding.split(",")) {
+            String[] params = part.split(";");
+            String coding = params[0].trim().toLowerCase();
+            float q = 1;
+            for (int i = 1; i < params.length; i++) {
+                String param = params[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        q = Float.parseFloat(param.substring(2));
+                    } catch (NumberFormatException e) {
+                        q = 0;
+                    }
+                }
+            }
+            if (coding.equals(GZIP) || coding.equals("x-gzip")) {
+                gzip = q;
+            } else if (coding.equals(DEFLATE)) {
+                deflate = q;
+            } else if (coding.equals("*")) {
+                any = q;
+            }
+        }
+        if (gzip < 0) {
+            gzip = any;
+        }
+        if (deflate < 0) {
+            deflate = any;
+        }
+        if (gzip > 0 && gzip >= deflate) {
+            return GZIP;
+        }
+        if (deflate > 0) {
+            return DEFLATE;
+        }
+        return null;
+    }
+
+    /**
+     * Decide how to encode a response and set the <code>Vary</code> and <code>Content-Encoding</code> headers
+     * accordingly. The <code>ETag</code> of an encoded response is suffixed with the content coding.
+     *
+     * @param nettyRequest
+     *            The request
+     * @param nettyResponse
+     *            The response, its content type must be set
+     * @param length
+     *            The content length, or -1 for a streamed response
+     * @return The content coding to apply, or null to send the content as is
+     */
+    public static String encodingFor(HttpRequest nettyRequest, HttpResponse nettyResponse, long length) {
+        checkConfiguration();
+        if (!enabled || (length >= 0 && length < minSize)) {
+            return null;
+        }
+        HttpResponseStatus status = nettyResponse.getStatus();
+        if (status.getCode() < 200 || status.equals(HttpResponseStatus.NO_CONTENT) || status.equals(HttpResponseStatus.NOT_MODIFIED)
+                || status.equals(HttpResponseStatus.PARTIAL_CONTENT)) {
+            return null;
+        }
+        if (nettyResponse.headers().contains(CONTENT_ENCODING) || !isCompressible(nettyResponse.headers().get(CONTENT_TYPE))) {
+            return null;
+        }
+        List<String> vary = nettyResponse.headers().getAll(VARY);
+        nettyResponse.headers().set(VARY, varyOnAcceptEncoding(vary.isEmpty() ? null : String.join(", ", vary)));
+        String encoding = negotiate(nettyRequest.headers().get(ACCEPT_ENCODING));
+        if (encoding != null) {
+            nettyResponse.headers().set(CONTENT_ENCODING, encoding);
+            String etag = nettyResponse.headers().get(ETAG);
+            if (etag != null) {
+                nettyResponse.headers().set(ETAG, HTTP.encodedEtag(etag, encoding));
+            }
+        }
+        return encoding;
+    }
+
+    public static byte[] compress(byte[] content, String encoding) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, content.length / 4));
+        try (OutputStream compressor = compressor(out, encoding, false)) {
+            compressor.write(content);
+        } catch (IOException e) {
+            // Not possible with a byte array
+            throw new IllegalStateException(e);
+        }
+        return out.toByteArray();
+    }
+
+    static DeflaterOutputStream compressor(OutputStream out, String encoding, boolean syncFlush) throws IOException {
+        checkConfiguration();
+        if (GZIP.equals(encoding)) {
+            return new GZIPOutputStream(out, 8192, syncFlush) {
+                {
+                    def.setLevel(level);
+                }
+            };
+        }
+        return new DeflaterOutputStream(out, new Deflater(level), 8192, syncFlush) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    // The deflater was given to the stream, so it would not end it
+                    def.end();
+                }
+            }
+        };
+    }
+
+    /**
+     * Get the compressed variant of a static file, compressing it on the first call. Variants are cached in
+     * <code>tmp/compressed</code>, or in memory when there is no tmp directory.
+     *
+     * @param file
+     *            The static file
+     * @param etag
+     *            The file ETag, used as cache key
+     * @param encoding
+     *            gzip or deflate
+     * @return The compressed variant, a {@link File} or a <code>byte[]</code>
+     */
+    public static Object compressedFile(File file, String etag, String encoding) throws IOException {
+        checkConfiguration();
+        String pathKey = DigestUtils.sha1Hex(file.getAbsolutePath());
+        String name = pathKey + "-" + DigestUtils.sha1Hex(etag) + "." + encoding;
+        if (Play.tmpDir == null) {
+            synchronized (memoryCache) {
+                byte[] cached = memoryCache.get(name);
+                if (cached != null) {
+                    return cached;
+                }
+            }
+            byte[] compressed;
+            try (InputStream in = new FileInputStream(file)) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream((int) Math.min(Integer.MAX_VALUE, file.length() / 4 + 64));
+                try (OutputStream compressor = compressor(out, encoding, false)) {
+                    in.transferTo(compressor);
+                }
+                compressed = out.toByteArray();
+            }
+            if (compressed.length <= memoryCacheSize) {
+                synchronized (memoryCache) {
+                    memoryCache.put(name, compressed);
+                }
+            }
+            return compressed;
+        }
+        File dir = new File(Play.tmpDir, "compressed");
+        File compressed = new File(dir, name);
+        if (compressed.exists()) {
+            return compressed;
+        }
+        if (!dir.exists() && !dir.mkdirs() && !dir.exists()) {
+            throw new IOException("Cannot create " + dir);
+        }
+        // Previous variants of this file are stale now
+        File[] stale = dir.listFiles((d, n) -> n.startsWith(pathKey + "-") && n.endsWith("." + encoding));
+        if (stale != null) {
+            for (File old : stale) {
+                old.delete();
+            }
+        }
+        File tmp = File.createTempFile(name, ".tmp", dir);
+        try (InputStream in = new FileInputStream(file); OutputStream compressor = compressor(new FileOutputStream(tmp), encoding, false)) {
+            in.transferTo(compressor);
+        } catch (IOException e) {
+            tmp.delete();
+            throw e;
+        }
+        if (!tmp.renameTo(compressed)) {
+            // Another request wrote it meanwhile
+            tmp.delete();
+        }
+        if (Logger.isTraceEnabled()) {
+            Logger.trace("Compressed %s (%s bytes) to %s (%s bytes)", file, file.length(), compressed, compressed.length());
+        }
+        return compressed;
+    }
+
+    /**
+     * Compresses the chunks of a chunked response, flushing after each chunk so the client gets it right away.
+     */
+    public static class ChunkCompressor {
+
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private final DeflaterOutputStream compressor;
+
+        public ChunkCompressor(String encoding) {
+            try {
+                compressor = compressor(buffer, encoding, true);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        /**
+         * @return The compressed bytes for this chunk, may be empty
+         */
+        public synchronized byte[] compress(byte[] chunk) throws IOException {
+            compressor.write(chunk);
+            compressor.flush();
+            return drain();
+        }
+
+        /**
+         * @return The last compressed bytes, including the gzip trailer
+         */
+        public synchronized byte[] finish() throws IOException {
+            compressor.close();
+            return drain();
+        }
+
+        private byte[] drain() {
+            byte[] bytes = buffer.toByteArray();
+            buffer.reset();
+            return bytes;
+        }
+    }
+}
@@ -35,7 +35,6 @@ import play.templates.JavaExtensions;
 import play.templates.TemplateLoader;
 import play.utils.HTTP;
 import play.utils.Utils;
-import play.vfs.VirtualFile;
 
 import java.io.*;
 import java.net.InetSocketAddress;
@@ -167,7 +166,7 @@ public class PlayHandler extends SimpleChannelUpstreamHandler {
         }
     }
 
-    private static final Map<String, RenderStatic> staticPathsCache = new HashMap<>();
+    private static final StaticPathsCache staticPathsCache = StaticPathsCache.fromConfiguration();
 
     public class NettyInvocation extends Invoker.Invocation {
 
@@ -207,17 +206,15 @@ public class PlayHandler extends SimpleChannelUpstreamHandler {
                 if (Play.mode == Play.Mode.DEV) {
                     Router.detectChanges(Play.ctxPath);
                 }
-                if (Play.mode == Play.Mode.PROD
-                        && staticPathsCache.containsKey(request.domain + " " + request.method + " " + request.path)) {
-                    RenderStatic rs = null;
-                    synchronized (staticPathsCache) {
-                        rs = staticPathsCache.get(request.domain + " " + request.method + " " + request.path);
-                    }
-                    serveStatic(rs, ctx, request, response, nettyRequest, event);
-                    if (Logger.isTraceEnabled()) {
-                        Logger.trace("init: end false");
+                if (Play.mode == Play.Mode.PROD) {
+                    StaticPathsCache.Entry staticPath = staticPathsCache.get(request.domain, request.method, request.path);
+                    if (staticPath != null) {
+                        serveStatic(staticPath, ctx, request, response, nettyRequest, event);
+                        if (Logger.isTraceEnabled()) {
+                            Logger.trace("init: end false");
+                        }
+                        return false;
                     }
-                    return false;
                 }
                 Router.routeOnlyStatic(request);
                 super.init();
@@ -229,11 +226,11 @@ public class PlayHandler extends SimpleChannelUpstreamHandler {
                 return false;
             } catch (RenderStatic rs) {
                 if (Play.mode == Play.Mode.PROD) {
-                    synchronized (staticPathsCache) {
-                        staticPathsCache.put(request.domain + " " + request.method + " " + request.path, rs);
-                    }
+                    serveStatic(staticPathsCache.put(request.domain, request.method, request.path, rs), ctx, request, response,
+                            nettyRequest, this.event);
+                } else {
+                    serveStatic(rs, ctx, request, response, nettyRequest, this.event);
                 }
-                serveStatic(rs, ctx, request, response, nettyRequest, this.event);
                 if (Logger.isTraceEnabled()) {
                     Logger.trace("init: end false");
                 }
@@ -261,7 +258,13 @@ public class PlayHandler extends SimpleChannelUpstreamHandler {
                 }
                 super.run();
             } catch (Exception e) {
-                serve500(e, ctx, nettyRequest);
+                if (response.chunked) {
+                    // The response has started, it is too late for an error page
+                    Logger.error(e, "Internal Server Error (closing the connection) for request %s", request.method + " " + request.url);
+                    ctx.getChannel().close();
+                } else {
+                    serve500(e, ctx, nettyRequest);
+                }
             }
             if (Logger.isTraceEnabled()) {
                 Logger.trace("run: end");
@@ -385,22 +388,28 @@ public class PlayHandler extends SimpleChannelUpstreamHandler {
         }
 
         byte[] content = null;
+        int contentLength = response.out.size();
 
         boolean keepAlive = isKeepAlive(nettyRequest);
+        // Negotiated for HEAD too, so that its headers are the ones of GET
+        content = response.out.toByteArray();
+        String encoding = HttpCompression.encodingFor(nettyRequest, nettyResponse, content.length);
+        if (encoding != null) {
+            content = HttpCompression.compress(content, encoding);
+            contentLength = content.length;
+        }
         if (nettyRequest.getMethod().equals(HttpMethod.HEAD)) {
             content = new byte[0];
-        } else {
-            content = response.out.toByteArray();
         }
 
-        ChannelBuffer buf = ChannelBuffers.copiedBuffer(content);
+        ChannelBuffer buf = ChannelBuffers.wrappedBuffer(content);
         nettyResponse.setContent(buf);
 
         if (!nettyResponse.getStatus().equals(HttpResponseStatus.NOT_MODIFIED)) {
             if (Logger.isTraceEnabled()) {
-                Logger.trace("writeResponse: content length [" + response.out.size() + "]");
+                Logger.trace("writeResponse: content length [" + contentLength + "]");
             }
-            setContentLength(nettyResponse, response.out.size());
+            setContentLength(nettyResponse, contentLength);
         }
 
         ChannelFuture f = null;
@@ -850,6 +859,11 @@ public class PlayHandler extends SimpleChannelUpstreamHandler {
 
     public void serveStatic(RenderStatic renderStatic, ChannelHandlerContext ctx, Request request, Response response,
             HttpRequest nettyRequest, MessageEvent e) {
+        serveStatic(StaticPathsCache.resolve(renderStatic), ctx, request, response, nettyRequest, e);
+    }
+
+    private void serveStatic(StaticPathsCache.Entry staticPath, ChannelHandlerContext ctx, Request request, Response response,
+            HttpRequest nettyRequest, MessageEvent e) {
         if (Logger.isTraceEnabled()) {
             Logger.trace("serveStatic: begin");
         }
@@ -860,23 +874,18 @@ public class PlayHandler extends SimpleChannelUpstreamHandler {
             nettyResponse.headers().set(SERVER, signature);
         }
         try {
-            VirtualFile file = Play.getVirtualFile(renderStatic.file);
-            if (file != null && file.exists() && file.isDirectory()) {
-                file = file.child("index.html");
-                if (file != null) {
-                    renderStatic.file = file.relativePath();
-                }
-            }
-            if ((file == null || !file.exists())) {
-                serve404(new NotFound("The file " + renderStatic.file + " does not exist"), ctx, request, nettyRequest);
+            if (staticPath.file == null) {
+                serve404(new NotFound("The file " + staticPath.renderStatic.file + " does not exist"), ctx, request, nettyRequest);
             } else {
-                boolean raw = Play.pluginCollection.serveStatic(file, Request.current(), Response.current());
+                boolean raw = Play.pluginCollection.serveStatic(staticPath.file, Request.current(), Response.current());
                 if (raw) {
                     copyResponse(ctx, request, response, nettyRequest);
                 } else {
-                    File localFile = file.getRealFile();
                     boolean keepAlive = isKeepAlive(nettyRequest);
-                    nettyResponse = addEtag(nettyRequest, nettyResponse, localFile);
+                    nettyResponse = addEtag(nettyRequest, nettyResponse, staticPath.lastModified, staticPath.etag);
+                    if (response.contentType == null) {
+                        response.contentType = staticPath.contentType;
+                    }
 
                     if (nettyResponse.getStatus().equals(HttpResponseStatus.NOT_MODIFIED)) {
                         Channel ch = e.getChannel();
@@ -888,12 +897,15 @@ public class PlayHandler extends SimpleChannelUpstreamHandler {
                             writeFuture.addListener(ChannelFutureListener.CLOSE);
                         }
                     } else {
-                        FileService.serve(localFile, nettyRequest, nettyResponse, ctx, request, response,
+                        FileService.serveAsset(staticPath, nettyRequest, nettyResponse, ctx, request, response,
                                 e.getChannel());
                     }
                 }
 
             }
+        } catch (FileNotFoundException ez) {
+            // Deleted since it was cached
+            serve404(new NotFound("The file " + staticPath.renderStatic.file + " does not exist"), ctx, request, nettyRequest);
         } catch (Throwable ez) {
             Logger.error(ez, "serveStatic for request %s", request.method + " " + request.url);
             try {
@@ -922,6 +934,11 @@ public class PlayHandler extends SimpleChannelUpstreamHandler {
     }
 
     private static HttpResponse addEtag(HttpRequest nettyRequest, HttpResponse httpResponse, File file) {
+        long last = file.lastModified();
+        return addEtag(nettyRequest, httpResponse, last, computeEtag(file, last));
+    }
+
+    private static HttpResponse addEtag(HttpRequest nettyRequest, HttpResponse httpResponse, long last, String etag) {
         if (Play.mode == Play.Mode.DEV) {
             httpResponse.headers().set(CACHE_CONTROL, "no-cache");
         } else {
@@ -936,14 +953,14 @@ public class PlayHandler extends SimpleChannelUpstreamHandler {
             }
         }
         boolean useEtag = Play.configuration.getProperty("http.useETag", "true").equals("true");
-        long last = file.lastModified();
-        String etag = "\"" + last + "-" + file.hashCode() + "\"";
         if (!isModified(etag, last, nettyRequest)) {
             if (nettyRequest.getMethod().equals(HttpMethod.GET)) {
                 httpResponse.setStatus(HttpResponseStatus.NOT_MODIFIED);
             }
             if (useEtag) {
-                httpResponse.headers().set(ETAG, etag);
+                // The client may hold the compressed variant, with its own ETag
+                String browserEtag = nettyRequest.headers().get(IF_NONE_MATCH);
+                httpResponse.headers().set(ETAG, browserEtag != null && HTTP.isEncodedEtag(browserEtag, etag) ? browserEtag : etag);
             }
 
         } else {
@@ -955,6 +972,10 @@ public class PlayHandler extends SimpleChannelUpstreamHandler {
         return httpResponse;
     }
 
+    static String computeEtag(File file, long lastModified) {
+        return "\"" + lastModified + "-" + file.hashCode() + "\"";
+    }
+
     public static boolean isKeepAlive(HttpMessage message) {
         return HttpHeaders.isKeepAlive(message) && message.getProtocolVersion().equals(HttpVersion.HTTP_1_1);
     }
@@ -967,6 +988,19 @@ public class PlayHandler extends SimpleChannelUpstreamHandler {
 
         private boolean closed = false;
         private ConcurrentLinkedQueue<byte[]> nextChunks = new ConcurrentLinkedQueue<>();
+        private final HttpCompression.ChunkCompressor compressor;
+
+        LazyChunkedInput() {
+            this(null);
+        }
+
+        /**
+         * @param encoding
+         *            The content coding of the chunks (gzip or deflate), null to send them as is
+         */
+        LazyChunkedInput(String encoding) {
+            this.compressor = encoding == null ? null : new HttpCompression.ChunkCompressor(encoding);
+        }
 
         @Override
         public boolean hasNextChunk() throws Exception {
@@ -989,6 +1023,9 @@ public class PlayHandler extends SimpleChannelUpstreamHandler {
         @Override
         public void close() throws Exception {
             if (!closed) {
+                if (compressor != null) {
+                    offerChunk(compressor.finish());
+                }
                 nextChunks.offer("0\r\n\r\n".getBytes());
             }
             closed = true;
@@ -1006,7 +1043,17 @@ public class PlayHandler extends SimpleChannelUpstreamHandler {
                 String message = chunk == null ? "" : chunk.toString();
                 bytes = message.getBytes(Response.current().encoding);
             }
+            if (compressor != null) {
+                bytes = compressor.compress(bytes);
+            }
+            offerChunk(bytes);
+        }
 
+        private void offerChunk(byte[] bytes) throws IOException {
+            if (compressor != null && bytes.length == 0) {
+                // An empty chunk would end the response
+                return;
+            }
             ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
             byteStream.write(Integer.toHexString(bytes.length).getBytes());
             byte[] crlf = new byte[] { (byte) '\r', (byte) '\n' };
@@ -1022,7 +1069,16 @@ public class PlayHandler extends SimpleChannelUpstreamHandler {
         try {
             if (playResponse.direct == null) {
                 playResponse.setHeader("Transfer-Encoding", "chunked");
-                playResponse.direct = new LazyChunkedInput();
+                String encoding = null;
+                if (HttpCompression.isEnabled() && !playResponse.headers.containsKey(CONTENT_ENCODING)
+                        && HttpCompression.isCompressible(playResponse.contentType)) {
+                    playResponse.setHeader(VARY, HttpCompression.varyOnAcceptEncoding(playResponse.getHeader(VARY)));
+                    encoding = HttpCompression.negotiate(nettyRequest.headers().get(ACCEPT_ENCODING));
+                    if (encoding != null) {
+                        playResponse.setHeader(CONTENT_ENCODING, encoding);
+                    }
+                }
+                playResponse.direct = new LazyChunkedInput(encoding);
                 copyResponse(ctx, playRequest, playResponse, nettyRequest);
             }
             ((LazyChunkedInput) playResponse.direct).writeChunk(chunk);
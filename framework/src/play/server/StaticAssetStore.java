@@ -0,0 +1,166 @@
+package play.server;
+
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.jboss.netty.buffer.ChannelBuffers;
+import play.Logger;
+import play.Play;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps small static files in direct memory buffers, so they are served without any file I/O. A file is loaded on its
+ * first hit and loaded again when its modification date changes; compressed variants are stored apart.
+ * <p>
+ * It is disabled by default and configured in application.conf:
+ * <ul>
+ * <li><code>http.staticAssets.memory</code>: <code>true</code> to keep static files in memory</li>
+ * <li><code>http.staticAssets.memory.maxFileSize</code>: larger files are read from disk</li>
+ * <li><code>http.staticAssets.memory.maxSize</code>: the maximum number of bytes kept in memory, the files requested
+ * the least recently are evicted to keep a tenth free when it is reached</li>
+ * </ul>
+ * The settings are read again when the application configuration is, on a restart in DEV mode.
+ */
+final class StaticAssetStore {
+
+    static boolean enabled;
+    static long maxFileSize;
+    static long maxSize;
+
+    /**
+     * The application configuration the settings were read from
+     */
+    private static volatile Properties configuration;
+
+    private static final ConcurrentHashMap<String, Asset> assets = new ConcurrentHashMap<>();
+    private static final AtomicLong size = new AtomicLong();
+
+    /**
+     * Read the settings from the application configuration, and forget the files kept in memory.
+     */
+    static synchronized void configure() {
+        Properties read = Play.configuration;
+        enabled = Boolean.parseBoolean(read.getProperty("http.staticAssets.memory", "false"));
+        maxFileSize = Long.parseLong(read.getProperty("http.staticAssets.memory.maxFileSize", "65536"));
+        maxSize = Long.parseLong(read.getProperty("http.staticAssets.memory.maxSize", "33554432"));
+        assets.clear();
+        size.set(0);
+        configuration = read;
+    }
+
+    /**
+     * Read the settings again if the application configuration was read again since
+     */
+    private static void checkConfiguration() {
+        if (configuration != Play.configuration) {
+            synchronized (StaticAssetStore.class) {
+                if (configuration != Play.configuration) {
+                    configure();
+                }
+            }
+        }
+    }
+
+    /**
+     * @return true if a file of this length may be served from memory
+     */
+    static boolean accepts(long length) {
+        checkConfiguration();
+        return enabled && length >= 0 && length <= maxFileSize && length <= maxSize;
+    }
+
+    /**
+     * @param file
+     *            The static file
+     * @param lastModified
+     *            The current modification date of the file
+     * @param encoding
+     *            The content coding (gzip or deflate), null for the file itself
+     * @return The content, to be read from its own reader index, or null if it cannot be kept in memory
+     */
+    static ChannelBuffer get(File file, long lastModified, String encoding) throws IOException {
+        checkConfiguration();
+        String key = encoding == null ? file.getPath() : file.getPath() + "." + encoding;
+        Asset asset = assets.get(key);
+        if (asset != null && asset.lastModified == lastModified) {
+            asset.readAt = System.nanoTime();
+            return asset.content.duplicate();
+        }
+        if (asset != null && assets.remove(key, asset)) {
+            size.addAndGet(-asset.length);
+        }
+
+        byte[] bytes = Files.readAllBytes(file.toPath());
+        if (encoding != null) {
+            bytes = HttpCompression.compress(bytes, encoding);
+        }
+        if (bytes.length > maxSize) {
+            return null;
+        }
+        if (size.get() + bytes.length > maxSize) {
+            makeRoom(bytes.length);
+        }
+        ChannelBuffer content = ChannelBuffers.directBuffer(bytes.length);
+        content.writeBytes(bytes);
+        Asset loaded = new Asset(lastModified, content, bytes.length);
+        if (assets.putIfAbsent(key, loaded) == null) {
+            size.addAndGet(loaded.length);
+            if (Logger.isTraceEnabled()) {
+                Logger.trace("Static asset %s (%s bytes) kept in memory", key, loaded.length);
+            }
+        }
+        return content.duplicate();
+    }
+
+    /**
+     * Remove the files requested the least recently, so that a tenth of the store is free once the new content is kept
+     */
+    private static synchronized void makeRoom(int length) {
+        long target = maxSize - Math.max(1, maxSize / 10) - length;
+        if (size.get() <= target) {
+            // Done by another thread
+            return;
+        }
+        long now = System.nanoTime();
+        List<Map.Entry<String, Asset>> kept = new ArrayList<>(assets.entrySet());
+        kept.sort(Comparator.comparingLong(entry -> entry.getValue().readAt - now));
+        for (int i = 0; i < kept.size() && size.get() > target; i++) {
+            Asset evicted = kept.get(i).getValue();
+            if (assets.remove(kept.get(i).getKey(), evicted)) {
+                size.addAndGet(-evicted.length);
+            }
+        }
+    }
+
+    /**
+     * @return The number of bytes kept in memory
+     */
+    static long size() {
+        return size.get();
+    }
+
+    private static final class Asset {
+
+        final long lastModified;
+        final ChannelBuffer content;
+        final int length;
+        /**
+         * When the file was last requested
+         */
+        volatile long readAt = System.nanoTime();
+
+        Asset(long lastModified, ChannelBuffer content, int length) {
+            this.lastModified = lastModified;
+            this.content = content;
+            this.length = length;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package play.server;
+
+import play.Play;
+import play.libs.MimeTypes;
+import play.libs.Time;
+import play.mvc.results.RenderStatic;
+import play.vfs.VirtualFile;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded cache of the static files served in PROD mode, by domain, method and path. It keeps the resolved file with
+ * the metadata needed to answer, so a hit needs neither routing nor file system calls until the entry expires. The
+ * paths of missing files are not cached: they would keep answering 404 after the file is deployed.
+ * <p>
+ * Configured in application.conf:
+ * <ul>
+ * <li><code>http.staticPathsCache.size</code>: the maximum number of paths, the tenth of the paths requested the least
+ * recently are evicted when it is full</li>
+ * <li><code>http.staticPathsCache.expire</code>: how long the file metadata is trusted before the file is checked
+ * again</li>
+ * </ul>
+ */
+final class StaticPathsCache {
+
+    private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final long expireNanos;
+
+    StaticPathsCache(int maxSize, long expireNanos) {
+        this.maxSize = maxSize;
+        this.expireNanos = expireNanos;
+    }
+
+    static StaticPathsCache fromConfiguration() {
+        return new StaticPathsCache(Integer.parseInt(Play.configuration.getProperty("http.staticPathsCache.size", "10000")),
+                TimeUnit.SECONDS.toNanos(Time.parseDuration(Play.configuration.getProperty("http.staticPathsCache.expire", "10s"))));
+    }
+
+    /**
+     * @return The entry of this path, checked again if it has expired, or null if the path is not cached
+     */
+    Entry get(String domain, String method, String path) {
+        Key key = new Key(domain, method, path);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        long now = System.nanoTime();
+        if (now - entry.loadedAt > expireNanos) {
+            Entry reloaded = resolve(entry.renderStatic);
+            if (reloaded.file == null) {
+                entries.remove(key, entry);
+            } else {
+                entries.replace(key, entry, reloaded);
+            }
+            return reloaded;
+        }
+        entry.readAt = now;
+        return entry;
+    }
+
+    /**
+     * Resolve the file a path is routed to and cache it if it exists.
+     */
+    Entry put(String domain, String method, String path, RenderStatic renderStatic) {
+        Entry entry = resolve(renderStatic);
+        if (maxSize > 0 && entry.file != null) {
+            Key key = new Key(domain, method, path);
+            if (entries.size() >= maxSize && !entries.containsKey(key)) {
+                makeRoom();
+            }
+            entries.put(key, entry);
+        }
+        return entry;
+    }
+
+    /**
+     * Remove the paths requested the least recently, so that a tenth of the cache is free
+     */
+    private synchronized void makeRoom() {
+        if (entries.size() < maxSize) {
+            // Done by another thread
+            return;
+        }
+        long now = System.nanoTime();
+        List<Map.Entry<Key, Entry>> kept = new ArrayList<>(entries.entrySet());
+        int excess = kept.size() - (maxSize - Math.max(1, maxSize / 10));
+        if (excess > 0) {
+            kept.sort(Comparator.comparingLong(entry -> entry.getValue().readAt - now));
+            for (int i = 0; i < excess; i++) {
+                entries.remove(kept.get(i).getKey(), kept.get(i).getValue());
+            }
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Find the file to serve (index.html for a directory) and read its metadata.
+     */
+    static Entry resolve(RenderStatic renderStatic) {
+        VirtualFile file = Play.getVirtualFile(renderStatic.file);
+        if (file != null && file.exists() && file.isDirectory()) {
+            file = file.child("index.html");
+            if (file != null) {
+                renderStatic.file = file.relativePath();
+            }
+        }
+        if (file == null || !file.exists()) {
+            return new Entry(renderStatic, null);
+        }
+        return new Entry(renderStatic, file);
+    }
+
+    /**
+     * A static path, with its file and file metadata. The file is null if it does not exist.
+     */
+    static final class Entry {
+
+        final RenderStatic renderStatic;
+        final VirtualFile file;
+        final File realFile;
+        final long length;
+        final long lastModified;
+        final String etag;
+        final String contentType;
+        final long loadedAt = System.nanoTime();
+        /**
+         * When the path was last requested
+         */
+        volatile long readAt = loadedAt;
+
+        Entry(RenderStatic renderStatic, VirtualFile file) {
+            this.renderStatic = renderStatic;
+            this.file = file;
+            this.realFile = file == null ? null : file.getRealFile();
+            this.length = realFile == null ? -1 : realFile.length();
+            this.lastModified = realFile == null ? 0 : realFile.lastModified();
+            this.etag = realFile == null ? null : PlayHandler.computeEtag(realFile, lastModified);
+            this.contentType = realFile == null ? null : MimeTypes.getContentType(realFile.getName(), "text/plain");
+        }
+    }
+
+    private static final class Key {
+
+        private final String domain;
+        private final String method;
+        private final String path;
+        private final int hash;
+
+        Key(String domain, String method, String path) {
+            this.domain = domain;
+            this.method = method;
+            this.path = path;
+            this.hash = Objects.hash(domain, method, path);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return path.equals(other.path) && method.equals(other.method) && Objects.equals(domain, other.domain);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
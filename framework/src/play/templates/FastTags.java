@@ -333,7 +333,16 @@ public class FastTags {
     }
 
     public static void _doLayout(Map<?, ?> args, Closure body, PrintWriter out, ExecutableTemplate template, int fromLine) {
-        out.print("____%LAYOUT%____");
+        // A streamed template passes its output to the layout, look for it from a tag up to the layout
+        Map<?, ?> variables = template.getBinding().getVariables();
+        while (variables != null && !variables.containsKey("_layoutBody")) {
+            variables = (Map<?, ?>) variables.get("_caller");
+        }
+        if (variables != null) {
+            out.append((CharSequence) variables.get("_layoutBody"));
+        } else {
+            out.print("____%LAYOUT%____");
+        }
     }
 
     public static void _get(Map<?, ?> args, Closure body, PrintWriter out, ExecutableTemplate template, int fromLine) {
@@ -414,8 +423,7 @@ public class FastTags {
                 name = ct + name.substring(1);
             }
             BaseTemplate t = (BaseTemplate) TemplateLoader.load(name);
-            Map<String, Object> newArgs = new HashMap<>();
-            newArgs.putAll(template.getBinding().getVariables());
+            Map<String, Object> newArgs = new LayeredMap(template.getBinding().getVariables());
             newArgs.put("_isInclude", true);
             t.internalRender(newArgs);
         } catch (TemplateNotFoundException e) {
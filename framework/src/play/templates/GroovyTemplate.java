@@ -1,12 +1,18 @@
 package play.templates;
 
 import java.io.File;
+import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.io.Writer;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
@@ -24,6 +30,7 @@ import org.codehaus.groovy.control.messages.ExceptionMessage;
 import org.codehaus.groovy.control.messages.Message;
 import org.codehaus.groovy.control.messages.SimpleMessage;
 import org.codehaus.groovy.control.messages.SyntaxErrorMessage;
+import org.codehaus.groovy.runtime.GroovyCategorySupport;
 import org.codehaus.groovy.runtime.InvokerHelper;
 import org.codehaus.groovy.syntax.SyntaxException;
 import org.codehaus.groovy.tools.GroovyClass;
@@ -71,6 +78,14 @@ public class GroovyTemplate extends BaseTemplate {
 
     static final Map<String, SafeFormatter> safeFormatters = new HashMap<>();
 
+    /**
+     * The helpers bound to every template, they have no state
+     */
+    private static final Play PLAY = new Play();
+    private static final Messages MESSAGES = new Messages();
+
+    private volatile ScriptFactory scriptFactory;
+
     static {
         safeFormatters.put("csv", new SafeCSVFormatter());
         safeFormatters.put("html", new SafeHTMLFormatter());
@@ -248,14 +263,44 @@ public class GroovyTemplate extends BaseTemplate {
 
     protected Binding setUpBindingVariables(Map<String, Object> args) {
         Binding binding = new Binding(args);
-        binding.setVariable("play", new Play());
-        binding.setVariable("messages", new Messages());
+        binding.setVariable("play", PLAY);
+        binding.setVariable("messages", MESSAGES);
         binding.setVariable("lang", Lang.get());
         return binding;
     }
 
+    @Override
+    public void render(Map<String, Object> args, Writer out) {
+        try {
+            internalRender(new LayeredMap(args), out);
+        } finally {
+            currentTemplate.remove();
+        }
+    }
+
+    /**
+     * @return A new instance of the compiled template, from the constructor looked up once per compiled class
+     */
+    private ExecutableTemplate newScript(Binding binding) {
+        ScriptFactory factory = scriptFactory;
+        if (factory == null || factory.scriptClass != compiledTemplate) {
+            factory = new ScriptFactory(compiledTemplate);
+            scriptFactory = factory;
+        }
+        return factory.create(binding);
+    }
+
     @Override
     protected String internalRender(Map<String, Object> args) {
+        return internalRender(args, null);
+    }
+
+    /**
+     * @param sink
+     *            The writer to stream the output to, or null to return it
+     * @return The template result, or null when it was written to the sink
+     */
+    protected String internalRender(Map<String, Object> args, Writer sink) {
         compile();
 
         Binding binding = this.setUpBindingVariables(args);
@@ -266,6 +311,7 @@ public class GroovyTemplate extends BaseTemplate {
             binding.setVariable("_response_encoding", currentResponse.encoding);
         }
         StringWriter writer = null;
+        StreamingWriter streamingWriter = null;
         Boolean applyLayouts = false;
 
         // must check if this is the first template being rendered..
@@ -278,15 +324,22 @@ public class GroovyTemplate extends BaseTemplate {
             // to write the output to..
             applyLayouts = true;
             layout.set(null);
-            writer = new StringWriter();
-            binding.setProperty("out", new PrintWriter(writer));
+            if (sink == null) {
+                writer = new StringWriter();
+                binding.setProperty("out", new PrintWriter(writer));
+            } else {
+                streamingWriter = new StreamingWriter(sink,
+                        Integer.parseInt(Play.configuration.getProperty("play.templates.streaming.bufferSize", "8192")),
+                        args.containsKey("_isLayout"));
+                binding.setProperty("out", new PrintWriter(streamingWriter));
+            }
             currentTemplate.set(this);
         }
         if (!args.containsKey("_body") && !args.containsKey("_isLayout") && !args.containsKey("_isInclude")) {
             layoutData.set(new HashMap<>());
             TagContext.init();
         }
-        ExecutableTemplate t = (ExecutableTemplate) InvokerHelper.createScript(compiledTemplate, binding);
+        ExecutableTemplate t = newScript(binding);
         t.init(this);
         Monitor monitor = null;
         try {
@@ -323,8 +376,11 @@ public class GroovyTemplate extends BaseTemplate {
                 monitor.stop();
             }
         }
+        if (streamingWriter != null) {
+            return streamLayout(args, sink, streamingWriter);
+        }
         if (applyLayouts && layout.get() != null) {
-            Map<String, Object> layoutArgs = new HashMap<>(args);
+            Map<String, Object> layoutArgs = new LayeredMap(args);
             layoutArgs.remove("out");
             layoutArgs.put("_isLayout", true);
             String layoutR = layout.get().internalRender(layoutArgs);
@@ -348,6 +404,38 @@ public class GroovyTemplate extends BaseTemplate {
         return null;
     }
 
+    /**
+     * Complete a streamed rendering: send the rest of the output, or render the layout with the output as its deferred
+     * body.
+     */
+    private String streamLayout(Map<String, Object> args, Writer sink, StreamingWriter streamingWriter) {
+        BaseTemplate layoutTemplate = layout.get();
+        try {
+            if (layoutTemplate == null) {
+                streamingWriter.close();
+                return null;
+            }
+            if (streamingWriter.isCommitted()) {
+                throw new TemplateExecutionException(this, null, "#{extends} must come first in a template rendered as a stream",
+                        new TagInternalException("#{extends} must come first in a template rendered as a stream"));
+            }
+            Map<String, Object> layoutArgs = new LayeredMap(args);
+            layoutArgs.remove("out");
+            layoutArgs.put("_isLayout", true);
+            layoutArgs.put("_layoutBody", streamingWriter.deferred());
+            if (layoutTemplate instanceof GroovyTemplate) {
+                ((GroovyTemplate) layoutTemplate).internalRender(layoutArgs, sink);
+            } else {
+                String layoutR = layoutTemplate.internalRender(layoutArgs);
+                sink.write(layoutR.replace("____%LAYOUT%____", streamingWriter.deferred()).trim());
+                sink.flush();
+            }
+            return null;
+        } catch (IOException e) {
+            throw new UnexpectedException(e);
+        }
+    }
+
     @Override
     protected Throwable cleanStackTrace(Throwable e) {
         List<StackTraceElement> cleanTrace = new ArrayList<>();
@@ -385,11 +473,51 @@ public class GroovyTemplate extends BaseTemplate {
         return e;
     }
 
+    /**
+     * Creates the instances of a compiled template. Templates extending ExecutableTemplate have no constructor taking
+     * the binding, that InvokerHelper.createScript looks up and fails to find on each rendering.
+     */
+    private static final class ScriptFactory {
+
+        private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+
+        final Class<?> scriptClass;
+        private final MethodHandle constructor;
+
+        ScriptFactory(Class<?> scriptClass) {
+            this.scriptClass = scriptClass;
+            MethodHandle found;
+            try {
+                found = MethodHandles.publicLookup().findConstructor(scriptClass, MethodType.methodType(void.class)).asType(CONSTRUCTOR_TYPE);
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                found = null;
+            }
+            this.constructor = found;
+        }
+
+        ExecutableTemplate create(Binding binding) {
+            if (constructor == null) {
+                return (ExecutableTemplate) InvokerHelper.createScript(scriptClass, binding);
+            }
+            try {
+                ExecutableTemplate script = (ExecutableTemplate) (Object) constructor.invokeExact();
+                script.setBinding(binding);
+                return script;
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new UnexpectedException(e);
+            }
+        }
+    }
+
     /**
      * Groovy template
      */
     public abstract static class ExecutableTemplate extends Script {
 
+        private static final ThreadLocal<Boolean> extensionsInUse = new ThreadLocal<>();
+
         // Leave this field public to allow custom creation of TemplateExecutionException from different pkg
         public GroovyTemplate template;
         private String extension;
@@ -462,6 +590,37 @@ public class GroovyTemplate extends BaseTemplate {
         }
 
         
+        /**
+         * Run the template with the template extensions. They are applied once per thread: the tags and templates
+         * rendered by a template use the extensions already applied.
+         *
+         * @param classNames
+         *            The extensions classes
+         * @param body
+         *            The template body
+         * @return What the body returns
+         * @throws Exception
+         *             if problem occured when loading an extensions class
+         */
+        public Object __useExtensions(List<String> classNames, Closure<?> body) throws Exception {
+            if (extensionsInUse.get() != null) {
+                return body.call();
+            }
+            List<Class<?>> categories = new ArrayList<>(classNames.size());
+            for (String className : classNames) {
+                Class<?> extensionsClass = __loadClass(className);
+                if (extensionsClass != null) {
+                    categories.add(extensionsClass);
+                }
+            }
+            extensionsInUse.set(Boolean.TRUE);
+            try {
+                return GroovyCategorySupport.use(Collections.unmodifiableList(categories), body);
+            } finally {
+                extensionsInUse.remove();
+            }
+        }
+
         /**
          * Load the class from Pay Class loader
          * 
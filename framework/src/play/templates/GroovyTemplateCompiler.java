@@ -141,18 +141,15 @@ public class GroovyTemplateCompiler extends TemplateCompiler {
         String className = "Template_" + uniqueNumberForTemplateFile;
         print(className);
         println(" extends play.templates.GroovyTemplate.ExecutableTemplate {");
-        println("public Object run() { use(play.templates.JavaExtensions) {");
+        print("public Object run() { __useExtensions(['play.templates.JavaExtensions'");
         for (String n : extensionsClassnames) {
-            println("use(__loadClass('" + n + "')) {");
+            print(", '" + n + "'");
         }
+        println("]) {");
     }
 
     @Override
-    @SuppressWarnings("unused")
     protected void end() {
-        for (String n : extensionsClassnames) {
-            println(" } ");
-        }
         println("} }");
         println("}");
     }
@@ -0,0 +1,82 @@
+package play.templates;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The arguments of a template rendered with the arguments of another one, without copying them: the other arguments
+ * are read through, and the changes are kept in this map only.
+ */
+final class LayeredMap extends AbstractMap<String, Object> {
+
+    private static final Object REMOVED = new Object();
+
+    private final Map<String, Object> parent;
+    private final Map<String, Object> local = new HashMap<>();
+
+    LayeredMap(Map<String, Object> parent) {
+        this.parent = parent;
+    }
+
+    @Override
+    public Object get(Object key) {
+        Object value = local.get(key);
+        if (value == null && !local.containsKey(key)) {
+            return parent.get(key);
+        }
+        return value == REMOVED ? null : value;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        Object value = local.get(key);
+        if (value == null && !local.containsKey(key)) {
+            return parent.containsKey(key);
+        }
+        return value != REMOVED;
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        Object previous = get(key);
+        local.put(key, value);
+        return previous;
+    }
+
+    @Override
+    public Object remove(Object key) {
+        if (!(key instanceof String) || !containsKey(key)) {
+            return null;
+        }
+        Object previous = get(key);
+        local.put((String) key, REMOVED);
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        local.clear();
+        for (String key : parent.keySet()) {
+            local.put(key, REMOVED);
+        }
+    }
+
+    /**
+     * @return A snapshot of the arguments, read-only
+     */
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        Map<String, Object> merged = new HashMap<>(parent);
+        for (Entry<String, Object> entry : local.entrySet()) {
+            if (entry.getValue() == REMOVED) {
+                merged.remove(entry.getKey());
+            } else {
+                merged.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return Collections.unmodifiableMap(merged).entrySet();
+    }
+}
@@ -0,0 +1,121 @@
+package play.templates;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Template output sent to a sink while the template renders, every time the buffer is full.
+ * <p>
+ * When the template extends a layout its output is the layout body, which must be rendered before the layout (it may
+ * set values the layout gets). That output is then deferred: it is kept until the layout writes it at
+ * <code>#{doLayout /}</code>.
+ */
+class StreamingWriter extends Writer {
+
+    private final Writer sink;
+    private final int bufferSize;
+    private final boolean trim;
+    private final StringBuilder pending;
+    private char[] chars;
+    private boolean committed;
+
+    /**
+     * @param sink
+     *            The writer the output is sent to
+     * @param bufferSize
+     *            The number of characters to buffer before writing to the sink
+     * @param trim
+     *            Whether to trim the output, as done for templates rendered with a layout
+     */
+    StreamingWriter(Writer sink, int bufferSize, boolean trim) {
+        this.sink = sink;
+        this.bufferSize = bufferSize;
+        this.trim = trim;
+        this.pending = new StringBuilder(bufferSize);
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        pending.append(cbuf, off, len);
+        if (pending.length() >= bufferSize) {
+            commit(false);
+        }
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        pending.append(str, off, len);
+        if (pending.length() >= bufferSize) {
+            commit(false);
+        }
+    }
+
+    @Override
+    public Writer append(CharSequence csq) throws IOException {
+        pending.append(csq);
+        if (pending.length() >= bufferSize) {
+            commit(false);
+        }
+        return this;
+    }
+
+    /**
+     * The output is only sent when the buffer is full or the template is done, so the body of a layout is not sent
+     * before the template extends it.
+     */
+    @Override
+    public void flush() {
+    }
+
+    /**
+     * Send the remaining output to the sink, unless it is deferred.
+     */
+    @Override
+    public void close() throws IOException {
+        commit(true);
+    }
+
+    /**
+     * @return true if part of the output has already been sent to the sink
+     */
+    boolean isCommitted() {
+        return committed;
+    }
+
+    /**
+     * @return The output kept for the layout
+     */
+    CharSequence deferred() {
+        return pending;
+    }
+
+    private void commit(boolean last) throws IOException {
+        if (BaseTemplate.layout.get() != null) {
+            // This is the body of a layout, keep all of it
+            return;
+        }
+        int start = 0;
+        int end = pending.length();
+        if (trim) {
+            if (!committed) {
+                while (start < end && Character.isWhitespace(pending.charAt(start))) {
+                    start++;
+                }
+            }
+            // Trailing whitespace is only written if more output follows
+            while (end > start && Character.isWhitespace(pending.charAt(end - 1))) {
+                end--;
+            }
+        }
+        if (end > start) {
+            if (chars == null || chars.length < end - start) {
+                chars = new char[Math.max(bufferSize, end - start)];
+            }
+            pending.getChars(start, end, chars, 0);
+            sink.write(chars, 0, end - start);
+            committed = true;
+        }
+        pending.delete(0, last ? pending.length() : end);
+        sink.flush();
+    }
+}
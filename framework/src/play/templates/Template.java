@@ -1,8 +1,12 @@
 package play.templates;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.HashMap;
 import java.util.Map;
 
+import play.exceptions.UnexpectedException;
+
 public abstract class Template {
 
     public String name;
@@ -19,13 +23,31 @@ public abstract class Template {
      */
     public String render(Map<String, Object> args) {
         // starts the internal recursive rendering process with
-        // a copy of the passed args-map. This is done
+        // a layer over the passed args-map. This is done
         // to prevent us from pollution the users map with
         // template-rendering-specific internal data
         //
         // Since the original args is not polluted it can be used as input
         // to another rendering operation later
-        return internalRender(new HashMap<>(args));
+        return internalRender(new LayeredMap(args));
+    }
+
+    /**
+     * Renders the template to a writer, without modifying the args-map. Templates supporting it write their output
+     * while rendering instead of building the complete result first.
+     * 
+     * @param args
+     *            map containing data binding info
+     * @param out
+     *            the writer to render to
+     */
+    public void render(Map<String, Object> args, Writer out) {
+        try {
+            out.write(render(args));
+            out.flush();
+        } catch (IOException e) {
+            throw new UnexpectedException(e);
+        }
     }
 
     /**
@@ -202,6 +202,44 @@ public class Fixtures {
      *            indicate if the file must interpreted as a Template
      */
     public static void loadModels(boolean loadAsTemplate, String name) {
+        loadModels(loadAsTemplate, name, null);
+    }
+
+    /**
+     * Load Model instances from YAML files and persist them in bulk: the models are saved together per type, with
+     * {@link Model.Factory#saveAll(Collection)}, once enough of them are loaded or once a model refers to one of them.
+     * Unlike {@link #loadModels(String...)}, the models may be detached once saved, and their {@link Model#_save()}
+     * method may not be called.
+     * 
+     * @param names
+     *            Name of a YAML files somewhere in the classpath (or conf/)
+     */
+    public static void loadModelsInBulk(String... names) {
+        loadModelsInBulk(true, names);
+    }
+
+    /**
+     * Load Model instances from YAML files and persist them in bulk
+     * 
+     * @param loadAsTemplate
+     *            Indicate if the YAML file should be compile first as a template
+     * @param names
+     *            Name of a YAML files somewhere in the classpath (or conf/)
+     * @see #loadModelsInBulk(String...)
+     */
+    public static void loadModelsInBulk(boolean loadAsTemplate, String... names) {
+        for (String name : names) {
+            PendingModels bulk = new PendingModels();
+            try {
+                loadModels(loadAsTemplate, name, bulk);
+            } catch (RuntimeException e) {
+                bulk.discard();
+                throw e;
+            }
+        }
+    }
+
+    private static void loadModels(boolean loadAsTemplate, String name, PendingModels bulk) {
         VirtualFile yamlFile = null;
         String type = null;
         String id = null;
@@ -257,7 +295,7 @@ public class Fixtures {
 
                         @SuppressWarnings("unchecked")
                         Class<Model> cType = (Class<Model>) Play.classloader.loadClass(type);
-                        Map<String, String[]> resolvedFields = resolveDependencies(cType, fields);
+                        Map<String, String[]> resolvedFields = resolveDependencies(cType, fields, bulk);
 
                         RootParamNode rootParamNode = ParamNode.convert(resolvedFields);
                         // This is kind of hacky. This basically says that if we
@@ -275,12 +313,11 @@ public class Fixtures {
 	                                }
                                 }
                             }
-                            model._save();
-
-                            Class<?> tType = cType;
-                            while (!tType.equals(Object.class)) {
-                                idCache.put(tType.getName() + "-" + id, Model.Manager.factoryFor(cType).keyValue(model));
-                                tType = tType.getSuperclass();
+                            if (bulk == null) {
+                                model._save();
+                                cacheId(cType, id, Model.Manager.factoryFor(cType).keyValue(model));
+                            } else {
+                                bulk.add(cType, id, model);
                             }
                         } else {
                             idCache.put(cType.getName() + "-" + id, Binder.bind(rootParamNode, "object", cType, cType, annotations));
@@ -288,6 +325,9 @@ public class Fixtures {
                     }
                 }
             }
+            if (bulk != null) {
+                bulk.save();
+            }
             // Most persistence engine will need to clear their state
             Play.pluginCollection.afterFixtureLoad();
         } catch (ClassNotFoundException e) {
@@ -532,11 +572,74 @@ public class Fixtures {
         return serialized;
     }
 
-    @SuppressWarnings("unchecked")
+    private static void cacheId(Class<?> type, String id, Object key) {
+        for (Class<?> tType = type; !tType.equals(Object.class); tType = tType.getSuperclass()) {
+            idCache.put(tType.getName() + "-" + id, key);
+        }
+    }
+
+    /**
+     * The models loaded in bulk and not saved yet. They are in the idCache instead of their key until they are saved.
+     */
+    private static class PendingModels {
+
+        private static final int MAX_PENDING = 1000;
+
+        private final List<Model> models = new ArrayList<>();
+        private final List<String> ids = new ArrayList<>();
+
+        void add(Class<? extends Model> type, String id, Model model) {
+            models.add(model);
+            ids.add(id);
+            cacheId(type, id, model);
+            if (models.size() >= MAX_PENDING) {
+                save();
+            }
+        }
+
+        /**
+         * Save the pending models per type, the models of different types do not refer to each other as a model
+         * referred to is saved before the model referring to it is loaded.
+         */
+        void save() {
+            Map<Class<? extends Model>, List<Model>> modelsByType = new LinkedHashMap<>();
+            for (Model model : models) {
+                modelsByType.computeIfAbsent(model.getClass(), t -> new ArrayList<>()).add(model);
+            }
+            for (Map.Entry<Class<? extends Model>, List<Model>> typeModels : modelsByType.entrySet()) {
+                Model.Manager.factoryFor(typeModels.getKey()).saveAll(typeModels.getValue());
+            }
+            for (int i = 0; i < models.size(); i++) {
+                Model model = models.get(i);
+                cacheId(model.getClass(), ids.get(i), Model.Manager.factoryFor(model.getClass()).keyValue(model));
+            }
+            models.clear();
+            ids.clear();
+        }
+
+        /**
+         * Remove the models not saved from the idCache
+         */
+        void discard() {
+            for (int i = 0; i < models.size(); i++) {
+                for (Class<?> tType = models.get(i).getClass(); !tType.equals(Object.class); tType = tType.getSuperclass()) {
+                    idCache.remove(tType.getName() + "-" + ids.get(i));
+                }
+            }
+            models.clear();
+            ids.clear();
+        }
+    }
+
     /**
      * Resolve dependencies between objects using their keys. For each referenced objects, it sets the foreign key
      */
     static Map<String, String[]> resolveDependencies(Class<Model> type, Map<String, String[]> yml) {
+        return resolveDependencies(type, yml, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, String[]> resolveDependencies(Class<Model> type, Map<String, String[]> yml, PendingModels bulk) {
 
         // Contains all the fields (object properties) we should look up
         Set<Field> fields = new HashSet<>();
@@ -570,6 +673,10 @@ public class Fixtures {
                             throw new RuntimeException(
                                     "No previous reference found for object of type " + field.name + " with key " + ids[i]);
                         }
+                        if (bulk != null && idCache.get(id) instanceof Model) {
+                            // Not saved yet, so without a key
+                            bulk.save();
+                        }
                         // We now get the primary key
                         resolvedIds[i] = idCache.get(id).toString();
                     }
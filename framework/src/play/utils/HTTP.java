@@ -99,7 +99,7 @@ public class HTTP {
      * @see <a href="http://www.faqs.org/rfcs/rfc2616.html">RFC 2616 - Hypertext Transfer Protocol - Section 14.26</a>
      */
     public static boolean isModified(String etag, long last, String browserEtag, String ifModifiedSince) {
-        if (browserEtag != null && !browserEtag.equals(etag)) {
+        if (browserEtag != null && !browserEtag.equals(etag) && !isEncodedEtag(browserEtag, etag)) {
             return true;
         }
 
@@ -113,4 +113,26 @@ public class HTTP {
         }
         return true;
     }
+
+    /**
+     * @param etag
+     *            The entity tag of the content
+     * @param encoding
+     *            The content coding applied to the content, like gzip
+     * @return The entity tag of the encoded content, like "1234-gzip" for "1234"
+     */
+    public static String encodedEtag(String etag, String encoding) {
+        int quote = etag.lastIndexOf('"');
+        if (quote > 0) {
+            return etag.substring(0, quote) + "-" + encoding + etag.substring(quote);
+        }
+        return etag + "-" + encoding;
+    }
+
+    /**
+     * @return true if browserEtag is the entity tag of the content tagged etag, compressed with gzip or deflate
+     */
+    public static boolean isEncodedEtag(String browserEtag, String etag) {
+        return etag != null && (browserEtag.equals(encodedEtag(etag, "gzip")) || browserEtag.equals(encodedEtag(etag, "deflate")));
+    }
 }
@@ -19,6 +19,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.FutureTask;
 
 import javassist.ClassPool;
@@ -37,11 +38,15 @@ import play.mvc.With;
  */
 public class Java {
 
-    protected static JavaWithCaching _javaWithCaching = new JavaWithCaching();
-    protected static ApplicationClassloaderState _lastKnownApplicationClassloaderState = Play.classloader.currentState;
+    protected static volatile JavaWithCaching _javaWithCaching = new JavaWithCaching();
+    protected static volatile ApplicationClassloaderState _lastKnownApplicationClassloaderState = Play.classloader.currentState;
     private static final Object _javaWithCachingLock = new Object();
 
     protected static JavaWithCaching getJavaWithCaching() {
+        if (Play.classloader.currentState.equals(_lastKnownApplicationClassloaderState)) {
+            // Nothing has been compiled since the cache was created
+            return _javaWithCaching;
+        }
         synchronized (_javaWithCachingLock) {
             // has the state of the ApplicationClassloader changed?
             ApplicationClassloaderState currentApplicationClassloaderState = Play.classloader.currentState;
@@ -49,8 +54,8 @@ public class Java {
                 // it has changed.
                 // we must drop our current _javaWithCaching and create a new one...
                 // and start the caching over again.
-                _lastKnownApplicationClassloaderState = currentApplicationClassloaderState;
                 _javaWithCaching = new JavaWithCaching();
+                _lastKnownApplicationClassloaderState = currentApplicationClassloaderState;
 
             }
             return _javaWithCaching;
@@ -491,9 +496,8 @@ class JavaWithCaching {
 
     // cache follows..
 
-    private final Object classAndAnnotationsLock = new Object();
-    private final Map<ClassAndAnnotation, List<Method>> classAndAnnotation2Methods = new HashMap<>();
-    private final Map<Class<?>, List<Method>> class2AllMethodsWithAnnotations = new HashMap<>();
+    private final Map<ClassAndAnnotation, List<Method>> classAndAnnotation2Methods = new ConcurrentHashMap<>();
+    private final Map<Class<?>, List<Method>> class2AllMethodsWithAnnotations = new ConcurrentHashMap<>();
 
     /**
      * Find all annotated method from a class
@@ -510,34 +514,30 @@ class JavaWithCaching {
             return new ArrayList<>(0);
         }
 
-        synchronized (classAndAnnotationsLock) {
+        // first look in cache
 
-            // first look in cache
+        ClassAndAnnotation key = new ClassAndAnnotation(clazz, annotationType);
 
-            ClassAndAnnotation key = new ClassAndAnnotation(clazz, annotationType);
-
-            List<Method> methods = classAndAnnotation2Methods.get(key);
-            if (methods != null) {
-                // cache hit
-                return methods;
-            }
-            // have to resolve it.
-            methods = new ArrayList<>();
+        List<Method> methods = classAndAnnotation2Methods.get(key);
+        if (methods != null) {
+            // cache hit
+            return methods;
+        }
+        // have to resolve it.
+        methods = new ArrayList<>();
 
-            // get list of all annotated methods on this class..
-            for (Method method : findAllAnnotatedMethods(clazz)) {
-                if (method.isAnnotationPresent(annotationType)) {
-                    methods.add(method);
-                }
+        // get list of all annotated methods on this class..
+        for (Method method : findAllAnnotatedMethods(clazz)) {
+            if (method.isAnnotationPresent(annotationType)) {
+                methods.add(method);
             }
+        }
 
-            sortByPriority(methods, annotationType);
-
-            // store it in cache
-            classAndAnnotation2Methods.put(key, methods);
+        sortByPriority(methods, annotationType);
 
-            return methods;
-        }
+        // store it in cache, unless another thread did it first
+        List<Method> cached = classAndAnnotation2Methods.putIfAbsent(key, methods);
+        return cached != null ? cached : methods;
     }
 
     private void sortByPriority(List<Method> methods, final Class<? extends Annotation> annotationType) {
@@ -566,34 +566,38 @@ class JavaWithCaching {
      * @return A list of method object
      */
     public List<Method> findAllAnnotatedMethods(Class<?> clazz) {
-        synchronized (classAndAnnotationsLock) {
-            // first check the cache..
-            List<Method> methods = class2AllMethodsWithAnnotations.get(clazz);
-            if (methods != null) {
-                // cache hit
-                return methods;
-            }
-            // have to resolve it..
-            methods = new ArrayList<>();
-            // Clazz can be null if we are looking at an interface / annotation
-            while (clazz != null && !clazz.equals(Object.class)) {
-                for (Method method : clazz.getDeclaredMethods()) {
-                    if (method.getAnnotations().length > 0) {
-                        methods.add(method);
-                    }
+        // first check the cache..
+        List<Method> methods = class2AllMethodsWithAnnotations.get(clazz);
+        if (methods != null) {
+            // cache hit
+            return methods;
+        }
+        // have to resolve it..
+        methods = new ArrayList<>();
+        // Clazz can be null if we are looking at an interface / annotation
+        Class<?> current = clazz;
+        while (current != null && !current.equals(Object.class)) {
+            for (Method method : current.getDeclaredMethods()) {
+                if (method.getAnnotations().length > 0) {
+                    methods.add(method);
                 }
-                if (clazz.isAnnotationPresent(With.class)) {
-                    for (Class withClass : clazz.getAnnotation(With.class).value()) {
-                        methods.addAll(findAllAnnotatedMethods(withClass));
-                    }
+            }
+            if (current.isAnnotationPresent(With.class)) {
+                for (Class withClass : current.getAnnotation(With.class).value()) {
+                    methods.addAll(findAllAnnotatedMethods(withClass));
                 }
-                clazz = clazz.getSuperclass();
             }
+            current = current.getSuperclass();
+        }
 
-            // store it in the cache.
-            class2AllMethodsWithAnnotations.put(clazz, methods);
-            return methods;
+        // store it in the cache, unless another thread did it first
+        if (clazz != null) {
+            List<Method> cached = class2AllMethodsWithAnnotations.putIfAbsent(clazz, methods);
+            if (cached != null) {
+                return cached;
+            }
         }
+        return methods;
     }
 
 }
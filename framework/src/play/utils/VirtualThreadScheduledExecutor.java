@@ -0,0 +1,225 @@
+package play.utils;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import play.Logger;
+
+/**
+ * A scheduled executor running each task on its own virtual thread (Java 21 or later), so a task blocked on I/O does
+ * not hold a pool thread.
+ * <p>
+ * Delayed tasks wait in the platform thread scheduler of this executor and start on a virtual thread when due.
+ * Periodic tasks keep running on the scheduler threads, so their fixed rate or delay still applies.
+ */
+public class VirtualThreadScheduledExecutor extends ScheduledThreadPoolExecutor {
+
+    private final ExecutorService virtualThreads;
+    private final AtomicInteger running = new AtomicInteger();
+
+    /**
+     * @param poolName
+     *            The prefix of the thread names
+     * @param schedulerSize
+     *            The number of platform threads running the delayed and periodic tasks
+     */
+    public VirtualThreadScheduledExecutor(String poolName, int schedulerSize) {
+        super(schedulerSize, new PThreadFactory(poolName + "-scheduler"), new ThreadPoolExecutor.AbortPolicy());
+        this.virtualThreads = newThreadPerTaskExecutor(poolName + "-virtual-");
+        if (virtualThreads == null) {
+            throw new UnsupportedOperationException("Virtual threads require Java 21 or later");
+        }
+    }
+
+    /**
+     * @return true if this JVM supports virtual threads
+     */
+    public static boolean isSupported() {
+        try {
+            Thread.class.getMethod("ofVirtual");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Create the executor of a Play pool.
+     *
+     * @param poolName
+     *            The pool name, prefix of the thread names
+     * @param poolSize
+     *            The number of threads of the pool, or of the scheduler with virtual threads
+     * @param useVirtualThreads
+     *            true to run the tasks on virtual threads, if the JVM supports them
+     * @return The executor
+     */
+    public static ScheduledThreadPoolExecutor create(String poolName, int poolSize, boolean useVirtualThreads) {
+        if (useVirtualThreads) {
+            if (isSupported()) {
+                return new VirtualThreadScheduledExecutor(poolName, poolSize);
+            }
+            Logger.warn("Virtual threads require Java 21 or later, the %s pool uses %s platform threads", poolName, poolSize);
+        }
+        return new ScheduledThreadPoolExecutor(poolSize, new PThreadFactory(poolName), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(prefix, 1).factory()), through reflection as Play
+     * still compiles for Java 11.
+     */
+    private static ExecutorService newThreadPerTaskExecutor(String namePrefix) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 1L);
+            ThreadFactory factory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class).invoke(null, factory);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        start(new FutureTask<>(command, null));
+    }
+
+    @Override
+    public Future<?> submit(Runnable task) {
+        return start(new FutureTask<>(task, null));
+    }
+
+    @Override
+    public <T> Future<T> submit(Runnable task, T result) {
+        return start(new FutureTask<>(task, result));
+    }
+
+    @Override
+    public <T> Future<T> submit(Callable<T> task) {
+        return start(new FutureTask<>(task));
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        FutureTask<Object> task = new FutureTask<>(command, null);
+        return new DelayedTask<>(super.schedule(() -> start(task), delay, unit), task);
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+        FutureTask<V> task = new FutureTask<>(callable);
+        return new DelayedTask<>(super.schedule(() -> start(task), delay, unit), task);
+    }
+
+    /**
+     * @return The number of tasks running, on virtual or scheduler threads
+     */
+    @Override
+    public int getActiveCount() {
+        return super.getActiveCount() + running.get();
+    }
+
+    @Override
+    public void shutdown() {
+        super.shutdown();
+        virtualThreads.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        List<Runnable> pending = super.shutdownNow();
+        pending.addAll(virtualThreads.shutdownNow());
+        return pending;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return super.isTerminated() && virtualThreads.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        return super.awaitTermination(timeout, unit) && virtualThreads.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    private <T> FutureTask<T> start(FutureTask<T> task) {
+        if (isShutdown()) {
+            throw new RejectedExecutionException("Executor is shut down");
+        }
+        virtualThreads.execute(() -> {
+            running.incrementAndGet();
+            try {
+                task.run();
+            } finally {
+                running.decrementAndGet();
+            }
+        });
+        return task;
+    }
+
+    /**
+     * A task started on a virtual thread once its delay has elapsed.
+     */
+    private static class DelayedTask<V> implements ScheduledFuture<V> {
+
+        private final ScheduledFuture<?> timer;
+        private final FutureTask<V> task;
+
+        DelayedTask(ScheduledFuture<?> timer, FutureTask<V> task) {
+            this.timer = timer;
+            this.task = task;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return timer.getDelay(unit);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return timer.compareTo(other);
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            timer.cancel(false);
+            return task.cancel(mayInterruptIfRunning);
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return task.isCancelled();
+        }
+
+        @Override
+        public boolean isDone() {
+            return task.isDone();
+        }
+
+        @Override
+        public V get() throws InterruptedException, ExecutionException {
+            return task.get();
+        }
+
+        @Override
+        public V get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+            return task.get(timeout, unit);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package models;
+
+import javax.persistence.ManyToOne;
+
+import play.test.FixturesTest.MockModel;
+
+public class ClassWithReference extends MockModel {
+
+	public String name;
+
+	@ManyToOne
+	public ClassWithStaticFinalMap target;
+}
@@ -0,0 +1,105 @@
+package play;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import play.Invoker.Invocation;
+import play.Invoker.WaitForTasksCompletion;
+import play.libs.F.Promise;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+import static org.junit.Assert.*;
+
+public class InvokerTest {
+
+    private ScheduledThreadPoolExecutor executor;
+    private final List<Runnable> resumed = new CopyOnWriteArrayList<>();
+
+    @Before
+    public void setUp() {
+        executor = Invoker.executor;
+        Invoker.executor = new ScheduledThreadPoolExecutor(1) {
+            @Override
+            public Future<?> submit(Runnable task) {
+                resumed.add(task);
+                return CompletableFuture.completedFuture(null);
+            }
+        };
+    }
+
+    @After
+    public void tearDown() {
+        Invoker.executor.shutdown();
+        Invoker.executor = executor;
+    }
+
+    @Test
+    public void completionStageResumesOnCompletion() {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        Invocation invocation = new TestInvocation();
+        int suspended = Invoker.suspendedInvocations();
+
+        WaitForTasksCompletion.waitFor(future, invocation);
+        assertEquals(suspended + 1, Invoker.suspendedInvocations());
+        assertTrue(resumed.isEmpty());
+
+        future.complete("done");
+        assertEquals(1, resumed.size());
+        assertSame(invocation, resumed.get(0));
+        assertEquals(suspended, Invoker.suspendedInvocations());
+    }
+
+    @Test
+    public void failedCompletionStageResumes() {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        Invocation invocation = new TestInvocation();
+
+        WaitForTasksCompletion.waitFor(future, invocation);
+        future.completeExceptionally(new IllegalStateException());
+        assertSame(invocation, resumed.get(0));
+    }
+
+    @Test
+    public void promiseResumesOnRedeem() {
+        Promise<String> promise = new Promise<>();
+        Invocation invocation = new TestInvocation();
+
+        WaitForTasksCompletion.waitFor(promise, invocation);
+        assertTrue(resumed.isEmpty());
+        promise.invoke("done");
+        assertSame(invocation, resumed.get(0));
+    }
+
+    @Test
+    public void otherFuturesArePolled() throws Exception {
+        FutureTask<String> task = new FutureTask<>(() -> "done");
+        Invocation invocation = new TestInvocation();
+        int suspended = Invoker.suspendedInvocations();
+
+        WaitForTasksCompletion.waitFor(task, invocation);
+        task.run();
+        for (int i = 0; i < 100 && resumed.isEmpty(); i++) {
+            Thread.sleep(10);
+        }
+        assertSame(invocation, resumed.get(0));
+        assertEquals(suspended, Invoker.suspendedInvocations());
+    }
+
+    private static class TestInvocation extends Invocation {
+        @Override
+        public void execute() {
+        }
+
+        @Override
+        public Invoker.InvocationContext getInvocationContext() {
+            return new Invoker.InvocationContext("Test");
+        }
+    }
+}
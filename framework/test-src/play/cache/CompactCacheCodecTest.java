@@ -0,0 +1,143 @@
+package play.cache;
+
+import org.junit.Before;
+import org.junit.Test;
+import play.Play;
+import play.PlayBuilder;
+import play.exceptions.ConfigurationException;
+import play.mvc.results.RenderText;
+
+import java.io.InvalidClassException;
+import java.io.Serializable;
+import java.io.StreamCorruptedException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.Assert.*;
+
+public class CompactCacheCodecTest {
+
+    @Before
+    public void setUp() {
+        new PlayBuilder().withConfiguration(new Properties()).build();
+    }
+
+    @Test
+    public void encodesSimpleValues() throws Exception {
+        CompactCacheCodec codec = new CompactCacheCodec(Collections.emptyList(), -1);
+        for (Object value : new Object[] { "", "héllo", 42, Long.MAX_VALUE, true, 3.14, new byte[] { 1, 2, 3 } }) {
+            Object decoded = codec.decode(codec.encode(value));
+            if (value instanceof byte[]) {
+                assertArrayEquals((byte[]) value, (byte[]) decoded);
+            } else {
+                assertEquals(value, decoded);
+            }
+        }
+        assertEquals(6, codec.encode(42).length);
+    }
+
+    @Test
+    public void encodesObjects() throws Exception {
+        CompactCacheCodec codec = new CompactCacheCodec(Collections.emptyList(), -1);
+        Map<String, Object> map = new HashMap<>();
+        map.put("date", new Date(0));
+        map.put("amount", new BigDecimal("12.50"));
+        map.put("tags", new ArrayList<>(Arrays.asList("a", "b")));
+        map.put("color", Color.RED);
+        assertEquals(map, codec.decode(codec.encode(map)));
+
+        Product product = new Product("Book", 12, Arrays.asList(new Product("Page", 1, null)));
+        Product decoded = (Product) codec.decode(codec.encode(product));
+        assertEquals("Book", decoded.name);
+        assertEquals(12, decoded.price);
+        assertEquals("Page", decoded.parts.get(0).name);
+
+        RenderText result = (RenderText) codec.decode(codec.encode(new RenderText("cached")));
+        assertEquals("cached", result.getText());
+    }
+
+    @Test
+    public void isSmallerThanJavaSerialization() throws Exception {
+        Product product = new Product("Book", 12, Arrays.asList(new Product("Page", 1, null)));
+        byte[] java = new JavaCacheCodec().encode(product);
+        byte[] compact = new CompactCacheCodec(Collections.emptyList(), -1).encode(product);
+        byte[] registered = new CompactCacheCodec(List.of(Product.class.getName()), -1).encode(product);
+        assertTrue(compact.length < java.length);
+        assertTrue(registered.length < compact.length);
+    }
+
+    @Test
+    public void compressesLargeValues() throws Exception {
+        String value = String.join("", Collections.nCopies(1000, "play "));
+        CompactCacheCodec codec = new CompactCacheCodec(Collections.emptyList(), 1024);
+        byte[] data = codec.encode(value);
+        assertEquals(1, data[0]);
+        assertTrue(data.length < 1024);
+        assertEquals(value, codec.decode(data));
+
+        assertEquals(0, codec.encode("small")[0]);
+        assertEquals(value, new CompactCacheCodec(Collections.emptyList(), -1).decode(data));
+    }
+
+    @Test
+    public void rejectsValuesWrittenWithOtherClasses() throws Exception {
+        byte[] data = new CompactCacheCodec(List.of(Product.class.getName()), -1).encode(new Product("Book", 12, null));
+        try {
+            new CompactCacheCodec(List.of(Discount.class.getName()), -1).decode(data);
+            fail("The registered classes differ");
+        } catch (InvalidClassException e) {
+            assertEquals(Discount.class.getName(), e.classname);
+        }
+    }
+
+    @Test(expected = StreamCorruptedException.class)
+    public void rejectsUnknownFormats() throws Exception {
+        new CompactCacheCodec(Collections.emptyList(), -1).decode(new byte[] { 7, 0 });
+    }
+
+    @Test
+    public void isChosenInConfiguration() {
+        assertTrue(CacheCodec.fromConfiguration() instanceof JavaCacheCodec);
+        Play.configuration.setProperty("cache.codec", "compact");
+        assertTrue(CacheCodec.fromConfiguration() instanceof CompactCacheCodec);
+        Play.configuration.setProperty("cache.codec", JavaCacheCodec.class.getName());
+        assertTrue(CacheCodec.fromConfiguration() instanceof JavaCacheCodec);
+        Play.configuration.setProperty("cache.codec", "missing.Codec");
+        try {
+            CacheCodec.fromConfiguration();
+            fail();
+        } catch (ConfigurationException e) {
+            // expected
+        }
+    }
+
+    public enum Color {
+        RED, GREEN
+    }
+
+    public static class Product implements Serializable {
+
+        String name;
+        int price;
+        List<Product> parts;
+
+        Product(String name, int price, List<Product> parts) {
+            this.name = name;
+            this.price = price;
+            this.parts = parts;
+        }
+    }
+
+    public static class Discount implements Serializable {
+
+        String name;
+        double rate;
+    }
+}
@@ -1,6 +1,10 @@
 package play.cache;
 
 import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
 import static org.fest.assertions.Assertions.assertThat;
 
 public class EhCacheImplTest {
@@ -29,4 +33,26 @@ public class EhCacheImplTest {
         assertThat(cache.get(key)).isNull();
 
     }
+
+    @Test
+    public void bulkOperations() throws Exception {
+        EhCacheImpl cache = EhCacheImpl.getInstance() != null ? EhCacheImpl.getInstance() : EhCacheImpl.newInstance();
+        cache.clear();
+
+        Map<String, Object> values = new HashMap<>();
+        values.put("EhCacheImplTest_a", 1);
+        values.put("EhCacheImplTest_b", "b");
+        cache.setMulti(values, 60);
+
+        Map<String, Object> read = cache.get(new String[] { "EhCacheImplTest_a", "EhCacheImplTest_b", "EhCacheImplTest_c" });
+        assertThat(read.get("EhCacheImplTest_a")).isEqualTo(1);
+        assertThat(read.get("EhCacheImplTest_b")).isEqualTo("b");
+        assertThat(read.containsKey("EhCacheImplTest_c")).isTrue();
+        assertThat(read.get("EhCacheImplTest_c")).isNull();
+        assertThat(cache.getAsync(new String[] { "EhCacheImplTest_a" }).get().get("EhCacheImplTest_a")).isEqualTo(1);
+
+        cache.deleteMulti(new String[] { "EhCacheImplTest_a", "EhCacheImplTest_b" });
+        assertThat(cache.get("EhCacheImplTest_a")).isNull();
+        assertThat(cache.get("EhCacheImplTest_b")).isNull();
+    }
 }
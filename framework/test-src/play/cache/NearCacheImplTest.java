@@ -0,0 +1,156 @@
+package play.cache;
+
+import org.junit.Test;
+import play.libs.F.Promise;
+
+import java.util.Map;
+
+import static java.util.Collections.singletonMap;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class NearCacheImplTest {
+
+    private final CacheImpl remote = mock(CacheImpl.class);
+
+    @Test
+    public void valuesReadAreKept() {
+        NearCacheImpl cache = new NearCacheImpl(remote, 10, 1024, 60);
+        when(remote.get("key")).thenReturn("value");
+
+        assertEquals("value", cache.get("key"));
+        assertEquals("value", cache.get("key"));
+
+        verify(remote, times(1)).get("key");
+        assertEquals(1, cache.hits());
+        assertEquals(1, cache.misses());
+    }
+
+    @Test
+    public void valuesWrittenAreKeptAndWrittenThrough() {
+        NearCacheImpl cache = new NearCacheImpl(remote, 10, 1024, 60);
+
+        cache.set("key", "value", 60);
+
+        verify(remote).set("key", "value", 60);
+        assertEquals("value", cache.get("key"));
+        verify(remote, times(0)).get("key");
+    }
+
+    @Test
+    public void valuesExpire() {
+        NearCacheImpl cache = new NearCacheImpl(remote, 10, 1024, 0);
+        when(remote.get("key")).thenReturn("value");
+
+        cache.get("key");
+        cache.get("key");
+
+        verify(remote, times(2)).get("key");
+        assertEquals(0, cache.hits());
+    }
+
+    @Test
+    public void deletedValuesAreNotKept() {
+        NearCacheImpl cache = new NearCacheImpl(remote, 10, 1024, 60);
+        cache.set("key", "value", 60);
+
+        cache.delete("key");
+
+        verify(remote).delete("key");
+        assertNull(cache.get("key"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void sizeIsBounded() {
+        NearCacheImpl cache = new NearCacheImpl(remote, 2, 1024, 60);
+
+        cache.set("a", 1, 60);
+        cache.set("b", 2, 60);
+        cache.set("c", 3, 60);
+        cache.set("large", new byte[2048], 60);
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.evictions());
+        assertEquals(3, cache.get("c"));
+        when(remote.get("large")).thenReturn(null);
+        assertNull(cache.get("large"));
+    }
+
+    @Test
+    public void valuesReadTheLeastRecentlyAreEvicted() throws Exception {
+        NearCacheImpl cache = new NearCacheImpl(remote, 3, 1024, 60);
+        cache.set("a", 1, 60);
+        cache.set("b", 2, 60);
+        cache.set("c", 3, 60);
+        Thread.sleep(1);
+        assertEquals(1, cache.get("a"));
+        assertEquals(3, cache.get("c"));
+
+        cache.set("d", 4, 60);
+
+        assertEquals(3, cache.size());
+        assertEquals(1, cache.evictions());
+        assertEquals(1, cache.get("a"));
+        assertEquals(3, cache.get("c"));
+        assertEquals(4, cache.get("d"));
+        verify(remote, times(0)).get(any(String.class));
+    }
+
+    @Test
+    public void valuesWrittenExpireAfterTheMaxAge() {
+        NearCacheImpl cache = new NearCacheImpl(remote, 10, 1024, 0);
+        when(remote.get("key")).thenReturn("value");
+
+        cache.set("key", "value", 60);
+        cache.get("key");
+
+        verify(remote, times(1)).get("key");
+    }
+
+    @Test
+    public void bulkReadsOnlyFetchMissingValues() {
+        NearCacheImpl cache = new NearCacheImpl(remote, 10, 1024, 60);
+        cache.set("a", 1, 60);
+        when(remote.get(any(String[].class))).thenReturn(singletonMap("b", 2));
+
+        Map<String, Object> values = cache.get(new String[] { "a", "b" });
+
+        assertEquals(1, values.get("a"));
+        assertEquals(2, values.get("b"));
+        verify(remote).get(new String[] { "b" });
+        assertEquals(2, cache.get("b"));
+    }
+
+    @Test
+    public void asyncReadsKeepTheValues() throws Exception {
+        NearCacheImpl cache = new NearCacheImpl(remote, 10, 1024, 60);
+        Promise<Object> read = new Promise<>();
+        when(remote.getAsync("key")).thenReturn(read);
+
+        Promise<Object> value = cache.getAsync("key");
+        read.invoke("value");
+
+        assertEquals("value", value.get());
+        assertEquals("value", cache.getAsync("key").get());
+        verify(remote, times(1)).getAsync("key");
+    }
+
+    @Test
+    public void bulkWritesAreKept() {
+        NearCacheImpl cache = new NearCacheImpl(remote, 10, 1024, 60);
+
+        cache.setMulti(singletonMap("key", "value"), 60);
+        verify(remote).setMulti(singletonMap("key", "value"), 60);
+        assertEquals("value", cache.get("key"));
+
+        cache.deleteMulti(new String[] { "key" });
+        verify(remote).deleteMulti(new String[] { "key" });
+        assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,77 @@
+package play.classloading;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import play.Play;
+import play.PlayBuilder;
+
+public class ApplicationClassloaderStateCacheTest {
+
+    private final ApplicationClassloaderStateCache<String, Object> cache = new ApplicationClassloaderStateCache<>();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Before
+    public void init() {
+        new PlayBuilder().build();
+    }
+
+    @After
+    public void cleanUp() {
+        Play.classloader = null;
+    }
+
+    private Object load(String key) {
+        loads.incrementAndGet();
+        return new Object();
+    }
+
+    @Test
+    public void keepsTheValuesOfAState() {
+        Object a = cache.get("a", this::load);
+        assertSame(a, cache.get("a", this::load));
+        assertNotSame(a, cache.get("b", this::load));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void loadsTheValuesAgainOnceTheApplicationIsReloaded() {
+        Object a = cache.get("a", this::load);
+        Play.classloader.currentState = new ApplicationClassloaderState();
+
+        Object reloaded = cache.get("a", this::load);
+        assertNotSame(a, reloaded);
+        assertSame(reloaded, cache.get("a", this::load));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void doesNotKeepTheValuesWithoutClassloader() {
+        Play.classloader = null;
+        assertNotSame(cache.get("a", this::load), cache.get("a", this::load));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void doesNotKeepFailures() {
+        try {
+            cache.get("a", key -> {
+                throw new IOException(key);
+            });
+            fail("Expected an IOException");
+        } catch (IOException e) {
+            assertEquals("a", e.getMessage());
+        }
+        cache.get("a", this::load);
+        assertEquals(1, loads.get());
+    }
+}
@@ -0,0 +1,127 @@
+package play.classloading;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import javassist.CtClass;
+import javassist.NotFoundException;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import play.Play;
+import play.PlayBuilder;
+import play.classloading.ApplicationClasses.ApplicationClass;
+import play.classloading.enhancers.Enhancer;
+import play.plugins.EnhancerPlugin;
+import play.plugins.PluginCollection;
+import play.vfs.VirtualFile;
+
+public class ParallelEnhancementTest {
+
+    private static final int MODELS = 12;
+
+    private File app;
+
+    @Before
+    public void writeApplication() throws Exception {
+        app = Files.createTempDirectory("enhance").toFile();
+        for (int i = 0; i < MODELS; i++) {
+            // Each model reads the properties of the previous one
+            String previous = i == 0 ? "Object" : "Model" + (i - 1);
+            write("models/Model" + i + ".java", "package models;\n"
+                    + "public class Model" + i + " {\n"
+                    + "    public String name;\n"
+                    + "    public int count;\n"
+                    + "    public " + previous + " previous;\n"
+                    + (i == 0 ? "" : "    public int total() { return count + previous.count + previous.total(); }\n")
+                    + (i == 0 ? "    public int total() { return count; }\n" : "")
+                    + "}\n");
+        }
+        write("controllers/Models.java", "package controllers;\n"
+                + "import models.*;\n"
+                + "public class Models extends play.mvc.Controller {\n"
+                + "    public static void show(String name) {\n"
+                + "        Model" + (MODELS - 1) + " model = new Model" + (MODELS - 1) + "();\n"
+                + "        model.name = name;\n"
+                + "        int total = model.total();\n"
+                + "        render(model, total);\n"
+                + "    }\n"
+                + "}\n");
+    }
+
+    @After
+    public void deleteApplication() throws Exception {
+        FileUtils.deleteDirectory(app);
+    }
+
+    @Test
+    public void parallelEnhancementMatchesSerialEnhancement() {
+        Map<String, byte[]> serial = enhance(1);
+        Map<String, byte[]> parallel = enhance(4);
+
+        assertEquals(MODELS + 1, serial.size());
+        assertEquals(serial.keySet(), parallel.keySet());
+        for (Map.Entry<String, byte[]> entry : serial.entrySet()) {
+            assertArrayEquals(entry.getKey(), entry.getValue(), parallel.get(entry.getKey()));
+        }
+    }
+
+    @Test
+    public void enhancingThreadsHaveTheirOwnClassPools() throws Exception {
+        CtClass shared = Enhancer.newClassPool().get(String.class.getName());
+        assertSame(shared, Enhancer.newClassPool().get(String.class.getName()));
+
+        CtClass[] own = new CtClass[2];
+        Enhancer.withOwnClassPool(() -> {
+            try {
+                own[0] = Enhancer.newClassPool().get(String.class.getName());
+                own[1] = Enhancer.newClassPool().get(String.class.getName());
+            } catch (NotFoundException e) {
+                throw new AssertionError(e);
+            }
+        });
+        assertNotSame(shared, own[0]);
+        assertSame(own[0], own[1]);
+        assertSame(shared, Enhancer.newClassPool().get(String.class.getName()));
+    }
+
+    private Map<String, byte[]> enhance(int parallelism) {
+        Properties configuration = new Properties();
+        configuration.setProperty("play.enhancer.parallelism", String.valueOf(parallelism));
+        new PlayBuilder().withConfiguration(configuration).build();
+        Play.javaPath = Collections.singletonList(VirtualFile.open(app));
+        Play.pluginCollection = new PluginCollection() {
+            {
+                addPlugin(new EnhancerPlugin());
+            }
+        };
+        Play.classloader = new ApplicationClassloader();
+
+        Play.classloader.getAllClasses();
+
+        Map<String, byte[]> enhanced = new HashMap<>();
+        for (ApplicationClass applicationClass : Play.classes.all()) {
+            assertNotNull(applicationClass.name, applicationClass.javaClass);
+            enhanced.put(applicationClass.name, applicationClass.enhancedByteCode);
+        }
+        return enhanced;
+    }
+
+    private void write(String path, String source) throws Exception {
+        FileUtils.writeStringToFile(new File(app, path), source, UTF_8);
+    }
+}
@@ -3,10 +3,12 @@ package play.data.binding;
 import org.junit.Test;
 import play.PlayBuilder;
 import play.data.validation.ValidationBuilder;
+import play.exceptions.UnexpectedException;
 
 import java.util.HashMap;
 import java.util.Map;
 import static org.fest.assertions.Assertions.assertThat;
+import static org.junit.Assert.fail;
 
 public class BeanWrapperTest {
 
@@ -69,4 +71,58 @@ public class BeanWrapperTest {
 
 
     }
+
+    static class GeneratedBean {
+        public String a;
+        public int[] values;
+        private long l;
+
+        public long getL() {
+            return l;
+        }
+
+        public void setL(long l) {
+            this.l = l;
+        }
+    }
+
+    @Test
+    public void propertiesAreAccessedThroughAGeneratedAccessor() {
+        BeanWrapper wrapper = BeanWrapper.forClass(GeneratedBean.class);
+        assertThat(BeanWrapper.forClass(GeneratedBean.class)).isSameAs(wrapper);
+
+        GeneratedBean bean = new GeneratedBean();
+        wrapper.set("a", bean, "a1");
+        wrapper.set("values", bean, new int[] { 1, 2 });
+        wrapper.set("l", bean, 3L);
+        assertThat(bean.a).isEqualTo("a1");
+        assertThat(bean.values).isEqualTo(new int[] { 1, 2 });
+        assertThat(bean.l).isEqualTo(3L);
+
+        assertThat(wrapper.getWrappers()).hasSize(3);
+        for (BeanWrapper.Property property : wrapper.getWrappers()) {
+            assertThat(property.accessor).isNotNull();
+            assertThat(property.getValue(bean)).isNotNull();
+        }
+
+        try {
+            wrapper.set("l", bean, null);
+            fail("A primitive cannot be null");
+        } catch (UnexpectedException e) {
+            assertThat(bean.l).isEqualTo(3L);
+        }
+    }
+
+    @Test
+    public void privateClassesAreAccessedWithReflection() {
+        BeanWrapper wrapper = BeanWrapper.forClass(Bean.class);
+        Bean bean = new Bean();
+        wrapper.set("i", bean, 2);
+
+        assertThat(bean.i).isEqualTo(2);
+        for (BeanWrapper.Property property : wrapper.getWrappers()) {
+            assertThat(property.accessor).isNull();
+            assertThat(property.getValue(bean)).isNotNull();
+        }
+    }
 }
@@ -0,0 +1,150 @@
+package play.data.validation;
+
+import org.junit.Before;
+import org.junit.Test;
+import play.Play;
+import play.PlayBuilder;
+import play.classloading.ApplicationClassloaderState;
+import play.data.binding.As;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class ValidationPluginTest {
+
+    @Before
+    public void setUp() {
+        new PlayBuilder().build();
+    }
+
+    @Test
+    public void validatesOnlyActionsWithConstraints() throws Exception {
+        assertTrue(ValidationPlugin.ActionValidation.of(Actions.class.getMethod("save", String.class, int.class)).constrained);
+        assertTrue(ValidationPlugin.ActionValidation.of(Actions.class.getMethod("check", User.class)).constrained);
+        assertFalse(ValidationPlugin.ActionValidation.of(Actions.class.getMethod("list", String.class)).constrained);
+        assertFalse(ValidationPlugin.ActionValidation.of(Actions.class.getMethod("index")).constrained);
+        assertEquals(2, ValidationPlugin.ActionValidation.of(Actions.class.getMethod("save", String.class, int.class)).paramNames.length);
+    }
+
+    @Test
+    public void sharesTheGuardsUntilTheApplicationIsReloaded() throws Exception {
+        ValidationPlugin.Pool<ValidationPlugin.Validator> guards = ValidationPlugin.pool(ValidationPlugin.Validator.class, ValidationPlugin.Validator::new);
+        ValidationPlugin.Validator guard = guards.borrow();
+        assertNotSame(guard, guards.borrow());
+        guards.release(guard);
+
+        ValidationPlugin.Validator[] otherGuard = new ValidationPlugin.Validator[1];
+        Thread thread = new Thread(() -> otherGuard[0] = ValidationPlugin.pool(ValidationPlugin.Validator.class, ValidationPlugin.Validator::new).borrow());
+        thread.start();
+        thread.join();
+        assertSame(guard, otherGuard[0]);
+        guards.release(guard);
+
+        ValidationPlugin.ActionValidation actionValidation = ValidationPlugin.ActionValidation.of(Actions.class.getMethod("index"));
+        Play.classloader.currentState = new ApplicationClassloaderState();
+        assertNotSame(guard, ValidationPlugin.pool(ValidationPlugin.Validator.class, ValidationPlugin.Validator::new).borrow());
+        assertNotSame(actionValidation, ValidationPlugin.ActionValidation.of(Actions.class.getMethod("index")));
+    }
+
+    @Test
+    public void keepsABoundedNumberOfIdleValidators() {
+        ValidationPlugin.Pool<Object> pool = new ValidationPlugin.Pool<>(Object::new);
+        List<Object> borrowed = new ArrayList<>();
+        for (int i = 0; i <= ValidationPlugin.Pool.MAX_IDLE; i++) {
+            borrowed.add(pool.borrow());
+        }
+        borrowed.forEach(pool::release);
+        Set<Object> idle = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int i = 0; i <= ValidationPlugin.Pool.MAX_IDLE; i++) {
+            idle.add(pool.borrow());
+        }
+        borrowed.retainAll(idle);
+        assertEquals(ValidationPlugin.Pool.MAX_IDLE, borrowed.size());
+    }
+
+    @Test
+    public void cachesValidators() {
+        Map<String, List<Validation.Validator>> validators = Validation.getValidators(User.class, "user");
+        assertEquals(2, validators.size());
+        assertEquals(Required.class, validators.get("user.name").get(0).annotation.annotationType());
+        assertEquals("user.password", validators.get("user.confirmation").get(0).params.get("equalsTo"));
+        assertSame(validators, Validation.getValidators(User.class, "user"));
+        assertEquals("other.password", Validation.getValidators(User.class, "other").get("other.confirmation").get(0).params.get("equalsTo"));
+
+        List<Validation.Validator> name = Validation.getValidators(User.class, "name", "user");
+        assertEquals(1, name.size());
+        assertSame(name, Validation.getValidators(User.class, "name", "user"));
+        assertTrue(Validation.getValidators(User.class, "missing", "user").isEmpty());
+
+        Play.classloader.currentState = new ApplicationClassloaderState();
+        assertNotSame(validators, Validation.getValidators(User.class, "user"));
+    }
+
+    @Test
+    public void validatesNestedObjectsWithValidatorsOfThePool() {
+        ValidationPlugin.keys.set(new HashMap<>());
+        Validation.current.set(new Validation());
+        try {
+            Node root = new Node("root", new Node("a"), new Node(null, new Node(null)));
+            assertFalse(Validation.valid("tree", root).ok);
+            assertNotNull(Validation.error("tree.children[1].name"));
+            assertNotNull(Validation.error("tree.children[1].children[0].name"));
+            assertNull(Validation.error("tree.children[0].name"));
+
+            Validation.clear();
+            assertTrue(Validation.valid("tree", new Node("root", new Node("a"))).ok);
+            assertFalse(Validation.hasErrors());
+        } finally {
+            ValidationPlugin.keys.remove();
+            Validation.current.remove();
+        }
+    }
+
+    public static class Actions {
+
+        public static void save(@Required String name, int age) {
+        }
+
+        public static void check(@Valid User user) {
+        }
+
+        public static void list(@As(",") String ids) {
+        }
+
+        public static void index() {
+        }
+    }
+
+    public static class User {
+
+        @Required
+        public String name;
+
+        public String password;
+
+        @Equals("password")
+        public String confirmation;
+    }
+
+    public static class Node {
+
+        @Required
+        public String name;
+
+        @Valid
+        public List<Node> children;
+
+        Node(String name, Node... children) {
+            this.name = name;
+            this.children = Arrays.asList(children);
+        }
+    }
+}
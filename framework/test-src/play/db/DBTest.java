@@ -0,0 +1,141 @@
+package play.db;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import play.PlayBuilder;
+import play.db.helper.JdbcResultFactories;
+import play.exceptions.DatabaseException;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class DBTest {
+
+    @Before
+    public void setUp() throws Exception {
+        new PlayBuilder().build();
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:dbtest;DB_CLOSE_DELAY=-1");
+        DB.datasources.put(DB.DEFAULT, new DB.ExtendedDatasource(dataSource, ""));
+        try (Statement statement = DB.getConnection().createStatement()) {
+            statement.execute("create table users (id bigint, email varchar(255))");
+            for (int i = 1; i <= 100; i++) {
+                statement.execute("insert into users values (" + i + ", 'user" + i + "@example.com')");
+            }
+        }
+    }
+
+    @After
+    public void tearDown() {
+        DB.execute("drop table users");
+        DB.close();
+        DB.datasources.remove(DB.DEFAULT);
+    }
+
+    @Test
+    public void streamsRowsWithParameters() {
+        try (Stream<String> emails = DB.stream("select email from users where id > ? and id <= ? order by id", rs -> rs.getString(1), 10, 13)) {
+            assertEquals(List.of("user11@example.com", "user12@example.com", "user13@example.com"), emails.collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void streamsRowsInBatches() {
+        try (Stream<Long> ids = DB.stream(DB.DEFAULT, "select id from users", 7, JdbcResultFactories.build(Long.class))) {
+            assertEquals(5050L, ids.mapToLong(Long::longValue).sum());
+        }
+    }
+
+    @Test
+    public void streamsNullRows() {
+        DB.execute("update users set email = null where id = 12");
+        try (Stream<String> emails = DB.stream("select email from users where id > ? and id <= ? order by id", rs -> rs.getString(1), 10, 13)) {
+            assertEquals(Arrays.asList("user11@example.com", null, "user13@example.com"), emails.collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void closesTheStatement() {
+        AtomicReference<Statement> statement = new AtomicReference<>();
+        Stream<Long> ids = DB.stream("select id from users", rs -> {
+            statement.set(rs.getStatement());
+            return rs.getLong(1);
+        });
+        assertEquals(Long.valueOf(1), ids.findFirst().get());
+        ids.close();
+        assertTrue(isClosed(statement.get()));
+    }
+
+    @Test
+    public void closesTheStatementAfterTheLastRow() {
+        AtomicReference<Statement> statement = new AtomicReference<>();
+        List<Long> ids = DB.stream("select id from users where id <= 3 order by id", rs -> {
+            statement.set(rs.getStatement());
+            return rs.getLong(1);
+        }).collect(Collectors.toList());
+        assertEquals(List.of(1L, 2L, 3L), ids);
+        assertTrue(isClosed(statement.get()));
+    }
+
+    @Test
+    public void closesTheStatementWhenARowFails() {
+        AtomicReference<Statement> statement = new AtomicReference<>();
+        Stream<Long> ids = DB.stream("select id from users order by id", rs -> {
+            statement.set(rs.getStatement());
+            return rs.getLong(1);
+        });
+        try {
+            ids.forEach(id -> {
+                if (id == 2) {
+                    throw new IllegalStateException("id " + id);
+                }
+            });
+            fail("The action should fail");
+        } catch (IllegalStateException e) {
+            assertEquals("id 2", e.getMessage());
+        }
+        assertTrue(isClosed(statement.get()));
+    }
+
+    @Test
+    public void passesEachRowToTheAction() {
+        AtomicReference<Statement> statement = new AtomicReference<>();
+        List<String> emails = new ArrayList<>();
+        DB.forEachRow("select email from users where id > ? and id <= ? order by id", rs -> {
+            statement.set(rs.getStatement());
+            return rs.getString(1);
+        }, emails::add, 10, 12);
+        assertEquals(List.of("user11@example.com", "user12@example.com"), emails);
+        assertTrue(isClosed(statement.get()));
+
+        DB.forEachRow(DB.DEFAULT, "select id from users where id <= 3", 2, rs -> rs.getLong(1), id -> emails.add(id.toString()));
+        assertEquals(List.of("user11@example.com", "user12@example.com", "1", "2", "3"), emails);
+    }
+
+    @Test
+    public void reportsQueryErrors() {
+        try {
+            DB.stream("select missing from users", rs -> rs.getLong(1));
+            fail("The query should fail");
+        } catch (DatabaseException e) {
+            assertTrue(e.getMessage().contains("MISSING"));
+        }
+    }
+
+    private static boolean isClosed(Statement statement) {
+        try {
+            return statement.isClosed();
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package play.db;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.math.BigDecimal;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.UUID;
+
+import org.junit.Test;
+
+public class KeysetCursorTest {
+
+    @Test
+    public void keysAreDecodedWithTheirType() {
+        Timestamp timestamp = new Timestamp(1500000000123L);
+        timestamp.setNanos(123456789);
+        Object[] keys = { "a:b,c\u00e9", 42L, 7, 1.5d, new BigDecimal("12.50"), true, UUID.randomUUID(), timestamp,
+                new Date(1500000000000L), LocalDate.of(2020, 2, 29), LocalDateTime.of(2020, 1, 1, 10, 0, 30), Instant.ofEpochSecond(3) };
+        String cursor = KeysetCursor.encode(keys);
+
+        assertEquals(cursor, URLEncoder.encode(cursor, StandardCharsets.UTF_8));
+        assertArrayEquals(keys, KeysetCursor.decode(cursor));
+    }
+
+    @Test
+    public void emptyCursor() {
+        assertEquals(0, KeysetCursor.decode(KeysetCursor.encode()).length);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullKeysAreRejected() {
+        KeysetCursor.encode("a", null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidCursorIsRejected() {
+        KeysetCursor.decode("not a cursor!");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void truncatedCursorIsRejected() {
+        String cursor = KeysetCursor.encode("abcdef", 12L);
+        KeysetCursor.decode(cursor.substring(0, cursor.length() - 4));
+    }
+}
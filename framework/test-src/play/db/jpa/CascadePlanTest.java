@@ -0,0 +1,87 @@
+package play.db.jpa;
+
+import org.junit.Test;
+
+import javax.persistence.CascadeType;
+import javax.persistence.ManyToMany;
+import javax.persistence.ManyToOne;
+import javax.persistence.OneToMany;
+import javax.persistence.OneToOne;
+import javax.persistence.PersistenceUnit;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class CascadePlanTest {
+
+    public static class Party extends JPABase {
+        @ManyToOne(cascade = CascadeType.PERSIST)
+        public Party parent;
+    }
+
+    @PersistenceUnit(name = "other")
+    public static class Order extends Party {
+        public String reference;
+        @OneToMany(cascade = CascadeType.ALL)
+        public List<Order> lines;
+        @ManyToMany(cascade = CascadeType.MERGE)
+        public Set<Order> related;
+        @OneToMany(cascade = CascadeType.PERSIST)
+        public Map<String, Order> byCode = new HashMap<>();
+        @OneToOne
+        public Order previous;
+        @OneToOne(cascade = CascadeType.ALL)
+        public transient Order next;
+    }
+
+    @Test
+    public void onlyPersistedRelationsAreCascaded() {
+        CascadePlan plan = CascadePlan.of(Order.class);
+
+        assertSame(plan, CascadePlan.of(Order.class));
+        assertEquals("other", plan.dbName);
+        Map<String, CascadePlan.Kind> kinds = new HashMap<>();
+        for (CascadePlan.Relation relation : plan.relations) {
+            kinds.put(relation.field.getName(), relation.kind);
+        }
+        Map<String, CascadePlan.Kind> expected = new HashMap<>();
+        expected.put("parent", CascadePlan.Kind.ENTITY);
+        expected.put("lines", CascadePlan.Kind.COLLECTION);
+        expected.put("byCode", CascadePlan.Kind.MAP);
+        assertEquals(expected, kinds);
+    }
+
+    @Test
+    public void saveCascadesToThePersistedRelations() throws Exception {
+        Order order = new Order();
+        Order line = new Order();
+        line.parent = order;
+        order.lines = Arrays.asList(line, new Order());
+        order.byCode.put("line", line);
+        order.previous = new Order();
+        for (JPABase entity : Arrays.asList(order, line, order.lines.get(1), order.previous)) {
+            entity.willBeSaved = true;
+        }
+
+        JPABase.avoidCascadeSaveLoops.set(Collections.newSetFromMap(new IdentityHashMap<>()));
+        Method saveAndCascade = JPABase.class.getDeclaredMethod("saveAndCascade", boolean.class);
+        saveAndCascade.setAccessible(true);
+        try {
+            saveAndCascade.invoke(order, false);
+        } finally {
+            JPABase.avoidCascadeSaveLoops.remove();
+        }
+
+        assertFalse(order.willBeSaved);
+        assertFalse(line.willBeSaved);
+        assertFalse(order.lines.get(1).willBeSaved);
+        assertTrue(order.previous.willBeSaved);
+    }
+}
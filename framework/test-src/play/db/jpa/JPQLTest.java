@@ -55,4 +55,32 @@ public class JPQLTest {
 
     }
 
+    @Test
+    public void testKeysetCondition() {
+        assertEquals("id > ?1", jpql.createKeysetCondition("id", "?1"));
+        assertEquals("id < ?1", jpql.createKeysetCondition("id DESC", "?1"));
+        assertEquals("postedAt >= ?1 and (postedAt > ?1 or (postedAt = ?1 and (id > ?2)))",
+                jpql.createKeysetCondition("postedAt, id asc", "?1", "?2"));
+        assertEquals("a <= :k0 and (a < :k0 or (a = :k0 and (b < :k1 or (b = :k1 and (c < :k2)))))",
+                jpql.createKeysetCondition("a desc, b desc, c desc", ":k0", ":k1", ":k2"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testKeysetConditionMixedDirections() {
+        jpql.createKeysetCondition("postedAt desc, id asc", "?1", "?2");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testKeysetConditionMissingValue() {
+        jpql.createKeysetCondition("postedAt, id", "?1");
+    }
+
+    @Test
+    public void testKeysetQuery() {
+        assertEquals("from Post order by id", jpql.createKeysetQuery("from Post", "id"));
+        assertEquals("from Post where id > ?1 order by id", jpql.createKeysetQuery("from Post order by title", "id", "?1"));
+        assertEquals("select p from Post p where (p.author = ?1 or p.author = ?2) and p.id < ?3 order by p.id desc",
+                jpql.createKeysetQuery("select p from Post p where p.author = ?1 or p.author = ?2 ORDER BY p.title", "p.id desc", "?3"));
+    }
+
 }
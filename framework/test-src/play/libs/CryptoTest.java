@@ -0,0 +1,136 @@
+package play.libs;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import play.Play;
+
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.*;
+
+public class CryptoTest {
+
+    private String secretKey;
+
+    @Before
+    public void setUp() {
+        secretKey = Play.secretKey;
+        Play.secretKey = "0123456789abcdef0123456789abcdef";
+        Play.configuration = new Properties();
+        Play.configuration.setProperty("application.secret", Play.secretKey);
+    }
+
+    @After
+    public void tearDown() {
+        Play.secretKey = secretKey;
+    }
+
+    @Test
+    public void signsWithHmacSha1() {
+        // RFC 2202, test case 2
+        assertEquals("effcdf6ae5eb2fa2d27416d5f184df9c259a7c79", Crypto.sign("what do ya want for nothing?", "Jefe".getBytes(UTF_8)));
+        assertEquals("message", Crypto.sign("message", new byte[0]));
+    }
+
+    @Test
+    public void signsWithTheCurrentSecretKey() {
+        String signature = Crypto.sign("message");
+        assertEquals(Crypto.sign("message", Play.secretKey.getBytes()), signature);
+        assertEquals(signature, Crypto.sign("message"));
+
+        Play.secretKey = "another secret";
+        assertNotEquals(signature, Crypto.sign("message"));
+        assertEquals(Crypto.sign("message", "another secret".getBytes()), Crypto.sign("message"));
+    }
+
+    @Test
+    public void verifiesSignatures() {
+        String signature = Crypto.sign("message");
+        assertTrue(Crypto.verify("message", signature));
+        assertFalse(Crypto.verify("massage", signature));
+        assertFalse(Crypto.verify("message", signature.substring(1)));
+        assertFalse(Crypto.verify("message", signature.replace(signature.charAt(0), signature.charAt(0) == 'a' ? 'b' : 'a')));
+    }
+
+    @Test
+    public void encryptsAndDecryptsWithAes() {
+        String encrypted = Crypto.encryptAES("secret data");
+        assertEquals("secret data", Crypto.decryptAES(encrypted));
+        assertEquals(encrypted, Crypto.encryptAES("secret data", Play.secretKey.substring(0, 16)));
+
+        String other = Crypto.encryptAES("secret data", "fedcba9876543210");
+        assertNotEquals(encrypted, other);
+        assertEquals("secret data", Crypto.decryptAES(other, "fedcba9876543210"));
+    }
+
+    @Test
+    public void recoversFromDecryptionFailures() {
+        String encrypted = Crypto.encryptAES("secret data");
+        try {
+            Crypto.decryptAES(encrypted, "fedcba9876543210");
+            fail();
+        } catch (Exception e) {
+            // wrong key
+        }
+        assertEquals("secret data", Crypto.decryptAES(encrypted));
+    }
+
+    @Test
+    public void signsConcurrently() throws Exception {
+        String expected = Crypto.sign("message");
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<?>[] futures = new Future<?>[8];
+            for (int i = 0; i < futures.length; i++) {
+                futures[i] = executor.submit(() -> {
+                    for (int j = 0; j < 1000; j++) {
+                        assertEquals(expected, Crypto.sign("message"));
+                        assertEquals("data", Crypto.decryptAES(Crypto.encryptAES("data")));
+                    }
+                });
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void sharesTheEnginesBetweenThreads() throws Exception {
+        // Leave a single idle engine
+        for (int i = 0; i < Crypto.MAX_IDLE_ENGINES; i++) {
+            Crypto.borrowEngine();
+        }
+        Crypto.Engine engine = Crypto.borrowEngine();
+        Crypto.returnEngine(engine);
+
+        Crypto.Engine[] otherEngine = new Crypto.Engine[1];
+        Thread thread = new Thread(() -> otherEngine[0] = Crypto.borrowEngine());
+        thread.start();
+        thread.join();
+        assertSame(engine, otherEngine[0]);
+        Crypto.returnEngine(engine);
+    }
+
+    @Test
+    public void keepsABoundedNumberOfIdleEngines() {
+        Crypto.Engine[] borrowed = new Crypto.Engine[Crypto.MAX_IDLE_ENGINES + 1];
+        for (int i = 0; i < borrowed.length; i++) {
+            borrowed[i] = Crypto.borrowEngine();
+        }
+        for (Crypto.Engine engine : borrowed) {
+            Crypto.returnEngine(engine);
+        }
+        for (int i = 0; i < Crypto.MAX_IDLE_ENGINES; i++) {
+            assertSame(borrowed[i], Crypto.borrowEngine());
+        }
+        assertNotSame(borrowed[Crypto.MAX_IDLE_ENGINES], Crypto.borrowEngine());
+    }
+}
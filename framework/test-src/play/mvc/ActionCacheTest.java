@@ -0,0 +1,166 @@
+package play.mvc;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import play.Invoker.Suspend;
+import play.Play;
+import play.PlayBuilder;
+import play.cache.Cache;
+import play.cache.CacheFor;
+import play.cache.EhCacheImpl;
+import play.mvc.results.RenderText;
+import play.mvc.results.Result;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class ActionCacheTest {
+
+    @BeforeClass
+    public static void setUpCache() {
+        Cache.cacheImpl = EhCacheImpl.getInstance() != null ? EhCacheImpl.getInstance() : EhCacheImpl.newInstance();
+    }
+
+    @Before
+    public void setUp() {
+        new PlayBuilder().build();
+        Cache.clear();
+    }
+
+    @Test
+    public void cachesResults() throws Exception {
+        ActionCache first = new ActionCache("products", cacheFor("plain"), new Http.Request());
+        assertNull(first.get());
+        RenderText result = new RenderText("products");
+        first.set(result);
+        first.done();
+
+        assertSame(result, Cache.get("products"));
+        assertSame(result, new ActionCache("products", cacheFor("plain"), new Http.Request()).get());
+    }
+
+    @Test
+    public void concurrentRequestsAreSuspendedUntilTheResultIsComputed() throws Exception {
+        ActionCache first = new ActionCache("products", cacheFor("plain"), new Http.Request());
+        assertNull(first.get());
+
+        Http.Request request = new Http.Request();
+        CompletableFuture<Result> waiting = suspend(request);
+        assertFalse(waiting.isDone());
+
+        RenderText result = new RenderText("products");
+        first.set(result);
+        first.done();
+        assertSame(result, waiting.get(5, TimeUnit.SECONDS));
+        assertSame(result, new ActionCache("products", cacheFor("plain"), request).get());
+    }
+
+    @Test
+    public void suspendedRequestsInvokeTheActionAfterTheMaxWait() throws Exception {
+        Play.configuration.setProperty("cache.cacheFor.maxWait", "1s");
+        ActionCache first = new ActionCache("products", cacheFor("plain"), new Http.Request());
+        assertNull(first.get());
+
+        Http.Request request = new Http.Request();
+        CompletableFuture<Result> waiting = suspend(request);
+        assertNull(waiting.get(5, TimeUnit.SECONDS));
+        assertNull(new ActionCache("products", cacheFor("plain"), request).get());
+        first.done();
+    }
+
+    @Test
+    public void suspendedActionsKeepComputingTheResult() throws Exception {
+        Http.Request computing = new Http.Request();
+        ActionCache first = new ActionCache("products", cacheFor("plain"), computing);
+        assertNull(first.get());
+        // The action awaits a future
+        first.suspend();
+        first.done();
+
+        CompletableFuture<Result> waiting = suspend(new Http.Request());
+
+        ActionCache resumed = new ActionCache("products", cacheFor("plain"), computing);
+        assertNull(resumed.get());
+        RenderText result = new RenderText("products");
+        resumed.set(result);
+        resumed.done();
+        assertSame(result, waiting.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void concurrentRequestsInvokeTheActionIfNoResultIsGiven() throws Exception {
+        ActionCache first = new ActionCache("products", cacheFor("plain"), new Http.Request());
+        assertNull(first.get());
+        first.done();
+
+        ActionCache second = new ActionCache("products", cacheFor("plain"), new Http.Request());
+        assertNull(second.get());
+        second.done();
+    }
+
+    @Test
+    public void staleResultsAreServedWhileOneRequestComputesThem() throws Exception {
+        RenderText stale = new RenderText("stale");
+        Cache.set("products", new ActionCache.CachedResult(stale, System.currentTimeMillis() - 1000, 10), "1mn");
+
+        ActionCache first = new ActionCache("products", cacheFor("stale"), new Http.Request());
+        assertNull(first.get());
+        assertSame(stale, new ActionCache("products", cacheFor("stale"), new Http.Request()).get());
+
+        RenderText fresh = new RenderText("fresh");
+        first.set(fresh);
+        first.done();
+        assertSame(fresh, new ActionCache("products", cacheFor("stale"), new Http.Request()).get());
+        ActionCache.CachedResult cached = (ActionCache.CachedResult) Cache.get("products");
+        assertTrue(cached.expiresAt > System.currentTimeMillis() + 50000);
+    }
+
+    @Test
+    public void resultsMayBeRefreshedEarly() {
+        long in10Seconds = System.currentTimeMillis() + 10000;
+        assertFalse(new ActionCache.CachedResult(null, in10Seconds, 1).refresh(1));
+        assertFalse(new ActionCache.CachedResult(null, in10Seconds, 100000).refresh(0));
+        assertTrue(new ActionCache.CachedResult(null, in10Seconds - 20000, 1).refresh(0));
+
+        int refreshed = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (new ActionCache.CachedResult(null, in10Seconds, 10000).refresh(1)) {
+                refreshed++;
+            }
+        }
+        // The probability is exp(-1)
+        assertTrue(refreshed > 250 && refreshed < 500);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CompletableFuture<Result> suspend(Http.Request request) {
+        try {
+            new ActionCache("products", cacheFor("plain"), request).get();
+            throw new AssertionError("The request should be suspended");
+        } catch (Suspend e) {
+            return (CompletableFuture<Result>) request.args.get(ActionCache.WAITING);
+        }
+    }
+
+    private static CacheFor cacheFor(String method) {
+        try {
+            return Products.class.getMethod(method).getAnnotation(CacheFor.class);
+        } catch (NoSuchMethodException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    public static class Products extends Controller {
+
+        @CacheFor("1mn")
+        public static void plain() {
+        }
+
+        @CacheFor(value = "1mn", stale = "1mn", earlyRefresh = 1)
+        public static void stale() {
+        }
+    }
+}
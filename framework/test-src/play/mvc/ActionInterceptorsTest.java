@@ -0,0 +1,73 @@
+package play.mvc;
+
+import org.junit.Test;
+import play.Play;
+import play.PlayBuilder;
+import play.classloading.ApplicationClassloaderState;
+
+import static org.junit.Assert.*;
+
+public class ActionInterceptorsTest {
+
+    @org.junit.Before
+    public void setUp() {
+        new PlayBuilder().build();
+    }
+
+    @Test
+    public void resolvesInterceptorsByPriority() {
+        ActionInterceptors interceptors = ActionInterceptors.of(Secured.class);
+        assertEquals(2, interceptors.befores.length);
+        assertEquals("checkAccess", interceptors.befores[0].method.getName());
+        assertEquals("log", interceptors.befores[1].method.getName());
+        assertEquals(1, interceptors.afters.length);
+        assertEquals(1, interceptors.finallies.length);
+        assertTrue(interceptors.finallies[0].throwableParameter);
+        assertEquals(1, interceptors.catches.length);
+        assertTrue(interceptors.catches[0].catches(new IllegalStateException()));
+        assertFalse(interceptors.catches[0].catches(new IllegalArgumentException()));
+    }
+
+    @Test
+    public void filtersActions() {
+        ActionInterceptors interceptors = ActionInterceptors.of(Secured.class);
+        assertTrue(interceptors.befores[0].appliesTo("Admin.index"));
+        assertFalse(interceptors.befores[0].appliesTo("Admin.login"));
+        assertFalse(interceptors.afters[0].appliesTo("Admin.index"));
+        assertTrue(interceptors.afters[0].appliesTo("Admin.save"));
+        assertFalse(interceptors.afters[0].appliesTo("Admin.delete"));
+        assertTrue(interceptors.finallies[0].appliesTo("Admin.delete"));
+    }
+
+    @Test
+    public void keepsPlansUntilTheApplicationIsReloaded() {
+        ActionInterceptors interceptors = ActionInterceptors.of(Secured.class);
+        assertSame(interceptors, ActionInterceptors.of(Secured.class));
+
+        Play.classloader.currentState = new ApplicationClassloaderState();
+        assertNotSame(interceptors, ActionInterceptors.of(Secured.class));
+    }
+
+    public static class Secured extends Controller {
+
+        @Before(priority = 2)
+        static void log() {
+        }
+
+        @Before(priority = 1, unless = { "Admin.login", "Admin.logout" })
+        static void checkAccess() {
+        }
+
+        @After(only = { "Admin.save", "Admin.delete" }, unless = "Admin.delete")
+        static void audit() {
+        }
+
+        @Finally
+        static void cleanUp(Throwable e) {
+        }
+
+        @Catch(IllegalStateException.class)
+        static void recover(Throwable e) {
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package play.mvc;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import play.Play;
+import play.PlayBuilder;
+import play.classloading.ApplicationClassloaderState;
+import play.data.binding.CachedBoundActionMethodArgs;
+
+import java.io.ByteArrayInputStream;
+import java.lang.reflect.Method;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ActionPlanTest {
+
+    @Before
+    public void setUp() {
+        new PlayBuilder().build();
+        Http.Request request = Http.Request.createRequest(null, "GET", "/", "", null, new ByteArrayInputStream(new byte[0]), null, null, false, 80, "localhost", false, null, null);
+        Http.Request.current.set(request);
+        Scope.Params.current.set(request.params);
+        CachedBoundActionMethodArgs.init();
+    }
+
+    @After
+    public void tearDown() {
+        CachedBoundActionMethodArgs.clear();
+    }
+
+    @Test
+    public void resolvesParameters() throws Exception {
+        Method list = Products.class.getMethod("list", String.class, int.class, List.class);
+        ActionPlan plan = ActionPlan.of(list);
+        assertTrue(plan.isStatic);
+        assertTrue(plan.isAction);
+        assertEquals(3, plan.parameters.length);
+        assertEquals(list.getParameters()[0].getName(), plan.parameters[0].name);
+        assertEquals(List.class, plan.parameters[2].type);
+        assertTrue(plan.parameters[0].simple);
+        assertTrue(plan.parameters[1].simple);
+        assertFalse(plan.parameters[2].simple);
+        assertFalse(ActionPlan.of(Products.class.getDeclaredMethod("check")).isAction);
+    }
+
+    @Test
+    public void bindsAndInvokes() throws Throwable {
+        ActionPlan plan = ActionPlan.of(Products.class.getMethod("list", String.class, int.class, List.class));
+        Scope.Params.current().put(plan.parameters[0].name, "books");
+        Scope.Params.current().put(plan.parameters[1].name, "3");
+        Scope.Params.current().put(plan.parameters[2].name, new String[] { "1", "2" });
+        Object[] args = plan.bind(null);
+        assertEquals("books", args[0]);
+        assertEquals(3, args[1]);
+        assertEquals(List.of(1L, 2L), args[2]);
+        assertEquals("books/3/[1, 2]", plan.invoke(null, args));
+
+        assertEquals("products", ActionPlan.of(Products.class.getMethod("name")).invoke(new Products(), null));
+        assertEquals("checked", ActionPlan.of(Products.class.getDeclaredMethod("check")).invoke(null, new Object[0]));
+    }
+
+    @Test
+    public void throwsWhatTheMethodThrows() throws Throwable {
+        try {
+            ActionPlan.of(Products.class.getMethod("fail")).invoke(null, null);
+            fail();
+        } catch (IllegalStateException e) {
+            assertEquals("failed", e.getMessage());
+        }
+    }
+
+    @Test
+    public void keepsPlansUntilTheApplicationIsReloaded() throws Exception {
+        ActionPlan plan = ActionPlan.of(Products.class.getMethod("name"));
+        assertSame(plan, ActionPlan.of(Products.class.getMethod("name")));
+
+        Play.classloader.currentState = new ApplicationClassloaderState();
+        assertNotSame(plan, ActionPlan.of(Products.class.getMethod("name")));
+    }
+
+    public static class Products extends Controller {
+
+        public static String list(String category, int page, List<Long> ids) {
+            return category + "/" + page + "/" + ids;
+        }
+
+        public String name() {
+            return "products";
+        }
+
+        public static void fail() {
+            throw new IllegalStateException("failed");
+        }
+
+        @play.mvc.Before
+        private static String check() {
+            return "checked";
+        }
+    }
+}
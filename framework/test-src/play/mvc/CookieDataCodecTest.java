@@ -7,6 +7,7 @@ import static play.mvc.CookieDataCodec.encode;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 
@@ -113,6 +114,27 @@ public class CookieDataCodecTest {
         assertThat(outMap.get("a")).isEqualTo(" \",;\\");
     }
 
+    @Test
+    public void encode_like_url_encoder() throws UnsupportedEncodingException {
+        Map<String, String> inMap = new LinkedHashMap<>();
+        inMap.put("___AT", "3f2a-b.c*d_e");
+        inMap.put("user name", "j\u00e9r\u00f4me+1@example.com");
+        inMap.put("skipped", null);
+        assertThat(encode(inMap)).isEqualTo("___AT=3f2a-b.c*d_e&user+name=j%C3%A9r%C3%B4me%2B1%40example.com");
+    }
+
+    @Test
+    public void decode_in_a_single_pass() throws UnsupportedEncodingException {
+        Map<String, String> outMap = new HashMap<>();
+        decode(outMap, "&a=1&&b=&=c&d&e=x=y&user+name=j%C3%A9r%C3%B4me");
+        assertThat(outMap.size()).isEqualTo(5);
+        assertThat(outMap.get("a")).isEqualTo("1");
+        assertThat(outMap.get("b")).isEqualTo("");
+        assertThat(outMap.get("")).isEqualTo("c");
+        assertThat(outMap.get("e")).isEqualTo("x=y");
+        assertThat(outMap.get("user name")).isEqualTo("j\u00e9r\u00f4me");
+    }
+
     private String oldEncoder(Map<String, String> out) throws UnsupportedEncodingException {
         StringBuilder flash = new StringBuilder();
         for (String key : out.keySet()) {
@@ -7,6 +7,9 @@ import play.mvc.Http.Request;
 import play.mvc.results.NotFound;
 import play.mvc.results.RenderStatic;
 
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Properties;
 
 import static org.fest.assertions.Assertions.assertThat;
@@ -126,6 +129,82 @@ public class RouterTest {
         assertTrue("Musicfile [" + musicRequest.domain + "] from the right domain must be found", canRenderFile(musicRequest));
     }
     
+    @Test
+    public void test_routeKeepsDeclarationOrder() {
+        Play.configuration = new Properties();
+        Router.routes.clear();
+        Router.appendRoute("GET", "/users/new", "Users.blank", null, null, null, 0);
+        Router.appendRoute("GET", "/users/{id}", "Users.show", null, null, null, 0);
+        Router.appendRoute("GET", "/users/{<[0-9]+>id}/edit", "Users.edit", null, null, null, 0);
+        Router.appendRoute("GET", "/{controller}/{action}", "{controller}.{action}", null, null, null, 0);
+        Router.appendRoute("POST", "/users/?", "Users.create", null, null, null, 0);
+
+        assertEquals("Users.blank", Router.route("GET", "/users/new").get("action"));
+        assertEquals("Users.show", Router.route("GET", "/users/12").get("action"));
+        assertEquals("12", Router.route("GET", "/users/12").get("id"));
+        assertEquals("a b", Router.route("GET", "/users/a%20b").get("id"));
+        assertEquals("Users.edit", Router.route("GET", "/users/12/edit").get("action"));
+        assertNull(Router.route("GET", "/users/ab/edit").get("action"));
+        assertEquals("{controller}.{action}", Router.route("GET", "/posts/list").get("action"));
+        assertEquals("posts", Router.route("GET", "/posts/list").get("controller"));
+        assertEquals("Users.create", Router.route("POST", "/users").get("action"));
+        assertEquals("Users.create", Router.route("POST", "/users/").get("action"));
+        assertNull(Router.route("GET", "/users/").get("action"));
+        assertNull(Router.route("GET", "/users//edit").get("action"));
+    }
+
+    @Test
+    public void test_routeSeesAddedRoutes() {
+        Play.configuration = new Properties();
+        Router.routes.clear();
+        Router.appendRoute("GET", "/{id}", "Application.show", null, null, null, 0);
+        assertEquals("Application.show", Router.route("GET", "/about").get("action"));
+
+        Router.prependRoute("GET", "/about", "Application.about");
+        assertEquals("Application.about", Router.route("GET", "/about").get("action"));
+
+        Router.routes.remove(0);
+        assertEquals("Application.show", Router.route("GET", "/about").get("action"));
+    }
+
+    @Test
+    public void test_reverse() {
+        Play.configuration = new Properties();
+        Router.routes.clear();
+        Router.appendRoute("GET", "/users/{<[0-9]+>id}", "Users.show", null, null, null, 0);
+        Router.appendRoute("GET", "/users/{name}/?", "Users.show", null, null, null, 0);
+        Router.appendRoute("GET", "/feed", "Users.list", "(format:'rss')", null, null, 0);
+        Router.appendRoute("GET", "/users", "Users.list", "(kind:'all')", null, null, 0);
+        Router.appendRoute("GET", "/{controller}/{action}", "{controller}.{action}", null, null, null, 0);
+
+        Map<String, Object> args = new HashMap<>();
+        args.put("id", 12);
+        assertEquals("/users/12", Router.reverse("Users.show", args).url);
+
+        args = new HashMap<>();
+        args.put("name", "john doe");
+        args.put("page", Arrays.asList(1, 2));
+        assertEquals("/users/john%20doe?page=1&page=2", Router.reverse("Users.show", args).url);
+
+        args = new HashMap<>();
+        args.put("name", "a/b@c");
+        assertEquals("/users/a%2Fb@c", Router.reverse("Users.show", args).url);
+
+        args = new HashMap<>();
+        args.put("kind", "all");
+        assertEquals("/users", Router.reverse("Users.list", args).url);
+
+        assertEquals("/posts/index", Router.reverse("Posts.index").url);
+
+        // Without id nor name, only the generic route can be reversed
+        assertEquals("/users/show", Router.reverse("Users.show").url);
+
+        Router.prependRoute("GET", "/people/{id}", "Users.show");
+        args = new HashMap<>();
+        args.put("id", 12);
+        assertEquals("/people/12", Router.reverse("Users.show", args).url);
+    }
+
     public boolean canRenderFile(Request request){
         try {
             Router.route(request);
@@ -6,8 +6,14 @@ import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.when;
 
 import java.io.File;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -16,6 +22,7 @@ import play.ConfigurationChangeWatcherPlugin;
 import play.Play;
 import play.PlayBuilder;
 import play.PlayPlugin;
+import play.data.binding.RootParamNode;
 import play.data.parsing.TempFilePlugin;
 import play.data.validation.ValidationPlugin;
 import play.db.DBPlugin;
@@ -187,6 +194,50 @@ public class PluginCollectionTest {
         assertThat(TestEngine.allUnitTests()).contains(PluginUnit.class, PluginUnit2.class);
         assertThat(TestEngine.allFunctionalTests()).contains(PluginFunc.class, PluginFunc2.class);
     }
+
+    @Test
+    public void callsHooksOfPluginsOverridingThem() {
+        PluginCollection pc = new PluginCollection();
+        HookPlugin hookPlugin = new HookPlugin();
+        LegacyBindPlugin legacyBindPlugin = new LegacyBindPlugin();
+        pc.addPlugin(hookPlugin);
+        pc.addPlugin(new PluginWithTests());
+        pc.addPlugin(legacyBindPlugin);
+
+        pc.beforeInvocation();
+        pc.invocationFinally();
+        assertThat(hookPlugin.calls).containsExactly("beforeInvocation", "invocationFinally");
+        assertThat(pc.bind(new RootParamNode(new HashMap<>()), "name", String.class, String.class, new Annotation[0]))
+                .isEqualTo("legacy");
+
+        pc.disablePlugin(hookPlugin);
+        pc.beforeInvocation();
+        assertThat(hookPlugin.calls).hasSize(2);
+    }
+}
+
+class HookPlugin extends PlayPlugin {
+
+    final List<String> calls = new ArrayList<>();
+
+    @Override
+    public void beforeInvocation() {
+        calls.add("beforeInvocation");
+    }
+
+    @Override
+    public void invocationFinally() {
+        calls.add("invocationFinally");
+    }
+}
+
+class LegacyBindPlugin extends PlayPlugin {
+
+    @SuppressWarnings({ "deprecation" })
+    @Override
+    public Object bind(String name, Class clazz, Type type, Annotation[] annotations, Map<String, String[]> params) {
+        return "legacy";
+    }
 }
 
 class LegacyPlugin extends PlayPlugin {
@@ -0,0 +1,190 @@
+package play.server;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.jboss.netty.handler.codec.http.DefaultHttpRequest;
+import org.jboss.netty.handler.codec.http.DefaultHttpResponse;
+import org.jboss.netty.handler.codec.http.HttpMethod;
+import org.jboss.netty.handler.codec.http.HttpRequest;
+import org.jboss.netty.handler.codec.http.HttpResponse;
+import org.jboss.netty.handler.codec.http.HttpResponseStatus;
+import org.jboss.netty.handler.codec.http.HttpVersion;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import play.Play;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.jboss.netty.handler.codec.http.HttpHeaders.Names.*;
+import static org.junit.Assert.*;
+
+public class HttpCompressionTest {
+
+    private File tmpDir;
+
+    @Before
+    public void setUp() throws IOException {
+        Play.configuration = new Properties();
+        Play.configuration.setProperty("http.compression.enabled", "true");
+        Play.configuration.setProperty("http.compression.minSize", "10");
+        HttpCompression.configure();
+        tmpDir = Files.createTempDirectory("compression").toFile();
+        Play.tmpDir = tmpDir;
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Play.tmpDir = null;
+        FileUtils.deleteDirectory(tmpDir);
+    }
+
+    @Test
+    public void negotiateTest() {
+        assertNull(HttpCompression.negotiate(null));
+        assertNull(HttpCompression.negotiate("identity"));
+        assertEquals("gzip", HttpCompression.negotiate("gzip, deflate, br"));
+        assertEquals("deflate", HttpCompression.negotiate("deflate"));
+        assertEquals("deflate", HttpCompression.negotiate("gzip;q=0.5, deflate"));
+        assertNull(HttpCompression.negotiate("gzip;q=0"));
+        assertEquals("gzip", HttpCompression.negotiate("*"));
+    }
+
+    @Test
+    public void isCompressibleTest() {
+        assertTrue(HttpCompression.isCompressible("text/html; charset=utf-8"));
+        assertTrue(HttpCompression.isCompressible("application/json"));
+        assertFalse(HttpCompression.isCompressible("image/png"));
+        assertFalse(HttpCompression.isCompressible(null));
+    }
+
+    @Test
+    public void encodingForTest() {
+        HttpRequest request = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/");
+        request.headers().set(ACCEPT_ENCODING, "gzip");
+
+        HttpResponse response = response("text/html");
+        assertEquals("gzip", HttpCompression.encodingFor(request, response, 100));
+        assertEquals("gzip", response.headers().get(CONTENT_ENCODING));
+        assertEquals(ACCEPT_ENCODING, response.headers().get(VARY));
+
+        assertNull(HttpCompression.encodingFor(request, response("text/html"), 5));
+        assertNull(HttpCompression.encodingFor(request, response("image/png"), 100));
+
+        HttpResponse encoded = response("text/html");
+        encoded.headers().set(CONTENT_ENCODING, "br");
+        assertNull(HttpCompression.encodingFor(request, encoded, 100));
+
+        request.headers().remove(ACCEPT_ENCODING);
+        response = response("text/html");
+        assertNull(HttpCompression.encodingFor(request, response, 100));
+        assertEquals(ACCEPT_ENCODING, response.headers().get(VARY));
+        assertNull(response.headers().get(CONTENT_ENCODING));
+    }
+
+    @Test
+    public void varyIsMergedTest() {
+        assertEquals(ACCEPT_ENCODING, HttpCompression.varyOnAcceptEncoding(null));
+        assertEquals("Cookie, Accept-Encoding", HttpCompression.varyOnAcceptEncoding("Cookie"));
+        assertEquals("accept-encoding, Cookie", HttpCompression.varyOnAcceptEncoding("accept-encoding, Cookie"));
+        assertEquals("*", HttpCompression.varyOnAcceptEncoding("*"));
+
+        HttpRequest request = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/");
+        request.headers().set(ACCEPT_ENCODING, "gzip");
+        HttpResponse response = response("text/html");
+        response.headers().add(VARY, "Cookie");
+        response.headers().add(VARY, ACCEPT_ENCODING);
+        assertEquals("gzip", HttpCompression.encodingFor(request, response, 100));
+        assertEquals(Arrays.asList("Cookie, Accept-Encoding"), response.headers().getAll(VARY));
+    }
+
+    @Test
+    public void compressedResponsesHaveTheirOwnEtag() {
+        HttpRequest request = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/");
+        request.headers().set(ACCEPT_ENCODING, "gzip");
+        HttpResponse response = response("text/html");
+        response.headers().set(ETAG, "\"1-1\"");
+
+        assertEquals("gzip", HttpCompression.encodingFor(request, response, 100));
+        assertEquals("\"1-1-gzip\"", response.headers().get(ETAG));
+
+        request.headers().remove(ACCEPT_ENCODING);
+        response = response("text/html");
+        response.headers().set(ETAG, "\"1-1\"");
+        assertNull(HttpCompression.encodingFor(request, response, 100));
+        assertEquals("\"1-1\"", response.headers().get(ETAG));
+    }
+
+    @Test
+    public void settingsAreReadAgainWithTheConfiguration() {
+        assertTrue(HttpCompression.isEnabled());
+
+        // Like on a restart in DEV mode
+        Play.configuration = new Properties();
+        Play.configuration.setProperty("http.compression.enabled", "false");
+        assertFalse(HttpCompression.isEnabled());
+        HttpRequest request = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/");
+        request.headers().set(ACCEPT_ENCODING, "gzip");
+        assertNull(HttpCompression.encodingFor(request, response("text/html"), 2048));
+    }
+
+    @Test
+    public void compressTest() throws IOException {
+        byte[] content = "Hello Play! Hello Play! Hello Play!".getBytes(StandardCharsets.UTF_8);
+        assertArrayEquals(content, IOUtils.toByteArray(new GZIPInputStream(new ByteArrayInputStream(HttpCompression.compress(content, "gzip")))));
+        assertArrayEquals(content, IOUtils.toByteArray(new InflaterInputStream(new ByteArrayInputStream(HttpCompression.compress(content, "deflate")))));
+    }
+
+    @Test
+    public void chunkCompressorTest() throws IOException {
+        HttpCompression.ChunkCompressor compressor = new HttpCompression.ChunkCompressor("gzip");
+        byte[] first = compressor.compress("first chunk, ".getBytes(StandardCharsets.UTF_8));
+        byte[] second = compressor.compress("second chunk".getBytes(StandardCharsets.UTF_8));
+        byte[] last = compressor.finish();
+        assertTrue(first.length > 0);
+        assertTrue(second.length > 0);
+
+        byte[] all = new byte[first.length + second.length + last.length];
+        System.arraycopy(first, 0, all, 0, first.length);
+        System.arraycopy(second, 0, all, first.length, second.length);
+        System.arraycopy(last, 0, all, first.length + second.length, last.length);
+        assertEquals("first chunk, second chunk", new String(IOUtils.toByteArray(new GZIPInputStream(new ByteArrayInputStream(all))), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void compressedFileTest() throws IOException {
+        File file = new File(tmpDir, "style.css");
+        FileUtils.writeStringToFile(file, "body { color: red; } body { color: red; }", StandardCharsets.UTF_8);
+
+        File compressed = (File) HttpCompression.compressedFile(file, "\"1-1\"", "gzip");
+        assertTrue(compressed.exists());
+        assertEquals("body { color: red; } body { color: red; }",
+                new String(IOUtils.toByteArray(new GZIPInputStream(FileUtils.openInputStream(compressed))), StandardCharsets.UTF_8));
+        // Cached by ETag
+        assertEquals(compressed, HttpCompression.compressedFile(file, "\"1-1\"", "gzip"));
+
+        // A new ETag replaces the previous variant
+        File updated = (File) HttpCompression.compressedFile(file, "\"2-1\"", "gzip");
+        assertNotEquals(compressed, updated);
+        assertFalse(compressed.exists());
+        assertTrue(updated.exists());
+
+        // Kept in memory without tmp directory
+        Play.tmpDir = null;
+        assertTrue(HttpCompression.compressedFile(file, "\"2-1\"", "deflate") instanceof byte[]);
+    }
+
+    private static HttpResponse response(String contentType) {
+        HttpResponse response = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
+        response.headers().set(CONTENT_TYPE, contentType);
+        return response;
+    }
+}
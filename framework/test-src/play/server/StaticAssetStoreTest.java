@@ -0,0 +1,131 @@
+package play.server;
+
+import org.apache.commons.io.FileUtils;
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import play.Play;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Properties;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.Assert.*;
+
+public class StaticAssetStoreTest {
+
+    private File root;
+    private File file;
+
+    @Before
+    public void setUp() throws IOException {
+        Play.configuration = new Properties();
+        Play.configuration.setProperty("http.staticAssets.memory", "true");
+        Play.configuration.setProperty("http.staticAssets.memory.maxFileSize", "1024");
+        StaticAssetStore.configure();
+        root = Files.createTempDirectory("assets").toFile();
+        file = new File(root, "app.js");
+        FileUtils.writeStringToFile(file, "alert('play');", StandardCharsets.UTF_8);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Play.configuration = new Properties();
+        StaticAssetStore.configure();
+        FileUtils.deleteDirectory(root);
+    }
+
+    @Test
+    public void acceptsSmallFilesOnlyWhenEnabled() {
+        assertTrue(StaticAssetStore.accepts(1024));
+        assertFalse(StaticAssetStore.accepts(1025));
+        assertFalse(StaticAssetStore.accepts(-1));
+
+        Play.configuration.setProperty("http.staticAssets.memory", "false");
+        StaticAssetStore.configure();
+        assertFalse(StaticAssetStore.accepts(1));
+    }
+
+    @Test
+    public void keepsContentInMemory() throws IOException {
+        long lastModified = file.lastModified();
+        ChannelBuffer first = StaticAssetStore.get(file, lastModified, null);
+        assertEquals("alert('play');", first.toString(StandardCharsets.UTF_8));
+        assertEquals(14, StaticAssetStore.size());
+        first.skipBytes(first.readableBytes());
+
+        // Deleting the file shows the second hit is read from memory
+        assertTrue(file.delete());
+        assertEquals("alert('play');", StaticAssetStore.get(file, lastModified, null).toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void reloadsModifiedFiles() throws IOException {
+        StaticAssetStore.get(file, 1000, null);
+        FileUtils.writeStringToFile(file, "alert('modified');", StandardCharsets.UTF_8);
+        assertEquals("alert('play');", StaticAssetStore.get(file, 1000, null).toString(StandardCharsets.UTF_8));
+        assertEquals("alert('modified');", StaticAssetStore.get(file, 2000, null).toString(StandardCharsets.UTF_8));
+        assertEquals(18, StaticAssetStore.size());
+    }
+
+    @Test
+    public void keepsCompressedVariantsApart() throws IOException {
+        ChannelBuffer gzip = StaticAssetStore.get(file, 1000, "gzip");
+        byte[] compressed = new byte[gzip.readableBytes()];
+        gzip.readBytes(compressed);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertEquals("alert('play');", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertEquals("alert('play');", StaticAssetStore.get(file, 1000, null).toString(StandardCharsets.UTF_8));
+        assertEquals(compressed.length + 14, StaticAssetStore.size());
+    }
+
+    @Test
+    public void evictsTheFilesRequestedTheLeastRecently() throws IOException, InterruptedException {
+        Play.configuration.setProperty("http.staticAssets.memory.maxSize", "40");
+        StaticAssetStore.configure();
+        File other = new File(root, "other.js");
+        FileUtils.writeStringToFile(other, "alert('other');", StandardCharsets.UTF_8);
+        File last = new File(root, "last.js");
+        FileUtils.writeStringToFile(last, "alert('last');", StandardCharsets.UTF_8);
+
+        StaticAssetStore.get(file, 1000, null);
+        Thread.sleep(1);
+        StaticAssetStore.get(other, 1000, null);
+        Thread.sleep(1);
+        StaticAssetStore.get(file, 1000, null);
+        assertEquals(29, StaticAssetStore.size());
+
+        // other.js is evicted, app.js read from memory
+        assertEquals("alert('last');", StaticAssetStore.get(last, 1000, null).toString(StandardCharsets.UTF_8));
+        assertEquals(28, StaticAssetStore.size());
+        assertTrue(file.delete());
+        assertEquals("alert('play');", StaticAssetStore.get(file, 1000, null).toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void doesNotKeepFilesLargerThanTheStore() throws IOException {
+        Play.configuration.setProperty("http.staticAssets.memory.maxSize", "10");
+        StaticAssetStore.configure();
+        assertFalse(StaticAssetStore.accepts(14));
+        assertNull(StaticAssetStore.get(file, 1000, null));
+        assertEquals(0, StaticAssetStore.size());
+    }
+
+    @Test
+    public void readsTheSettingsAgainWithTheConfiguration() {
+        assertTrue(StaticAssetStore.accepts(1024));
+
+        Properties reloaded = new Properties();
+        reloaded.setProperty("http.staticAssets.memory", "true");
+        reloaded.setProperty("http.staticAssets.memory.maxFileSize", "100");
+        Play.configuration = reloaded;
+        assertFalse(StaticAssetStore.accepts(1024));
+        assertTrue(StaticAssetStore.accepts(100));
+    }
+}
@@ -0,0 +1,121 @@
+package play.server;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import play.Play;
+import play.mvc.results.RenderStatic;
+import play.vfs.VirtualFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.Assert.*;
+
+public class StaticPathsCacheTest {
+
+    private File root;
+    private List<VirtualFile> roots;
+
+    @Before
+    public void setUp() throws IOException {
+        Play.configuration = new Properties();
+        root = Files.createTempDirectory("static").toFile();
+        FileUtils.writeStringToFile(new File(root, "public/app.js"), "alert('play');", StandardCharsets.UTF_8);
+        FileUtils.writeStringToFile(new File(root, "public/docs/index.html"), "<html></html>", StandardCharsets.UTF_8);
+        roots = Play.roots;
+        Play.roots = List.of(VirtualFile.open(root));
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Play.roots = roots;
+        FileUtils.deleteDirectory(root);
+    }
+
+    @Test
+    public void cachesFileMetadata() {
+        StaticPathsCache cache = new StaticPathsCache(10, Long.MAX_VALUE);
+        assertNull(cache.get("localhost", "GET", "/public/app.js"));
+
+        StaticPathsCache.Entry entry = cache.put("localhost", "GET", "/public/app.js", new RenderStatic("public/app.js"));
+        File file = new File(root, "public/app.js");
+        assertEquals(file, entry.realFile);
+        assertEquals(file.length(), entry.length);
+        assertEquals(file.lastModified(), entry.lastModified);
+        assertEquals(PlayHandler.computeEtag(file, file.lastModified()), entry.etag);
+        assertEquals("application/javascript", entry.contentType.replaceAll(";.*", ""));
+
+        assertSame(entry, cache.get("localhost", "GET", "/public/app.js"));
+        assertNull(cache.get("localhost", "HEAD", "/public/app.js"));
+        assertNull(cache.get("example.com", "GET", "/public/app.js"));
+    }
+
+    @Test
+    public void resolvesDirectoryIndexAndMissingFiles() {
+        StaticPathsCache cache = new StaticPathsCache(10, Long.MAX_VALUE);
+        assertEquals(new File(root, "public/docs/index.html"),
+                cache.put("localhost", "GET", "/docs/", new RenderStatic("public/docs")).realFile);
+        assertNull(cache.put("localhost", "GET", "/missing.js", new RenderStatic("public/missing.js")).file);
+    }
+
+    @Test
+    public void doesNotCacheMissingFiles() throws IOException {
+        StaticPathsCache cache = new StaticPathsCache(10, Long.MAX_VALUE);
+        StaticPathsCache.Entry missing = cache.put("localhost", "GET", "/public/new.js", new RenderStatic("public/new.js"));
+        assertNull(missing.file);
+        assertNull(cache.get("localhost", "GET", "/public/new.js"));
+
+        FileUtils.writeStringToFile(new File(root, "public/new.js"), "new", StandardCharsets.UTF_8);
+        assertEquals(3, cache.put("localhost", "GET", "/public/new.js", new RenderStatic("public/new.js")).length);
+    }
+
+    @Test
+    public void checksExpiredEntriesAgain() throws IOException {
+        StaticPathsCache cache = new StaticPathsCache(10, 0);
+        cache.put("localhost", "GET", "/public/app.js", new RenderStatic("public/app.js"));
+
+        FileUtils.writeStringToFile(new File(root, "public/app.js"), "new", StandardCharsets.UTF_8);
+        StaticPathsCache.Entry entry = cache.get("localhost", "GET", "/public/app.js");
+        assertNotNull(entry.file);
+        assertEquals(3, entry.length);
+
+        // A deleted file is not found, and no longer cached
+        FileUtils.forceDelete(new File(root, "public/app.js"));
+        assertNull(cache.get("localhost", "GET", "/public/app.js").file);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void staysBounded() {
+        StaticPathsCache cache = new StaticPathsCache(3, Long.MAX_VALUE);
+        for (int i = 0; i < 10; i++) {
+            cache.put("localhost", "GET", "/public/" + i + ".js", new RenderStatic("public/app.js"));
+        }
+        assertEquals(3, cache.size());
+        assertNotNull(cache.get("localhost", "GET", "/public/9.js"));
+    }
+
+    @Test
+    public void evictsThePathsRequestedTheLeastRecently() throws InterruptedException {
+        StaticPathsCache cache = new StaticPathsCache(3, Long.MAX_VALUE);
+        cache.put("localhost", "GET", "/public/a.js", new RenderStatic("public/app.js"));
+        cache.put("localhost", "GET", "/public/b.js", new RenderStatic("public/app.js"));
+        cache.put("localhost", "GET", "/public/c.js", new RenderStatic("public/app.js"));
+        Thread.sleep(1);
+        cache.get("localhost", "GET", "/public/a.js");
+        cache.get("localhost", "GET", "/public/c.js");
+
+        cache.put("localhost", "GET", "/public/d.js", new RenderStatic("public/app.js"));
+
+        assertEquals(3, cache.size());
+        assertNull(cache.get("localhost", "GET", "/public/b.js"));
+        assertNotNull(cache.get("localhost", "GET", "/public/a.js"));
+        assertNotNull(cache.get("localhost", "GET", "/public/c.js"));
+    }
+}
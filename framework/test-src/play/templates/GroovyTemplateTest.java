@@ -3,13 +3,25 @@ package play.templates;
 import org.junit.Before;
 import org.junit.Test;
 
+import play.Play;
 import play.PlayBuilder;
-
+import play.exceptions.TemplateExecutionException;
+import play.vfs.VirtualFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.apache.commons.io.FileUtils;
+
 import static org.fest.assertions.Assertions.assertThat;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
 
 public class GroovyTemplateTest {
 
@@ -124,4 +136,115 @@ public class GroovyTemplateTest {
         new GroovyTemplateCompiler().compile(groovyTemplate);
         assertEquals("123", groovyTemplate.render());
     }
+
+    @Test
+    public void verifyStreamedRendering() {
+        Play.configuration.setProperty("play.templates.streaming.bufferSize", "16");
+        GroovyTemplate t = new GroovyTemplate("Template_streamed", "#{list items:1..20, as:'i'}line ${i} of ${name}\n#{/list}");
+        new GroovyTemplateCompiler().compile(t);
+
+        Map<String, Object> args = new HashMap<>();
+        args.put("name", "Morten");
+        CountingWriter out = new CountingWriter();
+        t.render(args, out);
+        assertNull(BaseTemplate.currentTemplate.get());
+        assertEquals(t.render(args), out.toString());
+        // Sent while rendering, not all at the end
+        assertThat(out.flushes).isGreaterThan(10);
+    }
+
+    @Test
+    public void verifyStreamedRenderingWithLayouts() throws IOException {
+        File views = Files.createTempDirectory("views").toFile();
+        try {
+            FileUtils.writeStringToFile(new File(views, "root.html"), "\n<html>#{doLayout /}</html>\n", StandardCharsets.UTF_8);
+            FileUtils.writeStringToFile(new File(views, "main.html"),
+                    "#{extends 'root.html' /}<title>#{get 'title' /}</title>\n<body>#{doLayout /}</body>", StandardCharsets.UTF_8);
+            FileUtils.writeStringToFile(new File(views, "page.html"),
+                    "#{extends 'main.html' /}#{set title:'Streamed' /}\n#{list items:1..50, as:'i'}<p>${i}</p>#{/list}\n",
+                    StandardCharsets.UTF_8);
+            FileUtils.writeStringToFile(new File(views, "late.html"), "${'x' * 100}#{extends 'main.html' /}", StandardCharsets.UTF_8);
+            Play.templatesPath.add(0, VirtualFile.open(views));
+            Play.configuration.setProperty("play.templates.streaming.bufferSize", "16");
+
+            Template page = TemplateLoader.load("page.html");
+            String expected = page.render(new HashMap<>());
+            assertThat(expected).startsWith("<html><title>Streamed</title>").endsWith("</p></body></html>");
+
+            CountingWriter out = new CountingWriter();
+            page.render(new HashMap<>(), out);
+            assertEquals(expected, out.toString());
+
+            // The body output is already sent when the template extends the layout
+            try {
+                TemplateLoader.load("late.html").render(new HashMap<>(), new StringWriter());
+                fail("Expected a TemplateExecutionException");
+            } catch (TemplateExecutionException e) {
+                assertThat(e.getMessage()).contains("#{extends}");
+            }
+        } finally {
+            Play.templatesPath.remove(0);
+            FileUtils.deleteDirectory(views);
+        }
+    }
+
+    @Test
+    public void verifyExtensionsInIncludesAndTags() throws IOException {
+        File views = Files.createTempDirectory("views").toFile();
+        try {
+            FileUtils.writeStringToFile(new File(views, "tags/shout.html"), "${_arg.capFirst()}!", StandardCharsets.UTF_8);
+            FileUtils.writeStringToFile(new File(views, "part.html"), "${name.capFirst()}", StandardCharsets.UTF_8);
+            FileUtils.writeStringToFile(new File(views, "page.html"),
+                    "${name.capFirst()} #{include 'part.html' /} #{shout 'world' /} #{list items:['x'], as:'i'}${i.capFirst()}#{/list}",
+                    StandardCharsets.UTF_8);
+            Play.templatesPath.add(0, VirtualFile.open(views));
+
+            Map<String, Object> args = new HashMap<>();
+            args.put("name", "morten");
+            // The extensions applied by the page are used by the templates it renders
+            assertEquals("Morten Morten World! X", TemplateLoader.load("page.html").render(args));
+        } finally {
+            Play.templatesPath.remove(0);
+            FileUtils.deleteDirectory(views);
+        }
+    }
+
+    @Test
+    public void verifyArgsAreNotChanged() throws IOException {
+        File views = Files.createTempDirectory("views").toFile();
+        try {
+            FileUtils.writeStringToFile(new File(views, "main.html"), "<body>#{doLayout /}</body>", StandardCharsets.UTF_8);
+            FileUtils.writeStringToFile(new File(views, "part.html"), "%{ name = 'changed'; out.print(name) }%",
+                    StandardCharsets.UTF_8);
+            FileUtils.writeStringToFile(new File(views, "page.html"),
+                    "#{extends 'main.html' /}%{ count = 2 }%${name} #{include 'part.html' /}", StandardCharsets.UTF_8);
+            Play.templatesPath.add(0, VirtualFile.open(views));
+
+            Map<String, Object> args = new HashMap<>();
+            args.put("name", "Morten");
+            Map<String, Object> passed = new HashMap<>(args);
+            Template page = TemplateLoader.load("page.html");
+
+            assertEquals("<body>Morten changed</body>", page.render(args));
+            assertEquals(passed, args);
+
+            StringWriter out = new StringWriter();
+            page.render(args, out);
+            assertEquals("<body>Morten changed</body>", out.toString());
+            assertEquals(passed, args);
+        } finally {
+            Play.templatesPath.remove(0);
+            FileUtils.deleteDirectory(views);
+        }
+    }
+
+    private static class CountingWriter extends StringWriter {
+
+        int flushes;
+
+        @Override
+        public void flush() {
+            flushes++;
+        }
+    }
 }
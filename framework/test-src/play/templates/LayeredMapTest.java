@@ -0,0 +1,115 @@
+package play.templates;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class LayeredMapTest {
+
+    private Map<String, Object> parent;
+    private Map<String, Object> map;
+
+    @Before
+    public void init() {
+        parent = new HashMap<>();
+        parent.put("a", 1);
+        parent.put("b", 2);
+        parent.put("none", null);
+        map = new LayeredMap(parent);
+    }
+
+    @Test
+    public void readsThroughTheParent() {
+        assertEquals(1, map.get("a"));
+        assertTrue(map.containsKey("a"));
+        assertTrue(map.containsKey("none"));
+        assertNull(map.get("none"));
+        assertFalse(map.containsKey("c"));
+
+        // Until it is changed in the parent
+        parent.put("a", 10);
+        assertEquals(10, map.get("a"));
+    }
+
+    @Test
+    public void keepsTheChangesLocal() {
+        assertEquals(1, map.put("a", 3));
+        assertNull(map.put("c", 4));
+        map.put("b", null);
+
+        assertEquals(3, map.get("a"));
+        assertEquals(4, map.get("c"));
+        assertNull(map.get("b"));
+        assertTrue(map.containsKey("b"));
+        assertEquals(1, parent.get("a"));
+        assertEquals(2, parent.get("b"));
+        assertFalse(parent.containsKey("c"));
+    }
+
+    @Test
+    public void removesThroughTheParent() {
+        assertEquals(1, map.remove("a"));
+        assertFalse(map.containsKey("a"));
+        assertNull(map.get("a"));
+        assertNull(map.remove("a"));
+        assertNull(map.remove("c"));
+        assertNull(map.remove(1));
+        assertTrue(parent.containsKey("a"));
+
+        // Put back after being removed
+        map.put("a", 5);
+        assertEquals(5, map.get("a"));
+    }
+
+    @Test
+    public void clearsThroughTheParent() {
+        map.put("c", 4);
+        map.clear();
+
+        assertTrue(map.isEmpty());
+        assertFalse(map.containsKey("a"));
+        assertFalse(map.containsKey("c"));
+        assertEquals(3, parent.size());
+
+        map.put("b", 6);
+        assertEquals(1, map.size());
+        assertEquals(6, map.get("b"));
+    }
+
+    @Test
+    public void entriesAreASnapshot() {
+        map.put("a", 3);
+        map.put("c", 4);
+        map.remove("b");
+
+        Map<String, Object> expected = new HashMap<>();
+        expected.put("a", 3);
+        expected.put("c", 4);
+        expected.put("none", null);
+        assertEquals(3, map.size());
+        assertEquals(expected, map);
+        assertThat(map.keySet()).containsOnly("a", "c", "none");
+
+        int size = map.entrySet().size();
+        map.put("d", 5);
+        parent.put("e", 6);
+        assertEquals(3, size);
+        assertEquals(5, map.size());
+
+        try {
+            map.entrySet().clear();
+            fail("Expected an UnsupportedOperationException");
+        } catch (UnsupportedOperationException e) {
+            // read-only
+        }
+    }
+}
@@ -7,6 +7,8 @@ import static org.junit.Assert.assertTrue;
 import java.io.File;
 import java.net.URL;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -16,6 +18,7 @@ import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import models.ClassWithReference;
 import models.ClassWithStaticFinalMap;
 import play.Play;
 import play.PlayBuilder;
@@ -42,7 +45,7 @@ public class FixturesTest {
     
     public static Model.Factory mockModelFactory = new Model.Factory() {
         @Override
-        public String keyName() { return null; }
+        public String keyName() { return "id"; }
         @Override
         public Class<?> keyType() { return null; }
         @Override
@@ -58,7 +61,14 @@ public class FixturesTest {
         public void deleteAll() { /* Do nothing */ }
         @Override
         public List<Property> listProperties() { return null; }
+        @Override
+        public void saveAll(Collection<? extends play.db.Model> models) {
+            savedInBulk.add(new ArrayList<>(models));
+            Model.Factory.super.saveAll(models);
+        }
     };
+
+    public static List<List<play.db.Model>> savedInBulk;
     
     @BeforeClass
     public static void setUpBeforeClass() throws Exception {
@@ -92,6 +102,8 @@ public class FixturesTest {
     public void setUp() throws Exception {
     	// Initialise the model store.
     	store = new LinkedList<>();
+    	savedInBulk = new ArrayList<>();
+    	Fixtures.idCache.clear();
     }
 
     @After
@@ -111,4 +123,21 @@ public class FixturesTest {
         assertTrue(model instanceof ClassWithStaticFinalMap);
         assertEquals(((ClassWithStaticFinalMap)model).name, "hello");
     }
+
+    @Test
+    public void testLoadModelsInBulk() {
+        Fixtures.loadModelsInBulk(false, "testBulkLoad.yml");
+
+        // The models referred to are saved first, the others at the end
+        assertEquals(2, savedInBulk.size());
+        assertEquals(2, savedInBulk.get(0).size());
+        assertEquals("a", ((ClassWithStaticFinalMap) savedInBulk.get(0).get(0)).name);
+        assertEquals(2, savedInBulk.get(1).size());
+        assertEquals(4, store.size());
+
+        ClassWithReference c = (ClassWithReference) store.get(2);
+        assertEquals("c", c.name);
+        assertEquals(store.get(1).id, c.target.id);
+        assertEquals(c.id, Fixtures.idCache.get(ClassWithReference.class.getName() + "-c"));
+    }
 }
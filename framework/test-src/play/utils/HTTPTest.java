@@ -67,4 +67,18 @@ public class HTTPTest {
         assertTrue(HTTP.isModified(etag, lastModified, null, null));
         assertTrue(HTTP.isModified(etag, lastModified, null, unknown));
     }
+
+    @Test
+    public void testEncodedEtags() {
+        assertThat(HTTP.encodedEtag("\"1-2\"", "gzip")).isEqualTo("\"1-2-gzip\"");
+        assertThat(HTTP.encodedEtag("W/\"1-2\"", "deflate")).isEqualTo("W/\"1-2-deflate\"");
+        assertThat(HTTP.encodedEtag("1-2", "gzip")).isEqualTo("1-2-gzip");
+
+        // The compressed variant of the content is not modified either
+        String ifModifiedSince = Utils.getHttpDateFormatter().format(new Date(0));
+        assertFalse(HTTP.isModified("\"1-2\"", 0, "\"1-2-gzip\"", ifModifiedSince));
+        assertFalse(HTTP.isModified("\"1-2\"", 0, "\"1-2-deflate\"", ifModifiedSince));
+        assertTrue(HTTP.isModified("\"1-3\"", 0, "\"1-2-gzip\"", ifModifiedSince));
+        assertTrue(HTTP.isModified("\"1-2\"", 0, "\"1-2-br\"", ifModifiedSince));
+    }
 }
@@ -0,0 +1,46 @@
+package play.utils;
+
+import org.junit.Test;
+
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+public class VirtualThreadScheduledExecutorTest {
+
+    @Test
+    public void platformThreadsByDefault() throws Exception {
+        ScheduledThreadPoolExecutor executor = VirtualThreadScheduledExecutor.create("test", 1, false);
+        try {
+            assertEquals(ScheduledThreadPoolExecutor.class, executor.getClass());
+            assertEquals("test-thread-1", executor.submit(() -> Thread.currentThread().getName()).get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void fallsBackToPlatformThreads() {
+        assumeTrue(!VirtualThreadScheduledExecutor.isSupported());
+        ScheduledThreadPoolExecutor executor = VirtualThreadScheduledExecutor.create("test", 1, true);
+        executor.shutdown();
+        assertEquals(ScheduledThreadPoolExecutor.class, executor.getClass());
+    }
+
+    @Test
+    public void runsTasksOnVirtualThreads() throws Exception {
+        assumeTrue(VirtualThreadScheduledExecutor.isSupported());
+        ScheduledThreadPoolExecutor executor = VirtualThreadScheduledExecutor.create("test", 1, true);
+        try {
+            assertTrue(executor.submit(() -> Thread.currentThread().getName()).get().startsWith("test-virtual-"));
+            String delayed = executor.schedule(() -> Thread.currentThread().getName(), 10, TimeUnit.MILLISECONDS).get();
+            assertTrue(delayed.startsWith("test-virtual-"));
+        } finally {
+            executor.shutdown();
+        }
+        assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+    }
+}
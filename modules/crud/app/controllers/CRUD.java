@@ -19,6 +19,7 @@ import play.data.binding.Binder;
 import play.data.validation.MaxSize;
 import play.data.validation.Password;
 import play.data.validation.Required;
+import play.db.KeysetCursor;
 import play.db.Model;
 import play.db.Model.Factory;
 import play.exceptions.TemplateNotFoundException;
@@ -42,19 +43,31 @@ public abstract class CRUD extends Controller {
         render("CRUD/index.html");
     }
 
-    public static void list(int page, String search, String searchFields, String orderBy, String order) {
+    public static void list(int page, String search, String searchFields, String orderBy, String order, String after) {
         ObjectType type = ObjectType.get(getControllerClass());
         notFoundIfNull(type);
         if (page < 1) {
             page = 1;
         }
-        List<Model> objects = type.findPage(page, search, searchFields, orderBy, order, (String) request.args.get("where"));
+        // The next page is read from the last row of this one when the model supports it for orderBy, else with an
+        // offset. Both sort the rows by orderBy then by key, so the links may be mixed.
+        List<Model> objects = null;
+        String next = null;
+        if (after != null || page == 1) {
+            objects = type.findPageAfter(after, search, searchFields, orderBy, order, (String) request.args.get("where"));
+            if (objects != null) {
+                next = type.nextCursor(objects, orderBy);
+            }
+        }
+        if (objects == null) {
+            objects = type.findPage(page, search, searchFields, orderBy, order, (String) request.args.get("where"));
+        }
         Long count = type.count(search, searchFields, (String) request.args.get("where"));
         Long totalCount = type.count(null, null, (String) request.args.get("where"));
         try {
-            render(type, objects, count, totalCount, page, orderBy, order);
+            render(type, objects, count, totalCount, page, orderBy, order, next);
         } catch (TemplateNotFoundException e) {
-            render("CRUD/list.html", type, objects, count, totalCount, page, orderBy, order);
+            render("CRUD/list.html", type, objects, count, totalCount, page, orderBy, order, next);
         }
     }
 
@@ -284,6 +297,47 @@ public abstract class CRUD extends Controller {
             return Model.Manager.factoryFor(entityClass).fetch(offset, getPageSize(), orderBy, order, properties, search, where);
         }
 
+        /**
+         * @param after
+         *            The cursor of the last row of the previous page, or null for the first page
+         * @return The page following that row, sorted by orderBy then the key, or null if it must be read with an
+         *         offset
+         */
+        public List<Model> findPageAfter(String after, String search, String searchFields, String orderBy, String order, String where) {
+            List<String> properties = searchFields == null ? new ArrayList<String>(0) : Arrays.asList(searchFields.split("[ ]"));
+            try {
+                return factory.fetchAfter(after == null ? null : KeysetCursor.decode(after), getPageSize(), orderBy, order, properties, search, where);
+            } catch (UnsupportedOperationException | IllegalArgumentException e) {
+                Logger.debug("Cannot read the page after %s of %s: %s", after, name, e.getMessage());
+                return null;
+            }
+        }
+
+        /**
+         * @return The cursor of the last row of a full page, or null
+         */
+        public String nextCursor(List<Model> objects, String orderBy) {
+            if (objects.isEmpty() || objects.size() < getPageSize()) {
+                return null;
+            }
+            Model last = objects.get(objects.size() - 1);
+            try {
+                Object key = factory.keyValue(last);
+                if (orderBy == null || orderBy.equals(keyName)) {
+                    return KeysetCursor.encode(key);
+                }
+                for (Model.Property property : factory.listProperties()) {
+                    if (property.name.equals(orderBy) && property.field != null) {
+                        property.field.setAccessible(true);
+                        return KeysetCursor.encode(property.field.get(last), key);
+                    }
+                }
+            } catch (IllegalArgumentException | IllegalAccessException e) {
+                // Not a supported sort key, the next page is read with an offset
+            }
+            return null;
+        }
+
         public Model findById(String id) throws Exception {
             if (id == null) {
                 return null;
@@ -0,0 +1,41 @@
+import java.util.ArrayList;
+import java.util.List;
+
+import models.User;
+
+import org.hibernate.Session;
+import org.junit.Before;
+import org.junit.Test;
+
+import play.db.Model;
+import play.db.jpa.JPA;
+import play.test.UnitTest;
+
+public class BulkSaveTest extends UnitTest {
+
+    private static final int USERS = 120;
+
+    @Before
+    public void setup() {
+        User.delete("name like ?1", "bulk-%");
+    }
+
+    @Test
+    public void savesInBatchesOnlyMeanwhile() {
+        Session session = JPA.em().unwrap(Session.class);
+        Integer batchSize = session.getJdbcBatchSize();
+
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            users.add(new User(String.format("bulk-%03d", i)));
+        }
+        Model.Manager.factoryFor(User.class).saveAll(users);
+
+        assertEquals(batchSize, session.getJdbcBatchSize());
+        assertEquals(USERS, User.count("name like ?1", "bulk-%"));
+        for (User user : users) {
+            assertNotNull(user.id);
+            assertFalse(JPA.em().contains(user));
+        }
+    }
+}
@@ -0,0 +1,79 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import models.User;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import play.db.KeysetCursor;
+import play.db.Model;
+import play.test.Fixtures;
+import play.test.UnitTest;
+
+public class KeysetPaginationTest extends UnitTest {
+
+    private static final int PAGE = 4;
+
+    private Model.Factory factory;
+
+    @Before
+    public void setup() {
+        Fixtures.deleteDatabase();
+        for (int i = 0; i < 15; i++) {
+            User user = new User(i % 4 == 0 ? null : "user" + i);
+            // Many ties on j
+            user.j = i % 3;
+            user.save();
+        }
+        factory = Model.Manager.factoryFor(User.class);
+    }
+
+    @Test
+    public void offsetAndKeysetPagesSortTiesTheSameWay() {
+        List<Long> all = ids(factory.fetch(0, 100, "j", "DESC", Collections.<String>emptyList(), null, null));
+        assertEquals(15, all.size());
+
+        // Read each page from the previous one, alternating offsets and keysets
+        List<Long> read = new ArrayList<Long>();
+        Object[] after = null;
+        for (int page = 0; read.size() < all.size(); page++) {
+            List<Model> rows = page % 2 == 0
+                    ? factory.fetch(page * PAGE, PAGE, "j", "DESC", Collections.<String>emptyList(), null, null)
+                    : factory.fetchAfter(after, PAGE, "j", "DESC", Collections.<String>emptyList(), null, null);
+            assertFalse(rows.isEmpty());
+            read.addAll(ids(rows));
+            User last = (User) rows.get(rows.size() - 1);
+            after = KeysetCursor.decode(KeysetCursor.encode(last.j, last.id));
+        }
+        assertEquals(all, read);
+        assertTrue(factory.fetchAfter(after, PAGE, "j", "DESC", Collections.<String>emptyList(), null, null).isEmpty());
+    }
+
+    @Test
+    public void keysetPagesByKey() {
+        List<Long> read = new ArrayList<Long>();
+        Object[] after = null;
+        List<Model> rows;
+        while (!(rows = factory.fetchAfter(after, PAGE, null, null, Collections.<String>emptyList(), null, null)).isEmpty()) {
+            read.addAll(ids(rows));
+            after = new Object[] { ((User) rows.get(rows.size() - 1)).id };
+        }
+        assertEquals(ids(factory.fetch(0, 100, null, null, Collections.<String>emptyList(), null, null)), read);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void nullableColumnsAreNotPaginatedByKeyset() {
+        // The users without a name would never follow the last row read
+        factory.fetchAfter(new Object[] { "user1", 1L }, PAGE, "name", "ASC", Collections.<String>emptyList(), null, null);
+    }
+
+    private static List<Long> ids(List<Model> rows) {
+        List<Long> ids = new ArrayList<Long>();
+        for (Model row : rows) {
+            ids.add(((User) row).id);
+        }
+        return ids;
+    }
+}
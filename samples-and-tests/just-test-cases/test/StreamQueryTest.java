@@ -0,0 +1,105 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import models.User;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import play.db.jpa.JPA;
+import play.jobs.Job;
+import play.test.UnitTest;
+
+public class StreamQueryTest extends UnitTest {
+
+    private static final int USERS = 25;
+    private static final int BATCH = 10;
+
+    @Before
+    public void setup() throws Exception {
+        // Committed by the job, so the other jobs see them
+        new Job() {
+            @Override
+            public void doJob() {
+                User.delete("name like ?1", "stream-%");
+                User.delete("name = ?1", "other");
+                new User("other").save();
+                for (int i = 0; i < USERS; i++) {
+                    User user = new User(String.format("stream-%02d", i));
+                    user.save();
+                }
+            }
+        }.now().get();
+    }
+
+    @Test
+    public void streamsMoreRowsThanTheBatchSize() throws Exception {
+        List<String> names = new Job<List<String>>() {
+            @Override
+            public List<String> doJobWithResult() {
+                List<String> read = new ArrayList<>();
+                List<User> users = new ArrayList<>();
+                try (Stream<User> stream = User.find("name like ?1 order by name", "stream-%").stream(BATCH)) {
+                    stream.forEach(user -> {
+                        users.add(user);
+                        read.add(user.name);
+                        user.email = user.name + "@example.com";
+                        user.save();
+                        if (users.size() <= BATCH) {
+                            assertTrue(JPA.em().contains(users.get(0)));
+                        } else {
+                            // The entities of the first batch were detached
+                            assertFalse(JPA.em().contains(users.get(0)));
+                            assertFalse(JPA.em().contains(users.get(BATCH - 1)));
+                        }
+                        assertTrue(JPA.em().contains(user));
+                    });
+                }
+                return read;
+            }
+        }.now().get();
+
+        assertEquals(USERS, names.size());
+        for (int i = 0; i < USERS; i++) {
+            assertEquals(String.format("stream-%02d", i), names.get(i));
+        }
+
+        // The entities saved while streaming were updated
+        long changed = new Job<Long>() {
+            @Override
+            public Long doJobWithResult() {
+                return User.count("name like ?1 and email is not null", "stream-%");
+            }
+        }.now().get();
+        assertEquals(USERS, changed);
+    }
+
+    @Test
+    public void keepsTheOtherEntitiesOfTheSession() throws Exception {
+        int read = new Job<Integer>() {
+            @Override
+            public Integer doJobWithResult() {
+                User other = User.find("byName", "other").first();
+                other.email = "other@example.com";
+                int count;
+                try (Stream<User> stream = User.find("name like ?1", "stream-%").stream(BATCH)) {
+                    count = (int) stream.count();
+                }
+                assertTrue(JPA.em().contains(other));
+                other.save();
+                return count;
+            }
+        }.now().get();
+        assertEquals(USERS, read);
+
+        String email = new Job<String>() {
+            @Override
+            public String doJobWithResult() {
+                User other = User.find("byName", "other").first();
+                return other.email;
+            }
+        }.now().get();
+        assertEquals("other@example.com", email);
+    }
+}